@@ -3,7 +3,8 @@ import synchronize
 import unittest
 import test.test_support
 from java.lang import Runnable, Thread
-from java.util.concurrent import CountDownLatch
+from java.util.concurrent import CountDownLatch, TimeUnit
+from org.python.core import FunctionThread
 
 class AllocateLockTest(unittest.TestCase):
 
@@ -33,8 +34,51 @@ class SynchronizeTest(unittest.TestCase):
         self.assertTrue(callable(synchronize.make_synchronized(lambda: None)))
 
 
+class StartNewThreadTest(unittest.TestCase):
+
+    def run_thread(self, *args, **kw):
+        done = CountDownLatch(1)
+        result = []
+        def f(*a, **k):
+            result.append((a, k, getattr(Thread.currentThread(), 'virtual', False)))
+            done.countDown()
+        thread.start_new_thread(f, *args, **kw)
+        self.assertTrue(done.await(10, TimeUnit.SECONDS))
+        return result[0]
+
+    def test_args(self):
+        self.assertEqual(self.run_thread((1, 2))[:2], ((1, 2), {}))
+        self.assertEqual(self.run_thread((1,), {'b': 2})[:2], ((1,), {'b': 2}))
+        # Any dict will do, such as the __dict__ of an instance.
+        class O(object): pass
+        o = O()
+        o.b = 2
+        self.assertEqual(self.run_thread((1,), o.__dict__)[:2], ((1,), {'b': 2}))
+        self.assertRaises(TypeError, thread.start_new_thread, lambda: None, [])
+        self.assertRaises(TypeError, thread.start_new_thread, lambda: None, (), [])
+
+    def test_virtual(self):
+        # Virtual threads are used where the JVM has them, and platform threads otherwise.
+        available = FunctionThread.hasVirtualThreads()
+        self.assertEqual(self.run_thread((1,), virtual=True), ((1,), {}, available))
+        self.assertEqual(self.run_thread((1,), virtual=False), ((1,), {}, False))
+
+    def test_lock_across_threads(self):
+        lock = thread.allocate_lock()
+        lock.acquire()
+        released = CountDownLatch(1)
+        def release():
+            lock.release()
+            released.countDown()
+        thread.start_new_thread(release, (), virtual=True)
+        self.assertTrue(released.await(10, TimeUnit.SECONDS))
+        self.assertTrue(lock.acquire(False))
+        lock.release()
+        self.assertRaises(ValueError, lock.release)
+
+
 def test_main():
-    test.test_support.run_unittest(AllocateLockTest, SynchronizeTest)
+    test.test_support.run_unittest(AllocateLockTest, SynchronizeTest, StartNewThreadTest)
 
 if __name__ == "__main__":
     test_main()
@@ -43,6 +43,26 @@ class ThreadingTestCase(unittest.TestCase):
     def _sleep(self, n):
         time.sleep(random.random())
 
+    def test_virtual(self):
+        # Virtual threads are used where the JVM has them, and platform threads otherwise.
+        from org.python.core import FunctionThread
+        result = []
+        t = Thread(target=result.append, args=(1,), virtual=True)
+        self.assertFalse(t.isDaemon())
+        t.setDaemon(True)
+        self.assertTrue(t.daemon)
+        t.start()
+        t.join()
+        self.assertEqual(result, [1])
+        self.assertEqual(getattr(t._thread, 'virtual', False),
+                         bool(FunctionThread.hasVirtualThreads()))
+        self.assertRaises(RuntimeError, t.setDaemon, False)
+        t = Thread(target=result.append, args=(2,), virtual=False)
+        t.start()
+        t.join()
+        self.assertEqual(result, [1, 2])
+        self.assertFalse(getattr(t._thread, 'virtual', False))
+
     def test_issue1988(self):
         cond = threading.Condition(threading.Lock())
         locked = False
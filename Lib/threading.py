@@ -191,10 +191,18 @@ def _unregister_thread(jthread):
 
 
 class Thread(JavaThread):
-    def __init__(self, group=None, target=None, name=None, args=None, kwargs=None):
+    def __init__(self, group=None, target=None, name=None, args=None, kwargs=None,
+                 virtual=None):
         assert group is None, "group argument must be None for now"
+        # virtual=True or False overrides the registry option python.options.virtualThreads
+        self._virtual = virtual
         _thread = self._create_thread()
         JavaThread.__init__(self, _thread)
+        # A virtual thread is always a daemon to Java, so remember whether it is one to Python.
+        if getattr(_thread, 'virtual', False):
+            self._daemonic = currentThread().isDaemon()
+        else:
+            self._daemonic = None
         if args is None:
             args = ()
         if kwargs is None:
@@ -206,7 +214,22 @@ class Thread(JavaThread):
             self._thread.setName(str(name))
 
     def _create_thread(self):
-        return _newFunctionThread(self.__bootstrap, ())
+        return _newFunctionThread(self.__bootstrap, (), self._virtual)
+
+    def isDaemon(self):
+        if self._daemonic is not None:
+            return self._daemonic
+        return JavaThread.isDaemon(self)
+
+    def setDaemon(self, daemonic):
+        if self._daemonic is None:
+            JavaThread.setDaemon(self, daemonic)
+        elif self._thread.getState() != java.lang.Thread.State.NEW:
+            raise RuntimeError("cannot set daemon status of active thread")
+        else:
+            self._daemonic = bool(daemonic)
+
+    daemon = property(isDaemon, setDaemon)
 
     def run(self):
         if self._target:
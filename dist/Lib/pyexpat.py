@@ -0,0 +1 @@
+from xml.parsers.expat import *
@@ -0,0 +1,6 @@
+# This should be equivalent to running regrtest.py from the cmdline.
+# It can be especially handy if you're in an interactive shell, e.g.,
+# from test import autotest.
+
+from test import regrtest
+regrtest.main()
@@ -0,0 +1 @@
+# -*- coding: uft-8 -*-
@@ -0,0 +1,2 @@
+def f(x):
+    [x for x in x] = x
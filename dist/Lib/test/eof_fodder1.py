@@ -0,0 +1,3 @@
+def d():
+    def e():
+        pass
\ No newline at end of file
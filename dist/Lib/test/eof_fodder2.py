@@ -0,0 +1,4 @@
+def f():
+    def g():
+        pass
+        
\ No newline at end of file
@@ -0,0 +1,5 @@
+def f():
+    def g():
+        pass
+          
+  
\ No newline at end of file
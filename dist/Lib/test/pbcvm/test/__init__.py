@@ -0,0 +1 @@
+# mock test directory
@@ -0,0 +1 @@
+# Support files for test.test_class
@@ -0,0 +1 @@
+"Directory for SAX version 2 drivers."
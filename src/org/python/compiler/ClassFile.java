@@ -31,6 +31,8 @@ public class ClassFile
     String superclass;
     String sfilename;
     String[] interfaces;
+    /** Class file format version, raised to {@code V1_7} to allow {@code invokedynamic}. */
+    int version = Opcodes.V1_6;
     List<MethodVisitor> methodVisitors;
     List<FieldVisitor> fieldVisitors;
     List<AnnotationVisitor> annotationVisitors;
@@ -239,7 +241,7 @@ public class ClassFile
                 }
             } catch (Exception fe) {}
         }
-        cw.visit(Opcodes.V1_6, Opcodes.ACC_PUBLIC + Opcodes.ACC_SUPER, this.name, null, this.superclass, interfaces);
+        cw.visit(version, Opcodes.ACC_PUBLIC + Opcodes.ACC_SUPER, this.name, null, this.superclass, interfaces);
         AnnotationVisitor av = cw.visitAnnotation("Lorg/python/compiler/APIVersion;", true);
         // XXX: should imp.java really house this value or should imp.java point into
         // org.python.compiler?
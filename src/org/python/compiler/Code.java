@@ -447,6 +447,10 @@ public class Code extends MethodVisitor implements Opcodes {
         mv.visitJumpInsn(IF_ICMPEQ, label);
     }
 
+    public void i2l() {
+        mv.visitInsn(I2L);
+    }
+
     public void iadd() {
         mv.visitInsn(IADD);
     }
@@ -503,6 +507,14 @@ public class Code extends MethodVisitor implements Opcodes {
         mv.visitLabel(label);
     }
 
+    public void l2i() {
+        mv.visitInsn(L2I);
+    }
+
+    public void lcmp() {
+        mv.visitInsn(LCMP);
+    }
+
     public void lconst_0() {
         mv.visitInsn(LCONST_0);
     }
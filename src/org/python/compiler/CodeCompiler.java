@@ -2,9 +2,14 @@
 package org.python.compiler;
 
 import java.io.IOException;
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
 import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collection;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.ListIterator;
 import java.util.Map;
 import java.util.Stack;
@@ -78,12 +83,16 @@ import org.python.antlr.base.stmt;
 import org.python.core.CompilerFlags;
 import org.python.core.ContextGuard;
 import org.python.core.ContextManager;
+import org.python.core.AttributeCache;
+import org.python.core.GlobalCache;
 import org.python.core.imp;
+import org.python.core.InvokeDynamicSupport;
 import org.python.core.Py;
 import org.python.core.PyCode;
 import org.python.core.PyComplex;
 import org.python.core.PyDictionary;
 import org.python.core.PyException;
+import org.python.core.PyBoolean;
 import org.python.core.PyFloat;
 import org.python.core.PyFrame;
 import org.python.core.PyFunction;
@@ -97,6 +106,7 @@ import org.python.core.PyString;
 import org.python.core.PyTuple;
 import org.python.core.PyUnicode;
 import org.python.core.ThreadState;
+import org.objectweb.asm.Handle;
 import org.objectweb.asm.Label;
 import org.objectweb.asm.Opcodes;
 import org.objectweb.asm.Type;
@@ -107,6 +117,12 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
 
     private static final Object Exit = Integer.valueOf(1);
     private static final Object NoExit = null;
+
+    /** Bootstrap methods for the call sites emitted when {@code module.invokedynamic}. */
+    private static final Handle GETATTR_BOOTSTRAP = bootstrap("getattrBootstrap", String.class);
+    private static final Handle BINOP_BOOTSTRAP = bootstrap("binopBootstrap");
+    private static final Handle CALL_BOOTSTRAP = bootstrap("callBootstrap");
+
     private Module module;
     private Code code;
     private CompilerFlags cflags;
@@ -120,6 +136,10 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
     private Map<String, SymInfo> tbl;
     private ScopeInfo my_scope;
     private boolean optimizeGlobals = true;
+    /** Numeric locals of the function being compiled, or null if it is not a function. */
+    private NumericLocals numericLocals;
+    /** Set while emitting the generic code that backs primitive arithmetic. */
+    private boolean genericArithmetic;
     private String className;
     private Stack<Label> continueLabels, breakLabels;
     private Stack<ExceptionHandler> exceptionHandlers;
@@ -149,6 +169,60 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
         code.getstatic(p(Py.class), "None", ci(PyObject.class));
     }
 
+    private static Handle bootstrap(String name, Class<?>... staticArgs) {
+        Class<?>[] params = new Class<?>[3 + staticArgs.length];
+        params[0] = MethodHandles.Lookup.class;
+        params[1] = String.class;
+        params[2] = MethodType.class;
+        System.arraycopy(staticArgs, 0, params, 3, staticArgs.length);
+        return new Handle(H_INVOKESTATIC, p(InvokeDynamicSupport.class), name,
+                sig(CallSite.class, params), false);
+    }
+
+    /** Replace the object on the stack with its attribute {@code name}. */
+    private void getattr(String name) throws Exception {
+        if (module.invokedynamic) {
+            code.visitInvokeDynamicInsn("getattr", sig(PyObject.class, PyObject.class),
+                    GETATTR_BOOTSTRAP, name);
+        } else if (module.attributeCaches) {
+            module.attributeCacheConstant(name).get(code);
+            code.swap();
+            code.invokevirtual(p(AttributeCache.class), "getattr",
+                    sig(PyObject.class, PyObject.class));
+        } else {
+            code.ldc(name);
+            code.invokevirtual(p(PyObject.class), "__getattr__",
+                    sig(PyObject.class, String.class));
+        }
+    }
+
+    /** Replace the two objects on the stack with the result of the binary operation. */
+    private void binop(String name) throws Exception {
+        if (module.invokedynamic) {
+            code.visitInvokeDynamicInsn(name, sig(PyObject.class, PyObject.class, PyObject.class),
+                    BINOP_BOOTSTRAP);
+        } else {
+            code.invokevirtual(p(PyObject.class), name, sig(PyObject.class, PyObject.class));
+        }
+    }
+
+    /**
+     * Call the object on the stack beneath the thread state and {@code nargs} arguments, all of
+     * which are replaced with the result.
+     */
+    private void call(int nargs) throws Exception {
+        Class<?>[] params = new Class<?>[nargs + 2];
+        params[0] = PyObject.class;
+        params[1] = ThreadState.class;
+        Arrays.fill(params, 2, params.length, PyObject.class);
+        if (module.invokedynamic) {
+            code.visitInvokeDynamicInsn("call", sig(PyObject.class, params), CALL_BOOTSTRAP);
+        } else {
+            code.invokevirtual(p(PyObject.class), "__call__",
+                    sig(PyObject.class, Arrays.copyOfRange(params, 1, params.length)));
+        }
+    }
+
     public void loadFrame() throws Exception {
         code.aload(1);
     }
@@ -303,6 +377,9 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
         // END preparse
 
         optimizeGlobals = checkOptimizeGlobals(fast_locals, my_scope);
+        if (optimizeGlobals && my_scope.kind == ScopeInfo.FUNCSCOPE) {
+            numericLocals = NumericLocals.analyze(node, my_scope);
+        }
 
         if (my_scope.max_with_count > 0) {
             // allocate for all the with-exits we will have in the frame;
@@ -546,8 +623,7 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
                 stackConsume();
                 loadThreadState();
                 code.aload(res);
-                code.invokevirtual(p(PyObject.class), "__call__",
-                        sig(PyObject.class, ThreadState.class, PyObject.class));
+                call(1);
                 code.astore(res);
             }
             code.aload(res);
@@ -1493,6 +1569,24 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
 
     @Override
     public Object visitCompare(Compare node) throws Exception {
+        NumericLocals.Arithmetic arithmetic = describeArithmetic(node);
+        if (arithmetic == null) {
+            emitCompare(node);
+            return null;
+        }
+        Label generic = new Label();
+        Label end = new Label();
+        int[] operands = arithmeticFastPath(node, arithmetic, generic, end);
+        code.label(generic);
+        genericArithmetic = true;
+        emitCompare(node);
+        genericArithmetic = false;
+        code.label(end);
+        freeArithmeticOperands(operands);
+        return null;
+    }
+
+    private void emitCompare(Compare node) throws Exception {
         int last = code.getLocal(p(PyObject.class));
         int result = code.getLocal(p(PyObject.class));
         Label end = new Label();
@@ -1529,7 +1623,6 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
         code.astore(last);
         code.freeLocal(last);
         code.freeLocal(result);
-        return null;
     }
 
     public void visitCmpop(cmpopType op) throws Exception {
@@ -1571,6 +1664,24 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
 
     @Override
     public Object visitBinOp(BinOp node) throws Exception {
+        NumericLocals.Arithmetic arithmetic = describeArithmetic(node);
+        if (arithmetic == null) {
+            emitBinOp(node);
+            return null;
+        }
+        Label generic = new Label();
+        Label end = new Label();
+        int[] operands = arithmeticFastPath(node, arithmetic, generic, end);
+        code.label(generic);
+        genericArithmetic = true;
+        emitBinOp(node);
+        genericArithmetic = false;
+        code.label(end);
+        freeArithmeticOperands(operands);
+        return null;
+    }
+
+    private void emitBinOp(BinOp node) throws Exception {
         visit(node.getInternalLeft());
         stackProduce();
         visit(node.getInternalRight());
@@ -1618,8 +1729,234 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
         if (node.getInternalOp() == operatorType.Div && module.getFutures().areDivisionOn()) {
             name = "_truediv";
         }
-        code.invokevirtual(p(PyObject.class), name, sig(PyObject.class, PyObject.class));
-        return null;
+        binop(name);
+    }
+
+    /**
+     * Describe an expression for which primitive arithmetic may be emitted, or return null if there
+     * is none, or we are already emitting the generic code for an enclosing expression.
+     */
+    private NumericLocals.Arithmetic describeArithmetic(expr node) {
+        if (numericLocals == null || genericArithmetic) {
+            return null;
+        }
+        return numericLocals.describe(node);
+    }
+
+    /**
+     * Emit the primitive evaluation of an expression described by
+     * {@link NumericLocals#describe(expr)}, which leaves the result on the stack and continues at
+     * {@code end}. The values of the locals are tested for the exact class expected, and if they
+     * are not as expected, or an {@code int} result overflows, the code jumps to {@code generic}.
+     * The caller must place that label and emit there the generic evaluation of the expression,
+     * which also leaves its result on the stack and continues at {@code end}.
+     *
+     * @param node the expression
+     * @param arithmetic its description
+     * @param generic label of the generic evaluation
+     * @param end label at which evaluation continues
+     * @return the locals holding the operands, to release with {@link #freeArithmeticOperands}
+     */
+    private int[] arithmeticFastPath(expr node, NumericLocals.Arithmetic arithmetic,
+            Label generic, Label end) throws Exception {
+        // Load each local once, in order of first use, so an unbound one raises as usual.
+        Map<String, Integer> operands = new HashMap<String, Integer>();
+        int[] locals = new int[arithmetic.names.size()];
+        int n = 0;
+        for (String name : arithmetic.names) {
+            int tmp = code.getLocal(p(PyObject.class));
+            loadFrame();
+            code.iconst(tbl.get(name).locals_index);
+            code.invokevirtual(p(PyFrame.class), "getlocal", sig(PyObject.class, Integer.TYPE));
+            code.astore(tmp);
+            operands.put(name, tmp);
+            locals[n++] = tmp;
+        }
+
+        Label notInt = arithmetic.floatPath ? new Label() : generic;
+        if (arithmetic.intPath) {
+            for (int tmp : locals) {
+                testExactClass(tmp, PyInteger.class, notInt);
+            }
+            Map<expr, Integer> results = new IdentityHashMap<expr, Integer>();
+            if (node instanceof Compare) {
+                Compare c = (Compare) node;
+                computeInt(c.getInternalLeft(), operands, results, generic);
+                computeInt(c.getInternalComparators().get(0), operands, results, generic);
+                pushInt(c.getInternalLeft(), operands, results);
+                pushInt(c.getInternalComparators().get(0), operands, results);
+                emitBoolean(intComparison(c.getInternalOps().get(0)), end);
+            } else {
+                computeInt(node, operands, results, generic);
+                pushInt(node, operands, results);
+                code.invokestatic(p(Py.class), "newInteger", sig(PyInteger.class, Integer.TYPE));
+                code.goto_(end);
+            }
+            for (int result : results.values()) {
+                code.freeLocal(result);
+            }
+        }
+
+        if (arithmetic.floatPath) {
+            if (arithmetic.intPath) {
+                code.label(notInt);
+            }
+            for (int tmp : locals) {
+                testExactClass(tmp, PyFloat.class, generic);
+            }
+            if (node instanceof Compare) {
+                Compare c = (Compare) node;
+                pushDouble(c.getInternalLeft(), operands);
+                pushDouble(c.getInternalComparators().get(0), operands);
+                cmpopType op = c.getInternalOps().get(0);
+                // Choose the comparison so that NaN compares false (or unequal).
+                code.visitInsn(op == cmpopType.Lt || op == cmpopType.LtE ? DCMPG : DCMPL);
+                emitBoolean(doubleComparison(op), end);
+            } else {
+                pushDouble(node, operands);
+                code.invokestatic(p(Py.class), "newFloat", sig(PyFloat.class, Double.TYPE));
+                code.goto_(end);
+            }
+        }
+        return locals;
+    }
+
+    private void freeArithmeticOperands(int[] locals) {
+        for (int tmp : locals) {
+            code.aconst_null();
+            code.astore(tmp);
+            code.freeLocal(tmp);
+        }
+    }
+
+    /** Jump to {@code label} unless the object in the local is exactly of the given class. */
+    private void testExactClass(int local, Class<?> c, Label label) {
+        code.aload(local);
+        code.invokevirtual(p(Object.class), "getClass", sig(Class.class));
+        code.ldc(Type.getType(c));
+        code.if_acmpne(label);
+    }
+
+    /** Push {@code True} or {@code False} according to a conditional jump, and go to end. */
+    private void emitBoolean(int jumpIfTrue, Label end) {
+        Label isTrue = new Label();
+        code.visitJumpInsn(jumpIfTrue, isTrue);
+        code.getstatic(p(Py.class), "False", ci(PyBoolean.class));
+        code.goto_(end);
+        code.label(isTrue);
+        code.getstatic(p(Py.class), "True", ci(PyBoolean.class));
+        code.goto_(end);
+    }
+
+    /**
+     * Compute the value of each operation within an operand, on {@code long}s, into an {@code int}
+     * local, jumping to {@code generic} if it does not fit.
+     */
+    private void computeInt(expr node, Map<String, Integer> operands, Map<expr, Integer> results,
+            Label generic) {
+        if (!(node instanceof BinOp)) {
+            return;
+        }
+        BinOp b = (BinOp) node;
+        computeInt(b.getInternalLeft(), operands, results, generic);
+        computeInt(b.getInternalRight(), operands, results, generic);
+        pushInt(b.getInternalLeft(), operands, results);
+        code.i2l();
+        pushInt(b.getInternalRight(), operands, results);
+        code.i2l();
+        switch (b.getInternalOp()) {
+            case Add:
+                code.visitInsn(LADD);
+                break;
+            case Sub:
+                code.visitInsn(LSUB);
+                break;
+            default:
+                code.visitInsn(LMUL);
+                break;
+        }
+        int result = code.getLocal("I");
+        code.dup2();
+        code.l2i();
+        code.dup();
+        code.istore(result);
+        code.i2l();
+        code.lcmp();
+        code.ifne(generic);
+        results.put(node, result);
+    }
+
+    /** Push the {@code int} value of an operand, once {@link #computeInt} has been applied. */
+    private void pushInt(expr node, Map<String, Integer> operands, Map<expr, Integer> results) {
+        if (node instanceof Name) {
+            code.aload(operands.get(((Name) node).getInternalId()));
+            code.checkcast(p(PyInteger.class));
+            code.invokevirtual(p(PyInteger.class), "getValue", sig(Integer.TYPE));
+        } else if (node instanceof Num) {
+            code.iconst(((PyInteger) ((Num) node).getInternalN()).getValue());
+        } else {
+            code.iload(results.get(node));
+        }
+    }
+
+    /** Push the {@code double} value of an operand. */
+    private void pushDouble(expr node, Map<String, Integer> operands) {
+        if (node instanceof Name) {
+            code.aload(operands.get(((Name) node).getInternalId()));
+            code.checkcast(p(PyFloat.class));
+            code.invokevirtual(p(PyFloat.class), "getValue", sig(Double.TYPE));
+        } else if (node instanceof Num) {
+            code.ldc(((PyObject) ((Num) node).getInternalN()).asDouble());
+        } else {
+            BinOp b = (BinOp) node;
+            pushDouble(b.getInternalLeft(), operands);
+            pushDouble(b.getInternalRight(), operands);
+            switch (b.getInternalOp()) {
+                case Add:
+                    code.visitInsn(DADD);
+                    break;
+                case Sub:
+                    code.visitInsn(DSUB);
+                    break;
+                default:
+                    code.visitInsn(DMUL);
+                    break;
+            }
+        }
+    }
+
+    private static int intComparison(cmpopType op) {
+        switch (op) {
+            case Eq:
+                return IF_ICMPEQ;
+            case NotEq:
+                return IF_ICMPNE;
+            case Lt:
+                return IF_ICMPLT;
+            case LtE:
+                return IF_ICMPLE;
+            case Gt:
+                return IF_ICMPGT;
+            default:
+                return IF_ICMPGE;
+        }
+    }
+
+    private static int doubleComparison(cmpopType op) {
+        switch (op) {
+            case Eq:
+                return IFEQ;
+            case NotEq:
+                return IFNE;
+            case Lt:
+                return IFLT;
+            case LtE:
+                return IFLE;
+            case Gt:
+                return IFGT;
+            default:
+                return IFGE;
+        }
     }
 
     @Override
@@ -1648,6 +1985,24 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
     public Object visitAugAssign(AugAssign node) throws Exception {
         setline(node);
 
+        // For a local, x op= v may be evaluated as x op v on numbers, which are immutable.
+        NumericLocals.Arithmetic arithmetic = null;
+        BinOp binop = null;
+        if (node.getInternalTarget() instanceof Name) {
+            Name target = (Name) node.getInternalTarget();
+            binop = new BinOp(node, new Name(target, target.getInternalId(), expr_contextType.Load),
+                    node.getInternalOp(), node.getInternalValue());
+            arithmetic = describeArithmetic(binop);
+        }
+        Label end = new Label();
+        int[] operands = null;
+        if (arithmetic != null) {
+            Label generic = new Label();
+            operands = arithmeticFastPath(binop, arithmetic, generic, end);
+            code.label(generic);
+            genericArithmetic = true;
+        }
+
         augmode = expr_contextType.Load;
         visit(node.getInternalTarget());
         int target = storeTop();
@@ -1701,6 +2056,12 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
         code.invokevirtual(p(PyObject.class), name, sig(PyObject.class, PyObject.class));
         code.freeLocal(target);
 
+        if (arithmetic != null) {
+            genericArithmetic = false;
+            code.label(end);
+            freeArithmeticOperands(operands);
+        }
+
         temporary = storeTop();
         augmode = expr_contextType.Store;
         visit(node.getInternalTarget());
@@ -1735,30 +2096,26 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
         String name = getName(node.getInternalAttr());
         visit(node.getInternalValue());
         stackProduce();
-        code.ldc(name);
-        code.invokevirtual(p(PyObject.class), "__getattr__", sig(PyObject.class, String.class));
+        getattr(name);
         loadThreadState();
         stackProduce(p(ThreadState.class));
 
         switch (values.size()) {
             case 0:
                 stackConsume(2); // target + ts
-                code.invokevirtual(p(PyObject.class), "__call__",
-                        sig(PyObject.class, ThreadState.class));
+                call(0);
                 break;
             case 1:
                 visit(values.get(0));
                 stackConsume(2); // target + ts
-                code.invokevirtual(p(PyObject.class), "__call__",
-                        sig(PyObject.class, ThreadState.class, PyObject.class));
+                call(1);
                 break;
             case 2:
                 visit(values.get(0));
                 stackProduce();
                 visit(values.get(1));
                 stackConsume(3); // target + ts + arguments
-                code.invokevirtual(p(PyObject.class), "__call__",
-                        sig(PyObject.class, ThreadState.class, PyObject.class, PyObject.class));
+                call(2);
                 break;
             case 3:
                 visit(values.get(0));
@@ -1767,11 +2124,7 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
                 stackProduce();
                 visit(values.get(2));
                 stackConsume(4); // target + ts + arguments
-                code.invokevirtual(
-                        p(PyObject.class),
-                        "__call__",
-                        sig(PyObject.class, ThreadState.class, PyObject.class, PyObject.class,
-                                PyObject.class));
+                call(3);
                 break;
             case 4:
                 visit(values.get(0));
@@ -1782,11 +2135,7 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
                 stackProduce();
                 visit(values.get(3));
                 stackConsume(5); // target + ts + arguments
-                code.invokevirtual(
-                        p(PyObject.class),
-                        "__call__",
-                        sig(PyObject.class, ThreadState.class, PyObject.class, PyObject.class,
-                                PyObject.class, PyObject.class));
+                call(4);
                 break;
             default:
                 int argArray = makeArray(values);
@@ -1868,22 +2217,19 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
             switch (values.size()) {
                 case 0:
                     stackConsume(2); // target + ts
-                    code.invokevirtual(p(PyObject.class), "__call__",
-                            sig(PyObject.class, ThreadState.class));
+                    call(0);
                     break;
                 case 1:
                     visit(values.get(0));
                     stackConsume(2); // target + ts
-                    code.invokevirtual(p(PyObject.class), "__call__",
-                            sig(PyObject.class, ThreadState.class, PyObject.class));
+                    call(1);
                     break;
                 case 2:
                     visit(values.get(0));
                     stackProduce();
                     visit(values.get(1));
                     stackConsume(3); // target + ts + arguments
-                    code.invokevirtual(p(PyObject.class), "__call__",
-                            sig(PyObject.class, ThreadState.class, PyObject.class, PyObject.class));
+                    call(2);
                     break;
                 case 3:
                     visit(values.get(0));
@@ -1892,11 +2238,7 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
                     stackProduce();
                     visit(values.get(2));
                     stackConsume(4); // target + ts + arguments
-                    code.invokevirtual(
-                            p(PyObject.class),
-                            "__call__",
-                            sig(PyObject.class, ThreadState.class, PyObject.class, PyObject.class,
-                                    PyObject.class));
+                    call(3);
                     break;
                 case 4:
                     visit(values.get(0));
@@ -1907,11 +2249,7 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
                     stackProduce();
                     visit(values.get(3));
                     stackConsume(5); // target + ts + arguments
-                    code.invokevirtual(
-                            p(PyObject.class),
-                            "__call__",
-                            sig(PyObject.class, ThreadState.class, PyObject.class, PyObject.class,
-                                    PyObject.class, PyObject.class));
+                    call(4);
                     break;
                 default:
                     int argArray = makeArray(values);
@@ -2047,6 +2385,11 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
     public Object visitAttribute(Attribute node) throws Exception {
 
         expr_contextType ctx = node.getInternalCtx();
+        if (ctx == expr_contextType.Load) {
+            visit(node.getInternalValue());
+            getattr(getName(node.getInternalAttr()));
+            return null;
+        }
         if (node.getInternalCtx() == expr_contextType.AugStore && augmode == expr_contextType.Store) {
             restoreAugTmps(node, 2);
             ctx = expr_contextType.Store;
@@ -2437,8 +2780,8 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
     }
 
     void emitGetGlobal(String name) throws Exception {
-        code.ldc(name);
-        code.invokevirtual(p(PyFrame.class), "getglobal", sig(PyObject.class, String.class));
+        module.globalCacheConstant(name).get(code);
+        code.invokevirtual(p(PyFrame.class), "getglobal", sig(PyObject.class, GlobalCache.class));
     }
 
     @Override
@@ -2630,8 +2973,7 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
         code.invokevirtual(p(PyObject.class), "__iter__", sig(PyObject.class));
         loadThreadState();
         code.swap();
-        code.invokevirtual(p(PyObject.class), "__call__",
-                sig(PyObject.class, ThreadState.class, PyObject.class));
+        call(1);
         freeArray(emptyArray);
 
         return null;
@@ -2703,8 +3045,7 @@ public class CodeCompiler extends Visitor implements Opcodes, ClassConstants {
         code.invokevirtual(p(PyObject.class), "__iter__", sig(PyObject.class));
         loadThreadState();
         code.swap();
-        code.invokevirtual(p(PyObject.class), "__call__",
-                sig(PyObject.class, ThreadState.class, PyObject.class));
+        call(1);
         freeArray(emptyArray);
 
         return null;
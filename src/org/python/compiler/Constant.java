@@ -11,6 +11,14 @@ abstract class Constant implements Opcodes{
     static int access = ACC_STATIC | ACC_FINAL;
     String name;
 
+    /**
+     * The access flags of a field holding this constant in the module class, public where function
+     * bodies compiled into classes of their own must read it (see {@link Module#lazyBodies}).
+     */
+    int fieldAccess() {
+        return module.lazyBodies ? access | ACC_PUBLIC : access;
+    }
+
     abstract void get(Code mv) throws IOException;
 
     abstract void put(Code mv) throws IOException;
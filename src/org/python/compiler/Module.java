@@ -30,12 +30,16 @@ import org.python.antlr.ast.Num;
 import org.python.antlr.ast.Str;
 import org.python.antlr.ast.Suite;
 import org.python.antlr.base.mod;
+import org.python.core.AttributeCache;
+import org.python.core.BytecodeLoader;
 import org.python.core.ClasspathPyImporter;
 import org.python.core.CodeBootstrap;
 import org.python.core.CodeFlag;
 import org.python.core.CodeLoader;
 import org.python.core.CompilerFlags;
+import org.python.core.GlobalCache;
 import org.python.core.imp;
+import org.python.core.Options;
 import org.python.core.Py;
 import org.python.core.PyCode;
 import org.python.core.PyBytecode;
@@ -259,6 +263,88 @@ class PyLongConstant extends Constant implements ClassConstants, Opcodes {
 }
 
 
+class AttributeCacheConstant extends Constant implements ClassConstants, Opcodes {
+
+    final String value;
+
+    /** The site for which the cache is made, or -1 if it is shared by the sites of the name. */
+    final int site;
+
+    AttributeCacheConstant(String value, int site) {
+        this.value = value;
+        this.site = site;
+    }
+
+    @Override
+    void get(Code c) throws IOException {
+        c.getstatic(module.classfile.name, name, ci(AttributeCache.class));
+    }
+
+    @Override
+    void put(Code c) throws IOException {
+        module.classfile.addField(name, ci(AttributeCache.class), fieldAccess());
+        c.new_(p(AttributeCache.class));
+        c.dup();
+        c.ldc(value);
+        c.invokespecial(p(AttributeCache.class), "<init>", sig(Void.TYPE, String.class));
+        c.putstatic(module.classfile.name, name, ci(AttributeCache.class));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode() + site;
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof AttributeCacheConstant) {
+            AttributeCacheConstant other = (AttributeCacheConstant)o;
+            return other.value.equals(value) && other.site == site;
+        } else {
+            return false;
+        }
+    }
+}
+
+
+class GlobalCacheConstant extends Constant implements ClassConstants, Opcodes {
+
+    final String value;
+
+    GlobalCacheConstant(String value) {
+        this.value = value;
+    }
+
+    @Override
+    void get(Code c) throws IOException {
+        c.getstatic(module.classfile.name, name, ci(GlobalCache.class));
+    }
+
+    @Override
+    void put(Code c) throws IOException {
+        module.classfile.addField(name, ci(GlobalCache.class), fieldAccess());
+        c.new_(p(GlobalCache.class));
+        c.dup();
+        c.ldc(value);
+        c.invokespecial(p(GlobalCache.class), "<init>", sig(Void.TYPE, String.class));
+        c.putstatic(module.classfile.name, name, ci(GlobalCache.class));
+    }
+
+    @Override
+    public int hashCode() {
+        return value.hashCode();
+    }
+
+    @Override
+    public boolean equals(Object o) {
+        if (o instanceof GlobalCacheConstant) {
+            return ((GlobalCacheConstant)o).value.equals(value);
+        } else {
+            return false;
+        }
+    }
+}
+
 class PyCodeConstant extends Constant implements ClassConstants, Opcodes {
 
     final String co_name;
@@ -273,6 +359,8 @@ class PyCodeConstant extends Constant implements ClassConstants, Opcodes {
     final List<String> freevars;
     final int jy_npurecell;
     final int moreflags;
+    /** The class holding the body, if not the module class (see {@link Module#lazyBodies}). */
+    ClassFile body;
 
     PyCodeConstant(mod tree, String name, boolean fast_locals, String className, boolean classBody,
             boolean printResults, int firstlineno, ScopeInfo scope, CompilerFlags cflags,
@@ -334,6 +422,9 @@ class PyCodeConstant extends Constant implements ClassConstants, Opcodes {
         if (scope.generator) {
             _moreflags |= org.python.core.CodeFlag.CO_GENERATOR.flag;
         }
+        if (cellvars == null && freevars == null) {
+            _moreflags |= org.python.core.CodeFlag.CO_NOFREE.flag;
+        }
         if (cflags != null) {
             if (cflags.isFlagSet(CodeFlag.CO_GENERATOR_ALLOWED)) {
                 _moreflags |= org.python.core.CodeFlag.CO_GENERATOR_ALLOWED.flag;
@@ -380,7 +471,7 @@ class PyCodeConstant extends Constant implements ClassConstants, Opcodes {
 
     @Override
     void put(Code c) throws IOException {
-        module.classfile.addField(name, ci(PyCode.class), access);
+        module.classfile.addField(name, ci(PyCode.class), fieldAccess());
         c.iconst(argcount);
 
         // Make all names
@@ -457,6 +548,17 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
     String sfilename;
     Constant mainCode;
     boolean linenumbers;
+    /** Emit {@code invokedynamic} call sites (see {@link Options#invokedynamic}). */
+    boolean invokedynamic;
+    /** Get attributes through an {@link AttributeCache} (see {@link Options#attributeCaches}). */
+    boolean attributeCaches;
+    /**
+     * Compile the body of each function into a class of its own, defined on its first call (see
+     * {@link Options#lazyFunctionBodies}).
+     */
+    boolean lazyBodies;
+    /** The class into which code is being compiled: {@link #classfile} or that of a body. */
+    private ClassFile currentClass;
     Future futures;
     Hashtable<PythonTree, ScopeInfo> scopes;
     List<PyCodeConstant> codes;
@@ -465,6 +567,13 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
     private final static int USE_SETTERS_LIMIT = 100;
     private final static int MAX_SETTINGS_PER_SETTER = 4096;
 
+    /**
+     * The number of attribute sites given a cache of their own, beyond which sites share one
+     * cache for each name, so that a large module does not make too large an initialiser.
+     */
+    private final static int MAX_ATTRIBUTE_SITES = 1024;
+    private int attributeSites = 0;
+
     /** The pool of Python Constants */
     Hashtable<Constant, Constant> constants;
 
@@ -480,6 +589,13 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
         this.mtime = mtime;
         classfile =
                 new ClassFile(name, p(PyFunctionTable.class), ACC_SYNCHRONIZED | ACC_PUBLIC, mtime);
+        invokedynamic = Options.invokedynamic;
+        if (invokedynamic) {
+            classfile.version = V1_7;
+        }
+        attributeCaches = Options.attributeCaches;
+        lazyBodies = Options.lazyFunctionBodies;
+        currentClass = classfile;
         constants = new Hashtable<Constant, Constant>();
         sfilename = filename;
         if (filename != null) {
@@ -533,6 +649,15 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
         return findConstant(new PyLongConstant(value));
     }
 
+    Constant attributeCacheConstant(String name) {
+        int site = attributeSites < MAX_ATTRIBUTE_SITES ? attributeSites++ : -1;
+        return findConstant(new AttributeCacheConstant(name, site));
+    }
+
+    Constant globalCacheConstant(String name) {
+        return findConstant(new GlobalCacheConstant(name));
+    }
+
     Constant codeConstant(mod tree, String name, boolean fast_locals, String className,
             boolean classBody, boolean printResults, int firstlineno, ScopeInfo scope,
             CompilerFlags cflags) throws Exception {
@@ -557,13 +682,98 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
                 printResults, firstlineno, scope, cflags, this);
         codes.add(code);
 
-        CodeCompiler compiler = new CodeCompiler(this, printResults);
-        Code c = classfile.addMethod(code.fname,
-                sig(PyObject.class, PyFrame.class, ThreadState.class), ACC_PUBLIC);
-        compiler.parse(tree, c, fast_locals, className, classDoc, classBody, scope, cflags);
+        /*
+         * The body of the module and of a class run once each, as soon as defined: keep them here,
+         * even when the class is defined within a function whose body is in a class of its own,
+         * since addFunctions calls them on the module class.
+         */
+        ClassFile outer = currentClass;
+        if (lazyBodies && code.id > 0 && !classBody) {
+            currentClass = code.body = bodyClass(code);
+        } else {
+            currentClass = classfile;
+        }
+        try {
+            CodeCompiler compiler = new CodeCompiler(this, printResults);
+            Code c = currentClass.addMethod(code.fname,
+                    sig(PyObject.class, PyFrame.class, ThreadState.class), ACC_PUBLIC);
+            compiler.parse(tree, c, fast_locals, className, classDoc, classBody, scope, cflags);
+        } finally {
+            currentClass = outer;
+        }
         return code;
     }
 
+    /**
+     * Create the class to hold the body of a function apart from the module, when
+     * {@link #lazyBodies}. It is a {@link PyFunctionTable} with just the one function, that reads
+     * the constants it uses from the (public) fields of the module class.
+     *
+     * @param code the function
+     * @return the class, to which the compiler adds the body
+     */
+    private ClassFile bodyClass(PyCodeConstant code) throws IOException {
+        ClassFile body = new ClassFile(classfile.name + "$" + code.fname,
+                p(PyFunctionTable.class), ACC_PUBLIC | ACC_FINAL, mtime);
+        body.version = classfile.version;
+        if (sfilename != null) {
+            body.setSource(sfilename);
+        }
+
+        Code c = body.addMethod("<init>", sig(Void.TYPE), ACC_PUBLIC);
+        c.aload(0);
+        c.invokespecial(p(PyFunctionTable.class), "<init>", sig(Void.TYPE));
+        c.return_();
+
+        c = body.addMethod("call_function",
+                sig(PyObject.class, Integer.TYPE, PyFrame.class, ThreadState.class), ACC_PUBLIC);
+        c.aload(0);
+        c.aload(2);
+        c.aload(3);
+        c.invokevirtual(body.name, code.fname,
+                sig(PyObject.class, PyFrame.class, ThreadState.class));
+        c.areturn();
+        return body;
+    }
+
+    /**
+     * Add to the module class the static field that will refer to an instance of the class holding
+     * the body of a function, and the synchronised method that defines the class and sets the
+     * field, given the class file (carried in string literals).
+     *
+     * @param code the function
+     * @param bytes the class file holding its body
+     */
+    private void addBodyLoader(PyCodeConstant code, byte[] bytes) throws IOException {
+        String field = code.fname + "$body";
+        classfile.addField(field, ci(PyFunctionTable.class), ACC_PRIVATE | ACC_STATIC);
+        Code c = classfile.addMethod(field, sig(PyFunctionTable.class),
+                ACC_PRIVATE | ACC_STATIC | ACC_SYNCHRONIZED);
+        Label done = new Label();
+        c.getstatic(classfile.name, field, ci(PyFunctionTable.class));
+        c.dup();
+        c.ifnonnull(done);
+        c.pop();
+        c.ldc(code.body.name.replace('/', '.'));
+        c.ldc(Type.getType("L" + classfile.name + ";"));
+        String data = base64encodeToString(bytes);
+        int parts = (data.length() + maxLiteral - 1) / maxLiteral;
+        c.iconst(parts);
+        c.anewarray(p(String.class));
+        for (int i = 0; i < parts; i++) {
+            c.dup();
+            c.iconst(i);
+            c.ldc(data.substring(i * maxLiteral, Math.min(data.length(), (i + 1) * maxLiteral)));
+            c.aastore();
+        }
+        c.invokestatic(p(BytecodeLoader.class), "makeFunctionBody",
+                sig(PyFunctionTable.class, String.class, Class.class, String[].class));
+        c.dup();
+        c.putstatic(classfile.name, field, ci(PyFunctionTable.class));
+        c.label(done);
+        c.areturn();
+    }
+
     /** This block of code writes out the various standard methods */
     public void addInit() throws IOException {
         Code c = classfile.addMethod("<init>", sig(Void.TYPE, String.class), ACC_PUBLIC);
@@ -625,9 +835,6 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
                 sig(PyObject.class, Integer.TYPE, PyFrame.class, ThreadState.class), ACC_PUBLIC);
 
         if (!codes.isEmpty()) {
-            code.aload(0); // this
-            code.aload(2); // frame
-            code.aload(3); // thread state
             Label def = new Label();
             Label[] labels = new Label[codes.size()];
             int i;
@@ -640,8 +847,29 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
             code.tableswitch(0, labels.length - 1, def, labels);
             for (i = 0; i < labels.length; i++) {
                 code.label(labels[i]);
-                code.invokevirtual(classfile.name, (codes.get(i)).fname,
-                        sig(PyObject.class, PyFrame.class, ThreadState.class));
+                PyCodeConstant pyc = codes.get(i);
+                if (pyc.body == null) {
+                    code.aload(0); // this
+                    code.aload(2); // frame
+                    code.aload(3); // thread state
+                    code.invokevirtual(classfile.name, pyc.fname,
+                            sig(PyObject.class, PyFrame.class, ThreadState.class));
+                } else {
+                    // The body is in a class of its own, defined on the first call.
+                    String field = pyc.fname + "$body";
+                    Label loaded = new Label();
+                    code.getstatic(classfile.name, field, ci(PyFunctionTable.class));
+                    code.dup();
+                    code.ifnonnull(loaded);
+                    code.pop();
+                    code.invokestatic(classfile.name, field, sig(PyFunctionTable.class));
+                    code.label(loaded);
+                    code.iload(1); // index
+                    code.aload(2); // frame
+                    code.aload(3); // thread state
+                    code.invokevirtual(p(PyFunctionTable.class), "call_function",
+                            sig(PyObject.class, Integer.TYPE, PyFrame.class, ThreadState.class));
+                }
                 code.areturn();
             }
             code.label(def);
@@ -659,6 +887,7 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
         addBootstrap();
 
         addFunctions();
+        addBodies();
 
         classfile.addInterface(p(PyRunnable.class));
         if (sfilename != null) {
@@ -667,6 +896,17 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
         classfile.write(stream);
     }
 
+    /** Write the classes holding function bodies, each into the module class with its loader. */
+    private void addBodies() throws IOException {
+        for (PyCodeConstant pyc : codes) {
+            if (pyc.body != null) {
+                ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+                pyc.body.write(bytes);
+                addBodyLoader(pyc, bytes.toByteArray());
+            }
+        }
+    }
+
     // Implementation of CompilationContext
     @Override
     public Future getFutures() {
@@ -1135,7 +1375,7 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
         code.iconst(n);
         code.anewarray(p(PyObject.class));
         for (int i = 0; i < num_setters; i++) {
-            Code setter = this.classfile.addMethod("set$$" + setter_count,
+            Code setter = currentClass.addMethod("set$$" + setter_count,
                     sig(Void.TYPE, PyObject[].class), ACC_STATIC | ACC_PRIVATE);
 
             for (int j = 0; (j < MAX_SETTINGS_PER_SETTER)
@@ -1152,7 +1392,7 @@ public class Module implements Opcodes, ClassConstants, CompilationContext {
             }
             setter.return_();
             code.dup();
-            code.invokestatic(this.classfile.name, "set$$" + setter_count,
+            code.invokestatic(currentClass.name, "set$$" + setter_count,
                     sig(Void.TYPE, PyObject[].class));
             setter_count++;
         }
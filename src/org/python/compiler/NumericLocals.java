@@ -0,0 +1,375 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.compiler;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+
+import org.python.antlr.PythonTree;
+import org.python.antlr.Visitor;
+import org.python.antlr.ast.Assign;
+import org.python.antlr.ast.AugAssign;
+import org.python.antlr.ast.BinOp;
+import org.python.antlr.ast.Call;
+import org.python.antlr.ast.ClassDef;
+import org.python.antlr.ast.Compare;
+import org.python.antlr.ast.DictComp;
+import org.python.antlr.ast.For;
+import org.python.antlr.ast.FunctionDef;
+import org.python.antlr.ast.GeneratorExp;
+import org.python.antlr.ast.Lambda;
+import org.python.antlr.ast.Name;
+import org.python.antlr.ast.Num;
+import org.python.antlr.ast.SetComp;
+import org.python.antlr.ast.cmpopType;
+import org.python.antlr.ast.expr_contextType;
+import org.python.antlr.ast.operatorType;
+import org.python.antlr.base.expr;
+import org.python.core.PyFloat;
+import org.python.core.PyInteger;
+
+/**
+ * A pass over the body of a function, run after {@link ScopesCompiler}, that infers which of its
+ * locals only ever hold an {@code int} or a {@code float}, and describes the arithmetic expressions
+ * over them that the {@link CodeCompiler} may evaluate on primitive {@code int} or {@code double}
+ * values instead of through {@code PyObject._add} and friends.
+ * <p>
+ * The inference is flow-insensitive: a local is numeric if every binding of it in the body is a
+ * numeric literal, another numeric local, an arithmetic combination of these, or the target of a
+ * {@code for} loop over {@code range} or {@code xrange}. It guides only where the compiler emits
+ * primitive code. That code is speculative: it checks the exact classes of the values it finds at
+ * run time, and falls back to the boxed operations when they are not as expected or a result will
+ * not fit a Python {@code int}, so it remains correct whatever the names are bound to.
+ */
+class NumericLocals extends Visitor {
+
+    /** The type of a local not (yet) seen bound to anything. */
+    private static final int NONE = 0;
+    /** The type of a local only bound to an {@code int} (or the {@code long} it overflows to). */
+    private static final int INT = 1;
+    /** The type of a local only bound to a {@code float}. */
+    private static final int FLOAT = 2;
+    /** The type of a local bound to an {@code int} in some places and a {@code float} in others. */
+    private static final int NUMBER = INT | FLOAT;
+    /** The type of a local bound to anything else. */
+    private static final int UNKNOWN = 4;
+
+    /** The greatest number of distinct locals and of nodes in an expression we will speculate on. */
+    private static final int MAX_LOCALS = 8, MAX_NODES = 32;
+
+    private final ScopeInfo scope;
+
+    /** Each binding of a local, as the expression that gives its type, or null if unknown. */
+    private final List<Binding> bindings = new ArrayList<Binding>();
+
+    /** The inferred type of each local, once {@link #infer()} is complete. */
+    private final Map<String, Integer> types = new HashMap<String, Integer>();
+
+    private NumericLocals(ScopeInfo scope) {
+        this.scope = scope;
+    }
+
+    /**
+     * Infer the numeric locals of a function body.
+     *
+     * @param body of the function
+     * @param scope of the function, as computed by {@link ScopesCompiler}
+     * @return the result of the inference
+     */
+    static NumericLocals analyze(PythonTree body, ScopeInfo scope) throws Exception {
+        NumericLocals numeric = new NumericLocals(scope);
+        numeric.visit(body);
+        numeric.infer();
+        return numeric;
+    }
+
+    /** Whether the name is a local held in the frame's fast locals (and not a cell). */
+    boolean isFastLocal(String name) {
+        SymInfo info = scope.tbl.get(name);
+        return info != null && (info.flags & ScopeInfo.BOUND) != 0
+                && (info.flags & (ScopeInfo.CELL | ScopeInfo.FREE | ScopeInfo.GLOBAL)) == 0;
+    }
+
+    /** Whether the name is a local inferred to hold only an {@code int} or a {@code float}. */
+    boolean isNumeric(String name) {
+        Integer type = types.get(name);
+        return type != null && type != NONE && type != UNKNOWN;
+    }
+
+    /**
+     * Describe an arithmetic expression (a {@link BinOp}) or a single comparison (a
+     * {@link Compare}) for which primitive code is worth emitting, or return null if there is none.
+     * The operands must be fast locals and numeric literals, combined by {@code +}, {@code -} and
+     * {@code *}, and at least one must be a numeric local or a literal.
+     *
+     * @param node to describe
+     * @return the description or null
+     */
+    Arithmetic describe(expr node) {
+        Arithmetic a = new Arithmetic();
+        boolean valid;
+        if (node instanceof Compare) {
+            Compare c = (Compare) node;
+            valid = c.getInternalOps().size() == 1 && isOrdering(c.getInternalOps().get(0))
+                    && a.add(c.getInternalLeft()) && a.add(c.getInternalComparators().get(0));
+        } else {
+            valid = node instanceof BinOp && a.add(node);
+        }
+        if (!valid || a.names.isEmpty() || a.names.size() > MAX_LOCALS || a.nodes > MAX_NODES
+                || !(a.anyNumeric || a.anyLiteral) || !(a.intPath || a.floatPath)) {
+            return null;
+        }
+        return a;
+    }
+
+    private static boolean isOrdering(cmpopType op) {
+        switch (op) {
+            case Eq:
+            case NotEq:
+            case Lt:
+            case LtE:
+            case Gt:
+            case GtE:
+                return true;
+            default:
+                return false;
+        }
+    }
+
+    private static boolean isArithmetic(operatorType op) {
+        return op == operatorType.Add || op == operatorType.Sub || op == operatorType.Mult;
+    }
+
+    /**
+     * What {@link NumericLocals#describe(expr)} found out about an expression.
+     */
+    class Arithmetic {
+
+        /** The distinct locals in the expression, in the order of their first use. */
+        final Set<String> names = new LinkedHashSet<String>();
+
+        /**
+         * Whether the expression may be evaluated on {@code int}s when all the locals are
+         * {@code int}s: there are no {@code float} literals.
+         */
+        boolean intPath = true;
+
+        /**
+         * Whether the expression may be evaluated on {@code double}s when all the locals are
+         * {@code float}s: every operation has a local among its operands, so that each is a
+         * {@code float} operation in Python too.
+         */
+        boolean floatPath = true;
+
+        private boolean anyNumeric, anyLiteral;
+        private int nodes;
+
+        /** Add an operand, returning false if it is unsuitable. */
+        private boolean add(expr node) {
+            return locals(node) >= 0;
+        }
+
+        /** Count the uses of locals in an operand, or return -1 if it is unsuitable. */
+        private int locals(expr node) {
+            nodes++;
+            if (node instanceof Name) {
+                String name = ((Name) node).getInternalId();
+                if (!isFastLocal(name)) {
+                    return -1;
+                }
+                names.add(name);
+                anyNumeric |= isNumeric(name);
+                return 1;
+            } else if (node instanceof Num) {
+                Object n = ((Num) node).getInternalN();
+                if (n instanceof PyFloat) {
+                    intPath = false;
+                } else if (!(n instanceof PyInteger)) {
+                    return -1;
+                }
+                anyLiteral = true;
+                return 0;
+            } else if (node instanceof BinOp) {
+                BinOp b = (BinOp) node;
+                if (!isArithmetic(b.getInternalOp())) {
+                    return -1;
+                }
+                int left = locals(b.getInternalLeft());
+                int right = left < 0 ? -1 : locals(b.getInternalRight());
+                if (right < 0) {
+                    return -1;
+                }
+                if (left + right == 0) {
+                    floatPath = false;
+                }
+                return left + right;
+            }
+            return -1;
+        }
+    }
+
+    /** A binding of a local, to the value of an expression or to something of known type. */
+    private static class Binding {
+
+        final String name;
+        final expr value;
+        final int type;
+
+        Binding(String name, expr value, int type) {
+            this.name = name;
+            this.value = value;
+            this.type = type;
+        }
+    }
+
+    /** Compute {@link #types} from {@link #bindings} by iteration to a fixed point. */
+    private void infer() {
+        for (Map.Entry<String, SymInfo> e : scope.tbl.entrySet()) {
+            if ((e.getValue().flags & ScopeInfo.PARAM) != 0) {
+                types.put(e.getKey(), UNKNOWN);
+            }
+        }
+        boolean changed = true;
+        while (changed) {
+            changed = false;
+            for (Binding b : bindings) {
+                int type = b.value == null ? b.type : typeOf(b.value);
+                Integer old = types.get(b.name);
+                int joined = join(old == null ? NONE : old, type);
+                if (old == null || joined != old) {
+                    types.put(b.name, joined);
+                    changed = true;
+                }
+            }
+        }
+    }
+
+    private static int join(int a, int b) {
+        return (a == UNKNOWN || b == UNKNOWN) ? UNKNOWN : a | b;
+    }
+
+    private int typeOf(expr node) {
+        if (node instanceof Num) {
+            Object n = ((Num) node).getInternalN();
+            return n instanceof PyInteger ? INT : n instanceof PyFloat ? FLOAT : UNKNOWN;
+        } else if (node instanceof Name) {
+            String name = ((Name) node).getInternalId();
+            Integer type = types.get(name);
+            return !isFastLocal(name) ? UNKNOWN : type == null ? NONE : type;
+        } else if (node instanceof BinOp) {
+            BinOp b = (BinOp) node;
+            if (!isArithmetic(b.getInternalOp())) {
+                return UNKNOWN;
+            }
+            int left = typeOf(b.getInternalLeft());
+            int right = typeOf(b.getInternalRight());
+            if (left == UNKNOWN || right == UNKNOWN) {
+                return UNKNOWN;
+            } else if (left == NONE || right == NONE) {
+                return left | right;
+            } else if ((left | right) == INT) {
+                return INT;
+            } else if (left == FLOAT || right == FLOAT) {
+                return FLOAT;
+            }
+            return NUMBER;
+        }
+        return UNKNOWN;
+    }
+
+    private void bind(String name, expr value, int type) {
+        bindings.add(new Binding(name, value, type));
+    }
+
+    @Override
+    public Object visitAssign(Assign node) throws Exception {
+        if (node.getInternalTargets().size() == 1
+                && node.getInternalTargets().get(0) instanceof Name) {
+            bind(((Name) node.getInternalTargets().get(0)).getInternalId(),
+                    node.getInternalValue(), UNKNOWN);
+            visit(node.getInternalValue());
+            return null;
+        }
+        traverse(node);
+        return null;
+    }
+
+    @Override
+    public Object visitAugAssign(AugAssign node) throws Exception {
+        if (node.getInternalTarget() instanceof Name) {
+            Name target = (Name) node.getInternalTarget();
+            bind(target.getInternalId(),
+                    new BinOp(node, new Name(target, target.getInternalId(),
+                            expr_contextType.Load), node.getInternalOp(), node.getInternalValue()),
+                    UNKNOWN);
+            visit(node.getInternalValue());
+            return null;
+        }
+        traverse(node);
+        return null;
+    }
+
+    @Override
+    public Object visitFor(For node) throws Exception {
+        if (node.getInternalTarget() instanceof Name && node.getInternalIter() instanceof Call) {
+            expr func = ((Call) node.getInternalIter()).getInternalFunc();
+            if (func instanceof Name && (((Name) func).getInternalId().equals("range")
+                    || ((Name) func).getInternalId().equals("xrange"))) {
+                bind(((Name) node.getInternalTarget()).getInternalId(), null, INT);
+                visit(node.getInternalIter());
+                visit(node.getInternalBody().toArray(new PythonTree[0]));
+                visit(node.getInternalOrelse().toArray(new PythonTree[0]));
+                return null;
+            }
+        }
+        traverse(node);
+        return null;
+    }
+
+    @Override
+    public Object visitName(Name node) throws Exception {
+        if (node.getInternalCtx() == expr_contextType.Store
+                || node.getInternalCtx() == expr_contextType.AugStore) {
+            bind(node.getInternalId(), null, UNKNOWN);
+        }
+        return null;
+    }
+
+    // Nested scopes bind only their own name here.
+
+    @Override
+    public Object visitFunctionDef(FunctionDef node) throws Exception {
+        bind(node.getInternalName(), null, UNKNOWN);
+        return null;
+    }
+
+    @Override
+    public Object visitClassDef(ClassDef node) throws Exception {
+        bind(node.getInternalName(), null, UNKNOWN);
+        return null;
+    }
+
+    @Override
+    public Object visitLambda(Lambda node) throws Exception {
+        return null;
+    }
+
+    @Override
+    public Object visitGeneratorExp(GeneratorExp node) throws Exception {
+        return null;
+    }
+
+    @Override
+    public Object visitSetComp(SetComp node) throws Exception {
+        return null;
+    }
+
+    @Override
+    public Object visitDictComp(DictComp node) throws Exception {
+        return null;
+    }
+}
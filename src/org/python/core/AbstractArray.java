@@ -571,6 +571,7 @@ public abstract class AbstractArray implements Serializable{
         // is encapsulated).
         if (this.size < this.capacity) {
             setNewBase(this.size);
+            this.capacity = this.size;
         }
     }
 
@@ -329,6 +329,9 @@ abstract class PyMapSet extends AbstractSet {
 
     abstract Object toPython(Object obj);
 
+    /** Called after an element is removed through this set, or its iterator. */
+    void modified() {}
+
     @Override
     public int size() {
         return coll.size();
@@ -341,12 +344,17 @@ abstract class PyMapSet extends AbstractSet {
 
     @Override
      public boolean remove(Object o) {
-         return coll.remove(toPython(o));
+        if (coll.remove(toPython(o))) {
+            modified();
+            return true;
+        }
+        return false;
     }
 
     @Override
     public void clear() {
         coll.clear();
+        modified();
     }
 
     /* Iterator wrapper class returned by the PyMapSet iterator
@@ -369,6 +377,7 @@ abstract class PyMapSet extends AbstractSet {
 
         public void remove() {
             itr.remove();
+            modified();
         }
     }
 
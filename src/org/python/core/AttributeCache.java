@@ -0,0 +1,260 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.lang.ref.WeakReference;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Set;
+import java.util.WeakHashMap;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * A cache for the look-up of one attribute name at one site in compiled code, such as
+ * {@code obj.name} or {@code obj.name(...)}. The compiler creates one for each such site, and the
+ * generated code calls {@link #getattr(PyObject)} in place of {@link PyObject#__getattr__(String)}.
+ * <p>
+ * The cache holds the result of looking up the name along the MRO of the type of the last object
+ * seen, with the {@link PyType#getVersionTag() version tag} of the type at the time. While an
+ * object of the same class and type arrives, and the version is unchanged, the look-up skips both
+ * the global method cache of {@code PyType} and the walk of the MRO. Where the instance dictionary
+ * shares its keys with the other instances of the type (see {@link SharedKeyMap}), the cache also
+ * holds the position of the name in those keys, so that finding it in the instance is an indexed
+ * load. Only objects that find attributes through the generic {@code object.__getattribute__} are
+ * cached: others are always looked up as usual.
+ * <p>
+ * Each cache counts its hits and misses, and the totals over all caches are available from
+ * {@link #totalHits()} and {@link #totalMisses()}, to show whether the caching is effective. The
+ * counts are {@code LongAdder}s, so that threads sharing a site do not contend to count. A site
+ * that misses more often than it hits, once it has missed {@link #MAX_MISSES} times, is taken to
+ * be megamorphic: it stops caching and looks up the name as usual.
+ * <p>
+ * The type and the result of the look-up are held weakly, so that the cache, which lives as long
+ * as the code (and that may be shared by interpreters, see {@link SharedCodeCache}), does not keep
+ * alive the classes, or through their methods the modules, of any one interpreter.
+ * <p>
+ * The compiler uses these caches only if {@link Options#attributeCaches} is set.
+ */
+public final class AttributeCache {
+
+    /** The number of misses after which a site that misses more than it hits stops caching. */
+    static final int MAX_MISSES = 64;
+
+    /**
+     * Whether instances of a class find attributes through the generic
+     * {@code object.__getattribute__}: those that inherit {@code __findattr_ex__} from
+     * {@code PyObject}, and the {@code Derived} classes, that implement it through
+     * {@link Deriveds#__findattr_ex__(PyObject, String)}.
+     */
+    private static final ClassValue<Boolean> genericFindattr = new ClassValue<Boolean>() {
+
+        @Override
+        protected Boolean computeValue(Class<?> c) {
+            try {
+                Class<?> declaring = c.getMethod("__findattr_ex__", String.class)
+                        .getDeclaringClass();
+                return declaring == PyObject.class || Slotted.class.isAssignableFrom(declaring);
+            } catch (NoSuchMethodException e) {
+                return false;
+            }
+        }
+    };
+
+    /** Every cache created, so that the counts may be totalled. */
+    private static final Set<AttributeCache> caches =
+            Collections.synchronizedSet(Collections.newSetFromMap(
+                    new WeakHashMap<AttributeCache, Boolean>()));
+
+    /** The name looked up (interned). */
+    private final String name;
+
+    /** The result of the last look-up that could be cached, or null. */
+    private Entry entry;
+
+    private final LongAdder hits = new LongAdder(), misses = new LongAdder();
+
+    /** Whether this site has been found to be megamorphic, so that it no longer caches. */
+    private volatile boolean megamorphic;
+
+    public AttributeCache(String name) {
+        this.name = name.intern();
+        caches.add(this);
+    }
+
+    /**
+     * Whether instances of the class find attributes through the generic
+     * {@code object.__getattribute__}, so that their look-up may be cached.
+     */
+    static boolean isGeneric(Class<?> c) {
+        return genericFindattr.get(c);
+    }
+
+    /**
+     * Get the attribute of the object, as {@link PyObject#__getattr__(String)} does, but
+     * consulting and updating the cache.
+     *
+     * @param obj of which to get the attribute
+     * @return the value of the attribute
+     * @throws PyException {@code AttributeError} if the name is not found.
+     */
+    public PyObject getattr(PyObject obj) {
+        Entry e = entry;
+        PyType type;
+        PyObject res;
+        if (e != null && obj.getClass() == e.cls && (type = obj.getType()) == e.get()
+                && type.getVersionTag() == e.version) {
+            hits.increment();
+            res = e.find(obj, type);
+        } else if (megamorphic) {
+            return obj.__getattr__(name);
+        } else {
+            misses.increment();
+            // Summing is slower than counting, but a miss is slower still.
+            long m = misses.sum();
+            if (m > MAX_MISSES && m > hits.sum()) {
+                megamorphic = true;
+                return obj.__getattr__(name);
+            }
+            e = refresh(obj);
+            if (e == null) {
+                return obj.__getattr__(name);
+            }
+            res = e.find(obj, obj.getType());
+        }
+        // Not found: look again the long way, in order to call __getattr__ or raise the error.
+        return res != null ? res : obj.__getattr__(name);
+    }
+
+    /** Make a new entry for the type of the object, or return null if it may not be cached. */
+    private Entry refresh(PyObject obj) {
+        Class<?> c = obj.getClass();
+        PyType type = obj.getType();
+        boolean derived = obj instanceof Slotted;
+        if (!isGeneric(c) || derived && !type.getUsesObjectGetattribute()) {
+            return null;
+        }
+        // Take the version first: if it changes while we look, the entry is just never valid.
+        Object version = type.getVersionTag();
+        PyObject descr = type.lookup(name);
+        SharedKeyMap.Keys keys = type.getSharedKeys();
+        int slot = keys == null ? -1 : keys.indexOf(name);
+        Entry e = new Entry(c, type, version, derived, descr, slot < 0 ? null : keys, slot);
+        entry = e;
+        return e;
+    }
+
+    /** The name this cache looks up. */
+    public String getName() {
+        return name;
+    }
+
+    /** The number of look-ups this cache has answered from its entry. */
+    public long getHits() {
+        return hits.sum();
+    }
+
+    /** The number of look-ups for which this cache had to look along the MRO. */
+    public long getMisses() {
+        return misses.sum();
+    }
+
+    /** The number of look-ups answered by all attribute caches. */
+    public static long totalHits() {
+        long n = 0;
+        for (AttributeCache cache : snapshot()) {
+            n += cache.hits.sum();
+        }
+        return n;
+    }
+
+    /** The number of look-ups missed by all attribute caches. */
+    public static long totalMisses() {
+        long n = 0;
+        for (AttributeCache cache : snapshot()) {
+            n += cache.misses.sum();
+        }
+        return n;
+    }
+
+    private static List<AttributeCache> snapshot() {
+        synchronized (caches) {
+            return new ArrayList<AttributeCache>(caches);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<attribute cache '%s': %d hits, %d misses>", name, hits.sum(),
+                misses.sum());
+    }
+
+    /** An immutable record of one look-up along the MRO of a type, which it holds weakly. */
+    private final class Entry extends WeakReference<PyType> {
+
+        final Class<?> cls;
+        /** Version tag of the type read before the look-up. */
+        final Object version;
+        /** Whether the class is a {@code Derived} class, which may define {@code __getattr__}. */
+        final boolean derived;
+        /** The result of {@code type.lookup(name)}, or null if that was null. */
+        final WeakReference<PyObject> descr;
+        /** Whether {@link #descr} has a {@code __get__}, and whether it is a data descriptor. */
+        final boolean get, data;
+        /** The keys shared by instances of the type that contain the name, or null. */
+        final SharedKeyMap.Keys keys;
+        /** The position of the name in {@link #keys}. */
+        final int slot;
+
+        Entry(Class<?> cls, PyType type, Object version, boolean derived, PyObject descr,
+                SharedKeyMap.Keys keys, int slot) {
+            super(type);
+            this.cls = cls;
+            this.version = version;
+            this.derived = derived;
+            this.descr = descr == null ? null : new WeakReference<PyObject>(descr);
+            this.get = descr != null && descr.implementsDescrGet();
+            this.data = get && descr.isDataDescr();
+            this.keys = keys;
+            this.slot = slot;
+        }
+
+        /**
+         * Find the attribute on an object of the type, as
+         * {@link PyObject#object___findattr__(String, PyObject)} does, or return null if it is
+         * not found (or the result of the look-up has been collected).
+         */
+        PyObject find(PyObject obj, PyType type) {
+            PyObject descr = this.descr == null ? null : this.descr.get();
+            if (descr == null && this.descr != null) {
+                return null;
+            }
+            if (!data) {
+                PyObject dict = obj.fastGetDict();
+                if (dict != null) {
+                    PyObject res = keys != null && dict instanceof PyStringMap
+                            ? ((PyStringMap) dict).getShared(keys, slot, name)
+                            : dict.__finditem__(name);
+                    if (res != null) {
+                        return res;
+                    }
+                }
+                if (!get) {
+                    return descr;
+                }
+            }
+            try {
+                return descr.__get__(obj, type);
+            } catch (PyException pye) {
+                // As Deriveds.__findattr_ex__ does, let __getattr__ handle an AttributeError.
+                if (derived && pye.match(Py.AttributeError)) {
+                    PyObject getattr = type.lookup("__getattr__");
+                    if (getattr != null) {
+                        return getattr.__get__(obj, type).__call__(PyString.fromInterned(name));
+                    }
+                }
+                throw pye;
+            }
+        }
+    }
+}
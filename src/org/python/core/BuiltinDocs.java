@@ -4763,4 +4763,9 @@ public class BuiltinDocs {
         "    Return the tuple (new_string, number_of_subs_made) found by replacing\n" +
         "    the leftmost non-overlapping occurrences of pattern with the\n" +
         "    replacement repl.";
+    public final static String xrange_doc = "";
+    public final static String xrange___len___doc = "";
+    public final static String xrange___getitem___doc = "";
+    public final static String xrange___iter___doc = "";
+    public final static String xrange___reversed___doc = "";
 }
@@ -61,6 +61,30 @@ public class BytecodeLoader {
         return makeClass(name, data);
     }
 
+    /**
+     * Define the class holding the body of a function that a module compiled with
+     * {@link Options#lazyFunctionBodies} keeps apart from the module class, and return an instance
+     * of it. The module calls this the first time the function is called. The class is defined by
+     * a loader that delegates first to that of the module class, to whose fields it refers.
+     *
+     * @param name fully-qualified binary name of the class
+     * @param module the compiled module class
+     * @param data the class file, base64 encoded, in one or more parts
+     * @return the function table that calls the body
+     */
+    public static PyFunctionTable makeFunctionBody(String name, Class<?> module, String... data) {
+        StringBuilder encoded = new StringBuilder();
+        for (String part : data) {
+            encoded.append(part);
+        }
+        try {
+            Class<?> c = makeClass(name, base64decode(encoded.toString()), module);
+            return (PyFunctionTable) c.getConstructor().newInstance();
+        } catch (Exception e) {
+            throw Py.JavaError(e);
+        }
+    }
+
     private static PyCode parseSerializedCode(String code_str)
             throws IOException, ClassNotFoundException {
         // From Java 8 use: byte[] b = Base64.getDecoder().decode(code_str);
@@ -237,7 +261,8 @@ public class BytecodeLoader {
     /**
      * Turn the Java class file data for a compiled Python module into a {@code PyCode} object, by
      * constructing an instance of the named class and calling the instance's
-     * {@link PyRunnable#getMain()}.
+     * {@link PyRunnable#getMain()}. If {@link Options#sharedCodeCache} is set, the code object is
+     * taken from the {@link SharedCodeCache} if the same class has been loaded before.
      *
      * @param name fully-qualified binary name of the class
      * @param data a class file as a byte array
@@ -245,12 +270,24 @@ public class BytecodeLoader {
      * @return the {@code PyCode} object produced by the named class' {@code getMain}
      */
     public static PyCode makeCode(String name, byte[] data, String filename) {
+        String key = null;
+        if (Options.sharedCodeCache) {
+            // Another interpreter may have loaded the same class already.
+            key = SharedCodeCache.codeKey(name, data, filename);
+            PyCode code = SharedCodeCache.getCode(key);
+            if (code != null) {
+                return code;
+            }
+        }
         try {
             Class<?> c = makeClass(name, data);
             // A compiled module has a constructor taking a String filename argument.
             Constructor<?> cons = c.getConstructor(new Class<?>[] {String.class});
             Object instance = cons.newInstance(new Object[] {filename});
             PyCode result = ((PyRunnable) instance).getMain();
+            if (key != null) {
+                SharedCodeCache.putCode(key, result);
+            }
             return result;
         } catch (Exception e) {
             throw Py.JavaError(e);
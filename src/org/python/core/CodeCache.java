@@ -0,0 +1,172 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.NoSuchFileException;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.python.Version;
+
+/**
+ * A directory of compiled modules (the bytes of the {@code $py.class} file) each filed under a key
+ * computed from the module name and the content of its source, set up when
+ * {@link Options#codeCacheDirectory} is set. Import consults it before compiling a source file
+ * for which there is no up-to-date {@code $py.class} beside it, so that a read-only installation,
+ * or one whose sources have new modification times (as when copied into a container image), need
+ * not compile anything that is in the cache.
+ * <p>
+ * Since the key depends only on the content of the source, the name of the module, the version
+ * of Jython and of its compiled code, and the options that change the code the compiler
+ * generates, an entry never goes out of date: a changed source
+ * simply has a different key. Entries are written to a temporary file and renamed into place, so
+ * one directory may safely be shared by many JVMs, and filled ahead of time by
+ * {@link org.python.util.ParallelCompiler}.
+ */
+public final class CodeCache {
+
+    private static Logger logger = Logger.getLogger("org.python.import");
+
+    private static final char[] HEX = "0123456789abcdef".toCharArray();
+
+    /** The cache for the current value of {@link Options#codeCacheDirectory}, or null. */
+    private static volatile CodeCache defaultCache;
+
+    private final File dir;
+
+    /**
+     * Create a cache in a directory, which is created when the first entry is stored.
+     *
+     * @param dir holding the cache
+     */
+    public CodeCache(File dir) {
+        this.dir = dir.getAbsoluteFile();
+    }
+
+    /**
+     * Return the cache in {@link Options#codeCacheDirectory}, or null if that is not set. A
+     * relative path is taken relative to the current directory.
+     *
+     * @return the cache or null
+     */
+    public static CodeCache getDefault() {
+        String name = Options.codeCacheDirectory;
+        if (name == null || name.length() == 0) {
+            return null;
+        }
+        CodeCache cache = defaultCache;
+        if (cache == null || !cache.dir.equals(new File(name).getAbsoluteFile())) {
+            defaultCache = cache = new CodeCache(new File(name));
+            logger.log(Level.CONFIG, "code cache at {0}", cache.dir);
+        }
+        return cache;
+    }
+
+    /** The directory holding the cache. */
+    public File getDirectory() {
+        return dir;
+    }
+
+    /**
+     * Compute the key under which the compiled form of a module is filed: a digest of the name of
+     * the module (which names the class compiled), the source, the versions that determine the
+     * compiled code, and the current settings of the options that change it
+     * ({@link Options#invokedynamic}, {@link Options#attributeCaches} and
+     * {@link Options#lazyFunctionBodies}).
+     *
+     * @param name of the module
+     * @param source the bytes of the source
+     * @return the key as a string of hexadecimal digits
+     */
+    public static String key(String name, byte[] source) {
+        MessageDigest md;
+        try {
+            md = MessageDigest.getInstance("SHA-256");
+        } catch (NoSuchAlgorithmException e) {
+            throw new IllegalStateException(e);
+        }
+        String prefix = imp.getAPIVersion() + " " + Version.PY_VERSION + " " + codegenOptions()
+                + " " + name + "\0";
+        md.update(prefix.getBytes(StandardCharsets.UTF_8));
+        byte[] digest = md.digest(source);
+        char[] hex = new char[digest.length * 2];
+        for (int i = 0; i < digest.length; i++) {
+            hex[2 * i] = HEX[(digest[i] >> 4) & 0xf];
+            hex[2 * i + 1] = HEX[digest[i] & 0xf];
+        }
+        return new String(hex);
+    }
+
+    /** The options that change the code generated, as they are to form part of a key. */
+    private static String codegenOptions() {
+        return (Options.invokedynamic ? "i" : "-") + (Options.attributeCaches ? "a" : "-")
+                + (Options.lazyFunctionBodies ? "l" : "-");
+    }
+
+    /** The file holding the entry with the given key, in a sub-directory by its first digits. */
+    private Path path(String key) {
+        return new File(new File(dir, key.substring(0, 2)), key + "$py.class").toPath();
+    }
+
+    /**
+     * Return the compiled module filed under the key, or null if there is none (or it cannot be
+     * read).
+     *
+     * @param key from {@link #key(String, byte[])}
+     * @return the class file bytes or null
+     */
+    public byte[] load(String key) {
+        Path path = path(key);
+        try {
+            byte[] code = Files.readAllBytes(path);
+            logger.log(Level.FINE, "# code cache hit {0}", path);
+            return code;
+        } catch (NoSuchFileException e) {
+            return null;
+        } catch (IOException | SecurityException e) {
+            logger.log(Level.FINE, "Unable to read code cache file ''{0}'' due to {1}",
+                    new Object[] {path, e});
+            return null;
+        }
+    }
+
+    /**
+     * File a compiled module under the key. The entry appears complete or not at all to other
+     * readers. Failure to write it is logged and otherwise ignored.
+     *
+     * @param key from {@link #key(String, byte[])}
+     * @param code the class file bytes
+     */
+    public void store(String key, byte[] code) {
+        Path path = path(key);
+        Path tmp = path.resolveSibling(key + "." + Long.toHexString(ThreadLocalRandom.current()
+                .nextLong()) + ".tmp");
+        try {
+            Files.createDirectories(path.getParent());
+            Files.write(tmp, code);
+            try {
+                Files.move(tmp, path, StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, path, StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | SecurityException e) {
+            logger.log(Level.FINE, "Unable to write code cache file ''{0}'' due to {1}",
+                    new Object[] {path, e});
+            try {
+                Files.deleteIfExists(tmp);
+            } catch (IOException | SecurityException ignore) {
+                // ignore
+            }
+        }
+    }
+}
@@ -34,6 +34,10 @@ public enum CodeFlag {
      * Denotes that nested scopes are enabled in the code block.
      */
     CO_NESTED(0x0010),
+    /**
+     * The code block has no free or cell variables.
+     */
+    CO_NOFREE(0x0040),
     /**
      * Denotes that generators are enabled in the code block.
      */
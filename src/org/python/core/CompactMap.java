@@ -0,0 +1,451 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.io.IOException;
+import java.io.ObjectInputStream;
+import java.io.ObjectOutputStream;
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentMap;
+
+/**
+ * A compact, insertion-ordered map from {@code PyObject} to {@code PyObject}, in the manner of the
+ * CPython 3.6 {@code dict}, that may be used as the storage of a {@link PyDictionary} in place of a
+ * {@code ConcurrentHashMap} (see {@link Options#compactDict}).
+ * <p>
+ * The entries are held in parallel arrays of hash, key and value, in the order of insertion. A
+ * separate open-addressed array of {@code int} indexes into them. There is no object per entry,
+ * and the hash of each key is computed once, when it is inserted, so a probe compares hashes
+ * before it calls {@code equals}, and growing the table calls neither {@code hashCode} nor
+ * {@code equals}.
+ * <p>
+ * Reads take no lock. Changes are serialised on the map, which is also the monitor on which
+ * {@code PyDictionary} makes its compound operations atomic. A change stores into the arrays in an
+ * order that keeps every state a reader may see valid, and then advances {@link #version}, which a
+ * reader reads first. A reader racing a change sees the entry before or after it. Growing the
+ * table builds new arrays and leaves the old ones intact for readers still using them. Iterators
+ * are weakly consistent, as those of {@code ConcurrentHashMap} are, and never throw
+ * {@code ConcurrentModificationException}.
+ */
+final class CompactMap extends AbstractMap<PyObject, PyObject>
+        implements ConcurrentMap<PyObject, PyObject>, Serializable {
+
+    /** A slot of the index never used. */
+    private static final int FREE = -1;
+    /** A slot of the index whose entry has been removed. */
+    private static final int DUMMY = -2;
+    /** Least size of the index (a power of 2). */
+    private static final int MIN_INDEX = 8;
+    /** Bits of the hash mixed in at each step of a probe, as in CPython. */
+    private static final int PERTURB_SHIFT = 5;
+
+    /** The arrays that hold the map. Replaced (not resized) when full. */
+    private static final class Table {
+
+        /** Index of the entry for each slot, or {@link #FREE} or {@link #DUMMY}. */
+        final int[] index;
+        /** The hash of each entry's key. */
+        final int[] hashes;
+        /** The key of each entry, or null where it has been removed. */
+        final PyObject[] keys;
+        /** The value of each entry. */
+        final PyObject[] values;
+        /** Number of entries used, including removed ones. Written only under the lock. */
+        int used;
+
+        Table(int indexSize) {
+            index = new int[indexSize];
+            Arrays.fill(index, FREE);
+            int usable = usable(indexSize);
+            hashes = new int[usable];
+            keys = new PyObject[usable];
+            values = new PyObject[usable];
+        }
+    }
+
+    private transient volatile Table table;
+
+    /** Number of entries present. */
+    private transient volatile int size;
+
+    /** Advanced at the end of every change, so a reader that reads it first sees the change. */
+    private transient volatile int version;
+
+    CompactMap() {
+        this(0);
+    }
+
+    /**
+     * Create a map with room for the given number of entries before it must grow.
+     *
+     * @param capacity expected number of entries
+     */
+    CompactMap(int capacity) {
+        table = new Table(indexSizeFor(capacity));
+    }
+
+    /** The number of entries an index of this size may address, keeping it 2/3 full at most. */
+    private static int usable(int indexSize) {
+        return (indexSize << 1) / 3;
+    }
+
+    /** The least power of 2 (at least {@link #MIN_INDEX}) whose {@link #usable} is enough. */
+    private static int indexSizeFor(int capacity) {
+        int n = MIN_INDEX;
+        while (usable(n) < capacity) {
+            n <<= 1;
+        }
+        return n;
+    }
+
+    private static int hash(Object key) {
+        return key.hashCode();
+    }
+
+    /**
+     * Find the slot in the index of the entry with the given key, or return {@code -1 - slot}
+     * where {@code slot} is the free slot at which the probe stopped. If {@code equals} changes the
+     * map (it may run Python code), return {@code Integer.MIN_VALUE} so the caller starts again.
+     */
+    private int find(Table t, Object key, int h) {
+        int[] index = t.index;
+        int mask = index.length - 1;
+        int i = h & mask;
+        for (int perturb = h;; perturb >>>= PERTURB_SHIFT) {
+            int ix = index[i];
+            if (ix == FREE) {
+                return -1 - i;
+            } else if (ix >= 0 && t.hashes[ix] == h) {
+                PyObject k = t.keys[ix];
+                if (k == key) {
+                    return i;
+                } else if (k != null) {
+                    boolean eq = key.equals(k);
+                    if (table != t || t.keys[ix] != k) {
+                        return Integer.MIN_VALUE;
+                    } else if (eq) {
+                        return i;
+                    }
+                }
+            }
+            i = (i * 5 + perturb + 1) & mask;
+        }
+    }
+
+    /** The current table, read after {@link #version} so as to see every change before it. */
+    private Table current() {
+        @SuppressWarnings("unused")
+        int v = version;
+        return table;
+    }
+
+    @Override
+    public PyObject get(Object key) {
+        int h = hash(key);
+        while (true) {
+            int v = version;
+            Table t = table;
+            int i = find(t, key, h);
+            if (i >= 0) {
+                int ix = t.index[i];
+                // The entry may have been removed, or moved to a new table, since we found it.
+                PyObject value = ix >= 0 ? t.values[ix] : null;
+                if (value != null || v == version) {
+                    return value;
+                }
+            } else if (i != Integer.MIN_VALUE) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size == 0;
+    }
+
+    @Override
+    public synchronized PyObject put(PyObject key, PyObject value) {
+        return put(key, value, false);
+    }
+
+    @Override
+    public synchronized PyObject putIfAbsent(PyObject key, PyObject value) {
+        return put(key, value, true);
+    }
+
+    /** Insert or replace an entry. Call only while synchronised on the map. */
+    private PyObject put(PyObject key, PyObject value, boolean onlyIfAbsent) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        int h = hash(key);
+        while (true) {
+            Table t = table;
+            int i = find(t, key, h);
+            if (i >= 0) {
+                int ix = t.index[i];
+                PyObject old = t.values[ix];
+                if (!onlyIfAbsent) {
+                    t.values[ix] = value;
+                    version++;
+                }
+                return old;
+            } else if (i != Integer.MIN_VALUE) {
+                if (t.used == t.keys.length) {
+                    // Full: make a bigger table and probe that.
+                    resize(size + 1);
+                    continue;
+                }
+                // Fill the entry before making it reachable from the index.
+                int ix = t.used++;
+                t.hashes[ix] = h;
+                t.values[ix] = value;
+                t.keys[ix] = key;
+                t.index[-1 - i] = ix;
+                size++;
+                version++;
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public synchronized PyObject remove(Object key) {
+        return removeEntry(key, null);
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        return value instanceof PyObject && removeEntry(key, (PyObject) value) != null;
+    }
+
+    /**
+     * Remove the entry for the key, if it is present and (when {@code expected} is not null) has
+     * that value, returning the value removed. Call only while synchronised on the map.
+     */
+    private PyObject removeEntry(Object key, PyObject expected) {
+        int h = hash(key);
+        while (true) {
+            Table t = table;
+            int i = find(t, key, h);
+            if (i >= 0) {
+                int ix = t.index[i];
+                PyObject old = t.values[ix];
+                if (expected != null && !expected.equals(old)) {
+                    return null;
+                }
+                t.index[i] = DUMMY;
+                t.keys[ix] = null;
+                t.values[ix] = null;
+                size--;
+                version++;
+                return old;
+            } else if (i != Integer.MIN_VALUE) {
+                return null;
+            }
+        }
+    }
+
+    @Override
+    public synchronized boolean replace(PyObject key, PyObject oldValue, PyObject newValue) {
+        if (oldValue == null || newValue == null) {
+            throw new NullPointerException();
+        }
+        PyObject current = get(key);
+        if (current == null || !oldValue.equals(current)) {
+            return false;
+        }
+        put(key, newValue, false);
+        return true;
+    }
+
+    @Override
+    public synchronized PyObject replace(PyObject key, PyObject value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        return get(key) == null ? null : put(key, value, false);
+    }
+
+    @Override
+    public synchronized void clear() {
+        table = new Table(MIN_INDEX);
+        size = 0;
+        version++;
+    }
+
+    /**
+     * Replace the table with one that has room for at least {@code needed} entries, copying the
+     * entries present, in order, without calling {@code hashCode} or {@code equals}.
+     */
+    private void resize(int needed) {
+        Table old = table;
+        // Grow by three times the entries present, as CPython does, so removal-heavy use shrinks.
+        Table t = new Table(indexSizeFor(Math.max(needed, size * 3)));
+        int mask = t.index.length - 1;
+        for (int ix = 0; ix < old.used; ix++) {
+            PyObject key = old.keys[ix];
+            if (key != null) {
+                int h = old.hashes[ix];
+                int n = t.used++;
+                t.hashes[n] = h;
+                t.keys[n] = key;
+                t.values[n] = old.values[ix];
+                int i = h & mask;
+                for (int perturb = h; t.index[i] != FREE; perturb >>>= PERTURB_SHIFT) {
+                    i = (i * 5 + perturb + 1) & mask;
+                }
+                t.index[i] = n;
+            }
+        }
+        table = t;
+    }
+
+    private transient Set<Map.Entry<PyObject, PyObject>> entrySet;
+
+    @Override
+    public Set<Map.Entry<PyObject, PyObject>> entrySet() {
+        Set<Map.Entry<PyObject, PyObject>> es = entrySet;
+        return es != null ? es : (entrySet = new EntrySet());
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<PyObject, PyObject>> {
+
+        @Override
+        public Iterator<Map.Entry<PyObject, PyObject>> iterator() {
+            return new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return size;
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            Object value = e.getKey() == null ? null : get(e.getKey());
+            return value != null && value.equals(e.getValue());
+        }
+
+        @Override
+        public boolean remove(Object o) {
+            if (!(o instanceof Map.Entry)) {
+                return false;
+            }
+            Map.Entry<?, ?> e = (Map.Entry<?, ?>) o;
+            return e.getKey() != null && CompactMap.this.remove(e.getKey(), e.getValue());
+        }
+
+        @Override
+        public void clear() {
+            CompactMap.this.clear();
+        }
+    }
+
+    /** Iterates the entries of the table current at creation, in insertion order. */
+    private final class EntryIterator implements Iterator<Map.Entry<PyObject, PyObject>> {
+
+        private final Table t;
+        private int next;
+        private PyObject nextKey, nextValue, lastKey;
+
+        EntryIterator() {
+            t = current();
+            advance();
+        }
+
+        /** Find the next entry present and hold its key and value, or set them null at the end. */
+        private void advance() {
+            nextKey = nextValue = null;
+            while (nextKey == null && next < t.used) {
+                PyObject key = t.keys[next];
+                PyObject value = t.values[next++];
+                if (key != null && value != null) {
+                    nextKey = key;
+                    nextValue = value;
+                }
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextKey != null;
+        }
+
+        @Override
+        public Map.Entry<PyObject, PyObject> next() {
+            if (nextKey == null) {
+                throw new NoSuchElementException();
+            }
+            Map.Entry<PyObject, PyObject> e = new MapEntry(nextKey, nextValue);
+            lastKey = nextKey;
+            advance();
+            return e;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            CompactMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    /** An entry returned by iteration, through which a value may be set in the map. */
+    private final class MapEntry extends AbstractMap.SimpleEntry<PyObject, PyObject> {
+
+        MapEntry(PyObject key, PyObject value) {
+            super(key, value);
+        }
+
+        @Override
+        public PyObject setValue(PyObject value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    private void writeObject(ObjectOutputStream out) throws IOException {
+        out.defaultWriteObject();
+        out.writeInt(size);
+        for (Map.Entry<PyObject, PyObject> e : entrySet()) {
+            out.writeObject(e.getKey());
+            out.writeObject(e.getValue());
+        }
+    }
+
+    private void readObject(ObjectInputStream in) throws IOException, ClassNotFoundException {
+        in.defaultReadObject();
+        int n = in.readInt();
+        table = new Table(indexSizeFor(n));
+        for (int i = 0; i < n; i++) {
+            PyObject key = (PyObject) in.readObject();
+            PyObject value = (PyObject) in.readObject();
+            put(key, value, false);
+        }
+    }
+}
@@ -32,6 +32,21 @@ public class Deriveds {
      * call any of the Derived classes' superclass methods.
      */
     public static PyObject __findattr_ex__(PyObject self, String name) {
+        return __findattr_ex__(self, name, false, null);
+    }
+
+    /**
+     * Deriveds' __findattr_ex__ implementation, where the caller may already hold the result of
+     * looking up name along the MRO of the type (an inline cache guarded on the type version).
+     *
+     * @param self object on which the attribute is sought
+     * @param name of the attribute (must be interned)
+     * @param haveDescr whether {@code descr} is the result of {@code type.lookup(name)}
+     * @param descr result of {@code type.lookup(name)} if {@code haveDescr}
+     * @return found object or null
+     */
+    static PyObject __findattr_ex__(PyObject self, String name, boolean haveDescr,
+            PyObject descr) {
         PyType type = self.getType();
         PyException firstAttributeError = null;
         PyString pyName = null;
@@ -40,7 +55,8 @@ public class Deriveds {
             if (type.getUsesObjectGetattribute()) {
                 // Fast path: don't bother calling through the descriptor if using the
                 // generic __getattribute__
-                PyObject result = self.object___findattr__(name);
+                PyObject result = haveDescr ? self.object___findattr__(name, descr)
+                        : self.object___findattr__(name);
                 if (result != null) {
                     return result;
                 }
@@ -0,0 +1,243 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import static java.nio.file.StandardWatchEventKinds.ENTRY_CREATE;
+import static java.nio.file.StandardWatchEventKinds.ENTRY_DELETE;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.file.ClosedWatchServiceException;
+import java.nio.file.DirectoryStream;
+import java.nio.file.FileSystems;
+import java.nio.file.Files;
+import java.nio.file.InvalidPathException;
+import java.nio.file.Path;
+import java.nio.file.WatchKey;
+import java.nio.file.WatchService;
+import java.util.Collections;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A cache of the names in the directories that import searches (the entries of {@code sys.path}
+ * and the directories of packages), set up when {@link Options#importDirectoryCache} is true.
+ * Import asks it whether a directory holds a given file or sub-directory before asking the file
+ * system about that file, so that looking for a module along a long path costs one listing of each
+ * directory, rather than several look-ups of names that are mostly not there. On a slow (network)
+ * file system this is most of the cost of an import that misses.
+ * <p>
+ * A listing is discarded when a {@link WatchService} reports that a name has been added to or
+ * removed from the directory, where the file system supports watching, when import itself writes
+ * a compiled file there, and by {@link #invalidate()} (Python {@code imp.invalidate_caches()}).
+ * The watch service reports changes a little after they happen, and not at all on some (network)
+ * file systems, so a program that creates a module and imports it straight away should call
+ * {@code imp.invalidate_caches()} in between, as in Python 3. Since a listing records the names
+ * with their actual case, a match also meets the test {@link imp#caseok(File, String)} makes on a
+ * case-insensitive platform.
+ */
+public final class DirectoryCache {
+
+    private static Logger logger = Logger.getLogger("org.python.import");
+
+    /** The single cache, once {@link Options#importDirectoryCache} is found to be set. */
+    private static volatile DirectoryCache defaultCache;
+
+    /** The names in a directory, as listed when it was last read. */
+    private static final class Listing {
+
+        /** The names in the directory, or empty if it could not be read (or does not exist). */
+        final Set<String> names;
+
+        /** Cleared when the watch service reports a change (so possibly before it is complete). */
+        volatile boolean valid = true;
+
+        Listing(Set<String> names) {
+            this.names = names;
+        }
+    }
+
+    /** Listings by absolute path of the directory. */
+    private final Map<String, Listing> listings = new ConcurrentHashMap<>();
+
+    /** The listing each watch key was registered for, to invalidate when the key is signalled. */
+    private final Map<WatchKey, Listing> watched = new ConcurrentHashMap<>();
+
+    /** Reports changes to the directories listed, or null if there is none. */
+    private final WatchService watcher;
+
+    DirectoryCache(boolean watch) {
+        WatchService w = null;
+        if (watch) {
+            try {
+                w = FileSystems.getDefault().newWatchService();
+            } catch (IOException | UnsupportedOperationException e) {
+                logger.log(Level.FINE, "# import directories not watched: {0}", e);
+            }
+        }
+        this.watcher = w;
+        if (watcher != null) {
+            Thread t = new Thread(new Runnable() {
+
+                @Override
+                public void run() {
+                    processEvents();
+                }
+            }, "Jython import directory watcher");
+            t.setDaemon(true);
+            t.start();
+        }
+    }
+
+    /**
+     * Return the cache, or null if {@link Options#importDirectoryCache} is not set. The cache does
+     * not apply where {@link Options#caseok} asks that names match without regard to case.
+     *
+     * @return the cache or null
+     */
+    public static DirectoryCache getDefault() {
+        if (!Options.importDirectoryCache || Options.caseok) {
+            return null;
+        }
+        DirectoryCache cache = defaultCache;
+        if (cache == null) {
+            synchronized (DirectoryCache.class) {
+                if ((cache = defaultCache) == null) {
+                    defaultCache = cache = new DirectoryCache(true);
+                }
+            }
+        }
+        return cache;
+    }
+
+    /**
+     * Discard the listings in the cache (if there is one), so that import reads each directory
+     * again when it next looks there.
+     */
+    public static void invalidateDefault() {
+        DirectoryCache cache = defaultCache;
+        if (cache != null) {
+            cache.invalidate();
+        }
+    }
+
+    /** Discard all the listings. */
+    public void invalidate() {
+        listings.clear();
+        for (WatchKey key : watched.keySet()) {
+            key.cancel();
+        }
+        watched.clear();
+    }
+
+    /**
+     * Discard the listing of one directory.
+     *
+     * @param dir to forget
+     */
+    public void invalidate(File dir) {
+        Listing listing = listings.remove(dir.getAbsolutePath());
+        if (listing != null) {
+            listing.valid = false;
+        }
+    }
+
+    /**
+     * Whether the directory holds an entry with exactly the given name, according to the listing
+     * of the directory (read now if it is not in the cache). A directory that does not exist or
+     * cannot be read holds nothing.
+     *
+     * @param dir to look in
+     * @param name to look for
+     * @return whether {@code dir} contains {@code name}
+     */
+    public boolean contains(File dir, String name) {
+        return listing(dir).names.contains(name);
+    }
+
+    /**
+     * Whether the directory holds a file with exactly the given name: the file system is
+     * consulted only if the listing has the name.
+     *
+     * @param dir to look in
+     * @param name to look for
+     * @return whether {@code dir/name} is a file
+     */
+    public boolean isFile(File dir, String name) {
+        return contains(dir, name) && new File(dir, name).isFile();
+    }
+
+    /**
+     * Whether the directory holds a directory with exactly the given name: the file system is
+     * consulted only if the listing has the name.
+     *
+     * @param dir to look in
+     * @param name to look for
+     * @return whether {@code dir/name} is a directory
+     */
+    public boolean isDirectory(File dir, String name) {
+        return contains(dir, name) && new File(dir, name).isDirectory();
+    }
+
+    private Listing listing(File dir) {
+        String key = dir.getAbsolutePath();
+        Listing listing = listings.get(key);
+        if (listing == null || !listing.valid) {
+            listing = read(dir);
+            listings.put(key, listing);
+        }
+        return listing;
+    }
+
+    /**
+     * Read the names in a directory. The directory is registered with the watch service before it
+     * is read, so that a change made while it is read still invalidates the listing.
+     */
+    private Listing read(File dir) {
+        Set<String> names = new HashSet<>();
+        Listing listing = new Listing(Collections.unmodifiableSet(names));
+        try {
+            Path path = dir.toPath();
+            if (watcher != null) {
+                try {
+                    watched.put(path.register(watcher, ENTRY_CREATE, ENTRY_DELETE), listing);
+                } catch (IOException | UnsupportedOperationException e) {
+                    // Typically, it does not exist (yet). We rely on explicit invalidation.
+                }
+            }
+            try (DirectoryStream<Path> entries = Files.newDirectoryStream(path)) {
+                for (Path entry : entries) {
+                    names.add(entry.getFileName().toString());
+                }
+            }
+            logger.log(Level.FINE, "# listed {0} ({1} names)", new Object[] {dir, names.size()});
+        } catch (IOException | InvalidPathException | SecurityException e) {
+            // Not a readable directory: nothing may be imported from it.
+            names.clear();
+        }
+        return listing;
+    }
+
+    /** Invalidate the listing for each key the watch service signals, until it is closed. */
+    private void processEvents() {
+        try {
+            while (true) {
+                WatchKey key = watcher.take();
+                key.pollEvents();
+                Listing listing = watched.get(key);
+                if (listing != null) {
+                    listing.valid = false;
+                }
+                if (!key.reset()) {
+                    watched.remove(key);
+                }
+            }
+        } catch (InterruptedException | ClosedWatchServiceException e) {
+            // The JVM is going away.
+        }
+    }
+}
@@ -1,32 +1,90 @@
 package org.python.core;
 
+import java.lang.reflect.Method;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadFactory;
 import java.util.concurrent.atomic.AtomicInteger;
 
 public class FunctionThread extends Thread
 {
-    private final PyObject func;
-    private final PyObject[] args;
-    private final PySystemState systemState;
+    private final Body body;
     private static AtomicInteger counter = new AtomicInteger();
 
+    /**
+     * The {@code ThreadState} of this thread, held here so that {@link ThreadStateMapping} may
+     * find it without a look-up, or null until it is created.
+     */
+    volatile ThreadState threadState;
+
+    /** Creates virtual threads, or is null if the JVM does not provide them. */
+    private static final ThreadFactory virtualThreadFactory = createVirtualThreadFactory();
+
+    /** The virtual threads started by {@link #newVirtualThread} that are still running. */
+    private static final Set<Thread> virtualThreads =
+            Collections.newSetFromMap(new ConcurrentHashMap<Thread, Boolean>());
+
     public FunctionThread(PyObject func, PyObject[] args, long stack_size, ThreadGroup group) {
+        this(func, args, Py.NoKeywords, stack_size, group);
+    }
+
+    public FunctionThread(PyObject func, PyObject[] args, String[] keywords, long stack_size,
+            ThreadGroup group) {
         super(group, null, "Thread", stack_size);
-        this.func = func;
-        this.args = args;
-        this.systemState = Py.getSystemState();
-        this.setName("Thread-"+Integer.toString(counter.incrementAndGet()));
+        this.body = new Body(func, args, keywords, false);
+        this.setName(nextName());
     }
 
     public void run() {
-        Py.setSystemState(systemState);
+        body.run();
+    }
+
+    private static String nextName() {
+        return "Thread-" + Integer.toString(counter.incrementAndGet());
+    }
+
+    /** Whether the JVM provides virtual threads (so {@link #newVirtualThread} may succeed). */
+    public static boolean hasVirtualThreads() {
+        return virtualThreadFactory != null;
+    }
+
+    /**
+     * Create, but do not start, a virtual thread that calls the function as a
+     * {@code FunctionThread} would, or return null if the JVM does not provide virtual threads.
+     * A virtual thread is always a daemon, belongs to no group given here, and takes the stack it
+     * needs.
+     *
+     * @param func to call
+     * @param args positional then keyword arguments
+     * @param keywords names of the keyword arguments
+     * @return the new thread, or null
+     */
+    public static Thread newVirtualThread(PyObject func, PyObject[] args, String[] keywords) {
+        if (virtualThreadFactory == null) {
+            return null;
+        }
+        Thread thread = virtualThreadFactory.newThread(new Body(func, args, keywords, true));
+        thread.setName(nextName());
+        return thread;
+    }
+
+    /** Interrupt the running virtual threads started by {@link #newVirtualThread}. */
+    public static void interruptVirtualThreads() {
+        for (Thread thread : virtualThreads) {
+            thread.interrupt();
+        }
+    }
+
+    /** Get {@code Thread.ofVirtual().factory()} reflectively, as it is only in Java 21 on. */
+    private static ThreadFactory createVirtualThreadFactory() {
         try {
-            func.__call__(args);
-        } catch (PyException exc) {
-            if (exc.match(Py.SystemExit)) {
-                return;
-            }
-            Py.stderr.println("Unhandled exception in thread started by " + func);
-            Py.printException(exc);
+            Object builder = Thread.class.getMethod("ofVirtual").invoke(null);
+            Method factory = Class.forName("java.lang.Thread$Builder").getMethod("factory");
+            return (ThreadFactory) factory.invoke(builder);
+        } catch (Exception e) {
+            // Including the UnsupportedOperationException of a preview feature not enabled.
+            return null;
         }
     }
 
@@ -40,4 +98,45 @@ public class FunctionThread extends Thread
             return String.format("FunctionThread[%s,%s]", getName(), getPriority());
         }
     }
+
+    /** The call of the function, made by the thread that runs it. */
+    private static final class Body implements Runnable {
+
+        private final PyObject func;
+        private final PyObject[] args;
+        private final String[] keywords;
+        private final PySystemState systemState;
+        /** Whether the thread is virtual, so must register for interruption. */
+        private final boolean virtual;
+
+        Body(PyObject func, PyObject[] args, String[] keywords, boolean virtual) {
+            this.func = func;
+            this.args = args;
+            this.keywords = keywords;
+            this.systemState = Py.getSystemState();
+            this.virtual = virtual;
+        }
+
+        @Override
+        public void run() {
+            Thread current = Thread.currentThread();
+            if (virtual) {
+                virtualThreads.add(current);
+            }
+            Py.setSystemState(systemState);
+            try {
+                func.__call__(args, keywords);
+            } catch (PyException exc) {
+                if (exc.match(Py.SystemExit)) {
+                    return;
+                }
+                Py.stderr.println("Unhandled exception in thread started by " + func);
+                Py.printException(exc);
+            } finally {
+                if (virtual) {
+                    virtualThreads.remove(current);
+                }
+            }
+        }
+    }
 }
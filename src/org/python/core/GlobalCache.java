@@ -0,0 +1,138 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.lang.ref.WeakReference;
+import java.util.Arrays;
+
+/**
+ * A cache for the look-up of one global (or builtin) name from compiled code. The compiler creates
+ * one for each name a module looks up as a global, and the generated code calls
+ * {@link PyFrame#getglobal(GlobalCache)} in place of {@link PyFrame#getglobal(String)}.
+ * <p>
+ * The last value found is held together with the identity and {@link PyStringMap#getVersion()
+ * version} of the globals (and if it was found there, the builtins) in which it was found. While
+ * those are unchanged, the look-up is a comparison of the versions, with no probe of either map.
+ * When either is not a {@code PyStringMap}, the look-up proceeds without the cache.
+ * <p>
+ * A few such entries are kept, for different globals, since the code of a module may be shared by
+ * several interpreters (see {@link SharedCodeCache}), each running it in a namespace of its own.
+ * The maps and the value are held weakly, so that the cache, which lives as long as the code, does
+ * not keep alive the namespace of any one interpreter (while an entry is valid, the map keeps the
+ * value alive).
+ */
+public final class GlobalCache {
+
+    /** The most entries (for different globals) kept. */
+    private static final int SIZE = 4;
+
+    private static final Entry[] EMPTY = new Entry[0];
+
+    /** The name looked up (interned). */
+    final String name;
+
+    /** Recent successful look-ups in different globals, most recent first. */
+    private volatile Entry[] entries = EMPTY;
+
+    public GlobalCache(String name) {
+        this.name = name.intern();
+    }
+
+    /**
+     * Find the name in the globals and then the builtins of the frame, as
+     * {@link PyFrame#getglobal(String)} does, but consulting and updating the cache.
+     *
+     * @param frame in which to look up the name
+     * @return the value, or null if it is not found
+     */
+    PyObject lookup(PyFrame frame) {
+        PyObject globals = frame.f_globals;
+        for (Entry e : entries) {
+            if (e.globals.get() == globals) {
+                PyStringMap builtins;
+                if (e.globalsVersion == ((PyStringMap) globals).getVersion()
+                        && (e.builtins == null || (builtins = e.builtins.get()) != null
+                                && builtins == frame.f_builtins
+                                && e.builtinsVersion == builtins.getVersion())) {
+                    PyObject value = e.get();
+                    if (value != null) {
+                        return value;
+                    }
+                }
+                break;
+            }
+        }
+        return refresh(frame);
+    }
+
+    private PyObject refresh(PyFrame frame) {
+        if (!(frame.f_globals instanceof PyStringMap)) {
+            return frame.doGetglobal(name);
+        }
+        // Read each version before the content it guards.
+        PyStringMap globals = (PyStringMap) frame.f_globals;
+        long globalsVersion = globals.getVersion();
+        PyObject value = globals.__finditem__(name);
+        if (value != null) {
+            add(new Entry(value, globals, globalsVersion, null, 0));
+            return value;
+        }
+
+        PyObject builtins = frame.getBuiltins();
+        if (!(builtins instanceof PyStringMap)) {
+            return builtins.__finditem__(name);
+        }
+        PyStringMap builtinsMap = (PyStringMap) builtins;
+        long builtinsVersion = builtinsMap.getVersion();
+        value = builtinsMap.__finditem__(name);
+        if (value != null) {
+            add(new Entry(value, globals, globalsVersion, builtinsMap, builtinsVersion));
+        }
+        return value;
+    }
+
+    /**
+     * Make the entry the first, in place of any for the same globals, and dropping any whose
+     * globals have been collected. The array is replaced, not changed, so readers need no lock; a
+     * concurrent update may be lost, which costs only a later look-up.
+     */
+    private void add(Entry entry) {
+        Entry[] old = entries;
+        Entry[] updated = new Entry[Math.min(old.length + 1, SIZE)];
+        updated[0] = entry;
+        int n = 1;
+        PyStringMap globals = entry.globals.get();
+        for (int i = 0; i < old.length && n < updated.length; i++) {
+            PyStringMap g = old[i].globals.get();
+            if (g != null && g != globals) {
+                updated[n++] = old[i];
+            }
+        }
+        entries = n == updated.length ? updated : Arrays.copyOf(updated, n);
+    }
+
+    /** An immutable record of one successful look-up, holding the value weakly. */
+    private static final class Entry extends WeakReference<PyObject> {
+
+        /** The globals at the time of the look-up. */
+        final WeakReference<PyStringMap> globals;
+
+        /** Version of {@link #globals} read before the look-up. */
+        final long globalsVersion;
+
+        /** The builtins in which the value was found, or null if it was found in the globals. */
+        final WeakReference<PyStringMap> builtins;
+
+        /** Version of {@link #builtins} read before the look-up. */
+        final long builtinsVersion;
+
+        Entry(PyObject value, PyStringMap globals, long globalsVersion, PyStringMap builtins,
+                long builtinsVersion) {
+            super(value);
+            this.globals = new WeakReference<PyStringMap>(globals);
+            this.globalsVersion = globalsVersion;
+            this.builtins = builtins == null ? null : new WeakReference<PyStringMap>(builtins);
+            this.builtinsVersion = builtinsVersion;
+        }
+    }
+}
@@ -0,0 +1,341 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.lang.invoke.CallSite;
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodHandles.Lookup;
+import java.lang.invoke.MethodType;
+import java.lang.invoke.MutableCallSite;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * Bootstrap methods for the {@code invokedynamic} call sites emitted by
+ * {@link org.python.compiler.CodeCompiler} when {@link Options#invokedynamic} is set.
+ * <p>
+ * Each call site is an inline cache: a chain of guarded targets, one for each receiver class (and
+ * for attribute loads, type version) seen at that site, ending in a call that extends the chain.
+ * When the chain reaches {@link #MAX_POLYMORPHIC_DEPTH} entries the site is considered megamorphic
+ * and is relinked permanently to the generic path, which is exactly the virtual call on
+ * {@link PyObject} that the compiler emits when the option is not set.
+ * <p>
+ * A guarded target never does anything the generic path would not do for the same receivers:
+ * <ul>
+ * <li>An attribute load guarded on the Java class, {@code PyType} and type version tag skips the
+ * look-up along the MRO, reusing the descriptor found when the entry was made (see
+ * {@link PyType#getVersionTag()}). This is only done for classes that use the generic
+ * {@code object.__getattribute__}.</li>
+ * <li>A binary operation guarded on the Java classes of both operands, when both are of built-in
+ * types, calls the special methods of those exact classes directly.</li>
+ * <li>A call guarded on the Java class of the callable invokes {@code __call__} on that exact
+ * class.</li>
+ * </ul>
+ */
+public class InvokeDynamicSupport {
+
+    /** The number of entries an inline cache may hold before the site becomes megamorphic. */
+    static final int MAX_POLYMORPHIC_DEPTH = 4;
+
+    private static final Lookup LOOKUP = MethodHandles.lookup();
+
+    /** Binary operation name, as called on {@code PyObject}, to special methods and symbol. */
+    private static final Map<String, String[]> BINOPS = new HashMap<>();
+    static {
+        binop("_add", "add", "+");
+        binop("_sub", "sub", "-");
+        binop("_mul", "mul", "*");
+        binop("_truediv", "truediv", "/");
+        binop("_floordiv", "floordiv", "//");
+        binop("_mod", "mod", "%");
+        binop("_pow", "pow", "**");
+        binop("_lshift", "lshift", "<<");
+        binop("_rshift", "rshift", ">>");
+        binop("_and", "and", "&");
+        binop("_or", "or", "|");
+        binop("_xor", "xor", "^");
+        // _div is absent since its meaning depends on Options.Qnew when called.
+    }
+
+    private static void binop(String name, String op, String symbol) {
+        BINOPS.put(name, new String[] {"__" + op + "__", "__r" + op + "__", symbol});
+    }
+
+    private static final MethodType BINOP_TYPE =
+            MethodType.methodType(PyObject.class, PyObject.class);
+
+    private static final MethodHandle RELINK;
+    private static final MethodHandle TEST_CLASS;
+    private static final MethodHandle TEST_CLASSES;
+    private static final MethodHandle TEST_TYPE_VERSION;
+    private static final MethodHandle GETATTR;
+    private static final MethodHandle GETATTR_CACHED;
+    private static final MethodHandle BINOP_CACHED;
+    static {
+        Class<InvokeDynamicSupport> c = InvokeDynamicSupport.class;
+        try {
+            RELINK = LOOKUP.findVirtual(InlineCacheSite.class, "relink",
+                    MethodType.methodType(Object.class, Object[].class));
+            TEST_CLASS = LOOKUP.findStatic(c, "testClass",
+                    MethodType.methodType(boolean.class, Class.class, PyObject.class));
+            TEST_CLASSES = LOOKUP.findStatic(c, "testClasses", MethodType.methodType(boolean.class,
+                    Class.class, PyType.class, Class.class, PyType.class, PyObject.class,
+                    PyObject.class));
+            TEST_TYPE_VERSION = LOOKUP.findStatic(c, "testTypeVersion", MethodType.methodType(
+                    boolean.class, Class.class, PyType.class, Object.class, PyObject.class));
+            GETATTR = LOOKUP.findVirtual(PyObject.class, "__getattr__",
+                    MethodType.methodType(PyObject.class, String.class));
+            GETATTR_CACHED = LOOKUP.findStatic(c, "getattrCached", MethodType.methodType(
+                    PyObject.class, String.class, boolean.class, PyObject.class, PyObject.class));
+            BINOP_CACHED = LOOKUP.findStatic(c, "binopCached",
+                    MethodType.methodType(PyObject.class, String.class, MethodHandle.class,
+                            MethodHandle.class, PyObject.class, PyObject.class));
+        } catch (ReflectiveOperationException e) {
+            throw new ExceptionInInitializerError(e);
+        }
+    }
+
+    private InvokeDynamicSupport() {}
+
+    /**
+     * Bootstrap an attribute load {@code (PyObject)PyObject}, equivalent to
+     * {@link PyObject#__getattr__(String)}.
+     *
+     * @param lookup of the caller (not used)
+     * @param name of the call site (not used)
+     * @param type of the call site
+     * @param attr name of the attribute to load
+     * @return the call site
+     */
+    public static CallSite getattrBootstrap(Lookup lookup, String name, MethodType type,
+            String attr) {
+        return new GetattrSite(type, attr.intern());
+    }
+
+    /**
+     * Bootstrap a binary operation {@code (PyObject, PyObject)PyObject}, equivalent to the method
+     * of {@code PyObject} with the same name as the call site (for example {@code _add}).
+     *
+     * @param lookup of the caller (not used)
+     * @param name of the binary operation method on {@code PyObject}
+     * @param type of the call site
+     * @return the call site
+     */
+    public static CallSite binopBootstrap(Lookup lookup, String name, MethodType type)
+            throws NoSuchMethodException, IllegalAccessException {
+        return new BinopSite(type, name);
+    }
+
+    /**
+     * Bootstrap a call {@code (PyObject, ThreadState, PyObject...)PyObject}, equivalent to the
+     * overload of {@link PyObject#__call__(ThreadState)} with the same argument types.
+     *
+     * @param lookup of the caller (not used)
+     * @param name of the call site (not used)
+     * @param type of the call site
+     * @return the call site
+     */
+    public static CallSite callBootstrap(Lookup lookup, String name, MethodType type)
+            throws NoSuchMethodException, IllegalAccessException {
+        return new InvokeSite(type);
+    }
+
+    /**
+     * A call site holding a chain of guarded targets, each a specialisation for the particular
+     * receivers that failed all the guards before it.
+     */
+    abstract static class InlineCacheSite extends MutableCallSite {
+
+        /** The unspecialised behaviour of this site, with the type of the site. */
+        final MethodHandle generic;
+
+        /** Number of entries in the chain. */
+        private int depth;
+
+        InlineCacheSite(MethodType type, MethodHandle generic) {
+            super(type);
+            this.generic = generic.asType(type);
+            setTarget(RELINK.bindTo(this).asCollector(Object[].class, type.parameterCount())
+                    .asType(type));
+        }
+
+        /**
+         * Create a guard that accepts exactly the arguments given (and others like them), and a
+         * target that is correct for all arguments the guard accepts.
+         *
+         * @param args arguments at the call site that failed all existing guards
+         * @return the guard and the target, in that order.
+         */
+        abstract MethodHandle[] specialize(Object[] args);
+
+        /**
+         * Extend the chain with a specialisation for the given arguments, or if it is already
+         * long enough, make the site megamorphic. Then complete the call generically.
+         *
+         * @param args arguments at the call site that failed all existing guards
+         * @return result of the call
+         * @throws Throwable from the call
+         */
+        final Object relink(Object[] args) throws Throwable {
+            synchronized (this) {
+                if (depth >= MAX_POLYMORPHIC_DEPTH) {
+                    setTarget(generic);
+                } else {
+                    MethodHandle[] entry = specialize(args);
+                    setTarget(MethodHandles.guardWithTest(entry[0], entry[1].asType(type()),
+                            getTarget()));
+                    depth += 1;
+                }
+            }
+            return generic.invokeWithArguments(args);
+        }
+
+        /** Guard accepting a receiver of the same Java class as {@code obj}. */
+        static MethodHandle sameClass(PyObject obj) {
+            return TEST_CLASS.bindTo(obj.getClass());
+        }
+    }
+
+    /** An attribute load, cached on the Java class, type and type version of the object. */
+    static class GetattrSite extends InlineCacheSite {
+
+        private final String attr;
+
+        GetattrSite(MethodType type, String attr) {
+            super(type, MethodHandles.insertArguments(GETATTR, 1, attr));
+            this.attr = attr;
+        }
+
+        @Override
+        MethodHandle[] specialize(Object[] args) {
+            PyObject obj = (PyObject) args[0];
+            Class<?> c = obj.getClass();
+            if (!AttributeCache.isGeneric(c)) {
+                // This object has its own ideas about attributes, but we can still dispatch.
+                return new MethodHandle[] {sameClass(obj), generic};
+            }
+            PyType type = obj.getType();
+            // Take the version first: if it changes while we look, the entry is just never valid
+            Object version = type.getVersionTag();
+            PyObject descr = type.lookup(attr);
+            boolean derived = obj instanceof Slotted;
+            return new MethodHandle[] {
+                    MethodHandles.insertArguments(TEST_TYPE_VERSION, 0, c, type, version),
+                    MethodHandles.insertArguments(GETATTR_CACHED, 0, attr, derived, descr)};
+        }
+    }
+
+    /**
+     * A binary operation, cached on the Java classes of both operands, and specialised when both
+     * are of built-in types.
+     */
+    static class BinopSite extends InlineCacheSite {
+
+        /** Special method names and symbol, or {@code null} if never specialised. */
+        private final String[] binop;
+
+        BinopSite(MethodType type, String name)
+                throws NoSuchMethodException, IllegalAccessException {
+            super(type, LOOKUP.findVirtual(PyObject.class, name, BINOP_TYPE));
+            this.binop = BINOPS.get(name);
+        }
+
+        @Override
+        MethodHandle[] specialize(Object[] args) {
+            PyObject o1 = (PyObject) args[0], o2 = (PyObject) args[1];
+            PyType t1 = o1.getType(), t2 = o2.getType();
+            MethodHandle guard = MethodHandles.insertArguments(TEST_CLASSES, 0, o1.getClass(), t1,
+                    o2.getClass(), t2);
+            /*
+             * When both types are built-in, PyObject._add (for example) would call _basic_add,
+             * which tries o1.__add__(o2), then o2.__radd__(o1). Derived classes (that may have
+             * built-in types when the type is a Java subclass) are always left to the generic path.
+             */
+            if (binop != null && t1.builtin && t2.builtin && !(o1 instanceof Slotted)
+                    && !(o2 instanceof Slotted)) {
+                try {
+                    MethodHandle op = LOOKUP.findVirtual(o1.getClass(), binop[0], BINOP_TYPE);
+                    MethodHandle rop = LOOKUP.findVirtual(o2.getClass(), binop[1], BINOP_TYPE);
+                    return new MethodHandle[] {guard,
+                            MethodHandles.insertArguments(BINOP_CACHED, 0, binop[2],
+                                    op.asType(op.type().changeParameterType(0, PyObject.class)),
+                                    rop.asType(rop.type().changeParameterType(0, PyObject.class)))};
+                } catch (ReflectiveOperationException e) {
+                    // For example, the class is not public: dispatch generically.
+                }
+            }
+            return new MethodHandle[] {guard, generic};
+        }
+    }
+
+    /** A call, cached on the Java class of the callable object. */
+    static class InvokeSite extends InlineCacheSite {
+
+        /** The type of {@code __call__} (without the receiver). */
+        private final MethodType callType;
+
+        InvokeSite(MethodType type) throws NoSuchMethodException, IllegalAccessException {
+            super(type, LOOKUP.findVirtual(PyObject.class, "__call__", type.dropParameterTypes(0,
+                    1)));
+            this.callType = type.dropParameterTypes(0, 1);
+        }
+
+        @Override
+        MethodHandle[] specialize(Object[] args) {
+            PyObject callable = (PyObject) args[0];
+            MethodHandle target;
+            try {
+                target = LOOKUP.findVirtual(callable.getClass(), "__call__", callType);
+            } catch (ReflectiveOperationException e) {
+                target = generic;
+            }
+            return new MethodHandle[] {sameClass(callable), target};
+        }
+    }
+
+    static boolean testClass(Class<?> c, PyObject obj) {
+        return obj.getClass() == c;
+    }
+
+    static boolean testClasses(Class<?> c1, PyType t1, Class<?> c2, PyType t2, PyObject o1,
+            PyObject o2) {
+        return o1.getClass() == c1 && o2.getClass() == c2 && o1.getType() == t1
+                && o2.getType() == t2;
+    }
+
+    static boolean testTypeVersion(Class<?> c, PyType type, Object version, PyObject obj) {
+        return obj.getClass() == c && obj.getType() == type && type.getVersionTag() == version;
+    }
+
+    /**
+     * Equivalent to {@link PyObject#__getattr__(String)} for an object that uses the generic
+     * {@code object.__getattribute__}, when {@code descr} is the result of the look-up of the name
+     * on its type.
+     */
+    static PyObject getattrCached(String name, boolean derived, PyObject descr, PyObject obj) {
+        PyObject res = derived ? Deriveds.__findattr_ex__(obj, name, true, descr)
+                : obj.object___findattr__(name, descr);
+        if (res == null) {
+            obj.noAttributeError(name);
+        }
+        return res;
+    }
+
+    /**
+     * Equivalent to (for example) {@code PyObject._basic_add}, for the particular classes of the
+     * operands, given the handles of their special methods.
+     */
+    static PyObject binopCached(String symbol, MethodHandle op, MethodHandle rop, PyObject o1,
+            PyObject o2) throws Throwable {
+        PyObject x = (PyObject) op.invokeExact(o1, o2);
+        if (x != null) {
+            return x;
+        }
+        x = (PyObject) rop.invokeExact(o2, o1);
+        if (x != null) {
+            return x;
+        }
+        throw Py.TypeError(o1._unsupportedop(symbol, o2));
+    }
+}
@@ -133,10 +133,15 @@ class JavaProxyList {
                     | IllegalArgumentException e) {
                 throw Py.JavaError(e);
             }
-            int j = 0;
-            for (int i = start; j < n; i += step) {
-                newList.add(list.get(i));
-                j++;
+            if (step == 1) {
+                // Copied in bulk (by System.arraycopy for an ArrayList).
+                newList.addAll(list.subList(start, start + n));
+            } else {
+                int j = 0;
+                for (int i = start; j < n; i += step) {
+                    newList.add(list.get(i));
+                    j++;
+                }
             }
             return Py.java2py(newList);
         }
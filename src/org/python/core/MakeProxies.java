@@ -81,6 +81,15 @@ class MakeProxies {
                 return customMaker.makeClass();
             }
         }
+        String key = null;
+        if (javaMaker == null && Options.sharedCodeCache) {
+            // Another interpreter may have made the same proxy already.
+            key = SharedCodeCache.proxyKey(vinterfaces, className, pythonModuleName, dict);
+            Class<?> proxy = SharedCodeCache.getProxy(superclass, vinterfaces, key);
+            if (proxy != null) {
+                return proxy;
+            }
+        }
         if (javaMaker == null) {
             javaMaker = new JavaMaker(superclass,
                         interfaces,
@@ -95,7 +104,11 @@ class MakeProxies {
             javaMaker.build(bytes);
             Py.saveClassFile(javaMaker.myClass, bytes);
 
-            return makeClass(superclass, vinterfaces, javaMaker.myClass, bytes);
+            Class<?> proxy = makeClass(superclass, vinterfaces, javaMaker.myClass, bytes);
+            if (key != null) {
+                SharedCodeCache.putProxy(superclass, vinterfaces, key, proxy);
+            }
+            return proxy;
         } catch (Exception exc) {
             throw Py.JavaError(exc);
         }
@@ -119,6 +119,125 @@ public class Options {
      */
     public static boolean Qnew = false;
 
+    /**
+     * If true, the compiler emits {@code invokedynamic} call sites with inline caches for attribute
+     * loads, binary operations and calls, in place of virtual calls on {@link PyObject}.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_INVOKEDYNAMIC
+     */
+    public static boolean invokedynamic = false;
+
+    /**
+     * If true, the compiler gets attributes through an {@link AttributeCache} for each site, in
+     * place of a call to {@link PyObject#__getattr__(String)}. It has no effect on sites that
+     * {@link #invokedynamic} compiles.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_ATTRIBUTE_CACHES
+     */
+    public static boolean attributeCaches = false;
+
+    /**
+     * If true, the compiler puts the body of each function into a class of its own, which the
+     * module defines when the function is first called, rather than into the module class.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_LAZY_FUNCTION_BODIES
+     */
+    public static boolean lazyFunctionBodies = false;
+
+    /**
+     * If true, lists are created with storage on which reads of the length and of single elements
+     * take no lock (see {@link StampedList}).
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_LIST_OPTIMISTIC_READS
+     */
+    public static boolean listOptimisticReads = false;
+
+    /**
+     * If true, dictionaries keep their entries in a compact table, in the order of insertion, and
+     * remember the hash of each key. Only dictionaries created after the option is set are
+     * affected.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_COMPACT_DICT
+     */
+    public static boolean compactDict = false;
+
+    /**
+     * If true, the instance dictionaries of Python classes share their keys with the other
+     * instances of the class, each holding only an array of values (see {@link SharedKeyMap}).
+     * Only instances created after the option is set are affected.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_SHARED_KEY_DICTS
+     */
+    public static boolean sharedKeyDicts = false;
+
+    /**
+     * If true, {@code thread.start_new_thread} and {@code threading.Thread} start virtual threads
+     * where the JVM provides them (see {@link FunctionThread#newVirtualThread}). Either may
+     * override this for one thread with the keyword {@code virtual}.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_VIRTUAL_THREADS
+     */
+    public static boolean virtualThreads = false;
+
+    /**
+     * A directory of compiled modules, filed by the content of their source, that import consults
+     * before compiling (see {@link CodeCache}), or null.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_CODE_CACHE_DIRECTORY
+     */
+    public static String codeCacheDirectory;
+
+    /**
+     * If true, import keeps a listing of each directory it searches, and looks up names in that
+     * rather than in the file system (see {@link DirectoryCache}).
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_IMPORT_DIRECTORY_CACHE
+     */
+    public static boolean importDirectoryCache = false;
+
+    /**
+     * If true, zipimport maps each archive on {@code sys.path} into memory and reads the entries
+     * from the mapping. False by default, since the JVM may crash if a mapped archive is rewritten
+     * in place (and on Windows, a mapped file cannot be deleted).
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_ZIPIMPORT_MAPPED
+     */
+    public static boolean zipimportMapped = false;
+
+    /**
+     * If true, zipimport saves its index of the names in each archive beside the archive, and
+     * reads it from there (while the archive is unchanged) rather than from the archive.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_ZIPIMPORT_INDEX_FILES
+     */
+    public static boolean zipimportIndexFiles = false;
+
+    /**
+     * If true, the code objects of imported modules and the Java proxy classes of Python classes
+     * are shared by all interpreters in the JVM (see {@link SharedCodeCache}).
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_SHARED_CODE_CACHE
+     */
+    public static boolean sharedCodeCache = false;
+
+    /**
+     * If true, a JSR-223 script engine made from then on runs scripts in a pool of interpreters,
+     * each with its own {@code sys}, rather than in one interpreter (see
+     * {@link org.python.jsr223.PyScriptEngine}).
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_SCRIPT_ENGINE_INTERPRETER_POOL
+     */
+    public static boolean scriptEngineInterpreterPool = false;
+
+    /**
+     * The number of interpreters in an {@link org.python.util.InterpreterPool} (as used by the
+     * JSR-223 script engine and the servlet support, if asked to) when none is given. If zero or
+     * less, the number of processors.
+     *
+     * @see org.python.core.RegistryKey#PYTHON_OPTIONS_INTERPRETER_POOL_SIZE
+     */
+    public static int interpreterPoolSize = 0;
+
     /** Force stdin, stdout and stderr to be unbuffered, and opened in binary mode. */
     public static boolean unbuffered = false;
 
@@ -180,6 +299,18 @@ public class Options {
         return prop.equalsIgnoreCase("true") || prop.equalsIgnoreCase("yes");
     }
 
+    private static int getIntOption(String name, int defaultValue) {
+        String prop = PySystemState.registry.getProperty(name);
+        if (prop == null) {
+            return defaultValue;
+        }
+        try {
+            return Integer.parseInt(prop.trim());
+        } catch (NumberFormatException e) {
+            return defaultValue;
+        }
+    }
+
     private static String getStringOption(String name, String defaultValue) {
         String prop = PySystemState.registry.getProperty(name);
         if (prop == null) {
@@ -207,6 +338,27 @@ public class Options {
 
         caseok = getBooleanOption(PYTHON_OPTIONS_CASE_OK, caseok);
         Qnew = getBooleanOption(PYTHON_OPTIONS_Q_NEW, Qnew);
+        invokedynamic = getBooleanOption(PYTHON_OPTIONS_INVOKEDYNAMIC, invokedynamic);
+        attributeCaches = getBooleanOption(PYTHON_OPTIONS_ATTRIBUTE_CACHES, attributeCaches);
+        lazyFunctionBodies =
+                getBooleanOption(PYTHON_OPTIONS_LAZY_FUNCTION_BODIES, lazyFunctionBodies);
+        listOptimisticReads =
+                getBooleanOption(PYTHON_OPTIONS_LIST_OPTIMISTIC_READS, listOptimisticReads);
+        compactDict = getBooleanOption(PYTHON_OPTIONS_COMPACT_DICT, compactDict);
+        sharedKeyDicts = getBooleanOption(PYTHON_OPTIONS_SHARED_KEY_DICTS, sharedKeyDicts);
+        virtualThreads = getBooleanOption(PYTHON_OPTIONS_VIRTUAL_THREADS, virtualThreads);
+        codeCacheDirectory =
+                getStringOption(PYTHON_OPTIONS_CODE_CACHE_DIRECTORY, codeCacheDirectory);
+        importDirectoryCache =
+                getBooleanOption(PYTHON_OPTIONS_IMPORT_DIRECTORY_CACHE, importDirectoryCache);
+        zipimportMapped = getBooleanOption(PYTHON_OPTIONS_ZIPIMPORT_MAPPED, zipimportMapped);
+        zipimportIndexFiles =
+                getBooleanOption(PYTHON_OPTIONS_ZIPIMPORT_INDEX_FILES, zipimportIndexFiles);
+        sharedCodeCache = getBooleanOption(PYTHON_OPTIONS_SHARED_CODE_CACHE, sharedCodeCache);
+        scriptEngineInterpreterPool = getBooleanOption(
+                PYTHON_OPTIONS_SCRIPT_ENGINE_INTERPRETER_POOL, scriptEngineInterpreterPool);
+        interpreterPoolSize =
+                getIntOption(PYTHON_OPTIONS_INTERPRETER_POOL_SIZE, interpreterPoolSize);
 
         setDivisionWarningFromRegistry();
 
@@ -1760,12 +1760,23 @@ public final class Py extends PrePy {
     /* Get and set the current frame */
     public static PyFrame getFrame() {
         ThreadState ts = getThreadState();
-        if (ts == null) {
+        if (ts == null || ts.frame == null) {
             return null;
         }
+        // The caller may keep the frame, so it must not be recycled.
+        ts.frame.retain();
         return ts.frame;
     }
 
+    /**
+     * Get the current frame, as {@link #getFrame()} does, but for use only while that frame is
+     * current, so without marking it {@link PyFrame#retain() retained}.
+     */
+    static PyFrame peekFrame() {
+        ThreadState ts = getThreadState();
+        return ts == null ? null : ts.frame;
+    }
+
     public static void setFrame(PyFrame f) {
         getThreadState().frame = f;
     }
@@ -2140,7 +2151,7 @@ public final class Py extends PrePy {
                     metaclass = base.getType();
                 }
             } else {
-                PyObject globals = getFrame().f_globals;
+                PyObject globals = peekFrame().f_globals;
                 if (globals != null) {
                     metaclass = globals.__finditem__("__metaclass__");
                 }
@@ -2178,7 +2189,7 @@ public final class Py extends PrePy {
         if (dont_inherit) {
             frame = null;
         } else {
-            frame = Py.getFrame();
+            frame = Py.peekFrame();
         }
         return CompilerFlags.getCompilerFlags(flags, frame);
     }
@@ -2188,7 +2199,7 @@ public final class Py extends PrePy {
         if (dont_inherit) {
             frame = null;
         } else {
-            frame = Py.getFrame();
+            frame = Py.peekFrame();
         }
         return CompilerFlags.getCompilerFlags(flags, frame);
     }
@@ -48,6 +48,9 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
 
     private ArrayDelegate delegate;
 
+    /** Reads and writes elements of {@link #data}, chosen for its component type. */
+    private Items items;
+
     public PyArray(PyType type) {
         super(type);
     }
@@ -63,6 +66,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         typecode = class2char(type);
         data = Array.newInstance(type, 0);
         delegate = new ArrayDelegate();
+        items = Items.forType(type);
         useInitial(initial);
     }
 
@@ -84,6 +88,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
             this.data = data;
         }
         delegate = new ArrayDelegate();
+        items = Items.forType(type);
     }
 
     private void useInitial(PyObject initial) {
@@ -477,6 +482,13 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
             if (delegate.capacity != delegate.size) {
                 // when unboxing, need to shrink the array first, otherwise incorrect
                 // results to Java
+                if (!isExporting()) {
+                    // Shrink the storage itself, so Java shares it (as when it fits exactly).
+                    delegate.trimToSize();
+                    // A released export still views the old storage: it must not be revived.
+                    export = null;
+                    return data;
+                }
                 return delegate.copyArray();
             } else {
                 return data;
@@ -487,7 +499,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         if (isArray && componentType == Object.class) {
             Object[] boxed = new Object[delegate.size];
             for (int i = 0; i < delegate.size; i++) {
-                boxed[i] = Array.get(data, i);
+                boxed[i] = items.box(data, i);
             }
             return boxed;
         }
@@ -559,7 +571,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         if ("u".equals(typecode)) {
             int codepoint = getCodePoint(value);
             delegate.makeInsertSpace(afterLast);
-            Array.setInt(data, afterLast, codepoint);
+            ((int[]) data)[afterLast] = codepoint;
         } else {
             delegate.makeInsertSpace(afterLast);
             try {
@@ -709,14 +721,14 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         if ("u".equals(typecode)) {
             int codepoint = getCodePointOrInt(value);
             for (int i = 0; i < len; i++) {
-                if (codepoint == Array.getInt(data, i)) {
+                if (codepoint == ((int[]) data)[i]) {
                     iCount++;
                 }
             }
         } else {
 
             for (int i = 0; i < len; i++) {
-                if (value.equals(Py.java2py(Array.get(data, i)))) {
+                if (value.equals(items.get(data, i))) {
                     iCount++;
                 }
             }
@@ -860,7 +872,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
                 for (int codepoint : uitem.toCodePoints()) {
                     int afterLast = delegate.getSize();
                     delegate.makeInsertSpace(afterLast);
-                    Array.setInt(data, afterLast, codepoint);
+                    ((int[]) data)[afterLast] = codepoint;
                 }
             }
 
@@ -870,17 +882,15 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         }
     }
 
-    private void extendArray(int[] items) {
+    private void extendArray(int[] codepoints) {
 
         // Prohibited operation if exporting a buffer
         resizeCheck();
 
         int last = delegate.getSize();
-        delegate.ensureCapacity(last + items.length);
-        for (int item : items) {
-            Array.set(data, last++, item);
-            delegate.size++;
-        }
+        delegate.ensureCapacity(last + codepoints.length);
+        System.arraycopy(codepoints, 0, data, last, codepoints.length);
+        delegate.size += codepoints.length;
     }
 
     @ExposedMethod
@@ -1048,68 +1058,68 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
                 switch (typecode.charAt(0)) {
                     case 'z':
                         for (; index < limit; index++) {
-                            Array.setBoolean(data, index, dis.readBoolean());
+                            ((boolean[]) data)[index] = dis.readBoolean();
                         }
                         break;
                     case 'b':
                         for (; index < limit; index++) {
-                            Array.setByte(data, index, dis.readByte());
+                            ((byte[]) data)[index] = dis.readByte();
                         }
                         break;
                     case 'B':
                         for (; index < limit; index++) {
-                            Array.setShort(data, index, unsignedByte(dis.readByte()));
+                            ((short[]) data)[index] = unsignedByte(dis.readByte());
                         }
                         break;
                     case 'u':
                         // use 32-bit integers since we want UCS-4 storage
                         for (; index < limit; index++) {
-                            Array.setInt(data, index, dis.readInt());
+                            ((int[]) data)[index] = dis.readInt();
                         }
                         break;
                     case 'c':
                         for (; index < limit; index++) {
-                            Array.setChar(data, index, (char)(dis.readByte() & 0xff));
+                            ((char[]) data)[index] = (char)(dis.readByte() & 0xff);
                         }
                         break;
                     case 'h':
                         for (; index < limit; index++) {
-                            Array.setShort(data, index, dis.readShort());
+                            ((short[]) data)[index] = dis.readShort();
                         }
                         break;
                     case 'H':
                         for (; index < limit; index++) {
-                            Array.setInt(data, index, unsignedShort(dis.readShort()));
+                            ((int[]) data)[index] = unsignedShort(dis.readShort());
                         }
                         break;
                     case 'i':
                         for (; index < limit; index++) {
-                            Array.setInt(data, index, dis.readInt());
+                            ((int[]) data)[index] = dis.readInt();
                         }
                         break;
                     case 'I':
                         for (; index < limit; index++) {
-                            Array.setLong(data, index, unsignedInt(dis.readInt()));
+                            ((long[]) data)[index] = unsignedInt(dis.readInt());
                         }
                         break;
                     case 'l':
                         for (; index < limit; index++) {
-                            Array.setLong(data, index, dis.readLong());
+                            ((long[]) data)[index] = dis.readLong();
                         }
                         break;
                     case 'L': // faking it
                         for (; index < limit; index++) {
-                            Array.setLong(data, index, dis.readLong());
+                            ((long[]) data)[index] = dis.readLong();
                         }
                         break;
                     case 'f':
                         for (; index < limit; index++) {
-                            Array.setFloat(data, index, dis.readFloat());
+                            ((float[]) data)[index] = dis.readFloat();
                         }
                         break;
                     case 'd':
                         for (; index < limit; index++) {
-                            Array.setDouble(data, index, dis.readDouble());
+                            ((double[]) data)[index] = dis.readDouble();
                         }
                         break;
                 }
@@ -1262,9 +1272,9 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
     @Override
     protected PyObject pyget(int i) {
         if ("u".equals(typecode)) {
-            return new PyUnicode(Array.getInt(data, i));
+            return new PyUnicode(((int[]) data)[i]);
         }
-        return Py.java2py(Array.get(data, i));
+        return items.get(data, i);
     }
 
     /**
@@ -1411,7 +1421,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
             return ret;
         }
         for (int i = start, j = 0; j < n; i += step, j++) {
-            Array.set(ret.data, j, Array.get(data, i));
+            items.set(ret.data, j, items.box(data, i));
         }
         return ret;
     }
@@ -1461,13 +1471,13 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         if ("u".equals(typecode)) {
             int codepoint = getCodePointOrInt(value);
             for (int i = 0; i < len; i++) {
-                if (codepoint == Array.getInt(data, i)) {
+                if (codepoint == ((int[]) data)[i]) {
                     return i;
                 }
             }
         } else {
             for (int i = 0; i < len; i++) {
-                if (value.equals(Py.java2py(Array.get(data, i)))) {
+                if (value.equals(items.get(data, i))) {
                     return i;
                 }
             }
@@ -1493,11 +1503,11 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         if ("u".equals(typecode)) {
             int codepoint = getCodePoint(value);
             delegate.makeInsertSpace(index);
-            Array.setInt(data, index, codepoint);
+            ((int[]) data)[index] = codepoint;
 
         } else {
             delegate.makeInsertSpace(index);
-            Array.set(data, index, Py.tojava(value, type));
+            items.set(data, index, Py.tojava(value, type));
         }
     }
 
@@ -1539,7 +1549,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         // Prohibited operation if exporting a buffer
         resizeCheck();
 
-        PyObject ret = Py.java2py(Array.get(data, index));
+        PyObject ret = items.get(data, index);
         delegate.remove(index);
         return ret;
     }
@@ -1591,12 +1601,12 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
      * Reverse the elements in the array
      */
     public void reverse() {
-        // build a new reversed array and set this.data to it when done
-        Object array = Array.newInstance(type, Array.getLength(data));
-        for (int i = 0, lastIndex = delegate.getSize() - 1; i <= lastIndex; i++) {
-            Array.set(array, lastIndex - i, Array.get(data, i));
+        // In place, so that Java code or a buffer sharing the storage sees the change.
+        for (int i = 0, j = delegate.getSize() - 1; i < j; i++, j--) {
+            Object t = items.box(data, i);
+            items.set(data, i, items.box(data, j));
+            items.set(data, j, t);
         }
-        data = array;
     }
 
     /**
@@ -1617,7 +1627,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
     @Override
     protected void pyset(int i, PyObject value) {
         if ("u".equals(typecode)) {
-            Array.setInt(data, i, getCodePoint(value));
+            ((int[]) data)[i] = getCodePoint(value);
             return;
         }
 
@@ -1680,7 +1690,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         if (o == Py.NoConversion) {
             throw Py.TypeError("Type not compatible with array type");
         }
-        Array.set(data, i, o);
+        items.set(data, i, o);
     }
 
     // xxx - add more efficient comparable typecode lookup via an enumset, and expand
@@ -1773,7 +1783,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
                 } else if (step > 1) {
                     int len = array.__len__();
                     for (int i = 0, j = 0; i < len; i++, j += step) {
-                        Array.set(data, j + start, Array.get(array.data, i));
+                        items.set(data, j + start, array.items.box(array.data, i));
                     }
 
                 } else if (step < 0) {
@@ -1783,7 +1793,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
 
                     int len = array.__len__();
                     for (int i = 0, j = start; i < len; i++, j += step) {
-                        Array.set(data, j, Array.get(array.data, i));
+                        items.set(data, j, array.items.box(array.data, i));
                     }
                 }
 
@@ -1832,11 +1842,11 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         int len = delegate.getSize();
         if ("u".equals(typecode)) {
             for (int i = 0; i < len; i++) {
-                list.append(new PyUnicode(Array.getInt(data, i)));
+                list.append(new PyUnicode(((int[]) data)[i]));
             }
         } else {
             for (int i = 0; i < len; i++) {
-                list.append(Py.java2py(Array.get(data, i)));
+                list.append(items.get(data, i));
             }
         }
         return list;
@@ -1851,72 +1861,74 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
      * @throws IOException
      */
     public int toStream(OutputStream os) throws IOException {
-        DataOutputStream dos = new DataOutputStream(os);
+        int n = delegate.getSize();
+        // Where the storage is of the type written, copy it to the stream in bulk (big-endian, as
+        // DataOutputStream would write it).
+        ByteBuffer bytes;
         switch (typecode.charAt(0)) {
-            case 'z':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeBoolean(Array.getBoolean(data, i));
-                }
-                break;
             case 'b':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeByte(Array.getByte(data, i));
-                }
-                break;
-            case 'B':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeByte(signedByte(Array.getShort(data, i)));
-                }
-                break;
-            case 'u':
-                // use 32-bit integers since we want UCS-4 storage
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeInt(Array.getInt(data, i));
-                }
+                os.write((byte[]) data, 0, n);
+                return n;
+            case 'h':
+                bytes = ByteBuffer.allocate(n * 2);
+                bytes.asShortBuffer().put((short[]) data, 0, n);
                 break;
-            case 'c':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeByte((byte)Array.getChar(data, i));
-                }
+            case 'u': // use 32-bit integers since we want UCS-4 storage
+            case 'i':
+                bytes = ByteBuffer.allocate(n * 4);
+                bytes.asIntBuffer().put((int[]) data, 0, n);
                 break;
-            case 'h':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeShort(Array.getShort(data, i));
-                }
+            case 'l':
+            case 'L': // faking it
+                bytes = ByteBuffer.allocate(n * 8);
+                bytes.asLongBuffer().put((long[]) data, 0, n);
                 break;
-            case 'H':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeShort(signedShort(Array.getInt(data, i)));
-                }
+            case 'f':
+                bytes = ByteBuffer.allocate(n * 4);
+                bytes.asFloatBuffer().put((float[]) data, 0, n);
                 break;
-            case 'i':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeInt(Array.getInt(data, i));
-                }
+            case 'd':
+                bytes = ByteBuffer.allocate(n * 8);
+                bytes.asDoubleBuffer().put((double[]) data, 0, n);
                 break;
-            case 'I':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeInt(signedInt(Array.getLong(data, i)));
+            default:
+                bytes = null;
+        }
+        if (bytes != null) {
+            os.write(bytes.array());
+            return bytes.capacity();
+        }
+
+        DataOutputStream dos = new DataOutputStream(os);
+        switch (typecode.charAt(0)) {
+            case 'z':
+                boolean[] booleans = (boolean[]) data;
+                for (int i = 0; i < n; i++) {
+                    dos.writeBoolean(booleans[i]);
                 }
                 break;
-            case 'l':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeLong(Array.getLong(data, i));
+            case 'B':
+                short[] ubytes = (short[]) data;
+                for (int i = 0; i < n; i++) {
+                    dos.writeByte(signedByte(ubytes[i]));
                 }
                 break;
-            case 'L': // faking it
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeLong(Array.getLong(data, i));
+            case 'c':
+                char[] chars = (char[]) data;
+                for (int i = 0; i < n; i++) {
+                    dos.writeByte((byte)chars[i]);
                 }
                 break;
-            case 'f':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeFloat(Array.getFloat(data, i));
+            case 'H':
+                int[] ushorts = (int[]) data;
+                for (int i = 0; i < n; i++) {
+                    dos.writeShort(signedShort(ushorts[i]));
                 }
                 break;
-            case 'd':
-                for (int i = 0; i < delegate.getSize(); i++) {
-                    dos.writeDouble(Array.getDouble(data, i));
+            case 'I':
+                long[] uints = (long[]) data;
+                for (int i = 0; i < n; i++) {
+                    dos.writeInt(signedInt(uints[i]));
                 }
                 break;
         }
@@ -2005,7 +2017,7 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         int len = delegate.getSize();
         int[] codepoints = new int[len];
         for (int i = 0; i < len; i++) {
-            codepoints[i] = Array.getInt(data, i);
+            codepoints[i] = ((int[]) data)[i];
         }
         return new String(codepoints, 0, codepoints.length);
     }
@@ -2015,6 +2027,219 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         return new PyUnicode(tounicode());
     }
 
+    /**
+     * Reads and writes the elements of the storage by plain array operations on its primitive
+     * type, rather than through {@link Array}. One is chosen for each array as it is set up.
+     */
+    private static abstract class Items {
+
+        /** The element at i, as {@link Py#java2py(Object)} would make it from its boxed value. */
+        abstract PyObject get(Object data, int i);
+
+        /** The element at i, boxed. */
+        abstract Object box(Object data, int i);
+
+        /**
+         * Set the element at i to a boxed value. One of the wrapper type of the storage is stored
+         * directly, anything else as {@link Array#set(Object, int, Object)} would (widening it).
+         */
+        abstract void set(Object data, int i, Object value);
+
+        static Items forType(Class<?> type) {
+            if (type == Integer.TYPE) {
+                return INT;
+            } else if (type == Double.TYPE) {
+                return DOUBLE;
+            } else if (type == Long.TYPE) {
+                return LONG;
+            } else if (type == Byte.TYPE) {
+                return BYTE;
+            } else if (type == Short.TYPE) {
+                return SHORT;
+            } else if (type == Float.TYPE) {
+                return FLOAT;
+            } else if (type == Character.TYPE) {
+                return CHAR;
+            } else if (type == Boolean.TYPE) {
+                return BOOLEAN;
+            } else {
+                return OBJECT;
+            }
+        }
+
+        static final Items INT = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.newInteger(((int[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((int[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                if (value instanceof Integer) {
+                    ((int[]) data)[i] = (Integer) value;
+                } else {
+                    Array.set(data, i, value);
+                }
+            }
+        };
+
+        static final Items DOUBLE = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.newFloat(((double[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((double[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                if (value instanceof Double) {
+                    ((double[]) data)[i] = (Double) value;
+                } else {
+                    Array.set(data, i, value);
+                }
+            }
+        };
+
+        static final Items LONG = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.newLong(((long[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((long[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                if (value instanceof Long) {
+                    ((long[]) data)[i] = (Long) value;
+                } else {
+                    Array.set(data, i, value);
+                }
+            }
+        };
+
+        static final Items BYTE = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.newInteger(((byte[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((byte[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                if (value instanceof Byte) {
+                    ((byte[]) data)[i] = (Byte) value;
+                } else {
+                    Array.set(data, i, value);
+                }
+            }
+        };
+
+        static final Items SHORT = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.newInteger(((short[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((short[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                if (value instanceof Short) {
+                    ((short[]) data)[i] = (Short) value;
+                } else {
+                    Array.set(data, i, value);
+                }
+            }
+        };
+
+        static final Items FLOAT = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.newFloat(((float[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((float[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                if (value instanceof Float) {
+                    ((float[]) data)[i] = (Float) value;
+                } else {
+                    Array.set(data, i, value);
+                }
+            }
+        };
+
+        static final Items CHAR = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.makeCharacter(((char[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((char[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                if (value instanceof Character) {
+                    ((char[]) data)[i] = (Character) value;
+                } else {
+                    Array.set(data, i, value);
+                }
+            }
+        };
+
+        static final Items BOOLEAN = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.newBoolean(((boolean[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((boolean[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                if (value instanceof Boolean) {
+                    ((boolean[]) data)[i] = (Boolean) value;
+                } else {
+                    Array.set(data, i, value);
+                }
+            }
+        };
+
+        /** Elements of a reference type, converted by {@link Py#java2py(Object)}. */
+        static final Items OBJECT = new Items() {
+
+            PyObject get(Object data, int i) {
+                return Py.java2py(((Object[]) data)[i]);
+            }
+
+            Object box(Object data, int i) {
+                return ((Object[]) data)[i];
+            }
+
+            void set(Object data, int i, Object value) {
+                try {
+                    ((Object[]) data)[i] = value;
+                } catch (ArrayStoreException e) {
+                    throw new IllegalArgumentException("array element type mismatch");
+                }
+            }
+        };
+    }
+
     // PyArray can't extend anymore, so delegate
     private class ArrayDelegate extends AbstractArray {
 
@@ -2123,6 +2348,15 @@ public class PyArray extends PySequence implements Cloneable, BufferProtocol, Tr
         return pybuf;
     }
 
+    /**
+     * Test whether a buffer exported from the array may still be in use, so that the storage must
+     * not be replaced (even by one of the same size).
+     */
+    private boolean isExporting() {
+        PyBuffer pybuf = export == null ? null : export.get();
+        return pybuf != null && !pybuf.isReleased();
+    }
+
     /**
      * Test to see if the array may be resized and raise a BufferError if not. This must be called
      * by the implementation of any operation that changes the number of elements in the array.
@@ -20,6 +20,17 @@ public abstract class PyBaseCode extends PyCode {
     public int co_nlocals;
     public boolean varargs,  varkwargs;
 
+    /**
+     * Whether the frames of calls may be recycled: set for functions with fast locals, no free or
+     * cell variables, and that are not generators. See {@link ThreadState#takeFrame}.
+     */
+    boolean recycleFrames;
+
+
+    /** Create (or recycle) the frame for a call of this code. */
+    PyFrame newFrame(ThreadState ts, PyObject globals) {
+        return recycleFrames ? ts.takeFrame(this, globals) : new PyFrame(this, globals);
+    }
 
     public boolean hasFreevars() {
         return co_freevars != null && co_freevars.length > 0;
@@ -38,6 +49,9 @@ public abstract class PyBaseCode extends PyCode {
 
         // Push frame
         frame.f_back = ts.frame;
+        if (frame.retained && frame.f_back != null) {
+            frame.f_back.retain();
+        }
         if (frame.f_builtins == null) {
             if (frame.f_back != null) {
                 frame.f_builtins = frame.f_back.f_builtins;
@@ -55,12 +69,14 @@ public abstract class PyBaseCode extends PyCode {
 
         // Handle trace function for debugging
         if (ts.tracefunc != null) {
+            frame.retain();
             frame.f_lineno = co_firstlineno;
             frame.tracefunc = ts.tracefunc.traceCall(frame);
         }
 
         // Handle trace function for profiling
         if (ts.profilefunc != null) {
+            frame.retain();
             ts.profilefunc.traceCall(frame);
         }
 
@@ -95,6 +111,7 @@ public abstract class PyBaseCode extends PyCode {
         }
         // Handle trace function for profiling
         if (ts.profilefunc != null) {
+            frame.retain();
             ts.profilefunc.traceReturn(frame, ret);
         }
 
@@ -102,6 +119,10 @@ public abstract class PyBaseCode extends PyCode {
         ts.exception = previous_exception;
 
         ts.frame = ts.frame.f_back;
+        if (co_flags.isFlagSet(CodeFlag.CO_GENERATOR)) {
+            // As in CPython, a suspended generator does not refer to the frame that resumed it.
+            frame.f_back = null;
+        }
         return ret;
     }
 
@@ -112,7 +133,7 @@ public abstract class PyBaseCode extends PyCode {
             return call(state, Py.EmptyObjects, Py.NoKeywords, globals, defaults,
                         closure);
         }
-        PyFrame frame = new PyFrame(this, globals);
+        PyFrame frame = newFrame(state, globals);
         if (co_flags.isFlagSet(CodeFlag.CO_GENERATOR)) {
             return new PyGenerator(frame, closure);
         }
@@ -126,7 +147,7 @@ public abstract class PyBaseCode extends PyCode {
             return call(state, new PyObject[] {arg1},
                         Py.NoKeywords, globals, defaults, closure);
         }
-        PyFrame frame = new PyFrame(this, globals);
+        PyFrame frame = newFrame(state, globals);
         frame.f_fastlocals[0] = arg1;
         if (co_flags.isFlagSet(CodeFlag.CO_GENERATOR)) {
             return new PyGenerator(frame, closure);
@@ -141,7 +162,7 @@ public abstract class PyBaseCode extends PyCode {
             return call(state, new PyObject[] {arg1, arg2},
                         Py.NoKeywords, globals, defaults, closure);
         }
-        PyFrame frame = new PyFrame(this, globals);
+        PyFrame frame = newFrame(state, globals);
         frame.f_fastlocals[0] = arg1;
         frame.f_fastlocals[1] = arg2;
         if (co_flags.isFlagSet(CodeFlag.CO_GENERATOR)) {
@@ -158,7 +179,7 @@ public abstract class PyBaseCode extends PyCode {
             return call(state, new PyObject[] {arg1, arg2, arg3},
                         Py.NoKeywords, globals, defaults, closure);
         }
-        PyFrame frame = new PyFrame(this, globals);
+        PyFrame frame = newFrame(state, globals);
         frame.f_fastlocals[0] = arg1;
         frame.f_fastlocals[1] = arg2;
         frame.f_fastlocals[2] = arg3;
@@ -176,7 +197,7 @@ public abstract class PyBaseCode extends PyCode {
             return call(state, new PyObject[]{arg1, arg2, arg3, arg4},
                         Py.NoKeywords, globals, defaults, closure);
         }
-        PyFrame frame = new PyFrame(this, globals);
+        PyFrame frame = newFrame(state, globals);
         frame.f_fastlocals[0] = arg1;
         frame.f_fastlocals[1] = arg2;
         frame.f_fastlocals[2] = arg3;
@@ -199,7 +220,7 @@ public abstract class PyBaseCode extends PyCode {
 
     public PyObject call(ThreadState state, PyObject args[], String kws[], PyObject globals,
                          PyObject[] defs, PyObject closure) {
-        final PyFrame frame = new PyFrame(this, globals);
+        final PyFrame frame = newFrame(state, globals);
         final int argcount = args.length - kws.length;
 
         if ((co_argcount > 0) || varargs || varkwargs) {
@@ -8,6 +8,9 @@ public class PyBeanProperty extends PyReflectedField {
     public Class<?> myType;
     String __name__;
 
+    /** Reads and writes the property, made when first needed (and again if a method changes). */
+    private volatile ReflectedAccessor accessor;
+
     public PyBeanProperty(String name, Class<?> myType, Method getMethod, Method setMethod) {
         __name__ = name;
         this.getMethod = getMethod;
@@ -30,12 +33,7 @@ public class PyBeanProperty extends PyReflectedField {
 
         Object iself = Py.tojava(self, getMethod.getDeclaringClass());
 
-        try {
-            Object value = getMethod.invoke(iself, (Object[])Py.EmptyObjects);
-            return Py.java2py(value);
-        } catch (Exception e) {
-            throw Py.JavaError(e);
-        }
+        return getAccessor().get(iself);
     }
 
     @Override
@@ -63,14 +61,18 @@ public class PyBeanProperty extends PyReflectedField {
         }
         Object jvalue = Py.tojava(value, myType);
 
-        try {
-            setMethod.invoke(iself, jvalue);
-        } catch (Exception e) {
-            throw Py.JavaError(e);
-        }
+        getAccessor().set(iself, jvalue);
         return true;
     }
 
+    private ReflectedAccessor getAccessor() {
+        ReflectedAccessor a = accessor;
+        if (a == null || !a.isFor(getMethod, setMethod)) {
+            accessor = a = new ReflectedAccessor(getMethod, setMethod);
+        }
+        return a;
+    }
+
     public PyBeanProperty copy() {
         return new PyBeanProperty(__name__, myType, getMethod, setMethod);
     }
@@ -56,8 +56,7 @@ public class PyDictionary extends AbstractDict implements ConcurrentMap, Travers
      */
     public PyDictionary(PyType type, int capacity) {
         super(type);
-        internalMap = new ConcurrentHashMap<PyObject,PyObject>(capacity, Generic.CHM_LOAD_FACTOR,
-                                                               Generic.CHM_CONCURRENCY_LEVEL);
+        internalMap = newMap(capacity);
     }
 
     /**
@@ -65,7 +64,7 @@ public class PyDictionary extends AbstractDict implements ConcurrentMap, Travers
      */
     public PyDictionary(PyType type) {
         super(type);
-        internalMap = Generic.concurrentMap();
+        internalMap = newMap(Generic.CHM_INITIAL_CAPACITY);
     }
 
     /**
@@ -102,12 +101,25 @@ public class PyDictionary extends AbstractDict implements ConcurrentMap, Travers
     protected PyDictionary(PyType type, boolean initializeBacking) {
         super(type);
         if (initializeBacking) {
-            internalMap = Generic.concurrentMap();
+            internalMap = newMap(Generic.CHM_INITIAL_CAPACITY);
         } else {
             internalMap = null; /* for later initialization */
         }
     }
 
+    /**
+     * Create the map that holds the entries of a new dictionary: a compact, insertion-ordered
+     * {@link CompactMap} if {@link Options#compactDict} is set, and otherwise a
+     * {@code ConcurrentHashMap}.
+     */
+    private static ConcurrentMap<PyObject, PyObject> newMap(int capacity) {
+        if (Options.compactDict) {
+            return new CompactMap(capacity);
+        }
+        return new ConcurrentHashMap<PyObject, PyObject>(capacity, Generic.CHM_LOAD_FACTOR,
+                Generic.CHM_CONCURRENCY_LEVEL);
+    }
+
     /**
      * Create a new dictionary with the element as content.
      *
@@ -536,10 +548,11 @@ public class PyDictionary extends AbstractDict implements ConcurrentMap, Travers
             } else {
                 if (other instanceof PyDictionary) {
                     Set<Map.Entry<PyObject, PyObject>> entrySet =
-                            ((PyDictionary)other).internalMap.entrySet();
+                            ((PyDictionary)other).getMap().entrySet();
+                    ConcurrentMap<PyObject, PyObject> map = getMap();
                     for (Map.Entry<PyObject, PyObject> ent: entrySet) {
-                        if (!internalMap.containsKey(ent.getKey())) {
-                            internalMap.put(ent.getKey(), ent.getValue());
+                        if (!map.containsKey(ent.getKey())) {
+                            map.put(ent.getKey(), ent.getValue());
                         }
                     }
                 } else if (other instanceof PyStringMap) {
@@ -863,7 +876,7 @@ public class PyDictionary extends AbstractDict implements ConcurrentMap, Travers
     }
 
     public Set<PyObject> pyKeySet() {
-        return internalMap.keySet();
+        return getMap().keySet();
     }
 
     /*
@@ -1211,7 +1224,7 @@ public class PyDictionary extends AbstractDict implements ConcurrentMap, Travers
     @Override
     public int traverse(Visitproc visit, Object arg) {
         int retVal;
-        for (Map.Entry<PyObject, PyObject> ent: internalMap.entrySet()) {
+        for (Map.Entry<PyObject, PyObject> ent: getMap().entrySet()) {
             retVal = visit.visit(ent.getKey(), arg);
             if (retVal != 0) {
                 return retVal;
@@ -1228,6 +1241,10 @@ public class PyDictionary extends AbstractDict implements ConcurrentMap, Travers
 
     @Override
     public boolean refersDirectlyTo(PyObject ob) {
-        return ob != null && (internalMap.containsKey(ob) || internalMap.containsValue(ob));
+        if (ob == null) {
+            return false;
+        }
+        ConcurrentMap<PyObject, PyObject> map = getMap();
+        return map.containsKey(ob) || map.containsValue(ob);
     }
 }
@@ -50,7 +50,7 @@ public class PyException extends RuntimeException implements Traverseproc
             this.traceback = traceback;
             isReRaise = true;
         } else {
-            PyFrame frame = Py.getFrame();
+            PyFrame frame = Py.peekFrame();
             if (frame != null && frame.tracefunc != null) {
                 frame.tracefunc = frame.tracefunc.traceException(frame, this);
             }
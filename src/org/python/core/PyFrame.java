@@ -4,6 +4,8 @@
  */
 package org.python.core;
 
+import java.util.Arrays;
+
 import org.python.expose.ExposedDelete;
 import org.python.expose.ExposedGet;
 import org.python.expose.ExposedSet;
@@ -63,6 +65,12 @@ public class PyFrame extends PyObject implements Traverseproc {
     /** An interface to functions suitable for tracing, e.g. via sys.settrace(). */
     public TraceFunction tracefunc;
 
+    /** Whether this frame came from {@link ThreadState#takeFrame(PyBaseCode, PyObject)}. */
+    boolean recyclable;
+
+    /** Whether this frame may be referenced after its call returns: see {@link #retain()}. */
+    boolean retained;
+
     private static final String NAME_ERROR_MSG = "name '%.200s' is not defined";
 
     private static final String GLOBAL_NAME_ERROR_MSG = "global name '%.200s' is not defined";
@@ -123,6 +131,47 @@ public class PyFrame extends PyObject implements Traverseproc {
         }
     }
 
+    /**
+     * Mark this frame, and the frames below it, as possibly referenced after their calls return,
+     * so that none is recycled for another call. Anything that exposes a frame beyond its call
+     * (a traceback, {@code sys._getframe()}, a trace function) must call this. A frame that is
+     * retained has all the frames below it retained, so the walk stops at the first one that is.
+     */
+    public void retain() {
+        for (PyFrame f = this; f != null && !f.retained; f = f.f_back) {
+            f.retained = true;
+        }
+    }
+
+    /** Prepare a frame from the spare frames of a thread for a call of the code. */
+    void reuse(PyBaseCode code, PyObject globals) {
+        f_code = code;
+        f_globals = globals;
+        int n = code.co_nlocals - code.jy_npurecell;
+        if (n == 0) {
+            f_fastlocals = null;
+        } else if (f_fastlocals == null || f_fastlocals.length != n) {
+            f_fastlocals = new PyObject[n];
+        }
+    }
+
+    /** Drop the references a frame holds, when its call has returned and it is to be recycled. */
+    void clear() {
+        f_back = null;
+        f_code = null;
+        f_builtins = null;
+        f_globals = null;
+        f_locals = null;
+        if (f_fastlocals != null) {
+            Arrays.fill(f_fastlocals, null);
+        }
+        f_lineno = 0;
+        f_lasti = 0;
+        f_savedlocals = null;
+        generatorInput = Py.None;
+        f_exits = null;
+    }
+
     void setGeneratorInput(Object value) {
         generatorInput = value;
     }
@@ -265,17 +314,35 @@ public class PyFrame extends PyObject implements Traverseproc {
         throw Py.NameError(String.format(GLOBAL_NAME_ERROR_MSG, index));
     }
 
-    private PyObject doGetglobal(String index) {
+    /**
+     * Look up a global (or builtin) name, as {@link #getglobal(String)}, through a cache created by
+     * the compiler for that name.
+     *
+     * @param cache for the name
+     * @return the value of the name
+     */
+    public PyObject getglobal(GlobalCache cache) {
+        PyObject ret = cache.lookup(this);
+        if (ret != null) {
+            return ret;
+        }
+        throw Py.NameError(String.format(GLOBAL_NAME_ERROR_MSG, cache.name));
+    }
+
+    PyObject doGetglobal(String index) {
         PyObject ret = f_globals.__finditem__(index);
         if (ret != null) {
             return ret;
         }
+        return getBuiltins().__finditem__(index);
+    }
 
-        // Set up f_builtins if not already set
+    /** Return {@link #f_builtins}, having set it up from the system state if not already set. */
+    PyObject getBuiltins() {
         if (f_builtins == null) {
             f_builtins = Py.getThreadState().getSystemState().builtins;
         }
-        return f_builtins.__finditem__(index);
+        return f_builtins;
     }
 
     public void setlocal(int index, PyObject value) {
@@ -12,7 +12,6 @@ public class PyGenerator extends PyIterator implements FinalizableBuiltin {
 
     public static final PyType TYPE = PyType.fromClass(PyGenerator.class);
 
-    @ExposedGet
     protected PyFrame gi_frame;
 
     @ExposedGet
@@ -33,6 +32,15 @@ public class PyGenerator extends PyIterator implements FinalizableBuiltin {
         FinalizeTrigger.ensureFinalizer(this);
     }
 
+    @ExposedGet(name = "gi_frame")
+    public PyFrame getFrame() {
+        if (gi_frame != null) {
+            // The caller may keep the frame, so it must not be recycled.
+            gi_frame.retain();
+        }
+        return gi_frame;
+    }
+
     @ExposedGet(name = "__name__")
     public String getName() {
         return gi_code.co_name;
@@ -1419,6 +1419,50 @@ public class PyJavaType extends PyType {
         return CollectionsProxiesHolder.proxies.postProxies;
     }
 
+    /**
+     * Return the Java collection an object wraps, if iterating the object from Python would simply
+     * iterate the collection (its {@code __iter__} is the one injected for {@code Iterable}, not
+     * one defined by its class or a Python subclass), so that its items may be read in bulk.
+     *
+     * @param o a Python object
+     * @return the collection or null
+     */
+    static Collection<?> asIteratedCollection(PyObject o) {
+        Object proxy = o.getJavaProxy();
+        if (proxy instanceof Collection) {
+            PyObject iter = o.getType().lookup("__iter__");
+            if (iter instanceof PyMethodDescr
+                    && ((PyMethodDescr) iter).meth == getCollectionProxies().get(Iterable.class)[0]) {
+                return (Collection<?>) proxy;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * The Java form of an {@code int}, {@code unicode} or ASCII {@code str}, which is equal (from
+     * Python) to a Java element of the same class exactly when it is equal by
+     * {@link Object#equals(Object)}; or null for other objects.
+     */
+    private static Object javaKey(PyObject obj) {
+        PyType type = obj.getType();
+        if (type == PyInteger.TYPE) {
+            return ((PyInteger) obj).getValue();
+        } else if (type == PyUnicode.TYPE) {
+            return ((PyUnicode) obj).getString();
+        } else if (type == PyString.TYPE) {
+            String s = ((PyString) obj).getString();
+            for (int i = 0; i < s.length(); i++) {
+                if (s.charAt(i) >= 0x80) {
+                    // Compares unequal to a unicode with the same characters
+                    return null;
+                }
+            }
+            return s;
+        }
+        return null;
+    }
+
     /**
      * Build a map of common Java collection base types (Map, Iterable, etc) that need to be
      * injected with Python's equivalent types' builtin methods (__len__, __iter__, iteritems, etc).
@@ -1453,8 +1497,16 @@ public class PyJavaType extends PyType {
                 boolean contained = false;
                 Object proxy = obj.getJavaProxy();
                 if (proxy == null) {
+                    // Items of the same class as the key are compared without converting them.
+                    Object key = javaKey(obj);
+                    Class<?> keyClass = key == null ? null : key.getClass();
                     for (Object item : (Collection<?>) self.getJavaProxy()) {
-                        if (Py.java2py(item)._eq(obj).__nonzero__()) {
+                        if (item != null && item.getClass() == keyClass) {
+                            if (key.equals(item)) {
+                                contained = true;
+                                break;
+                            }
+                        } else if (Py.java2py(item)._eq(obj).__nonzero__()) {
                             contained = true;
                             break;
                         }
@@ -14,13 +14,11 @@ import java.util.Collection;
 import java.util.Collections;
 import java.util.Comparator;
 import java.util.ConcurrentModificationException;
-import java.util.HashMap;
 import java.util.Iterator;
 import java.util.List;
 import java.util.ListIterator;
 
 import java.lang.reflect.Array;
-import java.util.Map;
 
 @ExposedType(name = "list", base = PyObject.class, doc = BuiltinDocs.list_doc)
 public class PyList extends PySequenceList {
@@ -40,7 +38,7 @@ public class PyList extends PySequenceList {
 
     public PyList(PyType type) {
         super(type);
-        list = Generic.list();
+        list = newStorage(10);
     }
 
     private PyList(List<?> list, boolean convert) {
@@ -48,7 +46,7 @@ public class PyList extends PySequenceList {
         if (!convert) {
             this.list = (List<PyObject>) list;
         } else {
-            this.list = Generic.list();
+            this.list = newStorage(list.size());
             for (Object o : list) {
                 add(o);
             }
@@ -57,12 +55,12 @@ public class PyList extends PySequenceList {
 
     public PyList(PyType type, PyObject[] elements) {
         super(type);
-        list = new ArrayList<PyObject>(Arrays.asList(elements));
+        list = newStorage(Arrays.asList(elements));
     }
 
     public PyList(PyType type, Collection c) {
         super(type);
-        list = new ArrayList<PyObject>(c.size());
+        list = newStorage(c.size());
         for (Object o : c) {
             add(o);
         }
@@ -87,6 +85,41 @@ public class PyList extends PySequenceList {
         return new PyList(list, false);
     }
 
+    /**
+     * Create the storage for a new list: a {@link StampedList} if
+     * {@link Options#listOptimisticReads} is set, otherwise an {@code ArrayList}.
+     */
+    private static List<PyObject> newStorage(int initialCapacity) {
+        return Options.listOptimisticReads ? new StampedList(initialCapacity)
+                : new ArrayList<PyObject>(initialCapacity);
+    }
+
+    private static List<PyObject> newStorage(Collection<PyObject> c) {
+        return Options.listOptimisticReads ? new StampedList(c) : new ArrayList<PyObject>(c);
+    }
+
+    /**
+     * Whether reads of the size and of single elements of this list are optimistic (it was created
+     * with {@link Options#listOptimisticReads} set), so that methods making only such reads need
+     * not synchronise on the list.
+     */
+    final boolean hasOptimisticReads() {
+        return list instanceof StampedList;
+    }
+
+    /**
+     * Return the element at the index, or null if the index is not within the list, as one
+     * consistent read.
+     */
+    final PyObject pygetOrNull(int index) {
+        if (list instanceof StampedList) {
+            return ((StampedList) list).getOrNull(index);
+        }
+        synchronized (this) {
+            return index >= 0 && index < list.size() ? list.get(index) : null;
+        }
+    }
+
     List<PyObject> getList() {
         return Collections.unmodifiableList(list);
     }
@@ -103,18 +136,17 @@ public class PyList extends PySequenceList {
         this(TYPE, listify(iter));
     }
 
-    // refactor and put in Py presumably;
-    // presumably we can consume an arbitrary iterable too!
-    private static void addCollection(List<PyObject> list, Collection<Object> seq) {
-        Map<Long, PyObject> seen = new HashMap<>();
-        for (Object item : seq) {
-            long id = Py.java_obj_id(item);
-            PyObject seen_obj = seen.get(id);
-            if (seen_obj != null) {
-                seen_obj = Py.java2py(item);
-                seen.put(id, seen_obj);
-            }
-            list.add(seen_obj);
+    /**
+     * Append the items of a Java collection, converted to Python. The collection is copied in one
+     * call, rather than iterated a step at a time through a Python iterator.
+     */
+    private void addCollection(Collection<?> c) {
+        Object[] items = c.toArray();
+        if (list instanceof ArrayList) {
+            ((ArrayList<PyObject>) list).ensureCapacity(list.size() + items.length);
+        }
+        for (Object item : items) {
+            list.add(Py.java2py(item));
         }
     }
 
@@ -124,6 +156,7 @@ public class PyList extends PySequenceList {
     final void list___init__(PyObject[] args, String[] kwds) {
         ArgParser ap = new ArgParser("list", args, kwds, new String[]{"sequence"}, 0);
         PyObject seq = ap.getPyObject(0, null);
+        Collection<?> c;
         clear();
         if (seq == null) {
             return;
@@ -140,9 +173,8 @@ public class PyList extends PySequenceList {
             list.addAll(((PyList) seq).list); // don't convert
         } else if (seq instanceof PyTuple) {
             list.addAll(((PyTuple) seq).getList());
-        } else if (seq.getClass().isAssignableFrom(Collection.class)) {
-            System.err.println("Adding from collection");
-            addCollection(list, (Collection<Object>) seq);
+        } else if ((c = PyJavaType.asIteratedCollection(seq)) != null) {
+            addCollection(c);
         } else {
             for (PyObject item : seq.asIterable()) {
                 append(item);
@@ -156,7 +188,7 @@ public class PyList extends PySequenceList {
     }
 
     @ExposedMethod(doc = BuiltinDocs.list___len___doc)
-    final synchronized int list___len__() {
+    final int list___len__() {
         return size();
     }
 
@@ -428,8 +460,14 @@ public class PyList extends PySequenceList {
     }
 
     @ExposedMethod(doc = BuiltinDocs.list___contains___doc)
-    final synchronized boolean list___contains__(PyObject o) {
-        return object___contains__(o);
+    final boolean list___contains__(PyObject o) {
+        if (hasOptimisticReads()) {
+            // Iterates by single reads, as CPython does.
+            return object___contains__(o);
+        }
+        synchronized (this) {
+            return object___contains__(o);
+        }
     }
 
     @ExposedMethod(doc = BuiltinDocs.list___delitem___doc)
@@ -443,12 +481,22 @@ public class PyList extends PySequenceList {
     }
 
     @ExposedMethod(doc = BuiltinDocs.list___getitem___doc)
-    final synchronized PyObject list___getitem__(PyObject o) {
-        PyObject ret = seq___finditem__(o);
-        if (ret == null) {
-            throw Py.IndexError("index out of range: " + o);
+    final PyObject list___getitem__(PyObject o) {
+        if (hasOptimisticReads() && o.getClass() == PyInteger.class) {
+            // The index is resolved and the element read together with the bound, so need no lock.
+            PyObject ret = ((StampedList) list).getItemOrNull(((PyInteger) o).getValue());
+            if (ret == null) {
+                throw Py.IndexError("index out of range: " + o);
+            }
+            return ret;
+        }
+        synchronized (this) {
+            PyObject ret = seq___finditem__(o);
+            if (ret == null) {
+                throw Py.IndexError("index out of range: " + o);
+            }
+            return ret;
         }
-        return ret;
     }
 
     @Override
@@ -547,11 +595,22 @@ public class PyList extends PySequenceList {
     }
 
     @ExposedMethod(doc = BuiltinDocs.list_count_doc)
-    final synchronized int list_count(PyObject o) {
+    final int list_count(PyObject o) {
         int count = 0;
-        for (PyObject item : list) {
-            if (item.equals(o)) {
-                count++;
+        if (hasOptimisticReads()) {
+            PyObject item;
+            for (int i = 0; (item = pygetOrNull(i)) != null; i++) {
+                if (item.equals(o)) {
+                    count++;
+                }
+            }
+            return count;
+        }
+        synchronized (this) {
+            for (PyObject item : list) {
+                if (item.equals(o)) {
+                    count++;
+                }
             }
         }
         return count;
@@ -576,30 +635,47 @@ public class PyList extends PySequenceList {
     }
 
     @ExposedMethod(defaults = {"null", "null"}, doc = BuiltinDocs.list_index_doc)
-    final synchronized int list_index(PyObject o, PyObject start, PyObject stop) {
+    final int list_index(PyObject o, PyObject start, PyObject stop) {
         int startInt = start == null ? 0 : PySlice.calculateSliceIndex(start);
         int stopInt = stop == null ? size() : PySlice.calculateSliceIndex(stop);
         return list_index(o, startInt, stopInt);
     }
 
-    final synchronized int list_index(PyObject o, int start, int stop) {
+    final int list_index(PyObject o, int start, int stop) {
         return _index(o, "list.index(x): x not in list", start, stop);
     }
 
-    final synchronized int list_index(PyObject o, int start) {
+    final int list_index(PyObject o, int start) {
         return _index(o, "list.index(x): x not in list", start, size());
     }
 
-    final synchronized int list_index(PyObject o) {
+    final int list_index(PyObject o) {
         return _index(o, "list.index(x): x not in list", 0, size());
     }
 
     private int _index(PyObject o, String message, int start, int stop) {
+        if (hasOptimisticReads()) {
+            return findIndex(o, message, start, stop);
+        }
+        synchronized (this) {
+            return findIndex(o, message, start, stop);
+        }
+    }
+
+    private int findIndex(PyObject o, String message, int start, int stop) {
         // Follow Python 2.3+ behavior
         int validStop = boundToSequence(stop);
         int validStart = boundToSequence(start);
         int i = validStart;
-        if (validStart <= validStop) {
+        if (hasOptimisticReads()) {
+            // Iterates by single reads, as CPython does.
+            PyObject item;
+            for (; i < validStop && (item = pygetOrNull(i)) != null; i++) {
+                if (item.equals(o)) {
+                    return i;
+                }
+            }
+        } else if (validStart <= validStop) {
             try {
                 for (PyObject item : list.subList(validStart, validStop)) {
                     if (item.equals(o)) {
@@ -718,8 +794,11 @@ public class PyList extends PySequenceList {
 
     @ExposedMethod(doc = BuiltinDocs.list_extend_doc)
     final synchronized void list_extend(PyObject o) {
+        Collection<?> c;
         if (o instanceof PyList) {
             list.addAll(((PyList) o).list);
+        } else if ((c = PyJavaType.asIteratedCollection(o)) != null) {
+            addCollection(c);
         } else {
             for (PyObject item : o.asIterable()) {
                 list.add(item);
@@ -1085,8 +1164,8 @@ public class PyList extends PySequenceList {
     }
 
     @Override
-    public synchronized Object get(int index) {
-        return list.get(index).__tojava__(Object.class);
+    public Object get(int index) {
+        return pyget(index).__tojava__(Object.class);
     }
 
     @Override
@@ -1100,8 +1179,8 @@ public class PyList extends PySequenceList {
     }
 
     @Override
-    public synchronized boolean isEmpty() {
-        return list.isEmpty();
+    public boolean isEmpty() {
+        return size() == 0;
     }
 
     @Override
@@ -1190,8 +1269,13 @@ public class PyList extends PySequenceList {
     }
 
     @Override
-    public synchronized PyObject pyget(int index) {
-        return list.get(index);
+    public PyObject pyget(int index) {
+        if (hasOptimisticReads()) {
+            return list.get(index);
+        }
+        synchronized (this) {
+            return list.get(index);
+        }
     }
 
     public synchronized void pyset(int index, PyObject element) {
@@ -1232,8 +1316,13 @@ public class PyList extends PySequenceList {
     }
 
     @Override
-    public synchronized int size() {
-        return list.size();
+    public int size() {
+        if (hasOptimisticReads()) {
+            return list.size();
+        }
+        synchronized (this) {
+            return list.size();
+        }
     }
 
     @Override
@@ -1275,9 +1364,9 @@ public class PyList extends PySequenceList {
         int n = sliceLength(start, stop, step);
         List<PyObject> newList;
         if (step == 1) {
-            newList = new ArrayList<PyObject>(list.subList(start, stop));
+            newList = newStorage(list.subList(start, stop));
         } else {
-            newList = new ArrayList<PyObject>(n);
+            newList = newStorage(n);
             for (int i = start, j = 0; j < n; i += step, j++) {
                 newList.add(list.get(i));
             }
@@ -15,6 +15,11 @@ public class PyListIterator extends PyIterator {
     }
 
     public PyObject __iternext__() {
+        if (list.hasOptimisticReads()) {
+            PyObject item = stopped ? null : list.pygetOrNull(index++);
+            stopped = item == null;
+            return item;
+        }
         synchronized (list) {
             if (stopped) {
                 // Need to prevent the iteration from restarting, even after a StopIteration,
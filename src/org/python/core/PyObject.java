@@ -3756,7 +3756,19 @@ public class PyObject implements Serializable {
 
     // name must be interned
     final PyObject object___findattr__(String name) {
-        PyObject descr = objtype.lookup(name);
+        return object___findattr__(name, objtype.lookup(name));
+    }
+
+    /**
+     * The generic attribute look-up of {@code object.__getattribute__}, where the look-up of
+     * {@code name} along the MRO of the type has already been done (for example, by an inline
+     * cache that holds the result while the type version is unchanged).
+     *
+     * @param name of the attribute (must be interned)
+     * @param descr result of {@code getType().lookup(name)}
+     * @return found object or null
+     */
+    final PyObject object___findattr__(String name, PyObject descr) {
         PyObject res;
         boolean get = false;
 
@@ -12,6 +12,9 @@ public class PyReflectedField extends PyObject {
 
     public Field field;
 
+    /** Reads and writes {@link #field}, made when first needed (and again if it changes). */
+    private volatile ReflectedAccessor accessor;
+
     public PyReflectedField() {
     }
 
@@ -31,15 +34,7 @@ public class PyReflectedField extends PyObject {
                 iself = self;
             }
         }
-        Object value;
-
-        try {
-            value = field.get(iself);
-        } catch (IllegalAccessException exc) {
-            throw Py.JavaError(exc);
-        }
-
-        return Py.java2py(value);
+        return getAccessor().get(iself);
     }
 
     @Override
@@ -55,13 +50,16 @@ public class PyReflectedField extends PyObject {
             }
         }
         Object fvalue = Py.tojava(value, field.getType());
+        getAccessor().set(iself, fvalue);
+        return true;
+    }
 
-        try {
-            field.set(iself, fvalue);
-        } catch (IllegalAccessException exc) {
-            throw Py.JavaError(exc);
+    private ReflectedAccessor getAccessor() {
+        ReflectedAccessor a = accessor;
+        if (a == null || !a.isFor(field, field)) {
+            accessor = a = new ReflectedAccessor(field);
         }
-        return true;
+        return a;
     }
 
     @Override
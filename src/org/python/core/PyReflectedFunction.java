@@ -24,6 +24,15 @@ public class PyReflectedFunction extends PyObject implements Traverseproc {
     /** Whether __call__ should act as if this is called as a static method. */
     private boolean calledStatically;
 
+    /**
+     * Remembers the overload chosen for arguments of given types, or null if it is not yet made
+     * (or calls cannot be resolved by type). Made again when an overload is added.
+     */
+    private ReflectedInvoker invoker;
+
+    /** Whether {@link #invoker} has been made since an overload was last added. */
+    private boolean invokerMade;
+
     protected PyReflectedFunction(String name) {
         __name__ = name;
     }
@@ -72,6 +81,8 @@ public class PyReflectedFunction extends PyObject implements Traverseproc {
         func.nargs = nargs;
         func.argslist = new ReflectedArgs[nargs];
         System.arraycopy(argslist, 0, func.argslist, 0, nargs);
+        func.invoker = invoker;
+        func.invokerMade = invokerMade;
         return func;
     }
 
@@ -133,6 +144,8 @@ public class PyReflectedFunction extends PyObject implements Traverseproc {
     }
 
     protected void addArgs(ReflectedArgs args) {
+        invoker = null;
+        invokerMade = false;
         int i;
         for (i = 0; i < nargs; i++) {
             int cmp = args.compareTo(argslist[i]);
@@ -158,17 +171,38 @@ public class PyReflectedFunction extends PyObject implements Traverseproc {
         nargs = nn;
     }
 
+    /** The invoker of this function, made when first called, or null if it cannot have one. */
+    private ReflectedInvoker getInvoker() {
+        if (!invokerMade) {
+            invoker = ReflectedInvoker.create(argslist, nargs);
+            invokerMade = true;
+        }
+        return invoker;
+    }
+
     @Override
     public PyObject __call__(PyObject self, PyObject[] args, String[] keywords) {
         ReflectedCallData callData = new ReflectedCallData();
         ReflectedArgs match = null;
-        for (int i = 0; i < nargs && match == null; i++) {
-            if (argslist[i].matches(self, args, keywords, callData)) {
-                match = argslist[i];
+        ReflectedInvoker inv = keywords.length == 0 ? getInvoker() : null;
+        if (inv != null) {
+            ReflectedArgs known = inv.lookup(self, args);
+            if (known != null && known.matches(self, args, keywords, callData)) {
+                match = known;
             }
         }
         if (match == null) {
-            throwError(callData.errArg, args.length, self != null, keywords.length != 0);
+            for (int i = 0; i < nargs && match == null; i++) {
+                if (argslist[i].matches(self, args, keywords, callData)) {
+                    match = argslist[i];
+                }
+            }
+            if (match == null) {
+                throwError(callData.errArg, args.length, self != null, keywords.length != 0);
+            }
+            if (inv != null) {
+                inv.record(self, args, match);
+            }
         }
         Object cself = callData.self;
         Method m = (Method)match.method;
@@ -187,7 +221,11 @@ public class PyReflectedFunction extends PyObject implements Traverseproc {
         }
         Object o;
         try {
-            o = m.invoke(cself, callData.getArgsArray());
+            if (m == match.method) {
+                o = ReflectedInvoker.invoke(match, cself, callData.getArgsArray());
+            } else {
+                o = m.invoke(cself, callData.getArgsArray());
+            }
         } catch (Throwable t) {
             throw Py.JavaError(t);
         }
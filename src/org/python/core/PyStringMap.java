@@ -12,6 +12,7 @@ import java.util.AbstractSet;
 import java.util.Map.Entry;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicLongFieldUpdater;
 
 import org.python.core.AbstractDict.ValuesIter;
 import org.python.core.AbstractDict.KeysIter;
@@ -39,10 +40,56 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
 
     private final ConcurrentMap<Object, PyObject> table;
 
+    /**
+     * Count of modifications, advanced after every change made through the methods of this class.
+     * See {@link #getVersion()}. Not private, so that {@link Version#UPDATER} may advance it.
+     */
+    volatile long version;
+
+    /**
+     * Holds the updater of {@link #version}, which cannot be a static of this class: maps are
+     * written during bootstrap, before the static initialisation of this class is complete.
+     */
+    private static final class Version {
+
+        static final AtomicLongFieldUpdater<PyStringMap> UPDATER =
+                AtomicLongFieldUpdater.newUpdater(PyStringMap.class, "version");
+    }
+
+    /**
+     * Return the map that holds the entries. Changes made directly to this map are not counted by
+     * {@link #getVersion()}, and so may go unseen by look-ups that cache on it: code that modifies
+     * the map of a module or builtins dictionary this way must call {@link #modified()}.
+     *
+     * @return the map that holds the entries
+     */
     public ConcurrentMap<Object, PyObject> getMap() {
         return table;
     }
 
+    /**
+     * Return the modification version of this map. It is different after any change to the
+     * contents made through the methods of this class, so that a value looked up in this map
+     * remains the current value for as long as the version is unchanged, provided the version was
+     * read before the look-up. This is the basis of the cached look-up of global and builtin names
+     * in compiled code (see {@link GlobalCache}).
+     *
+     * @return the modification version
+     */
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * Advance the modification version. The methods of this class call this after each change to
+     * the contents, which must be complete first, so that a reader that reads the version before
+     * the content never associates new content with an old version.
+     */
+    public void modified() {
+        // Atomically, so that concurrent writers each advance it and it never goes back.
+        Version.UPDATER.incrementAndGet(this);
+    }
+
     public PyStringMap() {
         this(4);
     }
@@ -53,6 +100,17 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
                                                         Generic.CHM_CONCURRENCY_LEVEL);
     }
 
+    /**
+     * Create an instance dictionary that shares its keys with the other instances of a class (see
+     * {@link SharedKeyMap}).
+     *
+     * @param keys shared by the instances of the class
+     */
+    PyStringMap(SharedKeyMap.Keys keys) {
+        super(getLazyType());
+        table = new SharedKeyMap(keys);
+    }
+
     public PyStringMap(Map<Object, PyObject> map) {
         this(Math.max((int) (map.size() / Generic.CHM_LOAD_FACTOR) + 1,
                       Generic.CHM_INITIAL_CAPACITY));
@@ -121,6 +179,22 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
         return table.get(key);
     }
 
+    /**
+     * Find the value for a key, given its position in the keys a {@link SharedKeyMap} may share,
+     * as an {@link AttributeCache} holds it.
+     *
+     * @param keys in which {@code key} is at position {@code index}
+     * @param index of the key in {@code keys}
+     * @param key to look up (an interned string)
+     * @return the value, or null if it is not found
+     */
+    PyObject getShared(SharedKeyMap.Keys keys, int index, String key) {
+        if (table instanceof SharedKeyMap) {
+            return ((SharedKeyMap) table).get(keys, index, key);
+        }
+        return table.get(key);
+    }
+
     @Override
     public PyObject __finditem__(PyObject key) {
         if (key instanceof PyString) {
@@ -174,6 +248,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
         } else {
             table.put(key, value);
         }
+        modified();
     }
 
     @Override
@@ -187,9 +262,11 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
             table.remove(pyToKey(key));
         } else if (key instanceof PyString) {
             __setitem__(((PyString)key).internedString(), value);
+            return;
         } else {
             table.put(key, value);
         }
+        modified();
     }
 
     @Override
@@ -198,6 +275,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
         if (ret == null) {
             throw Py.KeyError(key);
         }
+        modified();
     }
 
     @Override
@@ -214,6 +292,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
             if (ret == null) {
                 throw Py.KeyError(key);
             }
+            modified();
         }
     }
 
@@ -227,6 +306,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
     @ExposedMethod(doc = BuiltinDocs.dict_clear_doc)
     final void stringmap_clear() {
         table.clear();
+        modified();
     }
 
     @Override
@@ -402,6 +482,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
     private void merge(PyObject other) {
         if (other instanceof PyStringMap) {
             table.putAll(((PyStringMap)other).table);
+            modified();
         } else if (other instanceof PyDictionary) {
             mergeFromKeys(other, ((PyDictionary)other).keys());
         } else {
@@ -429,6 +510,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
                             table.put(ent.getKey(), ent.getValue());
                         }
                     }
+                    modified();
                 } else if (other instanceof PyDictionary) {
                     mergeFromKeys(other, ((PyDictionary)other).keys(), override);
                 } else {
@@ -565,7 +647,11 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
     final PyObject stringmap_setdefault(PyObject key, PyObject failobj) {
         Object internedKey = (key instanceof PyString) ? ((PyString)key).internedString() : key;
         PyObject oldValue = table.putIfAbsent(internedKey, failobj);
-        return oldValue == null ? failobj : oldValue;
+        if (oldValue == null) {
+            modified();
+            return failobj;
+        }
+        return oldValue;
     }
 
     /**
@@ -583,6 +669,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
         }
         PyTuple tuple = itemTuple(it.next());
         it.remove();
+        modified();
         return tuple;
     }
 
@@ -608,6 +695,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
                 return failobj;
             }
         }
+        modified();
         return value;
     }
 
@@ -780,7 +868,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
         }
     }
 
-    private static class PyStringMapKeySetWrapper extends AbstractSet<PyObject>
+    private class PyStringMapKeySetWrapper extends AbstractSet<PyObject>
     {
         Set<Object> backend;
 
@@ -805,6 +893,7 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
 
             public void remove() {
                 itr.remove();
+                modified();
             }
         }
 
@@ -825,7 +914,13 @@ public class PyStringMap extends AbstractDict implements Traverseproc {
 
     /** @see java.util.Map#entrySet() */
     public Set entrySet() {
-        return new PyMapEntrySet(getMap().entrySet());
+        return new PyMapEntrySet(getMap().entrySet()) {
+
+            @Override
+            void modified() {
+                PyStringMap.this.modified();
+            }
+        };
     }
 
     /**
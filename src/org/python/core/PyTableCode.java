@@ -51,6 +51,9 @@ public class PyTableCode extends PyBaseCode
             co_flags.setFlag(CodeFlag.CO_VARKEYWORDS);
         }
         co_flags = new CompilerFlags(co_flags.toBits() | moreflags);
+        recycleFrames = co_flags.isFlagSet(CodeFlag.CO_OPTIMIZED)
+                && co_flags.isFlagSet(CodeFlag.CO_NOFREE)
+                && !co_flags.isFlagSet(CodeFlag.CO_GENERATOR);
         this.funcs = funcs;
         this.func_id = func_id;
     }
@@ -141,6 +144,9 @@ public class PyTableCode extends PyBaseCode
 
         // Push frame
         frame.f_back = ts.frame;
+        if (frame.retained && frame.f_back != null) {
+            frame.f_back.retain();
+        }
         if (frame.f_builtins == null) {
             if (frame.f_back != null) {
                 frame.f_builtins = frame.f_back.f_builtins;
@@ -158,12 +164,14 @@ public class PyTableCode extends PyBaseCode
 
         // Handle trace function for debugging
         if (ts.tracefunc != null) {
+            frame.retain();
             frame.f_lineno = co_firstlineno;
             frame.tracefunc = ts.tracefunc.traceCall(frame);
         }
 
         // Handle trace function for profiling
         if (ts.profilefunc != null) {
+            frame.retain();
             ts.profilefunc.traceCall(frame);
         }
 
@@ -204,12 +212,19 @@ public class PyTableCode extends PyBaseCode
         }
         // Handle trace function for profiling
         if (ts.profilefunc != null) {
+            frame.retain();
             ts.profilefunc.traceReturn(frame, ret);
         }
 
         // Restore previously defined exception
         ts.exception = previous_exception;
         ts.frame = ts.frame.f_back;
+        if (frame.recyclable) {
+            ts.releaseFrame(frame);
+        } else if (co_flags.isFlagSet(CodeFlag.CO_GENERATOR)) {
+            // As in CPython, a suspended generator does not refer to the frame that resumed it.
+            frame.f_back = null;
+        }
         return ret;
     }
 
@@ -26,6 +26,7 @@ public class PyTraceback extends PyObject implements Traverseproc {
         super(TYPE);
         tb_next = next;
         tb_frame = frame;
+        frame.retain();
         tb_lineno = frame.f_code.getline(frame);
     }
 
@@ -148,6 +148,13 @@ public class PyType extends PyObject implements Serializable, Traverseproc {
     /** MethodCacheEntry version tag. */
     private volatile Object versionTag = new Object();
 
+    /**
+     * The attribute names shared by the instance dictionaries of this type, when
+     * {@link Options#sharedKeyDicts} is set. Created by the first instance. Instances created in a
+     * race for it may end up with different keys, which is harmless.
+     */
+    private transient volatile SharedKeyMap.Keys sharedKeys;
+
     /** The number of __slots__ defined by this type + bases. */
     private int numSlots;
 
@@ -1102,7 +1109,7 @@ public class PyType extends PyObject implements Serializable, Traverseproc {
         if (dict.__finditem__("__module__") != null) {
             return;
         }
-        PyFrame frame = Py.getFrame();
+        PyFrame frame = Py.peekFrame();
         if (frame == null) {
             return;
         }
@@ -1581,6 +1588,13 @@ public class PyType extends PyObject implements Serializable, Traverseproc {
 
     public PyObject instDict() {
         if (needs_userdict) {
+            if (Options.sharedKeyDicts) {
+                SharedKeyMap.Keys keys = sharedKeys;
+                if (keys == null) {
+                    sharedKeys = keys = new SharedKeyMap.Keys();
+                }
+                return new PyStringMap(keys);
+            }
             return new PyStringMap();
         }
         return null;
@@ -2508,6 +2522,25 @@ public class PyType extends PyObject implements Serializable, Traverseproc {
         this.usesObjectGetattribute = usesObjectGetattribute;
     }
 
+    /**
+     * The current version tag of this type. A new tag is issued whenever a modification to this
+     * type or to a type in its MRO could change the result of an attribute lookup, so a cached
+     * lookup result remains valid for as long as the tag is unchanged.
+     *
+     * @return the current version tag (compare by identity)
+     */
+    Object getVersionTag() {
+        return versionTag;
+    }
+
+    /**
+     * The attribute names shared by the instance dictionaries of this type, or null if none has
+     * been created with {@link Options#sharedKeyDicts} set.
+     */
+    SharedKeyMap.Keys getSharedKeys() {
+        return sharedKeys;
+    }
+
     @Override
     public Object __tojava__(Class<?> c) {
         if (underlying_class != null
@@ -0,0 +1,181 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Field;
+import java.lang.reflect.Member;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Reads and writes a Java field (for a {@link PyReflectedField}) or bean property (for a
+ * {@link PyBeanProperty}) through method handles. The getter is a handle of type
+ * {@code (Object)PyObject} that ends in a conversion to Python chosen once for the type of the
+ * value: a primitive or {@code String} is made into a Python object directly, without boxing it
+ * and looking for an adapter by {@link Py#java2py(Object)} as each value is read. The setter is a
+ * handle of type {@code (Object, Object)void}, taking the value already converted to Java. Where no
+ * handle can be made (the member is not accessible to a lookup, or is a final field), the member
+ * is read or written by reflection as before.
+ */
+final class ReflectedAccessor {
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    private static final MethodType GETTER = MethodType.methodType(PyObject.class, Object.class);
+    private static final MethodType SETTER =
+            MethodType.methodType(void.class, Object.class, Object.class);
+
+    /** The members read and written: each a {@link Field} or {@link Method}, or null. */
+    private final Member getMember, setMember;
+
+    /** Handles on the members, or null to use reflection (or if there is no such member). */
+    private final MethodHandle getter, setter;
+
+    /**
+     * Create an accessor for a field.
+     *
+     * @param field to read and write
+     */
+    ReflectedAccessor(Field field) {
+        this(field, field);
+    }
+
+    /**
+     * Create an accessor for a bean property.
+     *
+     * @param getMethod to read the property, or null if it is write-only
+     * @param setMethod to write the property, or null if it is read-only
+     */
+    ReflectedAccessor(Method getMethod, Method setMethod) {
+        this((Member) getMethod, setMethod);
+    }
+
+    private ReflectedAccessor(Member getMember, Member setMember) {
+        this.getMember = getMember;
+        this.setMember = setMember;
+        this.getter = getMember == null ? null : makeGetter(getMember);
+        this.setter = setMember == null ? null : makeSetter(setMember);
+    }
+
+    /** Whether this accessor reads and writes these members (which may have been changed). */
+    boolean isFor(Member getMember, Member setMember) {
+        return this.getMember == getMember && this.setMember == setMember;
+    }
+
+    /**
+     * Read the member and convert the value to Python.
+     *
+     * @param self the object to read from (ignored if the member is static)
+     * @return the value
+     */
+    PyObject get(Object self) {
+        try {
+            if (getter != null) {
+                return (PyObject) getter.invokeExact(self);
+            } else if (getMember instanceof Field) {
+                return Py.java2py(((Field) getMember).get(self));
+            } else {
+                return Py.java2py(((Method) getMember).invoke(self, (Object[]) Py.EmptyObjects));
+            }
+        } catch (Throwable t) {
+            throw Py.JavaError(t);
+        }
+    }
+
+    /**
+     * Write the member.
+     *
+     * @param self the object to write to (ignored if the member is static)
+     * @param value converted to the Java type of the member
+     */
+    void set(Object self, Object value) {
+        try {
+            if (setter != null) {
+                setter.invokeExact(self, value);
+            } else if (setMember instanceof Field) {
+                ((Field) setMember).set(self, value);
+            } else {
+                ((Method) setMember).invoke(self, value);
+            }
+        } catch (Throwable t) {
+            throw Py.JavaError(t);
+        }
+    }
+
+    private static MethodHandle makeGetter(Member m) {
+        try {
+            MethodHandle handle;
+            Class<?> type;
+            if (m instanceof Field) {
+                handle = LOOKUP.unreflectGetter((Field) m);
+                type = ((Field) m).getType();
+            } else {
+                handle = LOOKUP.unreflect((Method) m);
+                type = ((Method) m).getReturnType();
+            }
+            if (Modifier.isStatic(m.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return MethodHandles.filterReturnValue(handle, toPython(type)).asType(GETTER);
+        } catch (ReflectiveOperationException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    private static MethodHandle makeSetter(Member m) {
+        try {
+            MethodHandle handle;
+            if (m instanceof Field) {
+                handle = LOOKUP.unreflectSetter((Field) m);
+            } else {
+                handle = LOOKUP.unreflect((Method) m);
+            }
+            if (Modifier.isStatic(m.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asType(SETTER);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return null;
+        }
+    }
+
+    /**
+     * A handle converting a value of the given Java type to Python, as
+     * {@link org.python.core.adapter.ClassicPyObjectAdapter} would after boxing it.
+     */
+    private static MethodHandle toPython(Class<?> type) throws ReflectiveOperationException {
+        MethodHandle conv;
+        if (type == int.class || type == short.class || type == byte.class) {
+            conv = LOOKUP.findStatic(Py.class, "newInteger",
+                    MethodType.methodType(PyInteger.class, int.class));
+        } else if (type == long.class) {
+            conv = LOOKUP.findStatic(Py.class, "newLong",
+                    MethodType.methodType(PyLong.class, long.class));
+        } else if (type == double.class || type == float.class) {
+            conv = LOOKUP.findStatic(Py.class, "newFloat",
+                    MethodType.methodType(PyFloat.class, double.class));
+        } else if (type == boolean.class) {
+            conv = LOOKUP.findStatic(Py.class, "newBoolean",
+                    MethodType.methodType(PyBoolean.class, boolean.class));
+        } else if (type == char.class) {
+            conv = LOOKUP.findStatic(Py.class, "makeCharacter",
+                    MethodType.methodType(PyString.class, char.class));
+        } else if (type == String.class) {
+            conv = LOOKUP.findStatic(ReflectedAccessor.class, "toUnicode",
+                    MethodType.methodType(PyObject.class, String.class));
+        } else if (type == void.class) {
+            return MethodHandles.constant(PyObject.class, Py.None);
+        } else {
+            conv = LOOKUP.findStatic(Py.class, "java2py",
+                    MethodType.methodType(PyObject.class, Object.class));
+        }
+        return conv.asType(MethodType.methodType(PyObject.class, type));
+    }
+
+    private static PyObject toUnicode(String s) {
+        return s == null ? Py.None : new PyUnicode(s);
+    }
+}
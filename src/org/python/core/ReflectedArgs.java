@@ -22,6 +22,9 @@ public class ReflectedArgs {
 
     public int flags;
 
+    /** A handle on {@link #method} made by {@link ReflectedInvoker}, once it has been called. */
+    volatile java.lang.invoke.MethodHandle handle;
+
     public static final int StandardCall = 0;
 
     public static final int PyArgsCall = 1;
@@ -0,0 +1,186 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.lang.invoke.MethodHandle;
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.MethodType;
+import java.lang.reflect.Method;
+import java.lang.reflect.Modifier;
+
+/**
+ * Resolves and invokes the overloads of a {@link PyReflectedFunction} quickly. It remembers, for
+ * the Python types of the arguments of recent calls, which overload they matched, so that a later
+ * call with arguments of the same types tries that overload first instead of trying (and
+ * converting the arguments for) each in turn. The chosen overload is then called through a
+ * {@code MethodHandle}, adapted once to take the target and an array of arguments, rather than by
+ * {@code Method.invoke}.
+ * <p>
+ * A remembered overload is only valid if whether each overload matches depends on the types of the
+ * arguments and not their values. This is so for Java objects (whose type is the
+ * {@link PyJavaType} of their class), {@code int}, {@code bool}, {@code float} and {@code None},
+ * and for {@code str} and {@code unicode} unless an overload takes a {@code char}, which a string
+ * of length one matches and a longer one does not. Calls with arguments of any other type (a
+ * {@code long} may or may not fit an {@code int}, and a {@code list} may or may not convert to an
+ * array), with keywords, or of a function with a varargs overload, are resolved as before.
+ */
+final class ReflectedInvoker {
+
+    /** The most argument type signatures remembered. */
+    private static final int SIZE = 8;
+
+    private static final MethodHandles.Lookup LOOKUP = MethodHandles.lookup();
+
+    /** The type to which every handle is adapted: {@code (Object self, Object[] args)Object}. */
+    private static final MethodType GENERIC =
+            MethodType.methodType(Object.class, Object.class, Object[].class);
+
+    /** Marks a method for which no handle could be made, so that it is called by reflection. */
+    static final MethodHandle NO_HANDLE =
+            MethodHandles.constant(Object.class, null);
+
+    /** The overload that arguments of certain types matched. */
+    private static final class Entry {
+
+        final PyType selfType;
+        final PyType[] types;
+        final ReflectedArgs match;
+
+        Entry(PyType selfType, PyType[] types, ReflectedArgs match) {
+            this.selfType = selfType;
+            this.types = types;
+            this.match = match;
+        }
+
+        boolean matches(PyObject self, PyObject[] args) {
+            if (types.length != args.length
+                    || selfType != (self == null ? null : self.getType())) {
+                return false;
+            }
+            for (int i = 0; i < types.length; i++) {
+                if (types[i] != args[i].getType()) {
+                    return false;
+                }
+            }
+            return true;
+        }
+    }
+
+    /** Whether strings of any length match the same overloads (no overload takes a char). */
+    private final boolean stringsDetermined;
+
+    /** Recent signatures, most recent first, replaced as a whole when one is added. */
+    private volatile Entry[] entries = new Entry[0];
+
+    /**
+     * Create an invoker for the overloads of a function, or return null if calls to it cannot be
+     * resolved by type.
+     *
+     * @param argslist the overloads
+     * @param nargs the number of overloads
+     * @return an invoker or null
+     */
+    static ReflectedInvoker create(ReflectedArgs[] argslist, int nargs) {
+        boolean stringsDetermined = true;
+        for (int i = 0; i < nargs; i++) {
+            ReflectedArgs rargs = argslist[i];
+            if (rargs.isVarArgs || !(rargs.method instanceof Method)) {
+                return null;
+            }
+            for (Class<?> c : rargs.args) {
+                if (c == Character.TYPE || c == Character.class) {
+                    stringsDetermined = false;
+                }
+            }
+        }
+        return new ReflectedInvoker(stringsDetermined);
+    }
+
+    private ReflectedInvoker(boolean stringsDetermined) {
+        this.stringsDetermined = stringsDetermined;
+    }
+
+    /**
+     * Return the overload that arguments of these types matched before, or null if there is none.
+     *
+     * @param self the object on which the function is called, or null
+     * @param args the arguments
+     * @return the overload or null
+     */
+    ReflectedArgs lookup(PyObject self, PyObject[] args) {
+        for (Entry e : entries) {
+            if (e.matches(self, args)) {
+                return e.match;
+            }
+        }
+        return null;
+    }
+
+    /**
+     * Remember the overload that these arguments matched, if they are of types that determine it.
+     *
+     * @param self the object on which the function is called, or null
+     * @param args the arguments
+     * @param match the overload they matched
+     */
+    void record(PyObject self, PyObject[] args, ReflectedArgs match) {
+        if (self != null && !determines(self.getType())) {
+            return;
+        }
+        PyType[] types = new PyType[args.length];
+        for (int i = 0; i < args.length; i++) {
+            types[i] = args[i].getType();
+            if (!determines(types[i])) {
+                return;
+            }
+        }
+        Entry[] old = entries;
+        int n = Math.min(old.length + 1, SIZE);
+        Entry[] updated = new Entry[n];
+        updated[0] = new Entry(self == null ? null : self.getType(), types, match);
+        System.arraycopy(old, 0, updated, 1, n - 1);
+        entries = updated;
+    }
+
+    /** Whether an argument of this type matches the same overloads whatever its value. */
+    private boolean determines(PyType type) {
+        return type instanceof PyJavaType || type == PyInteger.TYPE || type == PyBoolean.TYPE
+                || type == PyFloat.TYPE || type == PyNone.TYPE
+                || (stringsDetermined && (type == PyString.TYPE || type == PyUnicode.TYPE));
+    }
+
+    /**
+     * Call the method of an overload through a handle, made the first time it is needed. If no
+     * handle can be made for the method (it is not accessible to a lookup), it is called by
+     * reflection.
+     *
+     * @param match the overload
+     * @param self the target (ignored if the method is static)
+     * @param args the arguments, converted
+     * @return what the method returns ({@code null} if it is void)
+     * @throws Throwable what the method throws
+     */
+    static Object invoke(ReflectedArgs match, Object self, Object[] args) throws Throwable {
+        Method m = (Method) match.method;
+        MethodHandle handle = match.handle;
+        if (handle == null) {
+            match.handle = handle = makeHandle(m);
+        }
+        if (handle == NO_HANDLE) {
+            return m.invoke(self, args);
+        }
+        return handle.invokeExact(self, args);
+    }
+
+    private static MethodHandle makeHandle(Method m) {
+        try {
+            MethodHandle handle = LOOKUP.unreflect(m).asFixedArity();
+            if (Modifier.isStatic(m.getModifiers())) {
+                handle = MethodHandles.dropArguments(handle, 0, Object.class);
+            }
+            return handle.asSpreader(Object[].class, m.getParameterTypes().length).asType(GENERIC);
+        } catch (IllegalAccessException | RuntimeException e) {
+            return NO_HANDLE;
+        }
+    }
+}
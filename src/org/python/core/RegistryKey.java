@@ -165,6 +165,134 @@ public class RegistryKey {
     public static final String PYTHON_OPTIONS_INCLUDE_JAVA_STACK_IN_EXCEPTIONS =
             "python.options.includeJavaStackInExceptions";
 
+    /**
+     * {@code python.options.invokedynamic} controls whether the compiler emits
+     * {@code invokedynamic} call sites, backed by inline caches in
+     * {@link org.python.core.InvokeDynamicSupport}, for attribute loads, binary operations and
+     * calls. Compiled modules from either setting may be loaded together. Boolean, false by
+     * default.
+     */
+    public static final String PYTHON_OPTIONS_INVOKEDYNAMIC = "python.options.invokedynamic";
+
+    /**
+     * {@code python.options.attributeCaches} controls whether the compiler gets attributes
+     * ({@code obj.name}) through a {@link org.python.core.AttributeCache} for each site, which
+     * remembers the result of the look-up along the MRO of the type last seen there. Compiled
+     * modules from either setting may be loaded together. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_ATTRIBUTE_CACHES = "python.options.attributeCaches";
+
+    /**
+     * {@code python.options.lazyFunctionBodies} controls whether the compiler puts the body of each
+     * function (but not of a module or class) into a class of its own, carried inside the module
+     * class and defined the first time the function is called. A module that imports many
+     * functions but calls few of them then loads, verifies and keeps less code. The setting
+     * applies when a module is compiled; compiled modules from either setting may be loaded
+     * together. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_LAZY_FUNCTION_BODIES =
+            "python.options.lazyFunctionBodies";
+
+    /**
+     * {@code python.options.listOptimisticReads} controls whether lists are created so that reads
+     * of their length and of single elements (indexing, iteration, {@code in}, {@code count} and
+     * {@code index}) are optimistic and take no lock, so that threads reading a shared list do not
+     * block one another. Changes to a list remain atomic. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_LIST_OPTIMISTIC_READS =
+            "python.options.listOptimisticReads";
+
+    /**
+     * {@code python.options.compactDict} controls whether dictionaries are created with a compact,
+     * insertion-ordered table that caches the hash of each key, in place of a
+     * {@code ConcurrentHashMap}. Such dictionaries use less memory and iterate in the order their
+     * keys were added. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_COMPACT_DICT = "python.options.compactDict";
+
+    /**
+     * {@code python.options.sharedKeyDicts} controls whether the instance dictionaries of Python
+     * classes share their keys with the other instances of the class, each holding only an array of
+     * values, in place of a {@code ConcurrentHashMap} each. An instance that sets a key the others
+     * cannot share moves to a private map. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_SHARED_KEY_DICTS = "python.options.sharedKeyDicts";
+
+    /**
+     * {@code python.options.virtualThreads} controls whether {@code thread.start_new_thread} and
+     * {@code threading.Thread} run Python functions on virtual threads, where the JVM provides
+     * them, rather than on platform threads. Either may override it for one thread with the
+     * keyword {@code virtual}. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_VIRTUAL_THREADS = "python.options.virtualThreads";
+
+    /**
+     * {@code python.options.codeCacheDirectory} is a directory of compiled modules, filed by the
+     * content of their source, that import consults before compiling a source file with no
+     * up-to-date {@code $py.class} beside it, and to which it adds what it compiles. The directory
+     * may be shared between JVMs and filled ahead of time by
+     * {@code org.python.util.ParallelCompiler}. A relative path is taken relative to the current
+     * directory. Not set by default.
+     */
+    public static final String PYTHON_OPTIONS_CODE_CACHE_DIRECTORY =
+            "python.options.codeCacheDirectory";
+
+    /**
+     * {@code python.options.importDirectoryCache} controls whether import reads each directory it
+     * searches once, and afterwards answers from that listing whether a module, package or Java
+     * package is there, instead of asking the file system about each name. A listing is refreshed
+     * when the file system reports a change to the directory, where it can, or after a call to
+     * {@code imp.invalidate_caches()}. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_IMPORT_DIRECTORY_CACHE =
+            "python.options.importDirectoryCache";
+
+    /**
+     * {@code python.options.zipimportMapped} controls whether zipimport maps each archive it
+     * imports from into memory, and reads stored and deflated entries from the mapping, rather than
+     * through a {@code java.util.zip.ZipFile}. An archive must not then be rewritten in place
+     * while it is in use, since reading a mapping of a file that has been truncated crashes the
+     * JVM. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_ZIPIMPORT_MAPPED = "python.options.zipimportMapped";
+
+    /**
+     * {@code python.options.zipimportIndexFiles} controls whether zipimport saves the index it
+     * makes of the names in an archive beside the archive (as {@code <archive>$index}), so that
+     * later runs read the index rather than the central directory of the archive, while the
+     * archive is unchanged. Boolean, false by default.
+     */
+    public static final String PYTHON_OPTIONS_ZIPIMPORT_INDEX_FILES =
+            "python.options.zipimportIndexFiles";
+
+    /**
+     * {@code python.options.sharedCodeCache} controls whether the interpreters in a JVM share the
+     * code objects of the modules they import (when the compiled module is identical) and the Java
+     * proxy classes made for Python classes that extend Java classes, rather than each defining
+     * its own. Module namespaces and Python types are still made per interpreter. Boolean, false
+     * by default.
+     */
+    public static final String PYTHON_OPTIONS_SHARED_CODE_CACHE =
+            "python.options.sharedCodeCache";
+
+    /**
+     * {@code python.options.scriptEngineInterpreterPool} controls whether a JSR-223 script engine
+     * runs scripts in a pool of interpreters, so that several threads may run them at once each
+     * with its own {@code sys.stdout} and {@code sys.argv}. Each interpreter then has its own
+     * {@code sys.modules}, so scripts see module state that depends on the interpreter they run in.
+     * Boolean, false by default: scripts run in one interpreter.
+     */
+    public static final String PYTHON_OPTIONS_SCRIPT_ENGINE_INTERPRETER_POOL =
+            "python.options.scriptEngineInterpreterPool";
+
+    /**
+     * {@code python.options.interpreterPoolSize} is the number of interpreters in a pool of them,
+     * such as the JSR-223 script engine and {@code PyServlet} use, if asked to, to run scripts on
+     * several threads at once. Integer; if not set (or not positive), the number of processors.
+     */
+    public static final String PYTHON_OPTIONS_INTERPRETER_POOL_SIZE =
+            "python.options.interpreterPoolSize";
+
     /**
      * When an exception occurs in Java code, and it is not caught,
      * {@code python.options.showJavaExceptions} controls whether the interpreter prints out the
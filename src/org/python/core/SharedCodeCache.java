@@ -0,0 +1,186 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.lang.ref.ReferenceQueue;
+import java.lang.ref.SoftReference;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+/**
+ * A cache, shared by every {@link PySystemState} in the JVM, of the code objects of the modules
+ * they import and of the Java proxy classes made for Python classes that extend Java classes or
+ * implement Java interfaces, used when {@link Options#sharedCodeCache} is set. Each interpreter
+ * still runs the module body in a namespace of its own, and each Python class is its own type:
+ * only what is immutable is shared. The second and later interpreters to import a module, or
+ * define a class, skip defining its Java class, which is most of the time and memory it costs.
+ * <p>
+ * A module is filed under a digest of its compiled class (and so of its source), its name and the
+ * file name it is given, and held softly, so that the cache gives way before the heap runs short.
+ * A proxy class is filed against the Java class it extends (so it goes when that does), under the
+ * names of the Python class, its module, the interfaces and the names defined in the class body,
+ * which together determine what the proxy class contains.
+ */
+public final class SharedCodeCache {
+
+    private static Logger logger = Logger.getLogger("org.python.import");
+
+    /** A code object held softly, that knows its key so it may be removed when cleared. */
+    private static final class CodeReference extends SoftReference<PyCode> {
+
+        final String key;
+
+        CodeReference(String key, PyCode code, ReferenceQueue<PyCode> queue) {
+            super(code, queue);
+            this.key = key;
+        }
+    }
+
+    /** Module code objects by key. */
+    private static final ConcurrentMap<String, CodeReference> codes = new ConcurrentHashMap<>();
+
+    /** Where cleared references in {@link #codes} are reported. */
+    private static final ReferenceQueue<PyCode> cleared = new ReferenceQueue<>();
+
+    /** The proxy classes extending each Java class (or implementing its first interface). */
+    private static final ClassValue<Map<String, Class<?>>> proxies =
+            new ClassValue<Map<String, Class<?>>>() {
+
+                @Override
+                protected Map<String, Class<?>> computeValue(Class<?> type) {
+                    return new ConcurrentHashMap<>();
+                }
+            };
+
+    private SharedCodeCache() {}
+
+    /**
+     * Compute the key for a compiled module.
+     *
+     * @param name of the class
+     * @param data the class file
+     * @param filename given to the constructor of the class (it becomes {@code co_filename})
+     * @return the key
+     */
+    static String codeKey(String name, byte[] data, String filename) {
+        return CodeCache.key(name + "\0" + filename, data);
+    }
+
+    /**
+     * Return the code object of a module filed under the key, or null if there is none.
+     *
+     * @param key from {@link #codeKey(String, byte[], String)}
+     * @return the code object or null
+     */
+    static PyCode getCode(String key) {
+        CodeReference ref = codes.get(key);
+        PyCode code = ref == null ? null : ref.get();
+        if (code != null) {
+            logger.log(Level.FINE, "# shared code for {0}", code.co_name);
+        }
+        return code;
+    }
+
+    /**
+     * File the code object of a module under the key.
+     *
+     * @param key from {@link #codeKey(String, byte[], String)}
+     * @param code to file
+     */
+    static void putCode(String key, PyCode code) {
+        purge();
+        codes.put(key, new CodeReference(key, code, cleared));
+    }
+
+    /** Remove the entries whose code objects have been collected. */
+    private static void purge() {
+        CodeReference ref;
+        while ((ref = (CodeReference) cleared.poll()) != null) {
+            codes.remove(ref.key, ref);
+        }
+    }
+
+    /**
+     * Compute the key for a proxy class, from what determines its content.
+     *
+     * @param interfaces implemented by the proxy
+     * @param className name of the Python class
+     * @param moduleName name of the module defining the Python class
+     * @param dict of the Python class
+     * @return the key
+     */
+    static String proxyKey(List<Class<?>> interfaces, String className, String moduleName,
+            PyObject dict) {
+        StringBuilder key = new StringBuilder(moduleName).append('\0').append(className);
+        for (Class<?> i : interfaces) {
+            key.append('\0').append(i.getName());
+        }
+        key.append('\0');
+        TreeSet<String> names = new TreeSet<>();
+        for (PyObject k : dict.asIterable()) {
+            names.add(k.toString());
+        }
+        for (String n : names) {
+            key.append('\0').append(n);
+        }
+        return key.toString();
+    }
+
+    /**
+     * Return the proxy class made before for a Python class with the same key, extending the same
+     * Java class and implementing the same interfaces, or null if there is none.
+     *
+     * @param superclass extended by the proxy (or null)
+     * @param interfaces implemented by the proxy
+     * @param key from {@link #proxyKey(List, String, String, PyObject)}
+     * @return the proxy class or null
+     */
+    static Class<?> getProxy(Class<?> superclass, List<Class<?>> interfaces, String key) {
+        Class<?> anchor = anchor(superclass, interfaces);
+        Class<?> proxy = anchor == null ? null : proxies.get(anchor).get(key);
+        if (proxy == null) {
+            return null;
+        }
+        // Interfaces are in the key by name: check they are the same classes.
+        List<Class<?>> implemented = new ArrayList<>();
+        for (Class<?> i : proxy.getInterfaces()) {
+            implemented.add(i);
+        }
+        if (!implemented.containsAll(interfaces)
+                || (superclass != null && proxy.getSuperclass() != superclass)) {
+            return null;
+        }
+        logger.log(Level.FINE, "# shared proxy {0}", proxy.getName());
+        return proxy;
+    }
+
+    /**
+     * File a proxy class under the key.
+     *
+     * @param superclass extended by the proxy (or null)
+     * @param interfaces implemented by the proxy
+     * @param key from {@link #proxyKey(List, String, String, PyObject)}
+     * @param proxy the proxy class
+     */
+    static void putProxy(Class<?> superclass, List<Class<?>> interfaces, String key,
+            Class<?> proxy) {
+        Class<?> anchor = anchor(superclass, interfaces);
+        if (anchor != null) {
+            proxies.get(anchor).put(key, proxy);
+        }
+    }
+
+    /** The class against which proxies are filed. */
+    private static Class<?> anchor(Class<?> superclass, List<Class<?>> interfaces) {
+        if (superclass != null) {
+            return superclass;
+        }
+        return interfaces.isEmpty() ? null : interfaces.get(0);
+    }
+}
@@ -0,0 +1,418 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.io.Serializable;
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Arrays;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import org.python.util.Generic;
+
+/**
+ * The map inside the instance dictionary ({@code __dict__}) of an object of a Python class,
+ * created when {@link Options#sharedKeyDicts} is set, that shares its keys with the other instances
+ * of the class. The class holds the attribute names as a {@link Keys}, which gives each name a
+ * fixed position, and each instance holds only an array of values in those positions. Finding an
+ * attribute is a probe of the shared keys and an indexed load, and an instance with a handful of
+ * attributes costs two small objects rather than a {@code ConcurrentHashMap} and a node for each.
+ * <p>
+ * Instances of one class mostly have the same attributes, but need not. An instance may leave
+ * positions empty, and adds names to the shared keys as it sets them, up to
+ * {@link Keys#MAX_KEYS}. A key that is not a {@code String}, or a name beyond that limit, makes the
+ * map divergent: it moves its entries to a private {@code ConcurrentHashMap}, to which it delegates
+ * from then on.
+ * <p>
+ * Reads take no lock. Changes are serialised on the map, which is the monitor on which
+ * {@link PyStringMap} makes its compound operations atomic, and republish {@link #values} (a
+ * volatile) after storing into it, so that a reader sees the stores made before the value it
+ * reads. Iterators are weakly consistent.
+ */
+final class SharedKeyMap extends AbstractMap<Object, PyObject>
+        implements ConcurrentMap<Object, PyObject>, Serializable {
+
+    /**
+     * The attribute names shared by the instances of a class, each at a fixed position. Names are
+     * only ever added, so a position, once given, is valid for the life of the class.
+     */
+    static final class Keys {
+
+        /** The greatest number of names shared, beyond which an instance becomes divergent. */
+        static final int MAX_KEYS = 32;
+
+        private volatile Layout layout = Layout.EMPTY;
+
+        /**
+         * Return the position of the key, or -1 if it has none.
+         *
+         * @param key to find
+         * @return its position or -1
+         */
+        int indexOf(Object key) {
+            return layout.indexOf(key);
+        }
+
+        /** The number of names shared. */
+        int size() {
+            return layout.names.length;
+        }
+
+        /** The name at a position less than {@link #size()}. */
+        String name(int index) {
+            return layout.names[index];
+        }
+
+        /**
+         * Return the position of the name, giving it the next if it has none, or return -1 if the
+         * keys are full.
+         */
+        synchronized int add(String name) {
+            int index = layout.indexOf(name);
+            if (index < 0 && layout.names.length < MAX_KEYS) {
+                index = layout.names.length;
+                layout = layout.with(name);
+            }
+            return index;
+        }
+    }
+
+    /** An immutable set of names, each at a position, with an open-addressed index of them. */
+    private static final class Layout {
+
+        static final Layout EMPTY = new Layout(new String[0]);
+
+        final String[] names;
+        /** Position + 1 of the name hashed to each slot, or 0 where there is none. */
+        private final int[] slots;
+
+        private Layout(String[] names) {
+            this.names = names;
+            int n = 4;
+            while (n < names.length * 2) {
+                n <<= 1;
+            }
+            slots = new int[n];
+            for (int i = 0; i < names.length; i++) {
+                int s = names[i].hashCode() & (n - 1);
+                while (slots[s] != 0) {
+                    s = (s + 1) & (n - 1);
+                }
+                slots[s] = i + 1;
+            }
+        }
+
+        Layout with(String name) {
+            String[] a = Arrays.copyOf(names, names.length + 1);
+            a[names.length] = name;
+            return new Layout(a);
+        }
+
+        int indexOf(Object key) {
+            if (!(key instanceof String)) {
+                return -1;
+            }
+            int mask = slots.length - 1;
+            for (int s = key.hashCode() & mask;; s = (s + 1) & mask) {
+                int i = slots[s] - 1;
+                if (i < 0) {
+                    return -1;
+                }
+                String name = names[i];
+                // Keys are usually interned, so identity mostly decides.
+                if (name == key || name.equals(key)) {
+                    return i;
+                }
+            }
+        }
+    }
+
+    private static final PyObject[] NO_VALUES = new PyObject[0];
+
+    private final transient Keys keys;
+
+    /** The value at each position of {@link #keys}, or null. Republished after every store. */
+    private volatile PyObject[] values = NO_VALUES;
+
+    /** The private map to which all operations delegate once this map is divergent. */
+    private volatile ConcurrentMap<Object, PyObject> divergent;
+
+    /** Number of entries present while not divergent. */
+    private volatile int size;
+
+    SharedKeyMap(Keys keys) {
+        this.keys = keys;
+    }
+
+    /** Whether the map has moved its entries to a private map. */
+    boolean isDivergent() {
+        return divergent != null;
+    }
+
+    @Override
+    public PyObject get(Object key) {
+        ConcurrentMap<Object, PyObject> d = divergent;
+        if (d != null) {
+            return d.get(key);
+        }
+        PyObject[] a = values;
+        int i = keys.indexOf(key);
+        return i >= 0 && i < a.length ? a[i] : null;
+    }
+
+    /**
+     * Get the value for a key whose position in some shared keys is already known, which is an
+     * indexed load if this map uses those keys.
+     *
+     * @param k keys in which {@code key} is at {@code index}
+     * @param index of the key in {@code k}
+     * @param key to look up
+     * @return the value, or null if it is not present
+     */
+    PyObject get(Keys k, int index, Object key) {
+        if (k == keys && divergent == null) {
+            PyObject[] a = values;
+            return index < a.length ? a[index] : null;
+        }
+        return get(key);
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return get(key) != null;
+    }
+
+    @Override
+    public int size() {
+        ConcurrentMap<Object, PyObject> d = divergent;
+        if (d != null) {
+            return d.size();
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public synchronized PyObject put(Object key, PyObject value) {
+        return put(key, value, false);
+    }
+
+    @Override
+    public synchronized PyObject putIfAbsent(Object key, PyObject value) {
+        return put(key, value, true);
+    }
+
+    /** Insert or replace an entry. Call only while synchronised on the map. */
+    private PyObject put(Object key, PyObject value, boolean onlyIfAbsent) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        if (divergent == null) {
+            int i = key instanceof String ? keys.add((String) key) : -1;
+            if (i >= 0) {
+                PyObject[] a = values;
+                if (i >= a.length) {
+                    // Make room for all the names shared so far, as this instance will likely
+                    // have them too.
+                    a = Arrays.copyOf(a, Math.max(i + 1, keys.size()));
+                }
+                PyObject old = a[i];
+                if (old == null) {
+                    size++;
+                } else if (onlyIfAbsent) {
+                    return old;
+                }
+                a[i] = value;
+                values = a;
+                return old;
+            }
+            diverge();
+        }
+        return onlyIfAbsent ? divergent.putIfAbsent(key, value) : divergent.put(key, value);
+    }
+
+    /** Move the entries to a private map. Call only while synchronised on the map. */
+    private void diverge() {
+        PyObject[] a = values;
+        ConcurrentMap<Object, PyObject> d = new ConcurrentHashMap<Object, PyObject>(
+                Math.max((int) ((size + 1) / Generic.CHM_LOAD_FACTOR) + 1,
+                        Generic.CHM_INITIAL_CAPACITY),
+                Generic.CHM_LOAD_FACTOR, Generic.CHM_CONCURRENCY_LEVEL);
+        for (int i = 0; i < a.length; i++) {
+            if (a[i] != null) {
+                d.put(keys.name(i), a[i]);
+            }
+        }
+        divergent = d;
+        values = NO_VALUES;
+        size = 0;
+    }
+
+    @Override
+    public synchronized PyObject remove(Object key) {
+        return removeEntry(key, null);
+    }
+
+    @Override
+    public synchronized boolean remove(Object key, Object value) {
+        return value instanceof PyObject && removeEntry(key, (PyObject) value) != null;
+    }
+
+    /**
+     * Remove the entry for the key, if it is present and (when {@code expected} is not null) has
+     * that value, returning the value removed. Call only while synchronised on the map.
+     */
+    private PyObject removeEntry(Object key, PyObject expected) {
+        if (divergent != null) {
+            if (expected == null) {
+                return divergent.remove(key);
+            }
+            return divergent.remove(key, expected) ? expected : null;
+        }
+        PyObject[] a = values;
+        int i = keys.indexOf(key);
+        if (i < 0 || i >= a.length || a[i] == null) {
+            return null;
+        }
+        PyObject old = a[i];
+        if (expected != null && !expected.equals(old)) {
+            return null;
+        }
+        a[i] = null;
+        size--;
+        values = a;
+        return old;
+    }
+
+    @Override
+    public synchronized boolean replace(Object key, PyObject oldValue, PyObject newValue) {
+        if (oldValue == null || newValue == null) {
+            throw new NullPointerException();
+        }
+        PyObject current = get(key);
+        if (current == null || !oldValue.equals(current)) {
+            return false;
+        }
+        put(key, newValue, false);
+        return true;
+    }
+
+    @Override
+    public synchronized PyObject replace(Object key, PyObject value) {
+        if (value == null) {
+            throw new NullPointerException();
+        }
+        return get(key) == null ? null : put(key, value, false);
+    }
+
+    @Override
+    public synchronized void clear() {
+        if (divergent != null) {
+            divergent.clear();
+        } else {
+            size = 0;
+            values = NO_VALUES;
+        }
+    }
+
+    private transient Set<Map.Entry<Object, PyObject>> entrySet;
+
+    @Override
+    public Set<Map.Entry<Object, PyObject>> entrySet() {
+        Set<Map.Entry<Object, PyObject>> es = entrySet;
+        return es != null ? es : (entrySet = new EntrySet());
+    }
+
+    private final class EntrySet extends AbstractSet<Map.Entry<Object, PyObject>> {
+
+        @Override
+        public Iterator<Map.Entry<Object, PyObject>> iterator() {
+            ConcurrentMap<Object, PyObject> d = divergent;
+            return d != null ? d.entrySet().iterator() : new EntryIterator();
+        }
+
+        @Override
+        public int size() {
+            return SharedKeyMap.this.size();
+        }
+
+        @Override
+        public void clear() {
+            SharedKeyMap.this.clear();
+        }
+    }
+
+    /** Iterates the entries present in the values current at creation, in position order. */
+    private final class EntryIterator implements Iterator<Map.Entry<Object, PyObject>> {
+
+        private final PyObject[] a = values;
+        private int next;
+        private PyObject nextValue;
+        private Object lastKey;
+
+        EntryIterator() {
+            advance();
+        }
+
+        /** Find the next value present and hold it, or set it null at the end. */
+        private void advance() {
+            nextValue = null;
+            while (nextValue == null && next < a.length) {
+                nextValue = a[next++];
+            }
+        }
+
+        @Override
+        public boolean hasNext() {
+            return nextValue != null;
+        }
+
+        @Override
+        public Map.Entry<Object, PyObject> next() {
+            if (nextValue == null) {
+                throw new NoSuchElementException();
+            }
+            lastKey = keys.name(next - 1);
+            Map.Entry<Object, PyObject> e = new MapEntry(lastKey, nextValue);
+            advance();
+            return e;
+        }
+
+        @Override
+        public void remove() {
+            if (lastKey == null) {
+                throw new IllegalStateException();
+            }
+            SharedKeyMap.this.remove(lastKey);
+            lastKey = null;
+        }
+    }
+
+    /** An entry returned by iteration, through which a value may be set in the map. */
+    private final class MapEntry extends AbstractMap.SimpleEntry<Object, PyObject> {
+
+        MapEntry(Object key, PyObject value) {
+            super(key, value);
+        }
+
+        @Override
+        public PyObject setValue(PyObject value) {
+            put(getKey(), value);
+            return super.setValue(value);
+        }
+    }
+
+    /** Serialise as a plain map, since the shared keys belong to the class. */
+    private Object writeReplace() {
+        return new ConcurrentHashMap<Object, PyObject>(this);
+    }
+}
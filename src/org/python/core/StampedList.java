@@ -0,0 +1,340 @@
+// Copyright (c)2020 Jython Developers.
+// Licensed to PSF under a Contributor Agreement.
+package org.python.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.BitSet;
+import java.util.Collection;
+import java.util.Comparator;
+import java.util.concurrent.locks.StampedLock;
+import java.util.function.Predicate;
+import java.util.function.UnaryOperator;
+
+/**
+ * The storage of a {@link PyList} created with {@link Options#listOptimisticReads} set. Reads of
+ * the size and of single elements are optimistic: they take no lock unless they overlap a change,
+ * so that threads reading the same list do not block one another, and the {@code PyList} need not
+ * take its monitor for them. Changes take the write lock of a {@link StampedLock}, while
+ * {@code PyList} continues to serialise them (and compound reads) on its monitor.
+ * <p>
+ * No Python code may run while the write lock is held, since it could read the list from the
+ * same thread. Where a change involves a comparison (for example {@link #remove(Object)} or
+ * {@link #sort(Comparator)}), the comparisons are therefore made first, without the lock.
+ */
+final class StampedList extends ArrayList<PyObject> {
+
+    private final transient StampedLock lock = new StampedLock();
+
+    StampedList() {}
+
+    StampedList(int initialCapacity) {
+        super(initialCapacity);
+    }
+
+    StampedList(Collection<? extends PyObject> c) {
+        super(c);
+    }
+
+    /**
+     * Return the element at the index, or null if the index is not within the list.
+     *
+     * @param index of the element
+     * @return the element or null
+     */
+    PyObject getOrNull(int index) {
+        return index < 0 ? null : readOrNull(index);
+    }
+
+    /**
+     * Return the element at the index, counting a negative index from the end as Python does, or
+     * null if the index is not within the list. The index is resolved against the size read
+     * together with the element, so that a concurrent change cannot make it select another.
+     *
+     * @param index of the element (negative to count from the end)
+     * @return the element or null
+     */
+    PyObject getItemOrNull(int index) {
+        return readOrNull(index);
+    }
+
+    private PyObject readOrNull(int index) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            PyObject item = null;
+            try {
+                item = elementOrNull(index);
+            } catch (RuntimeException e) {
+                // A change overlapped the read: validation will fail.
+            }
+            if (lock.validate(stamp)) {
+                return item;
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return elementOrNull(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    private PyObject elementOrNull(int index) {
+        int size = super.size();
+        if (index < 0) {
+            index += size;
+        }
+        return index >= 0 && index < size ? super.get(index) : null;
+    }
+
+    @Override
+    public PyObject get(int index) {
+        long stamp = lock.tryOptimisticRead();
+        if (stamp != 0L) {
+            try {
+                PyObject item = super.get(index);
+                if (lock.validate(stamp)) {
+                    return item;
+                }
+            } catch (IndexOutOfBoundsException e) {
+                if (lock.validate(stamp)) {
+                    throw e;
+                }
+            }
+        }
+        stamp = lock.readLock();
+        try {
+            return super.get(index);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public int size() {
+        long stamp = lock.tryOptimisticRead();
+        int size = super.size();
+        if (!lock.validate(stamp)) {
+            stamp = lock.readLock();
+            try {
+                size = super.size();
+            } finally {
+                lock.unlockRead(stamp);
+            }
+        }
+        return size;
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return size() == 0;
+    }
+
+    @Override
+    public Object[] toArray() {
+        long stamp = lock.readLock();
+        try {
+            return super.toArray();
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public <T> T[] toArray(T[] a) {
+        long stamp = lock.readLock();
+        try {
+            return super.toArray(a);
+        } finally {
+            lock.unlockRead(stamp);
+        }
+    }
+
+    @Override
+    public boolean add(PyObject e) {
+        long stamp = lock.writeLock();
+        try {
+            return super.add(e);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public void add(int index, PyObject element) {
+        long stamp = lock.writeLock();
+        try {
+            super.add(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public PyObject set(int index, PyObject element) {
+        long stamp = lock.writeLock();
+        try {
+            return super.set(index, element);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public PyObject remove(int index) {
+        long stamp = lock.writeLock();
+        try {
+            return super.remove(index);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean remove(Object o) {
+        int index = indexOf(o);
+        if (index < 0) {
+            return false;
+        }
+        remove(index);
+        return true;
+    }
+
+    @Override
+    public void clear() {
+        long stamp = lock.writeLock();
+        try {
+            super.clear();
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(Collection<? extends PyObject> c) {
+        // Copy first, since c may be this list.
+        Object[] a = c.toArray();
+        long stamp = lock.writeLock();
+        try {
+            return super.addAll(asPyObjects(a));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean addAll(int index, Collection<? extends PyObject> c) {
+        Object[] a = c.toArray();
+        long stamp = lock.writeLock();
+        try {
+            return super.addAll(index, asPyObjects(a));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    /** View an array obtained from {@code toArray()} (outside the lock) as a collection. */
+    @SuppressWarnings("unchecked")
+    private static Collection<PyObject> asPyObjects(Object[] a) {
+        return (Collection<PyObject>) (Collection<?>) Arrays.asList(a);
+    }
+
+    @Override
+    protected void removeRange(int fromIndex, int toIndex) {
+        long stamp = lock.writeLock();
+        try {
+            super.removeRange(fromIndex, toIndex);
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+
+    @Override
+    public boolean removeAll(Collection<?> c) {
+        return removeChosen(c, true);
+    }
+
+    @Override
+    public boolean retainAll(Collection<?> c) {
+        return removeChosen(c, false);
+    }
+
+    @Override
+    public boolean removeIf(Predicate<? super PyObject> filter) {
+        Object[] a = toArray();
+        BitSet chosen = new BitSet(a.length);
+        for (int i = 0; i < a.length; i++) {
+            if (filter.test((PyObject) a[i])) {
+                chosen.set(i);
+            }
+        }
+        return removeChosen(chosen);
+    }
+
+    /** Remove the elements that are (or are not) in {@code c}. */
+    private boolean removeChosen(Collection<?> c, boolean present) {
+        Object[] a = toArray();
+        BitSet chosen = new BitSet(a.length);
+        for (int i = 0; i < a.length; i++) {
+            if (c.contains(a[i]) == present) {
+                chosen.set(i);
+            }
+        }
+        return removeChosen(chosen);
+    }
+
+    /**
+     * Remove the elements at the chosen indices. The elements have been tested without the lock,
+     * which is safe because {@code PyList} does not make concurrent changes.
+     */
+    private boolean removeChosen(BitSet chosen) {
+        if (chosen.isEmpty()) {
+            return false;
+        }
+        long stamp = lock.writeLock();
+        try {
+            for (int i = chosen.length() - 1; i >= 0; i = chosen.previousSetBit(i - 1)) {
+                super.remove(i);
+            }
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+        return true;
+    }
+
+    @Override
+    public void replaceAll(UnaryOperator<PyObject> operator) {
+        Object[] a = toArray();
+        for (int i = 0; i < a.length; i++) {
+            a[i] = operator.apply((PyObject) a[i]);
+        }
+        replaceContents(a);
+    }
+
+    @Override
+    public void sort(Comparator<? super PyObject> c) {
+        // Sort a copy without the lock, then replace the contents under it.
+        PyObject[] a = toArray(new PyObject[0]);
+        Arrays.sort(a, c);
+        replaceContents(a);
+    }
+
+    /** Deserialisation does not initialise {@link #lock}, so resolve to a copy that has one. */
+    private Object readResolve() {
+        StampedList copy = new StampedList(super.size());
+        for (int i = 0; i < super.size(); i++) {
+            copy.add(super.get(i));
+        }
+        return copy;
+    }
+
+    private void replaceContents(Object[] a) {
+        long stamp = lock.writeLock();
+        try {
+            super.clear();
+            super.addAll(asPyObjects(a));
+        } finally {
+            lock.unlockWrite(stamp);
+        }
+    }
+}
@@ -26,6 +26,14 @@ public class ThreadState {
 
     private PySystemStateRef systemStateRef;
 
+    /** The greatest number of frames kept for reuse by {@link #takeFrame(PyBaseCode, PyObject)}. */
+    static final int MAX_SPARE_FRAMES = 16;
+
+    /** Frames of returned calls, kept for reuse and linked through {@code f_back}. */
+    private PyFrame spareFrames;
+
+    private int spareFrameCount;
+
     public ThreadState(PySystemState systemState) {
         setSystemState(systemState);
     }
@@ -69,6 +77,43 @@ public class ThreadState {
         }
     }
 
+    /**
+     * Return a frame for a call of code that allows frames to be recycled, reusing one from a
+     * returned call if there is one.
+     *
+     * @param code to be called, with no free or cell variables
+     * @param globals of the call
+     * @return the frame
+     */
+    PyFrame takeFrame(PyBaseCode code, PyObject globals) {
+        PyFrame frame = spareFrames;
+        if (frame == null) {
+            frame = new PyFrame(code, globals);
+        } else {
+            spareFrames = frame.f_back;
+            spareFrameCount--;
+            frame.f_back = null;
+            frame.reuse(code, globals);
+        }
+        frame.recyclable = true;
+        return frame;
+    }
+
+    /**
+     * Keep the frame of a call that has returned for reuse, unless it may still be referenced, or
+     * enough are kept already.
+     *
+     * @param frame obtained from {@link #takeFrame(PyBaseCode, PyObject)}
+     */
+    void releaseFrame(PyFrame frame) {
+        if (!frame.retained && frame.tracefunc == null && spareFrameCount < MAX_SPARE_FRAMES) {
+            frame.clear();
+            frame.f_back = spareFrames;
+            spareFrames = frame;
+            spareFrameCount++;
+        }
+    }
+
     public PyDictionary getCompareStateDict() {
         if (compareStateDict == null) {
             compareStateDict = new PyDictionary();
@@ -2,6 +2,8 @@ package org.python.core;
 
 import com.google.common.collect.MapMaker;
 import java.util.Map;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ConcurrentMap;
 
 /**
  * A ThreadState augments a standard java.lang.Thread to support Python semantics. The ThreadStateMapping utility class
@@ -18,6 +20,13 @@ import java.util.Map;
  * N ThreadState objects) is referenced. This relationship is maintained by the bijective mapping provided by
  * globalThreadStates and inverseGlobalThreadStates.
  *
+ * A FunctionThread (a thread started by the thread module) also holds its ThreadState in a field, which is the
+ * cheapest way to find it, and so is consulted first. Other threads find it through inCallThreadState while in a call,
+ * and through globalThreadStates otherwise.
+ *
+ * When the PySystemState of a ThreadState is collected, its PySystemStateRef is enqueued, and the mapping for that
+ * ThreadState is removed by a daemon thread (see Cleaner) waiting on the queue, not on the look-up path.
+ *
  * See discussion here: http://bugs.jython.org/issue2321
  * and: http://bugs.jython.org/issue1327
  *
@@ -28,9 +37,9 @@ import java.util.Map;
  */
 
 class ThreadStateMapping {
-    private static final Map<Thread, ThreadState> globalThreadStates =
+    private static final ConcurrentMap<Thread, ThreadState> globalThreadStates =
             new MapMaker().weakKeys().makeMap();
-    private static final Map<ThreadState, Thread> inverseGlobalThreadStates =
+    private static final ConcurrentMap<ThreadState, Thread> inverseGlobalThreadStates =
             new MapMaker().weakValues().makeMap();
     private static final ThreadLocal<Object[]> inCallThreadState = new ThreadLocal<Object[]>() {
         @Override
@@ -39,14 +48,24 @@ class ThreadStateMapping {
         }
     };
 
+    /** The daemon thread that forgets the ThreadStates of collected PySystemStates, or null. */
+    private static Thread cleanerThread;
+
     public ThreadState getThreadState(PySystemState newSystemState) {
+        Thread currentThread = Thread.currentThread();
+        if (currentThread instanceof FunctionThread) {
+            ThreadState ts = ((FunctionThread) currentThread).threadState;
+            if (ts != null) {
+                return ts;
+            }
+        }
         Object[] scoped = inCallThreadState.get();
         if (scoped[0] != null) {
             return (ThreadState)scoped[0];
         }
-        Thread currentThread = Thread.currentThread();
         ThreadState ts = globalThreadStates.get(currentThread);
         if (ts != null) {
+            cache(currentThread, ts);
             return ts;
         }
 
@@ -58,17 +77,80 @@ class ThreadStateMapping {
             newSystemState = Py.defaultSystemState;
         }
 
-        PySystemStateRef freedRef = (PySystemStateRef)PySystemStateRef.referenceQueue.poll();
-        while (freedRef != null ) {
-            globalThreadStates.remove(inverseGlobalThreadStates.remove(freedRef.getThreadState()));
-            freedRef = (PySystemStateRef)PySystemStateRef.referenceQueue.poll();
+        if (newSystemState != null) { // It is null while sys is initialised.
+            startCleaner(newSystemState);
         }
         ts = new ThreadState(newSystemState);
         globalThreadStates.put(currentThread, ts);
         inverseGlobalThreadStates.put(ts, currentThread);
+        cache(currentThread, ts);
         return ts;
     }
 
+    /** Hold the ThreadState on the thread itself, if it is one that can. */
+    private static void cache(Thread thread, ThreadState ts) {
+        if (thread instanceof FunctionThread) {
+            ((FunctionThread) thread).threadState = ts;
+        }
+    }
+
+    /** Remove the mapping for a ThreadState whose PySystemState has been collected. */
+    static void forget(ThreadState ts) {
+        Thread thread = inverseGlobalThreadStates.remove(ts);
+        if (thread != null) {
+            globalThreadStates.remove(thread, ts);
+            if (thread instanceof FunctionThread) {
+                FunctionThread ft = (FunctionThread) thread;
+                if (ft.threadState == ts) {
+                    ft.threadState = null;
+                }
+            }
+        }
+    }
+
+    /**
+     * Start the cleaner thread if it is not running, and arrange for it to stop when the given
+     * PySystemState is cleaned up. (It is started again when next a ThreadState is created.)
+     */
+    private static synchronized void startCleaner(PySystemState systemState) {
+        if (cleanerThread == null || !cleanerThread.isAlive()) {
+            Cleaner cleaner = new Cleaner();
+            systemState.registerCloser(cleaner);
+            cleanerThread = new Thread(cleaner, "ThreadState cleaner");
+            cleanerThread.setDaemon(true);
+            cleanerThread.start();
+        }
+    }
+
+    /** Waits on the PySystemStateRef queue and forgets the ThreadState of each reference. */
+    private static class Cleaner implements Runnable, Callable<Void> {
+        private volatile boolean exit = false;
+        private volatile Thread thread;
+
+        @Override
+        public void run() {
+            thread = Thread.currentThread();
+            while (!exit) {
+                try {
+                    PySystemStateRef ref = (PySystemStateRef) PySystemStateRef.referenceQueue.remove();
+                    forget(ref.getThreadState());
+                } catch (InterruptedException e) {
+                    // Cleanup of the PySystemState sets exit before interrupting.
+                }
+            }
+        }
+
+        @Override
+        public Void call() throws Exception {
+            exit = true;
+            Thread t = thread;
+            if (t != null) {
+                t.interrupt();
+            }
+            return null;
+        }
+    }
+
     public static void enterCall(ThreadState ts) {
         if (ts.call_depth == 0) {
             Object[] scoped = inCallThreadState.get();
@@ -102,9 +184,12 @@ class ThreadStateMapping {
         PyObject elements[] = new PyObject[i*2];
         i = 0;
         for (Map.Entry<Thread, ThreadState> entry: entries) {
-            if (entry.getValue().frame != null) {
+            PyFrame frame = entry.getValue().frame;
+            if (frame != null) {
+                // Another thread may be running in these frames: keep them from being recycled.
+                frame.retain();
                 elements[i++] = Py.newInteger(entry.getKey().getId());
-                elements[i++] = entry.getValue().frame;
+                elements[i++] = frame;
             }
         }
         return new PyDictionary(elements);
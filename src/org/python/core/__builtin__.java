@@ -652,7 +652,7 @@ public class __builtin__ {
     }
 
     public static PyObject globals() {
-        return Py.getFrame().f_globals;
+        return Py.peekFrame().f_globals;
     }
 
     public static boolean hasattr(PyObject obj, PyObject nameObj) {
@@ -730,7 +730,7 @@ public class __builtin__ {
     }
 
     public static PyObject locals() {
-        return Py.getFrame().getLocals();
+        return Py.peekFrame().getLocals();
     }
 
     public static PyObject map(PyObject[] argstar) {
@@ -1207,7 +1207,7 @@ public class __builtin__ {
 
     public static PyObject __import__(String name, PyObject globals, PyObject locals,
                                       PyObject fromlist, int level) {
-        PyFrame frame = Py.getFrame();
+        PyFrame frame = Py.peekFrame();
         PyObject builtins;
         if (frame != null && frame.f_builtins != null) {
             builtins = frame.f_builtins;
@@ -5,7 +5,6 @@ import java.math.BigInteger;
 import org.python.core.Py;
 import org.python.core.PyArray;
 import org.python.core.PyFloat;
-import org.python.core.PyInteger;
 import org.python.core.PyJavaType;
 import org.python.core.PyLong;
 import org.python.core.PyObject;
@@ -26,7 +25,7 @@ import org.python.core.PyUnicode;
 public class ClassicPyObjectAdapter extends ExtensiblePyObjectAdapter {
 
     public ClassicPyObjectAdapter() {
-        addPreClass(new PyObjectAdapter() {
+        addPreClass(new TypedPyObjectAdapter() {
 
             public PyObject adapt(Object o) {
                 return (PyObject)o;
@@ -35,8 +34,12 @@ public class ClassicPyObjectAdapter extends ExtensiblePyObjectAdapter {
             public boolean canAdapt(Object o) {
                 return o instanceof PyObject;
             }
+
+            public boolean canAdaptClass(Class<?> c) {
+                return PyObject.class.isAssignableFrom(c);
+            }
         });
-        addPreClass(new PyObjectAdapter() {
+        addPreClass(new TypedPyObjectAdapter() {
 
             public PyObject adapt(Object o) {
                 return ((PyProxy)o)._getPyInstance();
@@ -45,8 +48,12 @@ public class ClassicPyObjectAdapter extends ExtensiblePyObjectAdapter {
             public boolean canAdapt(Object o) {
                 return o instanceof PyProxy;
             }
+
+            public boolean canAdaptClass(Class<?> c) {
+                return PyProxy.class.isAssignableFrom(c);
+            }
         });
-        addPreClass(new PyObjectAdapter() {
+        addPreClass(new TypedPyObjectAdapter() {
 
             public boolean canAdapt(Object o) {
                 return o == null;
@@ -55,15 +62,13 @@ public class ClassicPyObjectAdapter extends ExtensiblePyObjectAdapter {
             public PyObject adapt(Object o) {
                 return Py.None;
             }
-        });
-
-        add(new ClassAdapter(String.class) {
 
-            public PyObject adapt(Object o) {
-                return new PyUnicode((String)o);
+            public boolean canAdaptClass(Class<?> c) {
+                return false;
             }
-
         });
+
+        add(new StringAdapter());
         add(new ClassAdapter(Character.class) {
 
             public PyObject adapt(Object o) {
@@ -107,7 +112,7 @@ public class ClassicPyObjectAdapter extends ExtensiblePyObjectAdapter {
 
         });
 
-        addPostClass(new PyObjectAdapter() {
+        addPostClass(new TypedPyObjectAdapter() {
 
             public PyObject adapt(Object o) {
                 return new PyArray(o.getClass().getComponentType(), o);
@@ -116,6 +121,10 @@ public class ClassicPyObjectAdapter extends ExtensiblePyObjectAdapter {
             public boolean canAdapt(Object o) {
                 return o.getClass().isArray();
             }
+
+            public boolean canAdaptClass(Class<?> c) {
+                return c.isArray();
+            }
         });
     }
 
@@ -142,7 +151,39 @@ public class ClassicPyObjectAdapter extends ExtensiblePyObjectAdapter {
         }
 
         public PyObject adapt(Object o) {
-            return new PyInteger(((Number)o).intValue());
+            // Small values are shared, not allocated.
+            return Py.newInteger(((Number)o).intValue());
+        }
+
+    }
+
+    /**
+     * Adapts a String to unicode. The unicode objects made from short strings are kept in a small
+     * table by the identity of the string, so that adapting the same String object again (as with
+     * a constant, an interned string or a key returned repeatedly) allocates nothing.
+     */
+    private static class StringAdapter extends ClassAdapter {
+
+        private static final int SIZE = 256;
+        private static final int MAX_LENGTH = 64;
+
+        private final PyUnicode[] recent = new PyUnicode[SIZE];
+
+        public StringAdapter() {
+            super(String.class);
+        }
+
+        public PyObject adapt(Object o) {
+            String s = (String)o;
+            if (s.length() > MAX_LENGTH) {
+                return new PyUnicode(s);
+            }
+            int i = System.identityHashCode(s) & (SIZE - 1);
+            PyUnicode u = recent[i];
+            if (u == null || u.getString() != s) {
+                recent[i] = u = new PyUnicode(s);
+            }
+            return u;
         }
 
     }
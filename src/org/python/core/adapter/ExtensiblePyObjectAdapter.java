@@ -12,6 +12,9 @@ import org.python.core.PyObject;
  * A PyObjectAdapter attempts to adapt a Java Object with three user fillable
  * groups of adapters: preClass, class and postClass.
  * 
+ * While every preClass and postClass adapter is a {@link TypedPyObjectAdapter},
+ * the adapter for each class is found once and kept (in a {@link ClassValue}),
+ * so that adapting another object of that class takes a single lookup.
  */
 public class ExtensiblePyObjectAdapter implements PyObjectAdapter {
 
@@ -34,6 +37,11 @@ public class ExtensiblePyObjectAdapter implements PyObjectAdapter {
 	 * null is returned.
 	 */
 	public PyObject adapt(Object o) {
+		ClassValue<PyObjectAdapter> cache = byClass;
+		if (cache != null && o != null) {
+			return cache.get(o.getClass()).adapt(o);
+		}
+
 		PyObjectAdapter adapter = findAdapter(preClassAdapters, o);
 		if (adapter != null) {
 			return adapter.adapt(o);
@@ -57,6 +65,7 @@ public class ExtensiblePyObjectAdapter implements PyObjectAdapter {
 	 */
 	public void addPreClass(PyObjectAdapter adapter) {
 		preClassAdapters.add(adapter);
+		resetCache();
 	}
 
 	/**
@@ -65,6 +74,7 @@ public class ExtensiblePyObjectAdapter implements PyObjectAdapter {
 	 */
 	public void add(ClassAdapter adapter) {
 		classAdapters.put(adapter.getAdaptedClass(), adapter);
+		resetCache();
 	}
 
 	/**
@@ -73,6 +83,61 @@ public class ExtensiblePyObjectAdapter implements PyObjectAdapter {
 	 */
 	public void addPostClass(PyObjectAdapter converter) {
 		postClassAdapters.add(converter);
+		resetCache();
+	}
+
+	/**
+	 * Forgets the adapters found for each class, as they may change when an
+	 * adapter is added. The adapters are no longer found by class at all once
+	 * one that is not a {@link TypedPyObjectAdapter} is added.
+	 */
+	private void resetCache() {
+		if (allTyped(preClassAdapters) && allTyped(postClassAdapters)) {
+			byClass = newCache();
+		} else {
+			byClass = null;
+		}
+	}
+
+	private ClassValue<PyObjectAdapter> newCache() {
+		return new ClassValue<PyObjectAdapter>() {
+
+			@Override
+			protected PyObjectAdapter computeValue(Class<?> c) {
+				return findAdapter(c);
+			}
+		};
+	}
+
+	private static boolean allTyped(List l) {
+		for (Object adapter : l) {
+			if (!(adapter instanceof TypedPyObjectAdapter)) {
+				return false;
+			}
+		}
+		return true;
+	}
+
+	/**
+	 * Finds the adapter that {@link #adapt(Object)} would use for a (non-null)
+	 * object of class c, in the same order, or {@link #NONE}.
+	 */
+	private PyObjectAdapter findAdapter(Class<?> c) {
+		for (Object adapter : preClassAdapters) {
+			if (((TypedPyObjectAdapter) adapter).canAdaptClass(c)) {
+				return (PyObjectAdapter) adapter;
+			}
+		}
+		PyObjectAdapter adapter = (PyObjectAdapter) classAdapters.get(c);
+		if (adapter != null) {
+			return adapter;
+		}
+		for (Object post : postClassAdapters) {
+			if (((TypedPyObjectAdapter) post).canAdaptClass(c)) {
+				return (PyObjectAdapter) post;
+			}
+		}
+		return NONE;
 	}
 
 	private static PyObjectAdapter findAdapter(List l, Object o) {
@@ -85,6 +150,21 @@ public class ExtensiblePyObjectAdapter implements PyObjectAdapter {
 		return null;
 	}
 
+	/** Marks a class that no adapter can adapt. */
+	private static final PyObjectAdapter NONE = new PyObjectAdapter() {
+
+		public boolean canAdapt(Object o) {
+			return false;
+		}
+
+		public PyObject adapt(Object o) {
+			return null;
+		}
+	};
+
+	/** The adapter for each class, or null if they must be asked in turn. */
+	private volatile ClassValue<PyObjectAdapter> byClass = newCache();
+
 	private List preClassAdapters = new ArrayList();
 
 	private List postClassAdapters = new ArrayList();
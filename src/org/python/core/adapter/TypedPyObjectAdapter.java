@@ -0,0 +1,16 @@
+package org.python.core.adapter;
+
+/**
+ * A PyObjectAdapter that can adapt an object or not according only to its class. An
+ * {@link ExtensiblePyObjectAdapter} all of whose preClass and postClass adapters are of this kind
+ * finds the adapter for each class once, and thereafter adapts objects of that class after a
+ * single lookup, rather than asking each adapter in turn.
+ */
+public interface TypedPyObjectAdapter extends PyObjectAdapter {
+
+    /**
+     * Returns true if (non-null) objects of class c can be adapted by this adapter, as
+     * {@link #canAdapt(Object)} would answer for each of them.
+     */
+    public abstract boolean canAdaptClass(Class<?> c);
+}
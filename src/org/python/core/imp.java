@@ -1,6 +1,7 @@
 // Copyright (c) Corporation for National Research Initiatives
 package org.python.core;
 
+import java.io.ByteArrayInputStream;
 import java.io.ByteArrayOutputStream;
 import java.io.File;
 import java.io.FileInputStream;
@@ -31,7 +32,7 @@ public class imp {
 
     private static final String UNKNOWN_SOURCEFILE = "<unknown>";
 
-    private static final int APIVersion = 38;
+    private static final int APIVersion = 39;
 
     public static final int NO_MTIME = -1;
 
@@ -490,6 +491,11 @@ public class imp {
             fop = new FileOutputStream(FileUtil.makePrivateRW(compiledFilename));
             fop.write(compiledSource);
             fop.close();
+            DirectoryCache dirCache = DirectoryCache.getDefault();
+            if (dirCache != null) {
+                // The directory has a new name in it.
+                dirCache.invalidate(new File(compiledFilename).getAbsoluteFile().getParentFile());
+            }
             return compiledFilename;
         } catch (IOException | SecurityException exc) {
             // If we can't write the cache file, just log and continue
@@ -583,6 +589,54 @@ public class imp {
         return createFromCode(name, code, filename);
     }
 
+    /**
+     * Create a module from a source file as
+     * {@link #createFromSource(String, InputStream, String, String, long)} does, but taking the
+     * compiled code from the cache if it holds code for the same source, and otherwise adding to
+     * the cache the code compiled (unless writing byte code is suppressed).
+     *
+     * @param cache of compiled code
+     * @param name of the module to create (class will be name$py)
+     * @param sourceFile the (Jython) source to compile
+     * @param filename of the source (to embed in class as data)
+     * @param outFilename in which to write the compiled class
+     * @param mtime last modified time of the source
+     * @return created module
+     */
+    private static PyObject createFromCodeCache(CodeCache cache, String name, File sourceFile,
+            String filename, String outFilename, long mtime) {
+        byte[] source = readBytes(makeStream(sourceFile));
+        String key = CodeCache.key(name, source);
+        byte[] bytes = cache.load(key);
+        PyCode code = null;
+
+        if (bytes != null) {
+            try {
+                // The key guarantees the source: only check the API version.
+                if (readCodeData(filename, new ByteArrayInputStream(bytes), true) != null) {
+                    code = BytecodeLoader.makeCode(name + "$py", bytes, filename);
+                }
+            } catch (Throwable t) {
+                // A damaged entry: compile the source instead, and replace it.
+                logger.log(Level.FINE, "# bad code cache entry for {0}: {1}",
+                        new Object[] {name, t});
+            }
+        }
+
+        if (code != null) {
+            logger.log(Level.CONFIG, "import {0} # cached from {1}", new Object[] {name, filename});
+        } else {
+            bytes = compileSource(name, new ByteArrayInputStream(source), filename, mtime);
+            if (!Py.getSystemState().dont_write_bytecode) {
+                cacheCompiledSource(filename, outFilename, bytes);
+                cache.store(key, bytes);
+            }
+            logger.log(Level.CONFIG, "import {0} # from {1}", new Object[] {name, filename});
+            code = BytecodeLoader.makeCode(name + "$py", bytes, filename);
+        }
+        return createFromCode(name, code, filename);
+    }
+
     /**
      * Returns a module with the given name whose contents are the results of running c. __file__ is
      * set to whatever is in c.
@@ -858,8 +912,11 @@ public class imp {
              */
             String dirName = sys.getPath(location);
             File dir = new File(dirName, name);
+            // If we may, consult listings of the directories rather than the file system.
+            DirectoryCache dirCache = DirectoryCache.getDefault();
+            File base = dirCache == null ? null : new File(dirName);
 
-            if (dir.isDirectory()) {
+            if (dirCache == null ? dir.isDirectory() : dirCache.isDirectory(base, name)) {
                 // This should be a package: location/name
                 File displayDir = new File(displayLocation, name);
 
@@ -874,7 +931,11 @@ public class imp {
                 displayCompiledName = new File(displayDir, compiledName).getPath();
 
                 // Check the directory name is ok according to case-matching option and platform.
-                if (caseok(dir, name)) {
+                if (dirCache != null) {
+                    // The listing of base found name in the right case.
+                    haveSource = dirCache.isFile(dir, sourceName);
+                    haveCompiled = dirCache.isFile(dir, compiledName);
+                } else if (caseok(dir, name)) {
                     haveSource = sourceFile.isFile();
                     haveCompiled = compiledFile.isFile();
                 }
@@ -908,8 +969,13 @@ public class imp {
                 displayCompiledName = new File(displayLocation, compiledName).getPath();
 
                 // Check file names exist and ok according to case-matching option and platform.
-                haveSource = sourceFile.isFile() && caseok(sourceFile, sourceName);
-                haveCompiled = compiledFile.isFile() && caseok(compiledFile, compiledName);
+                if (dirCache != null) {
+                    haveSource = dirCache.isFile(base, sourceName);
+                    haveCompiled = dirCache.isFile(base, compiledName);
+                } else {
+                    haveSource = sourceFile.isFile() && caseok(sourceFile, sourceName);
+                    haveCompiled = compiledFile.isFile() && caseok(compiledFile, compiledName);
+                }
             }
 
             /*
@@ -941,6 +1007,11 @@ public class imp {
 
                 // The compiled class is not present, is out of date, or using it failed somehow.
                 logger.log(Level.FINE, "# trying source {0}", sourceFile.getPath());
+                CodeCache cache = CodeCache.getDefault();
+                if (cache != null) {
+                    return createFromCodeCache(cache, modName, sourceFile, displaySourceName,
+                            compiledFile.getPath(), pyTime);
+                }
                 return createFromSource(modName, makeStream(sourceFile), displaySourceName,
                         compiledFile.getPath(), pyTime);
 
@@ -5,17 +5,11 @@ package org.python.core.packagecache;
 
 import org.python.core.Options;
 import org.python.core.PyJavaPackage;
-import org.python.core.util.FileUtil;
 import org.python.util.Generic;
 
 import java.io.BufferedInputStream;
-import java.io.BufferedOutputStream;
-import java.io.DataInputStream;
-import java.io.DataOutputStream;
-import java.io.EOFException;
 import java.io.File;
 import java.io.FileInputStream;
-import java.io.FileOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.lang.reflect.Modifier;
@@ -30,17 +24,22 @@ import java.nio.file.StandardOpenOption;
 import java.nio.file.attribute.BasicFileAttributes;
 import java.security.AccessControlException;
 import java.util.ArrayList;
+import java.util.Collections;
 import java.util.List;
 import java.util.Map;
 import java.util.Map.Entry;
+import java.util.concurrent.Callable;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.Future;
 import java.util.logging.Logger;
 import java.util.zip.ZipEntry;
 import java.util.zip.ZipInputStream;
 
 /**
  * Abstract package manager that gathers info about statically known classes from a set of jars and
- * the Java runtime. This info can be cached, eventually. Off-the-shelf this class offers a local
- * file-system based cache implementation.
+ * the Java runtime. This info can be cached, eventually, in a single index file in a local
+ * cache directory (see {@link PackageIndex}).
  */
 public abstract class CachedJarsPackageManager extends PackageManager {
 
@@ -82,7 +81,8 @@ public abstract class CachedJarsPackageManager extends PackageManager {
      * Filter class/pkg by name helper method - hook. The default implementation is used by
      * {@link #addJarToPackages} in order to filter out classes whose name contains '$' (e.g. inner
      * classes). Should be used or overridden by derived classes too. Also to be used in
-     * {@link #doDir}.
+     * {@link #doDir}. It may be called on several threads at once, while JARs are read in
+     * parallel.
      *
      * @param name class/pkg name
      * @param pkg if true, name refers to a pkg
@@ -96,7 +96,8 @@ public abstract class CachedJarsPackageManager extends PackageManager {
      * Filter class by access perms helper method - hook. The default implementation is used by
      * {@link #addJarToPackages} in order to filter out non-public classes. Should be used or
      * overridden by derived classes too. Also to be used in {@link #doDir}. Access permissions can
-     * be read with {@link #checkAccess}.
+     * be read with {@link #checkAccess}. It may be called on several threads at once, while JARs
+     * are read in parallel.
      *
      * @param name class name
      * @param acc class access permissions as int
@@ -107,16 +108,11 @@ public abstract class CachedJarsPackageManager extends PackageManager {
     }
 
     /**
-     * Set {@code true} whenever the cache index is modified (needs ultimately to be re-written).
+     * The packages and classes in each source of class definitions (JAR or module) by canonical
+     * name, with the size and time last modified of the source, so that we may check the cache is
+     * valid. {@code null} if cache is not operating.
      */
-    private boolean indexModified;
-
-    /**
-     * Map from some source of class definitions to the name of a file used to cache lists of
-     * classes in that source. {@code null} if cache is not operating. (This source must have a time
-     * last modified so we may check that the cache is valid).
-     */
-    private Map<String, JarXEntry> index;
+    private PackageIndex index;
 
     /**
      * Process one entry from a JAR/ZIP, and if the entry is a (qualifying) Java class, add its name
@@ -234,196 +230,173 @@ public abstract class CachedJarsPackageManager extends PackageManager {
 
     /**
      * Gathers classes info from jar specified by a URL. Eventually just using previously cached
-     * info. Eventually updated info is not cached. Persistent cache storage access goes through
-     * inOpenCacheFile() and outCreateCacheFile().
+     * info. Eventually updated info is not cached.
      */
     public void addJarToPackages(java.net.URL jarurl) {
-        addJarToPackages(jarurl, null, false);
+        addJarToPackages(jarurl, false);
     }
 
     /**
      * Gathers classes info from jar specified by URL. Eventually just using previously cached info.
-     * Eventually updated info is (re-)cached if param cache is true. Persistent cache storage
-     * access goes through inOpenCacheFile() and outCreateCacheFile().
+     * Eventually updated info is (re-)cached if param cache is true.
      */
     public void addJarToPackages(URL jarurl, boolean cache) {
-        addJarToPackages(jarurl, null, cache);
+        try {
+            URLConnection jarconn = jarurl.openConnection();
+            // The following comment may be out of date. Also 2 reasons or just the bug?
+            /*
+             * This is necessary because 'file:' url-connections always return 0 through
+             * getLastModified (bug?). And in order to handle localfiles (from urls too)
+             * uniformly.
+             */
+            if (jarconn.getURL().getProtocol().equals("file")) {
+                // Although given as a URL, this *is* a file.
+                String jarfilename = jarurl.getFile();
+                jarfilename = jarfilename.replace('/', File.separatorChar);
+                addJarToPackages(new File(jarfilename), cache);
+                return;
+            }
+
+            // We can't find a local file: use the connection.
+            Map<String, String> zipPackages = null;
+            String jarcanon = null;
+            long mtime = 0, size = 0;
+            if (this.index != null) {
+                jarcanon = jarurl.toString();
+                mtime = jarconn.getLastModified();
+                size = jarconn.getContentLengthLong();
+                zipPackages = this.index.get(jarcanon, mtime, size);
+            }
+            if (zipPackages == null) {
+                try (InputStream jarin = jarconn.getInputStream()) {
+                    zipPackages = getZipPackages(jarin);
+                }
+                if (cache && this.index != null) {
+                    comment("processing jar ''{0}''", jarcanon);
+                    this.index.put(jarcanon, mtime, size, zipPackages);
+                }
+            }
+            addPackages(zipPackages, jarcanon);
+        } catch (IOException ioe) {
+            // Skip the bad JAR with a message
+            warning("skipping bad jar ''{0}''", jarurl.toString());
+        }
     }
 
     /**
      * Gathers classes info from jar specified by File jarfile. Eventually just using previously
-     * cached info. Eventually updated info is not cached. Persistent cache storage access goes
-     * through inOpenCacheFile() and outCreateCacheFile().
+     * cached info. Eventually updated info is not cached.
      */
     public void addJarToPackages(File jarfile) {
-        addJarToPackages(null, jarfile, false);
+        addJarToPackages(jarfile, false);
     }
 
     /**
      * Gathers package and class lists from a jar specified by a {@code File}. Eventually just using
      * previously cached info. Eventually updated info is (re-)cached if param cache is true.
-     * Persistent cache storage access goes through inOpenCacheFile() and outCreateCacheFile().
      */
     public void addJarToPackages(File jarfile, boolean cache) {
-        addJarToPackages(null, jarfile, cache);
+        addJarsToPackages(Collections.singletonList(jarfile), cache);
+    }
+
+    /** A JAR file to add, with what we know of it so far. */
+    private static class JarSource {
+
+        final File jarfile;
+        /** The canonical path of the JAR, key to it in the index, or null if not caching. */
+        String jarcanon;
+        long mtime, size;
+        /** The packages of the JAR from the cache, or by scanning it. */
+        Map<String, String> zipPackages;
+        /** Set if the packages were read by scanning the JAR, rather than from the cache. */
+        boolean scanned;
+
+        JarSource(File jarfile) {
+            this.jarfile = jarfile;
+        }
     }
 
     /**
      * Create (or ensure we have) a {@link PyJavaPackage}, descending from
      * {@link PackageManager#topLevelPackage} in this {@link PackageManager} instance, for each
-     * package in a jar specified by a file or URL. Ensure that the class list in each package is
-     * updated with the classes this JAR supplies to it.
-     *
-     * The information concerning packages in the JAR and the classes they contain, may be read from
-     * from a previously cached account of the JAR, if the last-modified time of the JAR matches a
-     * cached value. If it is not read from a cache, it will be obtained by inspecting the JAR, and
-     * a new cache will be written (if requested).
-     *
-     * Access to persistent cache storage goes through {@link #inOpenCacheFile(String)} and
-     * {@link #outCreateCacheFile(JarXEntry, boolean)}.
+     * package in each of a list of JARs. Ensure that the class list in each package is updated with
+     * the classes the JARs supply to it, in the order of the list.
+     * <p>
+     * The information concerning packages in a JAR and the classes they contain, may be read from
+     * the cache, if the size and last-modified time of the JAR match the cached values. The JARs for
+     * which it cannot be, are inspected in parallel, and the information added to the cache (if
+     * requested). The cache is written by {@link #saveCache()}.
      *
-     * @param jarurl identifying the JAR if {@code jarfile} is {@code null}
-     * @param jarfile identifying the JAR
-     * @param writeCache re-write the cache if it was out of date (and caching is active).
+     * @param jarfiles identifying the JARs (those that do not exist are ignored)
+     * @param cache add the information obtained by reading a JAR to the cache (if in operation).
      */
-    private void addJarToPackages(URL jarurl, File jarfile, boolean writeCache) {
-        try {
-            // We try to read the cache (for this jar) if caching is in operation.
-            boolean readCache = this.index != null;
-            // We write a cache if caching is in operation AND writing has been requested.
-            writeCache &= readCache;
-
-            URLConnection jarconn = null;
-            boolean localfile = true;
-
-            // If a local JAR file was not given directly in jarfile, try to find one from the URL.
-            if (jarfile == null) {
-                // We were not given a File, so the URL must be reliable (but may not be a file)
-                jarconn = jarurl.openConnection();
-                // The following comment may be out of date. Also 2 reasons or just the bug?
-                /*
-                 * This is necessary because 'file:' url-connections always return 0 through
-                 * getLastModified (bug?). And in order to handle localfiles (from urls too)
-                 * uniformly.
-                 */
-                if (jarconn.getURL().getProtocol().equals("file")) {
-                    // Although given as a URL, this *is* a file.
-                    String jarfilename = jarurl.getFile();
-                    jarfilename = jarfilename.replace('/', File.separatorChar);
-                    jarfile = new File(jarfilename);
-                } else {
-                    // We can't find a local file
-                    localfile = false;
+    protected void addJarsToPackages(List<File> jarfiles, final boolean cache) {
+        List<JarSource> sources = new ArrayList<>(jarfiles.size());
+        List<Callable<JarSource>> scans = new ArrayList<>();
+        for (File jarfile : jarfiles) {
+            final JarSource source = new JarSource(jarfile);
+            try {
+                if (!jarfile.exists()) {
+                    // Local JAR file claimed or deduced does not exist. Silently ignore.
+                    continue;
                 }
-            }
-
-            if (localfile && !jarfile.exists()) {
-                // Local JAR file claimed or deduced does not exist. Silently ignore.
-                return;
-            }
-
-            // The classes to discover are in a local JAR file. They go in this map:
-            Map<String, String> zipPackages = null;
-
-            long mtime = 0;
-            String jarcanon = null;
-            JarXEntry entry = null;
-            boolean brandNew = false;
-
-            if (readCache) {
-
-                // Get the name and last modified time of the actual JAR on disk.
-                if (localfile) {
-                    mtime = jarfile.lastModified();
-                    jarcanon = jarfile.getCanonicalPath();
-                } else {
-                    mtime = jarconn.getLastModified();
-                    jarcanon = jarurl.toString();
+                if (this.index != null) {
+                    source.jarcanon = jarfile.getCanonicalPath();
+                    source.mtime = jarfile.lastModified();
+                    source.size = jarfile.length();
+                    source.zipPackages = this.index.get(source.jarcanon, source.mtime, source.size);
                 }
-
-                // The canonical name is our key in the (in memory) index to the cache file.
-                entry = this.index.get(jarcanon);
-
-                if (writeCache && (entry == null || !(new File(entry.cachefile).exists()))) {
-                    // We intend to use a cache but there is no valid existing file.
-                    comment("processing new jar ''{0}''", jarcanon);
-
-                    // Create a base-name for the cache file
-                    String jarname;
-                    if (localfile) {
-                        jarname = jarfile.getName();
-                    } else {
-                        jarname = jarurl.getFile();
-                        int slash = jarname.lastIndexOf('/');
-                        if (slash != -1) {
-                            jarname = jarname.substring(slash + 1);
+            } catch (IOException ioe) {
+                // Unreadable path or bad entry in the cache: we shall read the JAR.
+            }
+            sources.add(source);
+            if (source.zipPackages == null) {
+                scans.add(new Callable<JarSource>() {
+
+                    @Override
+                    public JarSource call() {
+                        try (InputStream jarin =
+                                new BufferedInputStream(new FileInputStream(source.jarfile))) {
+                            source.zipPackages = getZipPackages(jarin);
+                            source.scanned = true;
+                        } catch (IOException ioe) {
+                            // Reported below.
                         }
+                        return source;
                     }
-                    jarname = jarname.substring(0, jarname.length() - 4);
-
-                    // Create a new (or replacement) index entry. Remember to create the file.
-                    entry = new JarXEntry(jarname);
-                    this.index.put(jarcanon, entry);
-                    brandNew = true;
-                }
-
-                // If the source has a date and the cache matches, create the map we need from it.
-                if (entry != null && mtime != 0 && entry.mtime == mtime) {
-                    zipPackages = readCacheFile(entry, jarcanon);
-                }
+                });
             }
+        }
 
-            /*
-             * At this point, we will have the package map from the cache if it was valid, and a
-             * cache is in use generally in this package manager.
-             */
-
-            if (zipPackages == null) {
-                // We'll have to read the actual JAR file
-
-                if (writeCache) {
-                    // Update the index entry for the cache file we shall eventually write.
-                    this.indexModified = true;
-                    if (entry.mtime != 0) {
-                        comment("processing modified jar ''{0}''", jarcanon);
-                    }
-                    entry.mtime = mtime;
-                }
-
-                // Create the package-to-class mapping from whatever stream.
-                InputStream jarin = null;
+        // Read the JARs that were not in the cache, in parallel if there are several.
+        if (scans.size() > 1) {
+            for (Future<JarSource> f : ForkJoinPool.commonPool().invokeAll(scans)) {
                 try {
-                    if (jarconn == null) {
-                        jarin = new BufferedInputStream(new FileInputStream(jarfile));
-                    } else {
-                        // We were given a URL originally so use that.
-                        jarin = jarconn.getInputStream();
-                    }
-
-                    zipPackages = getZipPackages(jarin);
-
-                } finally {
-                    if (jarin != null) {
-                        jarin.close();
-                    }
-                }
-
-                if (writeCache) {
-                    // Write what we created out to a cache file (new or updated)
-                    writeCacheFile(entry, jarcanon, zipPackages, brandNew);
+                    f.get();
+                } catch (InterruptedException | ExecutionException e) {
+                    // The JAR has no packages: reported below.
                 }
             }
+        } else if (scans.size() == 1) {
+            try {
+                scans.get(0).call();
+            } catch (Exception e) {
+                // Reported below.
+            }
+        }
 
-            /*
-             * We now have the package map we need (from a cache or by construction). Now create or
-             * update corresponding package objects with the discovered classes (named, but not as
-             * PyObjects).
-             */
-            addPackages(zipPackages, jarcanon);
-
-        } catch (IOException ioe) {
-            // Skip the bad JAR with a message
-            warning("skipping bad jar ''{0}''", (jarfile != null ? jarfile : jarurl).toString());
+        // Now create or update package objects, in order.
+        for (JarSource source : sources) {
+            if (source.zipPackages == null) {
+                // Skip the bad JAR with a message
+                warning("skipping bad jar ''{0}''", source.jarfile.toString());
+                continue;
+            }
+            if (source.scanned && cache && this.index != null) {
+                comment("processing jar ''{0}''", source.jarcanon);
+                this.index.put(source.jarcanon, source.mtime, source.size, source.zipPackages);
+            }
+            addPackages(source.zipPackages, source.jarcanon);
         }
     }
 
@@ -449,108 +422,55 @@ public abstract class CachedJarsPackageManager extends PackageManager {
     }
 
     /**
-     * Read in cache file storing package info for a single jar. Return null and delete this cache
-     * file if it is invalid.
+     * Scan a Java module, creating package objects. When caching is in operation, the packages of
+     * the module are cached as those of a JAR are, keyed by the module and the run-time image that
+     * holds it, and valid for as long as the modification time of that image is unchanged. This
+     * saves reading every class file of the Java runtime on every start-up.
+     *
+     * @param modulePath up to and including the name of the module
      */
-    @SuppressWarnings("empty-statement")
-    private Map<String, String> readCacheFile(JarXEntry entry, String jarcanon) {
-        String cachefile = entry.cachefile;
-        long mtime = entry.mtime;
-
-        debug("reading cache of ''{0}''", jarcanon);
-
-        DataInputStream istream = null;
+    protected void addModuleToPackages(Path modulePath) {
         try {
-            istream = inOpenCacheFile(cachefile);
-            String old_jarcanon = istream.readUTF();
-            long old_mtime = istream.readLong();
-            if ((!old_jarcanon.equals(jarcanon)) || (old_mtime != mtime)) {
-                comment("invalid cache file: {0} for new:{1}({3}), old:{2}({4})", cachefile, jarcanon,
-                        old_jarcanon, mtime, old_mtime);
-                deleteCacheFile(cachefile);
-                return null;
+            String moduleuri = modulePath.toUri().toString();
+            Map<String, String> packages = null;
+            String modcanon = null;
+            long mtime = runtimeImageTime();
+            long size = 0;
+
+            if (this.index != null && mtime != 0) {
+                // The key names the image as well as the module, in case java.home changes.
+                modcanon = runtimeImage.getCanonicalPath() + "!" + modulePath.getFileName();
+                size = runtimeImage.length();
+                packages = this.index.get(modcanon, mtime, size);
             }
-            Map<String, String> packs = Generic.map();
-            try {
-                while (true) {
-                    String packageName = istream.readUTF();
-                    String classes = istream.readUTF();
-                    // XXX: Handle multiple chunks of classes and concatenate them
-                    // together. Multiple chunks were added in 2.5.2 (for #1595) in this
-                    // way to maintain compatibility with the pre 2.5.2 format. In the
-                    // future we should consider changing the cache format to prepend a
-                    // count of chunks to avoid this check
-                    if (packs.containsKey(packageName)) {
-                        classes = packs.get(packageName) + classes;
-                    }
-                    packs.put(packageName, classes);
+
+            if (packages == null) {
+                comment("reading packages from ''{0}''", modulePath);
+                packages = getModularPackages(modulePath);
+                if (modcanon != null) {
+                    this.index.put(modcanon, mtime, size, packages);
                 }
-            } catch (EOFException eof) {
-                // ignore
             }
 
-            return packs;
+            addPackages(packages, moduleuri);
         } catch (IOException ioe) {
-            // if (cachefile.exists()) cachefile.delete();
-            return null;
-        } finally {
-            if (istream != null) {
-                try {
-                    istream.close();
-                } catch (IOException ignore) {
-                    // ignore
-                }
-            }
+            warning("skipping bad module ''{0}'' ({1})", modulePath, ioe.getMessage());
         }
     }
 
+    /** The run-time image ({@code lib/modules}) of the running JVM. */
+    private static final File runtimeImage =
+            new File(System.getProperty("java.home"), "lib" + File.separator + "modules");
+
     /**
-     * Write a cache file storing package info for a single JAR. *
-     *
-     * @param entry in {@link #index} corresponding to the JAR
-     * @param jarcanon canonical name of the JAR (used as key into {@link #index})
-     * @param zipPackages a map from package name to class names for that pacjkage in the JAR
-     * @param brandNew if the cache file must be created (vs. being re-written)
+     * The modification time of the run-time image, which changes when the JDK is updated in
+     * place, or 0 if there is no image (in which case module packages are not cached).
      */
-    private void writeCacheFile(JarXEntry entry, String jarcanon, Map<String, String> zipPackages,
-            boolean brandNew) {
-        DataOutputStream ostream = null;
-        try {
-            ostream = outCreateCacheFile(entry, brandNew);
-            ostream.writeUTF(jarcanon);
-            ostream.writeLong(entry.mtime);
-            comment("rewriting cache for ''{0}''", jarcanon);
-
-            for (Entry<String, String> kv : zipPackages.entrySet()) {
-                String classes = kv.getValue();
-                // Make sure each package is not larger than 64k
-                for (String part : splitString(classes, 65535)) {
-                    // For each chunk, write the package name followed by the classes.
-                    ostream.writeUTF(kv.getKey());
-                    ostream.writeUTF(part);
-                }
-            }
-        } catch (IOException ioe) {
-            warning("failed to write cache for ''{0}'' ({1})", jarcanon, ioe.getMessage());
-        } finally {
-            if (ostream != null) {
-                try {
-                    ostream.close();
-                } catch (IOException ignore) {
-                    // ignore
-                }
-            }
-        }
-    }
-
-    /** Scan a Java module, creating package objects. */
-    protected void addModuleToPackages(Path modulePath) {
+    private static long runtimeImageTime() {
         try {
-            comment("reading packages from ''{0}''", modulePath);
-            Map<String, String> packages = getModularPackages(modulePath);
-            addPackages(packages, modulePath.toUri().toString());
-        } catch (IOException ioe) {
-            warning("skipping bad module ''{0}'' ({1})", modulePath, ioe.getMessage());
+            return runtimeImage.lastModified();
+        } catch (SecurityException se) {
+            return 0;
         }
     }
 
@@ -624,222 +544,46 @@ public abstract class CachedJarsPackageManager extends PackageManager {
     }
 
     /**
-     * Split up a string into several chunks based on a certain size
-     *
-     * The writeCacheFile method will use the writeUTF method on a DataOutputStream which only
-     * allows writing 64k chunks, so use this utility method to split it up
-     *
-     * @param str - The string to split up into chunks
-     * @param maxLength - The max size a string should be
-     * @return - An array of strings, each of which will not be larger than maxLength
-     */
-    protected static String[] splitString(String str, int maxLength) {
-        if (str == null) {
-            return null;
-        }
-
-        int len = str.length();
-        if (len <= maxLength) {
-            return new String[] {str};
-        }
-
-        int chunkCount = (int) Math.ceil((float) len / maxLength);
-        String[] chunks = new String[chunkCount];
-        for (int i = 0; i < chunkCount; i++) {
-            chunks[i] = str.substring(i * maxLength, Math.min(i * maxLength + maxLength, len));
-        }
-        return chunks;
-    }
-
-    /**
-     * Initialise the cache by reading the index from storage, through {@link #inOpenIndex()}, or by
-     * creating a new empty one.
+     * Initialise the cache by reading the index from the cache directory, or by creating a new
+     * empty one.
      */
     protected void initCache() {
-        this.indexModified = false;
-        this.index = Generic.map();
-
-        DataInputStream istream = null;
+        File indexFile = new File(this.cachedir, PackageIndex.FILE_NAME);
         try {
-            istream = inOpenIndex();
-            if (istream == null) {
-                return;
-            }
-
-            try {
-                while (true) {
-                    String jarcanon = istream.readUTF();
-                    String cachefile = istream.readUTF();
-                    long mtime = istream.readLong();
-                    this.index.put(jarcanon, new JarXEntry(cachefile, mtime));
-                }
-            } catch (EOFException eof) {
-                // ignore
-            }
+            this.index = new PackageIndex(indexFile);
         } catch (IOException ioe) {
-            warning("invalid index file");
-        } finally {
-            if (istream != null) {
-                try {
-                    istream.close();
-                } catch (IOException ignore) {
-                    // ignore
-                }
+            warning("invalid index file ({0})", ioe.getMessage());
+            try {
+                indexFile.delete();
+                this.index = new PackageIndex(indexFile);
+            } catch (IOException | SecurityException e) {
+                this.index = null;
             }
         }
     }
 
     /**
-     * Write back cache <b>index</b>. The index is a mapping from each source of class definitions
-     * to the file where the cache for that source is held. This list is accessed through
-     * outOpenIndex().
+     * Write back the cache <b>index</b>, if anything has been added to it, to the file in the cache
+     * directory. Only the entries added or replaced since it was read need to be encoded.
      */
     public void saveCache() {
-
-        if (index == null || !indexModified) {
+        if (index == null || !index.isModified()) {
             return;
         }
-
-        indexModified = false;
-
         comment("writing modified index file");
-
-        DataOutputStream ostream = null;
         try {
-            ostream = outOpenIndex();
-            for (Entry<String, JarXEntry> entry : index.entrySet()) {
-                String jarcanon = entry.getKey();
-                JarXEntry xentry = entry.getValue();
-                ostream.writeUTF(jarcanon);
-                ostream.writeUTF(xentry.cachefile);
-                ostream.writeLong(xentry.mtime);
-            }
-        } catch (IOException ioe) {
-            warning("failed to write index file ({0})", ioe.getMessage());
-        } finally {
-            if (ostream != null) {
-                try {
-                    ostream.close();
-                } catch (IOException ignore) {
-                    // ignore
-                }
-            }
-        }
-    }
-
-    // hooks for changing cache storage
-
-    /**
-     * Class of object used to represent a cache file and last modification time, internally and to
-     * {@link CachedJarsPackageManager#outCreateCacheFile}. When caching, a {@code JarXEntry} is
-     * created for each JAR processed for classes, and corresponds to a file in the package cache
-     * directory. The name is based on the name of the JAR.
-     */
-    public static class JarXEntry extends Object {
-
-        /** Specifies the actual cache file once that is created or opened. */
-        public String cachefile;
-
-        public long mtime;
-
-        public JarXEntry(String cachefile) {
-            this.cachefile = cachefile;
-        }
-
-        public JarXEntry(String cachefile, long mtime) {
-            this.cachefile = cachefile;
-            this.mtime = mtime;
+            index.save();
+        } catch (IOException | SecurityException e) {
+            warning("failed to write index file ({0})", e.getMessage());
         }
-
-    }
-
-    /**
-     * Open cache index for reading from persistent storage &ndash; hook. Must Return null if this
-     * is absent. This default implementation is part of the off-the-shelf local file-system cache
-     * implementation. Can be overridden.
-     */
-    protected DataInputStream inOpenIndex() throws IOException {
-        File indexFile = new File(this.cachedir, "packages.idx");
-        if (!indexFile.exists()) {
-            return null;
-        } else {
-            FileInputStream istream = new FileInputStream(indexFile);
-            return new DataInputStream(new BufferedInputStream(istream));
-        }
-    }
-
-    /**
-     * Open cache index for writing back to persistent storage &ndash; hook. This default
-     * implementation is part of the off-the-shelf local file-system cache implementation. Can be
-     * overridden.
-     */
-    protected DataOutputStream outOpenIndex() throws IOException {
-        File indexFile = FileUtil.makePrivateRW(new File(this.cachedir, "packages.idx"));
-        FileOutputStream ostream = new FileOutputStream(indexFile);
-        return new DataOutputStream(new BufferedOutputStream(ostream));
-    }
-
-    /**
-     * Open a particular cache file for reading from persistent storage. This default implementation
-     * is part of the off-the-shelf local file-system cache implementation. Can be overridden.
-     */
-    protected DataInputStream inOpenCacheFile(String cachefile) throws IOException {
-        return new DataInputStream(new BufferedInputStream(new FileInputStream(cachefile)));
-    }
-
-    /**
-     * Delete (invalidated) cache file from persistent storage - hook. This default implementation
-     * is part of the off-the-shelf local file-system cache implementation. Can be overridden.
-     */
-    protected void deleteCacheFile(String cachefile) {
-        new File(cachefile).delete();
-    }
-
-    /**
-     * Create/open cache file for rewriting back to persistent storage &ndash; hook. If
-     * {@code create} is {@code false}, the cache file is supposed to exist at
-     * {@code entry.cachefile} and will be opened for rewriting. If {@code create} is {@code true},
-     * {@code entry.cachefile} is the base name (e.g. JAR or module name) for a cache to be created,
-     * and the full name will be put in {@code entry.cachefile} on exit. This default implementation
-     * is part of the off-the-shelf local file-system cache implementation. It may be overridden to
-     * provide a different cache medium and use of {@code entry.cachefile}.
-     *
-     * @param entry cache file description
-     * @param create new or use existing file named in {@code entry.cachefile}
-     * @return stream on which to represent the package to class-list textually
-     * @throws IOException
-     */
-    protected DataOutputStream outCreateCacheFile(JarXEntry entry, boolean create)
-            throws IOException {
-
-        File file;
-
-        if (create) {
-            // Create a new cache file with a name based on the initial value
-            String jarname = entry.cachefile;
-            file = new File(this.cachedir, jarname + ".pkc");
-            for (int index = 1; file.exists(); index++) {
-                // That name is in use: make up another one.
-                file = new File(this.cachedir, jarname + "$" + index + ".pkc");
-            }
-            file = FileUtil.makePrivateRW(file);
-            entry.cachefile = file.getCanonicalPath();
-
-        } else {
-            // Use an existing cache file named in the entry
-            file = new File(entry.cachefile);
-        }
-
-        return new DataOutputStream(new BufferedOutputStream(new FileOutputStream(file)));
     }
 
     /** Directory in which cache files are stored. */
     private File cachedir;
 
     /**
-     * Initialize off-the-shelf (default) local file-system cache implementation. Must be called
-     * before {@link #initCache}. cachedir is the cache repository directory, this is eventually
-     * created. Returns true if dir works.
+     * Initialize the local file-system cache. Must be called before {@link #initCache}. cachedir is
+     * the cache repository directory, this is eventually created. Returns true if dir works.
      */
     protected boolean useCacheDir(File cachedir) {
         try {
@@ -0,0 +1,260 @@
+// Copyright (c) Jython Developers
+package org.python.core.packagecache;
+
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Map.Entry;
+
+import jnr.posix.util.Platform;
+
+import org.python.core.util.FileUtil;
+import org.python.util.Generic;
+
+/**
+ * The package cache of a {@link CachedJarsPackageManager}: for each JAR (or module) indexed, the
+ * packages it holds and the classes in each, with the size and modification time of the JAR when
+ * it was read. The index is kept in a single file, mapped into memory when the package manager
+ * starts. The entries are found by reading the table of keys at the front of the file, and the
+ * packages of a JAR are decoded from the mapping only when that JAR is added. When the index is
+ * saved, the entries that are still valid are copied as they are, and only those added or replaced
+ * since it was read are encoded.
+ * <p>
+ * The file holds, in big-endian order, a magic number, the count of entries, then for each entry
+ * its key (length-prefixed UTF-8), modification time, size and the length of its package block.
+ * The blocks follow in the same order, each holding the count of packages then, for each, the
+ * package name and the list of classes (in the form {@code A,B,C[@D,E]}, length-prefixed UTF-8).
+ */
+final class PackageIndex {
+
+    /** Identifies (and versions) the file. */
+    private static final int MAGIC = 0x4a706b69;
+
+    /** Name of the index file in the cache directory. */
+    static final String FILE_NAME = "packages.jpi";
+
+    /** The packages of one JAR or module, as a block of the mapped file or as a map. */
+    private static final class Item {
+
+        final long mtime;
+        final long size;
+        /** The packages in encoded form, or null if they are in {@link #packages}. */
+        final ByteBuffer block;
+        /** The packages (package name to class list), or null if they are only in the block. */
+        final Map<String, String> packages;
+
+        Item(long mtime, long size, ByteBuffer block, Map<String, String> packages) {
+            this.mtime = mtime;
+            this.size = size;
+            this.block = block;
+            this.packages = packages;
+        }
+    }
+
+    /** The file holding the index. */
+    private final File file;
+
+    /** The entries by key (the canonical path of a JAR, or its URL). */
+    private final Map<String, Item> items = new LinkedHashMap<>();
+
+    /** Set whenever an entry is added or replaced, so that the file must be written. */
+    private boolean modified;
+
+    /**
+     * Open the index held in the given file, reading its table of keys. If the file does not exist
+     * or is not valid, the index is empty.
+     *
+     * @param file holding the index
+     * @throws IOException if the file exists but cannot be read or is damaged
+     */
+    PackageIndex(File file) throws IOException {
+        this.file = file;
+        if (file.isFile()) {
+            try {
+                readTable(map(file));
+            } catch (RuntimeException e) {
+                // Buffer underflow or a bad length: the file is damaged.
+                items.clear();
+                throw new IOException("invalid package index " + file, e);
+            }
+        }
+    }
+
+    /**
+     * Map the file read-only into memory. On Windows, where a file that is mapped cannot be
+     * replaced, read it into the heap instead.
+     */
+    private static ByteBuffer map(File file) throws IOException {
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            long length = channel.size();
+            if (Platform.IS_WINDOWS || length >= Integer.MAX_VALUE) {
+                ByteBuffer buffer = ByteBuffer.allocate((int) Math.min(length, Integer.MAX_VALUE));
+                while (buffer.hasRemaining() && channel.read(buffer) >= 0) {}
+                buffer.flip();
+                return buffer;
+            }
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+    }
+
+    private void readTable(ByteBuffer buffer) throws IOException {
+        if (buffer.remaining() < 8 || buffer.getInt() != MAGIC) {
+            throw new IOException("not a package index " + file);
+        }
+        int count = buffer.getInt();
+        String[] keys = new String[count];
+        long[] mtimes = new long[count], sizes = new long[count];
+        int[] lengths = new int[count];
+        for (int i = 0; i < count; i++) {
+            keys[i] = getString(buffer);
+            mtimes[i] = buffer.getLong();
+            sizes[i] = buffer.getLong();
+            lengths[i] = buffer.getInt();
+        }
+        for (int i = 0; i < count; i++) {
+            ByteBuffer block = buffer.slice();
+            block.limit(lengths[i]);
+            buffer.position(buffer.position() + lengths[i]);
+            items.put(keys[i], new Item(mtimes[i], sizes[i], block, null));
+        }
+    }
+
+    /**
+     * Return the packages of a JAR, if the index holds them for a JAR of this size and modification
+     * time. Otherwise return null.
+     *
+     * @param key canonical path of the JAR or its URL
+     * @param mtime modification time of the JAR now
+     * @param size size of the JAR now
+     * @return map from package name to class list, or null
+     * @throws IOException if the entry is damaged
+     */
+    Map<String, String> get(String key, long mtime, long size) throws IOException {
+        Item item = items.get(key);
+        if (item == null || mtime == 0 || item.mtime != mtime || item.size != size) {
+            return null;
+        } else if (item.packages != null) {
+            return item.packages;
+        }
+        try {
+            ByteBuffer block = item.block.duplicate();
+            int count = block.getInt();
+            Map<String, String> packages = Generic.map();
+            for (int i = 0; i < count; i++) {
+                packages.put(getString(block), getString(block));
+            }
+            return packages;
+        } catch (RuntimeException e) {
+            throw new IOException("invalid package index entry for " + key, e);
+        }
+    }
+
+    /**
+     * Add or replace the packages of a JAR.
+     *
+     * @param key canonical path of the JAR or its URL
+     * @param mtime modification time of the JAR
+     * @param size size of the JAR
+     * @param packages map from package name to class list
+     */
+    void put(String key, long mtime, long size, Map<String, String> packages) {
+        items.put(key, new Item(mtime, size, null, packages));
+        modified = true;
+    }
+
+    /** Whether the index has changed since it was read or last saved. */
+    boolean isModified() {
+        return modified;
+    }
+
+    /**
+     * Write the index to its file, if it has changed. It is written to a new file of a unique name,
+     * which then replaces the old one, so that a failure (or another JVM reading or writing the
+     * index) sees either the old or the new index.
+     *
+     * @throws IOException if the index cannot be written
+     */
+    void save() throws IOException {
+        if (!modified) {
+            return;
+        }
+        Map<String, byte[]> blocks = new LinkedHashMap<>();
+        for (Entry<String, Item> kv : items.entrySet()) {
+            Item item = kv.getValue();
+            byte[] block;
+            if (item.packages == null) {
+                // Unchanged since read: copy it.
+                ByteBuffer b = item.block.duplicate();
+                block = new byte[b.remaining()];
+                b.get(block);
+            } else {
+                block = encode(item.packages);
+            }
+            blocks.put(kv.getKey(), block);
+        }
+
+        File tmp = Files.createTempFile(file.getAbsoluteFile().getParentFile().toPath(),
+                file.getName(), ".tmp").toFile();
+        try {
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(new FileOutputStream(FileUtil.makePrivateRW(tmp))))) {
+                out.writeInt(MAGIC);
+                out.writeInt(items.size());
+                for (Entry<String, Item> kv : items.entrySet()) {
+                    Item item = kv.getValue();
+                    putString(out, kv.getKey());
+                    out.writeLong(item.mtime);
+                    out.writeLong(item.size);
+                    out.writeInt(blocks.get(kv.getKey()).length);
+                }
+                for (byte[] block : blocks.values()) {
+                    out.write(block);
+                }
+            }
+            try {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp.toPath(), file.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+            modified = false;
+        } finally {
+            tmp.delete();
+        }
+    }
+
+    private static byte[] encode(Map<String, String> packages) throws IOException {
+        ByteArrayOutputStream bytes = new ByteArrayOutputStream();
+        DataOutputStream out = new DataOutputStream(bytes);
+        out.writeInt(packages.size());
+        for (Entry<String, String> kv : packages.entrySet()) {
+            putString(out, kv.getKey());
+            putString(out, kv.getValue());
+        }
+        out.flush();
+        return bytes.toByteArray();
+    }
+
+    private static void putString(DataOutputStream out, String s) throws IOException {
+        byte[] b = s.getBytes(StandardCharsets.UTF_8);
+        out.writeInt(b.length);
+        out.write(b);
+    }
+
+    private static String getString(ByteBuffer buffer) {
+        byte[] b = new byte[buffer.getInt()];
+        buffer.get(b);
+        return new String(b, StandardCharsets.UTF_8);
+    }
+}
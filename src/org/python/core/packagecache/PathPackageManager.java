@@ -8,8 +8,11 @@ import java.io.File;
 import java.io.FileInputStream;
 import java.io.FilenameFilter;
 import java.io.IOException;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.logging.Level;
 
+import org.python.core.DirectoryCache;
 import org.python.core.Py;
 import org.python.core.PyException;
 import org.python.core.PyJavaPackage;
@@ -39,6 +42,7 @@ public abstract class PathPackageManager extends CachedJarsPackageManager {
      */
     protected static boolean packageExists(PyList path, String pkg, String name) {
         String child = pkg.replace('.', File.separatorChar) + File.separator + name;
+        DirectoryCache dirCache = DirectoryCache.getDefault();
 
         for (int i = 0; i < path.__len__(); i++) {
 
@@ -49,7 +53,10 @@ public abstract class PathPackageManager extends CachedJarsPackageManager {
             if (dir != null) {
                 File f = new RelativeFile(dir, child);
                 try {
-                    if (f.isDirectory() && imp.caseok(f, name)) {
+                    boolean isDir = dirCache != null
+                            ? dirCache.isDirectory(f.getParentFile(), name)
+                            : f.isDirectory() && imp.caseok(f, name);
+                    if (isDir) {
                         /*
                          * f is a directory matching the package name. This directory is considered
                          * to define a package if it contains no Python (source or compiled), or
@@ -197,15 +204,16 @@ public abstract class PathPackageManager extends CachedJarsPackageManager {
     /**
      * Scan a Java class-path that may be a mixture of directory and JAR specifiers, and within each
      * path entry index the packages. Calls {@link #addDirectory} if a path entry refers to a dir,
-     * {@link #addJarToPackages(java.io.File, boolean)} with param cache true if the path entry
-     * refers to a jar.
+     * and {@link #addJarsToPackages(List, boolean)} with param cache true for the path entries that
+     * refer to jars, so that those not in the cache are read in parallel.
      */
     public void addClassPath(String path) {
         String[] entries = path.split(java.io.File.pathSeparator);
+        List<File> jars = new ArrayList<>();
         for (String entry : entries) {
             entry = entry.trim();
             if (entry.endsWith(".jar") || entry.endsWith(".zip")) {
-                addJarToPackages(new File(entry), true);
+                jars.add(new File(entry));
             } else {
                 File dir = new File(entry);
                 if (entry.length() == 0 || dir.isDirectory()) {
@@ -213,6 +221,7 @@ public abstract class PathPackageManager extends CachedJarsPackageManager {
                 }
             }
         }
+        addJarsToPackages(jars, true);
     }
 
     @Override
@@ -21,6 +21,8 @@ import java.nio.file.Path;
 import java.nio.file.ProviderNotFoundException;
 import java.nio.file.SimpleFileVisitor;
 import java.nio.file.attribute.BasicFileAttributes;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 import java.util.StringTokenizer;
@@ -89,12 +91,14 @@ public class SysPackageManager extends PathPackageManager {
 
         if (files != null) {
             // jdir is a directory, enumerated in the array files
+            List<File> jars = new ArrayList<>();
             for (int i = 0; i < files.length; i++) {
                 String entry = files[i];
                 if (entry.endsWith(".jar") || entry.endsWith(".zip")) {
-                    addJarToPackages(new File(jdir, entry), cache);
+                    jars.add(new File(jdir, entry));
                 }
             }
+            addJarsToPackages(jars, cache);
 
             if (saveCache) {
                 saveCache();
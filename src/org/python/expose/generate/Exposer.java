@@ -98,7 +98,7 @@ public abstract class Exposer implements Opcodes, PyTypes {
         for (int i = 0; i < interfaces.length; i++) {
             interfaces[i] = interfacesImplemented[i].getInternalName();
         }
-        cv.visit(V1_5,
+        cv.visit(V1_7,
                  ACC_PUBLIC,
                  getInternalName(),
                  null,
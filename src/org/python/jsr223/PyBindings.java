@@ -0,0 +1,159 @@
+package org.python.jsr223;
+
+import java.util.AbstractMap;
+import java.util.AbstractSet;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+
+import javax.script.Bindings;
+
+import org.python.core.Py;
+import org.python.core.PyObject;
+
+/**
+ * {@link Bindings} that hold Python objects, for use with a {@link PyScriptEngine}, either as the
+ * engine scope ({@code engine.setBindings(new PyBindings(), ScriptContext.ENGINE_SCOPE)}) or given
+ * to {@code eval}. A script reads and writes these bindings as it would a dictionary, without
+ * converting values to and from Java. Values are converted only at the Java side: those
+ * {@link #put(String, Object)} by Java are converted to Python once, as they are stored, and those
+ * read by {@link #get(Object)} are converted to Java as they are read. Values stored by Python code
+ * are therefore read back by Python code as the same objects (where a {@code SimpleBindings} would
+ * give back a {@code str} as {@code unicode}, for example). {@code null} is held as {@code None}.
+ * These bindings may be used by several threads at once.
+ */
+public class PyBindings extends AbstractMap<String, Object> implements Bindings {
+
+    private final ConcurrentMap<String, PyObject> map = new ConcurrentHashMap<>();
+
+    /** Create empty bindings. */
+    public PyBindings() {}
+
+    /**
+     * Create bindings holding the entries of the given map (converted to Python objects).
+     *
+     * @param m entries to hold
+     */
+    public PyBindings(Map<String, ?> m) {
+        putAll(m);
+    }
+
+    private static String checkKey(Object key) {
+        if (key == null) {
+            throw new NullPointerException("key can not be null");
+        } else if (!(key instanceof String)) {
+            throw new ClassCastException("key should be a String");
+        } else if (((String) key).isEmpty()) {
+            throw new IllegalArgumentException("key can not be empty");
+        }
+        return (String) key;
+    }
+
+    private static Object toJava(PyObject value) {
+        return value == null ? null : value.__tojava__(Object.class);
+    }
+
+    /**
+     * Return the Python object bound to the name, or null if there is none.
+     *
+     * @param key name of the binding
+     * @return the value or null
+     */
+    public PyObject getPyObject(String key) {
+        return map.get(checkKey(key));
+    }
+
+    /**
+     * Bind a Python object to the name.
+     *
+     * @param key name of the binding
+     * @param value to bind ({@code null} binds {@code None})
+     * @return the previous value or null
+     */
+    public PyObject putPyObject(String key, PyObject value) {
+        return map.put(checkKey(key), value == null ? Py.None : value);
+    }
+
+    /**
+     * Remove the binding of the name.
+     *
+     * @param key name of the binding
+     * @return the previous value or null
+     */
+    public PyObject removePyObject(String key) {
+        return map.remove(checkKey(key));
+    }
+
+    @Override
+    public Object put(String key, Object value) {
+        return toJava(putPyObject(key, Py.java2py(value)));
+    }
+
+    @Override
+    public Object get(Object key) {
+        return toJava(map.get(checkKey(key)));
+    }
+
+    @Override
+    public boolean containsKey(Object key) {
+        return map.containsKey(checkKey(key));
+    }
+
+    @Override
+    public Object remove(Object key) {
+        return toJava(map.remove(checkKey(key)));
+    }
+
+    @Override
+    public int size() {
+        return map.size();
+    }
+
+    @Override
+    public void clear() {
+        map.clear();
+    }
+
+    /** The names bound, as a view. */
+    @Override
+    public Set<String> keySet() {
+        return map.keySet();
+    }
+
+    /** The bindings, with values converted to Java as they are read. */
+    @Override
+    public Set<Entry<String, Object>> entrySet() {
+        return new AbstractSet<Entry<String, Object>>() {
+
+            @Override
+            public Iterator<Entry<String, Object>> iterator() {
+                final Iterator<Entry<String, PyObject>> it = map.entrySet().iterator();
+                return new Iterator<Entry<String, Object>>() {
+
+                    @Override
+                    public boolean hasNext() {
+                        return it.hasNext();
+                    }
+
+                    @Override
+                    public Entry<String, Object> next() {
+                        Entry<String, PyObject> e = it.next();
+                        return new SimpleEntry<String, Object>(e.getKey(), toJava(e.getValue()));
+                    }
+
+                    @Override
+                    public void remove() {
+                        it.remove();
+                    }
+                };
+            }
+
+            @Override
+            public int size() {
+                return map.size();
+            }
+        };
+    }
+}
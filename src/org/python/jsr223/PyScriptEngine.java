@@ -3,6 +3,8 @@ package org.python.jsr223;
 import java.lang.reflect.Method;
 import org.python.core.*;
 import java.io.Reader;
+import java.io.Writer;
+import java.util.ArrayDeque;
 import java.lang.reflect.InvocationHandler;
 import java.lang.reflect.Proxy;
 import javax.script.AbstractScriptEngine;
@@ -15,29 +17,256 @@ import javax.script.ScriptEngine;
 import javax.script.ScriptEngineFactory;
 import javax.script.ScriptException;
 import javax.script.SimpleBindings;
+import org.python.util.InterpreterPool;
 import org.python.util.PythonInterpreter;
 
-public class PyScriptEngine extends AbstractScriptEngine implements Compilable, Invocable, AutoCloseable {
+/**
+ * The Jython {@link ScriptEngine}. By default, scripts run in one interpreter, with one
+ * {@code sys}, as they always have: each thread has its own namespace (the bindings of the
+ * context it gave), but {@code sys.stdin}, {@code sys.stdout} and {@code sys.argv} are shared, so
+ * threads evaluating scripts at once with different contexts may see each other's streams. An
+ * application may give the engine {@link PyBindings}, which scripts read and write without
+ * converting values to and from Java.
+ * <p>
+ * If {@link Options#scriptEngineInterpreterPool} is set when the engine is made, scripts run
+ * instead in interpreters taken from an {@link InterpreterPool} private to the engine, so that
+ * several threads may evaluate scripts (or call functions and methods defined by them) at once,
+ * each in an interpreter of its own, with the {@code sys.stdin}, {@code sys.stdout} and
+ * {@code sys.argv} of the context it gave. The namespace is still the bindings of the context, so
+ * what one script defines is seen by the next whichever interpreter runs it. But each interpreter
+ * has its own {@code sys}, and so its own {@code sys.modules} and {@code sys.path}: a module a
+ * script imports is loaded (and initialised) once in each interpreter, and changes a script makes
+ * to a module or to {@code sys} are seen only by scripts that happen to run in the same
+ * interpreter. Each interpreter remembers the context it was last prepared for, and is only
+ * prepared again when a different context (or a different reader or writer) is used.
+ * <p>
+ * In either case, a call made into the engine by code the engine is already running on that
+ * thread (a nested {@code eval}, or a method of an interface from {@link #getInterface(Class)})
+ * runs in the same interpreter, which is prepared again for the calling code when it returns.
+ * <p>
+ * Scripts given as strings are compiled once and kept in a {@link ScriptCache}, so that evaluating
+ * the same text again (with the same {@link ScriptEngine#FILENAME}) does not parse and compile it
+ * again. The capacity of the cache is the total length of the scripts it may hold, set by the
+ * attribute {@value #SCRIPT_CACHE_SIZE} of the engine's context (a number, or a string of
+ * digits). If it is zero, scripts are not cached.
+ */
+public class PyScriptEngine extends AbstractScriptEngine
+        implements Compilable, Invocable, AutoCloseable {
 
-    private final PythonInterpreter interp;
+    /**
+     * The attribute of the context of the engine that sets the capacity of its cache of compiled
+     * scripts, in characters of source text.
+     */
+    public static final String SCRIPT_CACHE_SIZE = "python.jsr223.scriptCacheSize";
+
+    /** The capacity of the cache of compiled scripts, if the context does not set it. */
+    public static final long DEFAULT_SCRIPT_CACHE_SIZE = 1 << 20;
+
+    /** The interpreters in which scripts run, or null if they run in {@link #shared}. */
+    private final InterpreterPool pool;
+    /** The interpreter in which scripts run if there is no pool, or null. */
+    private final EngineInterpreter shared;
     private final ScriptEngineFactory factory;
 
+    /** The interpreter in which the engine is running code on this thread, if it is. */
+    private final ThreadLocal<Held> held = new ThreadLocal<>();
+
+    /** The scope last made for a context, for the shared interpreter. */
+    private volatile PyScriptEngineScope sharedScope;
+
+    /** Compiled scripts, or null if there is no cache (yet, or because its capacity is zero). */
+    private volatile ScriptCache scripts;
+
+    /** An interpreter of the pool, and the context for which it was last prepared. */
+    private static class EngineInterpreter extends PythonInterpreter {
+
+        private ScriptContext context;
+        private PyObject scope;
+        private Reader reader;
+        private Writer writer, errorWriter;
+
+        EngineInterpreter(PyObject scope, boolean useThreadLocalState) {
+            super(scope, new PySystemState(), useThreadLocalState);
+            this.scope = scope;
+        }
+
+        /** The flags with which this interpreter compiles, as part of the key of a script. */
+        int compilerFlags() {
+            // Compiling from a Reader sets source_is_utf8, which does not change the code.
+            return cflags.toBits() & ~CompilerFlags.PyCF_SOURCE_IS_UTF8;
+        }
+    }
+
+    /**
+     * The interpreter in which a thread is running code in the engine, the context of the
+     * innermost call, and the contexts of the calls it is nested in.
+     */
+    private static class Held {
+
+        final EngineInterpreter interp;
+        ScriptContext context;
+        final ArrayDeque<ScriptContext> outer = new ArrayDeque<>();
+
+        Held(EngineInterpreter interp, ScriptContext context) {
+            this.interp = interp;
+            this.context = context;
+        }
+    }
+
     PyScriptEngine(ScriptEngineFactory factory) {
         this.factory = factory;
-        interp = PythonInterpreter.threadLocalStateInterpreter(new PyScriptEngineScope(this, context));
-    }
+        // So that the registry has set the options before they are read.
+        PySystemState.initialize();
+        if (Options.scriptEngineInterpreterPool) {
+            shared = null;
+            pool = new InterpreterPool(0, new InterpreterPool.Handler() {
 
-    public Object eval(String script, ScriptContext context) throws ScriptException {
-        return eval(compileScript(script, context), context);
+                @Override
+                public PythonInterpreter create() {
+                    return new EngineInterpreter(
+                            new PyScriptEngineScope(PyScriptEngine.this, context), false);
+                }
+
+                @Override
+                public void reset(PythonInterpreter interp) {
+                    // Each use prepares the interpreter for its context: see prepare().
+                }
+            });
+            // As the engine is made, the engine scope gets __name__ (and site is imported).
+            pool.prestart(1);
+        } else {
+            pool = null;
+            shared = new EngineInterpreter(new PyScriptEngineScope(this, context), true);
+        }
     }
 
-    private Object eval(PyCode code, ScriptContext context) throws ScriptException {
+    /**
+     * Get an interpreter prepared to run code in the given context: the one this thread is already
+     * running code in, if it is, otherwise the shared interpreter or one checked out from the pool.
+     * It must be given back by {@link #release(EngineInterpreter)}.
+     */
+    private EngineInterpreter acquire(ScriptContext context) throws ScriptException {
+        Held h = held.get();
+        if (h != null) {
+            // Called from code this thread is running in the engine: waiting for another
+            // interpreter would deadlock if the pool has no more.
+            h.outer.push(h.context);
+            h.context = context;
+            try {
+                prepare(h.interp, context);
+            } catch (RuntimeException e) {
+                release(h.interp);
+                throw e;
+            }
+            return h.interp;
+        }
+        EngineInterpreter interp;
+        if (pool == null) {
+            interp = shared;
+        } else {
+            try {
+                interp = (EngineInterpreter) pool.acquire();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                ScriptException se = new ScriptException("interrupted waiting for an interpreter");
+                se.initCause(e);
+                throw se;
+            }
+        }
+        held.set(new Held(interp, context));
         try {
+            prepare(interp, context);
+        } catch (RuntimeException e) {
+            release(interp);
+            throw e;
+        }
+        return interp;
+    }
+
+    /**
+     * Give back an interpreter got by {@link #acquire(ScriptContext)}. If the call was nested in
+     * another, the interpreter is prepared again for the context of that call.
+     */
+    private void release(EngineInterpreter interp) {
+        Held h = held.get();
+        if (!h.outer.isEmpty()) {
+            h.context = h.outer.pop();
+            prepare(interp, h.context);
+            return;
+        }
+        held.remove();
+        if (pool != null) {
+            pool.release(interp);
+        }
+    }
+
+    /** Prepare an interpreter to run code in the given context. */
+    private void prepare(EngineInterpreter interp, ScriptContext context) {
+        if (pool == null) {
+            // The locals are the thread's own, but sys is shared: set everything each time.
+            PyScriptEngineScope scope = sharedScope;
+            if (scope == null || scope.getContext() != context) {
+                sharedScope = scope = new PyScriptEngineScope(this, context);
+            }
+            interp.setLocals(scope);
             interp.setIn(context.getReader());
             interp.setOut(context.getWriter());
             interp.setErr(context.getErrorWriter());
-            interp.setLocals(new PyScriptEngineScope(this, context));
+            return;
+        }
+        if (interp.context != context) {
+            interp.context = context;
+            interp.scope = new PyScriptEngineScope(this, context);
+            interp.setLocals(interp.scope);
+            interp.reader = null;
+            interp.writer = interp.errorWriter = null;
+        }
+        Reader reader = context.getReader();
+        if (reader != interp.reader) {
+            interp.setIn(reader);
+            interp.reader = reader;
+        }
+        Writer writer = context.getWriter();
+        if (writer != interp.writer) {
+            interp.setOut(writer);
+            interp.writer = writer;
+        }
+        Writer errorWriter = context.getErrorWriter();
+        if (errorWriter != interp.errorWriter) {
+            interp.setErr(errorWriter);
+            interp.errorWriter = errorWriter;
+        }
+    }
 
+    /**
+     * The pool of interpreters in which this engine runs scripts, or null if it runs them in one
+     * interpreter (see {@link Options#scriptEngineInterpreterPool}).
+     */
+    public InterpreterPool getInterpreterPool() {
+        return pool;
+    }
+
+    public Object eval(String script, ScriptContext context) throws ScriptException {
+        EngineInterpreter interp = acquire(context);
+        try {
+            return eval(interp, compileScript(interp, script, context), context);
+        } finally {
+            release(interp);
+        }
+    }
+
+    private Object eval(PyCode code, ScriptContext context) throws ScriptException {
+        EngineInterpreter interp = acquire(context);
+        try {
+            return eval(interp, code, context);
+        } finally {
+            release(interp);
+        }
+    }
+
+    private Object eval(EngineInterpreter interp, PyCode code, ScriptContext context)
+            throws ScriptException {
+        try {
             // set sys.argv if FILENAME, ARGV attributes are defined
             String filename = (String) context.getAttribute(ScriptEngine.FILENAME);
             String[] argv = (String[]) context.getAttribute(ScriptEngine.ARGV);
@@ -61,7 +290,12 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
     }
 
     public Object eval(Reader reader, ScriptContext context) throws ScriptException {
-        return eval(compileScript(reader, context), context);
+        EngineInterpreter interp = acquire(context);
+        try {
+            return eval(interp, compileScript(interp, reader, context), context);
+        } finally {
+            release(interp);
+        }
     }
 
     public Bindings createBindings() {
@@ -73,28 +307,84 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
     }
 
     public CompiledScript compile(String script) throws ScriptException {
-        return new PyCompiledScript(compileScript(script, context));
+        EngineInterpreter interp = acquire(context);
+        try {
+            return new PyCompiledScript(compileScript(interp, script, context));
+        } finally {
+            release(interp);
+        }
     }
 
     public CompiledScript compile(Reader reader) throws ScriptException {
-        return new PyCompiledScript(compileScript(reader, context));
+        EngineInterpreter interp = acquire(context);
+        try {
+            return new PyCompiledScript(compileScript(interp, reader, context));
+        } finally {
+            release(interp);
+        }
     }
 
-    private PyCode compileScript(String script, ScriptContext context) throws ScriptException {
+    /**
+     * Return the cache of compiled scripts, made again if the capacity set in the context of the
+     * engine has changed, or null if the capacity is zero.
+     */
+    ScriptCache getScriptCache() {
+        long capacity = DEFAULT_SCRIPT_CACHE_SIZE;
+        Object size = context.getAttribute(SCRIPT_CACHE_SIZE);
+        if (size instanceof Number) {
+            capacity = ((Number) size).longValue();
+        } else if (size != null) {
+            try {
+                capacity = Long.parseLong(size.toString().trim());
+            } catch (NumberFormatException e) {
+                // Keep the default.
+            }
+        }
+        ScriptCache cache = scripts;
+        long current = cache == null ? 0 : cache.capacity;
+        if (capacity != current) {
+            synchronized (this) {
+                cache = scripts;
+                if (cache == null ? capacity > 0 : cache.capacity != capacity) {
+                    if (cache != null) {
+                        cache.clear();
+                    }
+                    scripts = cache = capacity > 0 ? new ScriptCache(capacity) : null;
+                }
+            }
+        }
+        return cache;
+    }
+
+    private PyCode compileScript(EngineInterpreter interp, String script, ScriptContext context)
+            throws ScriptException {
         try {
             String filename = (String) context.getAttribute(ScriptEngine.FILENAME);
-            if (filename == null) {
-                return interp.compile(script);
-            } else {
+            if (filename != null) {
                 interp.getLocals().__setitem__(Py.newString("__file__"), Py.newString(filename));
-                return interp.compile(script, filename);
             }
+            ScriptCache cache = getScriptCache();
+            ScriptCache.Key key = null;
+            if (cache != null) {
+                key = new ScriptCache.Key(script, filename, interp.compilerFlags());
+                PyCode code = cache.get(key);
+                if (code != null) {
+                    return code;
+                }
+            }
+            PyCode code = filename == null ? interp.compile(script)
+                    : interp.compile(script, filename);
+            if (cache != null) {
+                cache.put(key, code);
+            }
+            return code;
         } catch (PyException pye) {
             throw scriptException(pye);
         }
     }
 
-    private PyCode compileScript(Reader reader, ScriptContext context) throws ScriptException {
+    private PyCode compileScript(EngineInterpreter interp, Reader reader, ScriptContext context)
+            throws ScriptException {
         try {
             String filename = (String) context.getAttribute(ScriptEngine.FILENAME);
             if (filename == null) {
@@ -110,8 +400,8 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
 
     public Object invokeMethod(Object thiz, String name, Object... args) throws ScriptException,
             NoSuchMethodException {
+        EngineInterpreter interp = acquire(context);
         try {
-            interp.setLocals(new PyScriptEngineScope(this, context));
             if (!(thiz instanceof PyObject)) {
                 thiz = Py.java2py(thiz);
             }
@@ -129,13 +419,15 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
             return result.__tojava__(Object.class);
         } catch (PyException pye) {
             throw scriptException(pye);
+        } finally {
+            release(interp);
         }
     }
 
     public Object invokeFunction(String name, Object... args) throws ScriptException,
             NoSuchMethodException {
+        EngineInterpreter interp = acquire(context);
         try {
-            interp.setLocals(new PyScriptEngineScope(this, context));
             PyObject function = interp.get(name);
             if (function == null) {
                 throw new NoSuchMethodException(name);
@@ -149,11 +441,14 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
             return result.__tojava__(Object.class);
         } catch (PyException pye) {
             throw scriptException(pye);
+        } finally {
+            release(interp);
         }
     }
 
     public <T> T getInterface(Class<T> clazz) {
-        return getInterface(new PyModule("__jsr223__", interp.getLocals()), clazz);
+        return getInterface(new PyModule("__jsr223__", new PyScriptEngineScope(this, context)),
+                clazz);
     }
 
     public <T> T getInterface(Object obj, Class<T> clazz) {
@@ -163,7 +458,6 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
         if (clazz == null || !clazz.isInterface()) {
             throw new IllegalArgumentException("interface expected");
         }
-        interp.setLocals(new PyScriptEngineScope(this, context));
         final PyObject thiz = Py.java2py(obj);
         @SuppressWarnings("unchecked")
         T proxy = (T) Proxy.newProxyInstance(
@@ -171,8 +465,8 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
             new Class[] { clazz },
             new InvocationHandler() {
                 public Object invoke(Object proxy, Method method, Object[] args) throws Throwable {
+                    EngineInterpreter interp = acquire(context);
                     try {
-                        interp.setLocals(new PyScriptEngineScope(PyScriptEngine.this, context));
                         PyObject pyMethod = thiz.__findattr__(method.getName());
                         if (pyMethod == null)
                             throw new NoSuchMethodException(method.getName());
@@ -185,6 +479,8 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
                         return result.__tojava__(Object.class);
                     } catch (PyException pye) {
                         throw scriptException(pye);
+                    } finally {
+                        release(interp);
                     }
                 }
             });
@@ -252,6 +548,10 @@ public class PyScriptEngine extends AbstractScriptEngine implements Compilable,
     }
 
     public void close() {
-        interp.close();
+        if (pool != null) {
+            pool.close();
+        } else {
+            shared.close();
+        }
     }
 }
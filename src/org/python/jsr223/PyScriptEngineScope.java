@@ -3,6 +3,8 @@ package org.python.jsr223;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 import javax.script.Bindings;
 import javax.script.ScriptContext;
@@ -25,6 +27,11 @@ import org.python.expose.ExposedMethod;
  * Instead, SimpleScriptContext provides ENGINE_SCOPE and GLOBAL_SCOPE, each
  * with its own bindings.  We adapt this multi-scope object for use as both
  * a local and global dictionary.
+ * <p>
+ * Where a scope holds {@link PyBindings}, names are read and written as Python objects, without
+ * conversion. For other bindings, the Python object made from each Java value read is remembered,
+ * with the value, and given again while the binding holds the same value, so that a script run
+ * many times does not convert its (unchanged) inputs each time.
  */
 @Untraversable
 @ExposedType(name = "scope", isBaseType = false)
@@ -34,11 +41,34 @@ public final class PyScriptEngineScope extends PyObject {
     private final ScriptContext context;
     private final ScriptEngine engine;
 
+    /** A Java value of a binding, and the Python object made from it. */
+    private static final class Converted {
+
+        final Object value;
+        final PyObject pyValue;
+
+        Converted(Object value, PyObject pyValue) {
+            this.value = value;
+            this.pyValue = pyValue;
+        }
+    }
+
+    /**
+     * The last value read for each name in bindings that are not {@link PyBindings}. The scope may
+     * be the globals of functions called on other threads, so this is concurrent.
+     */
+    private final ConcurrentMap<String, Converted> converted = new ConcurrentHashMap<>();
+
     PyScriptEngineScope(ScriptEngine engine, ScriptContext context) {
         this.context = context;
         this.engine = engine;
     }
 
+    /** The context whose bindings this scope presents. */
+    ScriptContext getContext() {
+        return context;
+    }
+
     @ExposedGet(name = "context")
     public PyObject pyGetContext() {
         return Py.java2py(context);
@@ -80,9 +110,8 @@ public final class PyScriptEngineScope extends PyObject {
 
     @ExposedMethod(defaults = "Py.None")
     final PyObject scope_get(PyObject keyObj, PyObject defaultObj) {
-        String key = keyObj.asString();
-        int scope = context.getAttributesScope(key);
-        return scope == -1 ? defaultObj : Py.java2py(context.getAttribute(key, scope));
+        PyObject value = __finditem__(keyObj.asString());
+        return value == null ? defaultObj : value;
     }
 
     @ExposedMethod
@@ -106,14 +135,10 @@ public final class PyScriptEngineScope extends PyObject {
         String key = keyObj.asString();
         int scope = context.getAttributesScope(key);
         if (scope == -1) {
-            scope = ScriptContext.ENGINE_SCOPE;
-            context.setAttribute(key,
-                                 failObj instanceof PyType
-                                 ? failObj : failObj.__tojava__(Object.class),
-                                 scope);
+            setAttribute(key, failObj, ScriptContext.ENGINE_SCOPE);
             result = failObj;
         } else {
-            result = Py.java2py(context.getAttribute(key, scope));
+            result = getAttribute(key, scope);
         }
         return result;
     }
@@ -130,10 +155,49 @@ public final class PyScriptEngineScope extends PyObject {
 
     @Override
     public PyObject __finditem__(String key) {
+        Bindings bindings = context.getBindings(ScriptContext.ENGINE_SCOPE);
+        if (bindings instanceof PyBindings) {
+            PyObject value = ((PyBindings) bindings).getPyObject(key);
+            if (value != null) {
+                return value;
+            }
+        }
         int scope = context.getAttributesScope(key);
-        if (scope == -1)
+        if (scope == -1) {
+            converted.remove(key);
             return null;
-        return Py.java2py(context.getAttribute(key, scope));
+        }
+        return getAttribute(key, scope);
+    }
+
+    /** Read a binding known to exist in the given scope, as a Python object. */
+    private PyObject getAttribute(String key, int scope) {
+        Bindings bindings = context.getBindings(scope);
+        if (bindings instanceof PyBindings) {
+            PyObject value = ((PyBindings) bindings).getPyObject(key);
+            return value == null ? Py.None : value;
+        }
+        Object value = context.getAttribute(key, scope);
+        Converted last = converted.get(key);
+        if (last != null && last.value == value) {
+            return last.pyValue;
+        }
+        PyObject pyValue = Py.java2py(value);
+        converted.put(key, new Converted(value, pyValue));
+        return pyValue;
+    }
+
+    /** Write a binding in the given scope. */
+    private void setAttribute(String key, PyObject value, int scope) {
+        Bindings bindings = context.getBindings(scope);
+        if (bindings instanceof PyBindings) {
+            ((PyBindings) bindings).putPyObject(key, value);
+            return;
+        }
+        Object javaValue = value instanceof PyType ? value : value.__tojava__(Object.class);
+        context.setAttribute(key, javaValue, scope);
+        // Read back, it is converted from Java (a str becomes unicode, for example).
+        converted.remove(key);
     }
 
     @ExposedMethod
@@ -147,9 +211,7 @@ public final class PyScriptEngineScope extends PyObject {
         int scope = context.getAttributesScope(key);
         if (scope == -1)
             scope = ScriptContext.ENGINE_SCOPE;
-        context.setAttribute(key,
-                             value instanceof PyType ? value : value.__tojava__(Object.class),
-                             scope);
+        setAttribute(key, value, scope);
     }
 
     @ExposedMethod
@@ -164,6 +226,7 @@ public final class PyScriptEngineScope extends PyObject {
         if (scope == -1)
             throw Py.KeyError(key);
         context.removeAttribute(key, scope);
+        converted.remove(key);
     }
 
     private Map<PyObject, PyObject> getMap() {
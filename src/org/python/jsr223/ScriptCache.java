@@ -0,0 +1,190 @@
+package org.python.jsr223;
+
+import java.lang.management.ManagementFactory;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import javax.management.JMException;
+import javax.management.ObjectName;
+
+import org.python.core.PyCode;
+
+import com.google.common.cache.Cache;
+import com.google.common.cache.CacheBuilder;
+import com.google.common.cache.RemovalListener;
+import com.google.common.cache.RemovalNotification;
+import com.google.common.cache.Weigher;
+
+/**
+ * The compiled scripts of a {@link PyScriptEngine}, by source text, file name and compiler flags,
+ * so that an application that evaluates the same script many times (with different bindings)
+ * parses and compiles it only once. The cache holds scripts up to a total length of source text,
+ * discarding those least recently used to make room. Hits, misses and evictions are counted, over
+ * all the caches in the JVM, by a {@link ScriptCacheMXBean}.
+ */
+final class ScriptCache {
+
+    /** The name under which the counters are registered with the platform MBean server. */
+    static final String OBJECT_NAME = "org.python.jsr223:type=ScriptCache";
+
+    private static final Logger logger = Logger.getLogger("org.python.jsr223");
+
+    /** The counters of all the caches. */
+    static final Counters counters = new Counters();
+
+    static {
+        try {
+            ManagementFactory.getPlatformMBeanServer().registerMBean(counters,
+                    new ObjectName(OBJECT_NAME));
+        } catch (JMException | RuntimeException e) {
+            // Perhaps Jython is loaded twice, or JMX is not available: the counters still count.
+            logger.log(Level.FINE, "script cache counters not registered", e);
+        }
+    }
+
+    /** Totals over the caches, as published through JMX. */
+    static final class Counters implements ScriptCacheMXBean {
+
+        final AtomicLong hits = new AtomicLong();
+        final AtomicLong misses = new AtomicLong();
+        final AtomicLong evictions = new AtomicLong();
+        final AtomicLong scripts = new AtomicLong();
+        final AtomicLong characters = new AtomicLong();
+
+        @Override
+        public long getHitCount() {
+            return hits.get();
+        }
+
+        @Override
+        public long getMissCount() {
+            return misses.get();
+        }
+
+        @Override
+        public double getHitRate() {
+            long h = hits.get(), total = h + misses.get();
+            return total == 0 ? 1.0 : (double) h / total;
+        }
+
+        @Override
+        public long getEvictionCount() {
+            return evictions.get();
+        }
+
+        @Override
+        public long getCachedScripts() {
+            return scripts.get();
+        }
+
+        @Override
+        public long getCachedCharacters() {
+            return characters.get();
+        }
+    }
+
+    /** What a compiled script depends on. */
+    static final class Key {
+
+        final String script;
+        final String filename;
+        final int flags;
+
+        Key(String script, String filename, int flags) {
+            this.script = script;
+            this.filename = filename;
+            this.flags = flags;
+        }
+
+        /** The length of the key, as charged against the capacity of the cache. */
+        int length() {
+            return script.length() + (filename == null ? 0 : filename.length());
+        }
+
+        @Override
+        public int hashCode() {
+            // String caches its hash, so this is cheap for a script evaluated repeatedly.
+            return script.hashCode() * 31 + (filename == null ? 0 : filename.hashCode()) + flags;
+        }
+
+        @Override
+        public boolean equals(Object obj) {
+            if (!(obj instanceof Key)) {
+                return false;
+            }
+            Key other = (Key) obj;
+            return flags == other.flags && script.equals(other.script)
+                    && (filename == null ? other.filename == null
+                            : filename.equals(other.filename));
+        }
+    }
+
+    /** The most characters of source the cache may hold. */
+    final long capacity;
+
+    private final Cache<Key, PyCode> cache;
+
+    /**
+     * Create a cache holding scripts up to the given total length.
+     *
+     * @param capacity in characters of source text
+     */
+    ScriptCache(long capacity) {
+        this.capacity = capacity;
+        // One segment, so the capacity is not divided between segments. Reads do not lock, and
+        // writes (compiling a script) are rare once the cache is warm.
+        this.cache = CacheBuilder.newBuilder().concurrencyLevel(1).maximumWeight(capacity)
+                .weigher(new Weigher<Key, PyCode>() {
+
+                    @Override
+                    public int weigh(Key key, PyCode code) {
+                        return key.length();
+                    }
+                }).removalListener(new RemovalListener<Key, PyCode>() {
+
+                    @Override
+                    public void onRemoval(RemovalNotification<Key, PyCode> removal) {
+                        counters.scripts.decrementAndGet();
+                        counters.characters.addAndGet(-removal.getKey().length());
+                        if (removal.wasEvicted()) {
+                            counters.evictions.incrementAndGet();
+                        }
+                    }
+                }).build();
+    }
+
+    /**
+     * Return the compiled script, or null if it is not in the cache.
+     *
+     * @param key of the script
+     * @return the code or null
+     */
+    PyCode get(Key key) {
+        PyCode code = cache.getIfPresent(key);
+        (code == null ? counters.misses : counters.hits).incrementAndGet();
+        return code;
+    }
+
+    /**
+     * Add a compiled script to the cache.
+     *
+     * @param key of the script
+     * @param code compiled from it
+     */
+    void put(Key key, PyCode code) {
+        counters.scripts.incrementAndGet();
+        counters.characters.addAndGet(key.length());
+        cache.put(key, code);
+    }
+
+    /** The number of scripts in the cache. */
+    long size() {
+        return cache.size();
+    }
+
+    /** Discard all the scripts. */
+    void clear() {
+        cache.invalidateAll();
+    }
+}
@@ -0,0 +1,27 @@
+package org.python.jsr223;
+
+/**
+ * Counters of the caches of compiled scripts kept by the Jython script engines in this JVM,
+ * registered with the platform MBean server as {@value ScriptCache#OBJECT_NAME}. The counts are
+ * totals over all engines.
+ */
+public interface ScriptCacheMXBean {
+
+    /** The number of scripts found already compiled. */
+    long getHitCount();
+
+    /** The number of scripts compiled (and then cached) because they were not found. */
+    long getMissCount();
+
+    /** The fraction of look-ups that found a compiled script, or 1.0 if there have been none. */
+    double getHitRate();
+
+    /** The number of compiled scripts discarded to keep within the capacity of a cache. */
+    long getEvictionCount();
+
+    /** The number of compiled scripts cached now. */
+    long getCachedScripts();
+
+    /** The total length (in characters) of the source of the scripts cached now. */
+    long getCachedCharacters();
+}
@@ -8,6 +8,7 @@ import java.io.InputStream;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 
+import org.python.core.DirectoryCache;
 import org.python.core.Py;
 import org.python.core.PyFile;
 import org.python.core.PyList;
@@ -69,6 +70,14 @@ public class _imp {
         return imp.caseok(file, filename);
     }
 
+    /** Whether {@code file} is a file called {@code filename}, by the cache if there is one. */
+    private static boolean isFile(DirectoryCache dirCache, File file, String filename) {
+        if (dirCache != null) {
+            return dirCache.isFile(file.getParentFile(), filename);
+        }
+        return file.isFile() && caseok(file, filename);
+    }
+
     /**
      * This needs to be consolidated with the code in (@see org.python.core.imp).
      *
@@ -92,8 +101,16 @@ public class _imp {
         File sourceFile = new File(dir, sourceName);
         File compiledFile = new File(dir, compiledName);
 
-        boolean pkg = dir.isDirectory() && caseok(dir, name) && (sourceFile.isFile()
-                                                                 || compiledFile.isFile());
+        DirectoryCache dirCache = DirectoryCache.getDefault();
+        boolean pkg;
+        if (dirCache != null) {
+            pkg = (findingPackage ? new File(directoryName).isDirectory()
+                    : dirCache.isDirectory(new File(directoryName), name))
+                    && (dirCache.isFile(dir, sourceName) || dirCache.isFile(dir, compiledName));
+        } else {
+            pkg = dir.isDirectory() && caseok(dir, name) && (sourceFile.isFile()
+                                                             || compiledFile.isFile());
+        }
 
         if(!findingPackage) {
             if(pkg) {
@@ -108,8 +125,8 @@ public class _imp {
             }
         }
 
-        if (sourceFile.isFile() && caseok(sourceFile, sourceName)) {
-            if (!preferSource && compiledFile.isFile() && caseok(compiledFile, compiledName)) {
+        if (isFile(dirCache, sourceFile, sourceName)) {
+            if (!preferSource && isFile(dirCache, compiledFile, compiledName)) {
                 logger.log(Level.FINE, "# trying precompiled {0}", compiledFile.getPath());
                 long pyTime = sourceFile.lastModified();
                 long classTime = compiledFile.lastModified();
@@ -126,7 +143,7 @@ public class _imp {
 
         // If no source, try loading precompiled
         logger.log(Level.FINE, "# trying precompiled {0}", compiledFile.getPath());
-        if (compiledFile.isFile() && caseok(compiledFile, compiledName)) {
+        if (isFile(dirCache, compiledFile, compiledName)) {
             return new ModuleInfo(newFile(compiledFile),
                     new File(displayDirName, compiledName).getPath(),
                                   ".class", "rb", PY_COMPILED);
@@ -330,6 +347,15 @@ public class _imp {
         return false;
     }
 
+    /**
+     * Discard the listings of directories that import keeps when
+     * {@code python.options.importDirectoryCache} is set, so that it finds modules created since
+     * it last looked in a directory the file system cannot watch.
+     */
+    public static void invalidate_caches() {
+        DirectoryCache.invalidateDefault();
+    }
+
     /**
      * Acquires the interpreter's import lock for the current thread.
      *
@@ -1,6 +1,9 @@
 // Copyright (c) Corporation for National Research Initiatives
 package org.python.modules.thread;
 
+import java.util.concurrent.locks.Condition;
+import java.util.concurrent.locks.ReentrantLock;
+
 import org.python.core.PyObject;
 import org.python.core.ContextManager;
 import org.python.core.Py;
@@ -8,42 +11,63 @@ import org.python.core.ThreadState;
 import org.python.core.PyException;
 import org.python.core.Untraversable;
 
+/**
+ * The lock of {@code thread.allocate_lock()}. It waits on a {@code java.util.concurrent} lock
+ * rather than on its monitor, so that a virtual thread waiting for it does not hold (pin) the
+ * platform thread that carries it.
+ */
 @Untraversable
 public class PyLock extends PyObject implements ContextManager {
 
-    private boolean locked = false;
+    private volatile boolean locked = false;
+
+    /** Guards {@link #locked}. */
+    private final ReentrantLock guard = new ReentrantLock();
+
+    /** Signalled when {@link #locked} becomes false. */
+    private final Condition unlocked = guard.newCondition();
 
     public boolean acquire() {
         return acquire(true);
     }
 
-    public synchronized boolean acquire(boolean waitflag) {
-        if (waitflag) {
-            while (locked) {
-                try {
-                    wait();
-                } catch (InterruptedException e) {
-                    System.err.println("Interrupted thread");
+    public boolean acquire(boolean waitflag) {
+        guard.lock();
+        try {
+            if (waitflag) {
+                while (locked) {
+                    try {
+                        unlocked.await();
+                    } catch (InterruptedException e) {
+                        System.err.println("Interrupted thread");
+                    }
                 }
-            }
-            locked = true;
-            return true;
-        } else {
-            if (locked) {
-                return false;
-            } else {
                 locked = true;
                 return true;
+            } else {
+                if (locked) {
+                    return false;
+                } else {
+                    locked = true;
+                    return true;
+                }
             }
+        } finally {
+            guard.unlock();
         }
     }
 
-    public synchronized void release() {
-        if (locked) {
-            locked = false;
-            notifyAll();
-        } else {
-            throw Py.ValueError("lock not acquired");
+    public void release() {
+        guard.lock();
+        try {
+            if (locked) {
+                locked = false;
+                unlocked.signalAll();
+            } else {
+                throw Py.ValueError("lock not acquired");
+            }
+        } finally {
+            guard.unlock();
         }
     }
 
@@ -1,11 +1,15 @@
 // Copyright (c) Corporation for National Research Initiatives
 package org.python.modules.thread;
 
+import org.python.core.AbstractDict;
+import org.python.core.ArgParser;
 import org.python.core.ClassDictInit;
 import org.python.core.FunctionThread;
+import org.python.core.Options;
 import org.python.core.Py;
 import org.python.core.PyException;
 import org.python.core.PyInteger;
+import org.python.core.PyList;
 import org.python.core.PyObject;
 import org.python.core.PyString;
 import org.python.core.PyType;
@@ -31,12 +35,49 @@ public class thread implements ClassDictInit {
 
     public static PyObject error = new PyString("thread.error");
 
+    /**
+     * Start a thread to call the function with the arguments, as
+     * {@link #start_new_thread(PyObject[], String[])} does when given only these.
+     */
     public static void start_new_thread(PyObject func, PyTuple args) {
-        Thread pt = _newFunctionThread(func, args);
+        start_new_thread(new PyObject[] {func, args}, Py.NoKeywords);
+    }
+
+    public static void start_new_thread(PyObject[] args, String[] keywords) {
+        ArgParser ap = new ArgParser("start_new_thread", args, keywords,
+                new String[] {"function", "args", "kwargs", "virtual"}, 2);
+        PyObject func = ap.getPyObject(0);
+        PyObject funcArgs = ap.getPyObject(1);
+        PyObject kwargs = ap.getPyObject(2, null);
+        if (!(funcArgs instanceof PyTuple)) {
+            throw Py.TypeError("2nd arg must be a tuple");
+        }
+        if (kwargs != null && !(kwargs instanceof AbstractDict)) {
+            throw Py.TypeError("optional 3rd arg must be a dictionary");
+        }
+        PyObject[] callArgs = ((PyTuple) funcArgs).getArray();
+        String[] callKeywords = Py.NoKeywords;
+        if (kwargs != null) {
+            // Arrange the keyword arguments as __call__ expects: values after the positional ones.
+            // Take the items at once, so that keys and values agree if the dict is changing.
+            PyList items = ((AbstractDict) kwargs).items();
+            int n = callArgs.length, k = items.size();
+            PyObject[] a = new PyObject[n + k];
+            System.arraycopy(callArgs, 0, a, 0, n);
+            callKeywords = new String[k];
+            for (int i = 0; i < k; i++) {
+                PyObject item = items.pyget(i);
+                callKeywords[i] = item.__getitem__(0).asString();
+                a[n + i] = item.__getitem__(1);
+            }
+            callArgs = a;
+        }
+        Thread pt = newThread(func, callArgs, callKeywords, ap.getPyObject(3, Py.None));
         PyObject currentThread = func.__findattr__("__self__");
         if (currentThread != null) {
             PyObject isDaemon = currentThread.__findattr__("isDaemon");
-            if (isDaemon != null && isDaemon.isCallable()) {
+            // A virtual thread is always a daemon.
+            if (pt instanceof FunctionThread && isDaemon != null && isDaemon.isCallable()) {
                 PyObject po = isDaemon.__call__();
                 pt.setDaemon(po.__nonzero__());
             }
@@ -52,14 +93,40 @@ public class thread implements ClassDictInit {
     /**
      * Initializes a {@link FunctionThread}, using the configured stack_size and
      * registering the thread in the @link {@link #group} of threads spawned by
-     * the thread module.
-     *
-     * Also used from the threading.py module.
+     * the thread module. This is always a platform thread: see
+     * {@link #_newFunctionThread(PyObject, PyTuple, PyObject)} for one that may be virtual.
      */
     public static FunctionThread _newFunctionThread(PyObject func, PyTuple args) {
         return new FunctionThread(func, args.getArray(), stack_size, group);
     }
 
+    /**
+     * Create a thread to call the function, as {@link #_newFunctionThread(PyObject, PyTuple)}
+     * does, or a virtual thread if {@code virtual} is true, or if it is {@code None} and
+     * {@link Options#virtualThreads} is set.
+     *
+     * Also used from the threading.py module.
+     */
+    public static Thread _newFunctionThread(PyObject func, PyTuple args, PyObject virtual) {
+        return newThread(func, args.getArray(), Py.NoKeywords, virtual);
+    }
+
+    /**
+     * Create a thread to call the function: a virtual thread if that is chosen and the JVM
+     * provides them, otherwise a {@link FunctionThread}.
+     */
+    private static Thread newThread(PyObject func, PyObject[] args, String[] keywords,
+            PyObject virtual) {
+        if (virtual == Py.None ? Options.virtualThreads : virtual.__nonzero__()) {
+            Thread thread = FunctionThread.newVirtualThread(func, args, keywords);
+            if (thread != null) {
+                return thread;
+            }
+            Py.writeDebug("thread", "no virtual threads: starting a platform thread");
+        }
+        return new FunctionThread(func, args, keywords, stack_size, group);
+    }
+
     /**
      * Interrupt all running threads spawned by the thread module. This works in conjunction with:
      * {@link org.python.core.PyTableCode#call}, which checks for the interrupted status of the
@@ -67,6 +134,7 @@ public class thread implements ClassDictInit {
      */
     public static void interruptAllThreads() {
         group.interrupt();
+        FunctionThread.interruptVirtualThreads();
     }
 
     public static PyLock allocate_lock() {
@@ -0,0 +1,621 @@
+/* Copyright (c) Jython Developers */
+package org.python.modules.zipimport;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.ByteArrayInputStream;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.File;
+import java.io.FileInputStream;
+import java.io.FilterInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.channels.FileChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.AtomicMoveNotSupportedException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.Enumeration;
+import java.util.List;
+import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+import java.util.zip.CRC32;
+import java.util.zip.DataFormatException;
+import java.util.zip.Inflater;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipFile;
+
+import org.python.core.Options;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyInteger;
+import org.python.core.PyLong;
+import org.python.core.PyObject;
+import org.python.core.PyTuple;
+
+/**
+ * The central directory of a Zip archive, as an index sorted by name, shared by all the
+ * {@link zipimporter}s on the archive (in all interpreters). Look-up is a binary search of the
+ * names, and the Python dictionary of toc entries CPython keeps ({@code zipimporter._files}) is
+ * built only if Python code asks for it.
+ * <p>
+ * Where {@link Options#zipimportMapped} is set (it is not by default), the archive is mapped into memory, and an entry
+ * stored or deflated in it is read directly from the mapping, without a {@code ZipFile}. Otherwise
+ * (and for any entry that cannot be read that way) the index keeps one {@code ZipFile} open on the
+ * archive, rather than opening one for each read. Where {@link Options#zipimportIndexFiles} is
+ * set, the index is saved beside the archive (in {@code <archive>$index}) and read from there,
+ * while the archive is unchanged, by later runs.
+ */
+final class ZipDirectory {
+
+    private static Logger log = Logger.getLogger("org.python.import");
+
+    /** Compression method of an entry stored as it is. */
+    private static final int STORED = ZipEntry.STORED;
+    /** Compression method of an entry compressed by the deflate algorithm. */
+    private static final int DEFLATED = ZipEntry.DEFLATED;
+
+    private static final int LOCSIG = 0x04034b50;
+    private static final int CENSIG = 0x02014b50;
+    private static final int ENDSIG = 0x06054b50;
+    private static final int LOCHDR = 30;
+    private static final int CENHDR = 46;
+    private static final int ENDHDR = 22;
+
+    /** Identifies (and versions) a saved index. */
+    private static final int INDEX_MAGIC = 0x4a7a6930;
+    /** Suffix added to the archive path to name its saved index. */
+    static final String INDEX_SUFFIX = "$index";
+
+    /** The index of each archive by absolute path, as last read. */
+    private static final ConcurrentMap<String, ZipDirectory> directories =
+            new ConcurrentHashMap<>();
+
+    /** The archive. */
+    final File file;
+    /** Length of the archive when indexed. */
+    private final long length;
+    /** Modification time of the archive when indexed. */
+    private final long lastModified;
+
+    /** Names of the entries (with {@code File.separatorChar} as the separator), sorted. */
+    private final String[] names;
+    private final int[] method;
+    private final long[] compressedSize;
+    private final long[] size;
+    private final long[] crc;
+    private final int[] dosTime;
+    private final int[] dosDate;
+    /** Offset of the local header of each entry in the archive, or -1 if not known. */
+    private final long[] offset;
+
+    /** The archive mapped into memory, or null. */
+    private volatile ByteBuffer mapped;
+    /** Open on the archive, for entries not read from {@link #mapped}, or null until needed. */
+    private ZipFile zipFile;
+
+    private ZipDirectory(File file, long length, long lastModified, int n) {
+        this.file = file;
+        this.length = length;
+        this.lastModified = lastModified;
+        names = new String[n];
+        method = new int[n];
+        compressedSize = new long[n];
+        size = new long[n];
+        crc = new long[n];
+        dosTime = new int[n];
+        dosDate = new int[n];
+        offset = new long[n];
+    }
+
+    /**
+     * Return the index of the given archive, reading it if the archive has not been read, or has
+     * changed since.
+     *
+     * @param file the archive
+     * @return its index
+     * @throws IOException if the archive cannot be read
+     */
+    static ZipDirectory get(File file) throws IOException {
+        String key = file.getAbsolutePath();
+        ZipDirectory directory = directories.get(key);
+        if (directory == null) {
+            ZipDirectory fresh = read(file);
+            directory = directories.putIfAbsent(key, fresh);
+            return directory == null ? fresh : directory;
+        } else if (directory.isStale()) {
+            ZipDirectory fresh = read(file);
+            if (directories.replace(key, directory, fresh)) {
+                // Importers still holding the old index read the changed archive afresh.
+                directory.close();
+                return fresh;
+            }
+            // Another thread replaced it first: use that one.
+            return get(file);
+        }
+        return directory;
+    }
+
+    /** Close the {@code ZipFile} kept open on the archive, and drop the mapping, if any. */
+    private synchronized void close() {
+        mapped = null;
+        if (zipFile != null) {
+            try {
+                zipFile.close();
+            } catch (IOException e) {
+                log.log(Level.FINE, "# zipimport: can''t close {0}: {1}", new Object[] {file, e});
+            }
+            zipFile = null;
+        }
+    }
+
+    /** Whether the archive is no longer as it was when indexed. */
+    boolean isStale() {
+        return file.length() != length || file.lastModified() != lastModified;
+    }
+
+    /** The number of entries. */
+    int size() {
+        return names.length;
+    }
+
+    /**
+     * Find the entry of the given name.
+     *
+     * @param name within the archive, using {@code File.separatorChar} as the separator
+     * @return the position of the entry in the index, or -1 if there is none
+     */
+    int find(String name) {
+        int i = Arrays.binarySearch(names, name);
+        return i < 0 ? -1 : i;
+    }
+
+    /** Time of last modification of the entry at position {@code i}, as a DOS time. */
+    int getDosTime(int i) {
+        return dosTime[i];
+    }
+
+    /** Date of last modification of the entry at position {@code i}, as a DOS date. */
+    int getDosDate(int i) {
+        return dosDate[i];
+    }
+
+    /**
+     * Add the toc entries of the archive to a map, as in the dictionary CPython makes (see
+     * {@link zipimporter#files}).
+     *
+     * @param map to fill
+     * @param archive path to the archive, with which to begin each {@code __file__}
+     */
+    private void fill(Map<PyObject, PyObject> map, String archive) {
+        for (int i = 0; i < names.length; i++) {
+            // File names generally expected in the FS encoding at the Python level
+            PyObject __file__ = Py.fileSystemEncode(archive + File.separator + names[i]);
+            PyTuple entry = new PyTuple(__file__, Py.newInteger(method[i]),
+                    new PyLong(compressedSize[i]), new PyLong(size[i]),
+                    Py.newInteger(offset[i] < Integer.MAX_VALUE ? (int) offset[i] : -1),
+                    new PyInteger(dosTime[i]), new PyInteger(dosDate[i]), new PyLong(crc[i]));
+            map.put(Py.newStringOrUnicode(names[i]), entry);
+        }
+    }
+
+    /**
+     * The dictionary of toc entries of an archive, for {@code zipimporter._files} and
+     * {@code zipimport._zip_directory_cache}, filled from the index only when first used. It fills
+     * itself in {@link #getMap()}, through which {@code PyDictionary} makes every read.
+     */
+    static final class Toc extends PyDictionary {
+
+        /** The index from which the entries come. */
+        final ZipDirectory directory;
+        private final String archive;
+        private volatile boolean filled;
+
+        Toc(ZipDirectory directory, String archive) {
+            super(TYPE);
+            this.directory = directory;
+            this.archive = archive;
+        }
+
+        @Override
+        public ConcurrentMap<PyObject, PyObject> getMap() {
+            ConcurrentMap<PyObject, PyObject> map = super.getMap();
+            if (!filled) {
+                synchronized (this) {
+                    if (!filled) {
+                        directory.fill(map, archive);
+                        filled = true;
+                    }
+                }
+            }
+            return map;
+        }
+    }
+
+    /**
+     * Return a stream of the uncompressed data of the entry at position {@code i}. The caller
+     * should close it.
+     *
+     * @param i position of the entry in the index
+     * @return its data
+     * @throws IOException if the entry cannot be read
+     */
+    InputStream open(int i) throws IOException {
+        String name = names[i].replace(File.separatorChar, '/');
+        if (isStale()) {
+            // An importer holds on to this index after the archive changed: read it afresh.
+            final ZipFile zip = new ZipFile(file);
+            ZipEntry entry = zip.getEntry(name);
+            if (entry == null) {
+                zip.close();
+                throw new ZipException("no entry " + name + " in " + file);
+            }
+            return new FilterInputStream(zip.getInputStream(entry)) {
+
+                @Override
+                public void close() throws IOException {
+                    zip.close();
+                }
+            };
+        }
+        ByteBuffer buffer = mapped;
+        if (buffer != null && offset[i] >= 0) {
+            byte[] data = readMapped(buffer, i);
+            if (data != null) {
+                return new ByteArrayInputStream(data);
+            }
+        }
+        ZipFile zip = getZipFile();
+        ZipEntry entry = zip.getEntry(name);
+        if (entry == null) {
+            throw new ZipException("no entry " + name + " in " + file);
+        }
+        return zip.getInputStream(entry);
+    }
+
+    /**
+     * Read the entry at position {@code i} from the mapped archive, or return null if it is not
+     * stored or deflated (or its local header is not where the central directory says).
+     */
+    private byte[] readMapped(ByteBuffer buffer, int i) throws IOException {
+        long csize = compressedSize[i], usize = size[i];
+        if ((method[i] != STORED && method[i] != DEFLATED) || csize >= Integer.MAX_VALUE
+                || usize >= Integer.MAX_VALUE) {
+            return null;
+        }
+        if (method[i] == STORED && csize != usize) {
+            throw new ZipException("invalid entry size " + names[i] + " in " + file);
+        }
+        ByteBuffer b = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int loc = (int) offset[i];
+        if (loc + LOCHDR > b.limit() || b.getInt(loc) != LOCSIG) {
+            return null;
+        }
+        int start = loc + LOCHDR + (b.getShort(loc + 26) & 0xffff) + (b.getShort(loc + 28) & 0xffff);
+        if (start + csize > b.limit()) {
+            return null;
+        }
+        byte[] data;
+        b.position(start);
+        if (method[i] == STORED) {
+            data = new byte[(int) usize];
+            b.get(data);
+        } else {
+            // An extra byte of input is needed by the inflater when it does not expect a header.
+            byte[] input = new byte[(int) csize + 1];
+            b.get(input, 0, (int) csize);
+            data = new byte[(int) usize];
+            Inflater inflater = new Inflater(true);
+            try {
+                inflater.setInput(input);
+                int n = 0;
+                while (n < data.length) {
+                    int k = inflater.inflate(data, n, data.length - n);
+                    if (k == 0 && (inflater.finished() || inflater.needsInput()
+                            || inflater.needsDictionary())) {
+                        break;
+                    }
+                    n += k;
+                }
+                if (n != data.length) {
+                    throw new ZipException("invalid entry size " + names[i] + " in " + file);
+                }
+            } catch (DataFormatException dfe) {
+                throw new ZipException(dfe.getMessage() + ": " + names[i] + " in " + file);
+            } finally {
+                inflater.end();
+            }
+        }
+        CRC32 check = new CRC32();
+        check.update(data);
+        if (check.getValue() != crc[i]) {
+            throw new ZipException("invalid entry CRC " + names[i] + " in " + file);
+        }
+        return data;
+    }
+
+    /** The {@code ZipFile} kept open on the archive, opened the first time it is needed. */
+    private synchronized ZipFile getZipFile() throws IOException {
+        if (zipFile == null) {
+            zipFile = new ZipFile(file);
+        }
+        return zipFile;
+    }
+
+    /** Read the index of an archive, from its saved index if that is allowed and current. */
+    static ZipDirectory read(File file) throws IOException {
+        long length = file.length();
+        long lastModified = file.lastModified();
+        File indexFile = new File(file.getPath() + INDEX_SUFFIX);
+        // A saved index holds names with the separator '/', in the order they sort.
+        boolean useIndexFile = Options.zipimportIndexFiles && File.separatorChar == '/';
+        ZipDirectory directory = null;
+        if (useIndexFile) {
+            directory = load(file, indexFile, length, lastModified);
+        }
+        ByteBuffer buffer = null;
+        if (Options.zipimportMapped || directory == null) {
+            buffer = map(file, length);
+        }
+        if (directory == null) {
+            if (buffer != null) {
+                directory = parse(file, buffer, length, lastModified);
+            }
+            if (directory == null) {
+                directory = enumerate(file, length, lastModified);
+            }
+            if (useIndexFile) {
+                directory.save(indexFile);
+            }
+        }
+        if (Options.zipimportMapped) {
+            directory.mapped = buffer;
+        }
+        log.log(Level.FINE, "# zipimport: found {0} names in {1}",
+                new Object[] {directory.size(), file});
+        return directory;
+    }
+
+    /** Map the archive into memory, or return null if it is too large. */
+    private static ByteBuffer map(File file, long length) throws IOException {
+        if (length >= Integer.MAX_VALUE) {
+            return null;
+        }
+        try (FileChannel channel = FileChannel.open(file.toPath(), StandardOpenOption.READ)) {
+            return channel.map(FileChannel.MapMode.READ_ONLY, 0, length);
+        }
+    }
+
+    /**
+     * Read the index from the central directory of the mapped archive, or return null if the
+     * archive is in a form (Zip64, for example) this does not read, and must be enumerated by a
+     * {@code ZipFile}.
+     */
+    private static ZipDirectory parse(File file, ByteBuffer buffer, long length, long lastModified)
+            throws ZipException {
+        ByteBuffer b = buffer.duplicate().order(ByteOrder.LITTLE_ENDIAN);
+        int end = -1;
+        for (int pos = b.limit() - ENDHDR, min = Math.max(0, pos - 0xffff); pos >= min; pos--) {
+            if (b.getInt(pos) == ENDSIG) {
+                end = pos;
+                break;
+            }
+        }
+        if (end < 0) {
+            throw new ZipException("not a Zip file: " + file);
+        }
+        int total = b.getShort(end + 10) & 0xffff;
+        long cenSize = b.getInt(end + 12) & 0xffffffffL;
+        long cenOffset = b.getInt(end + 16) & 0xffffffffL;
+        if (total == 0xffff || cenSize == 0xffffffffL || cenOffset == 0xffffffffL) {
+            return null; // Zip64
+        }
+        // Bytes before the archive proper (as in a self-extracting archive) move all offsets.
+        long base = end - cenSize - cenOffset;
+        if (base < 0) {
+            throw new ZipException("invalid central directory in " + file);
+        }
+
+        List<Object[]> entries = new ArrayList<>(total);
+        int pos = (int) (base + cenOffset);
+        for (int k = 0; k < total; k++) {
+            if (pos + CENHDR > end || b.getInt(pos) != CENSIG) {
+                throw new ZipException("invalid central directory in " + file);
+            }
+            int nameLength = b.getShort(pos + 28) & 0xffff;
+            if (pos + CENHDR + nameLength > end) {
+                throw new ZipException("invalid central directory in " + file);
+            }
+            long csize = b.getInt(pos + 20) & 0xffffffffL;
+            long usize = b.getInt(pos + 24) & 0xffffffffL;
+            long loc = b.getInt(pos + 42) & 0xffffffffL;
+            if (csize == 0xffffffffL || usize == 0xffffffffL || loc == 0xffffffffL) {
+                return null; // Zip64
+            }
+            byte[] name = new byte[nameLength];
+            b.position(pos + CENHDR);
+            b.get(name);
+            // Like ZipFile, we take the names to be UTF-8, whether or not the flag says so.
+            entries.add(new Object[] {
+                    new String(name, StandardCharsets.UTF_8).replace('/', File.separatorChar),
+                    pos, base + loc});
+            pos += CENHDR + nameLength + (b.getShort(pos + 30) & 0xffff)
+                    + (b.getShort(pos + 32) & 0xffff);
+        }
+
+        Object[][] sorted = sortUnique(entries);
+        ZipDirectory directory = new ZipDirectory(file, length, lastModified, sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            int cen = (Integer) sorted[i][1];
+            int flags = b.getShort(cen + 8) & 0xffff;
+            directory.names[i] = (String) sorted[i][0];
+            // An encrypted entry is left to ZipFile (which will refuse it).
+            directory.method[i] = (flags & 1) == 0 ? b.getShort(cen + 10) & 0xffff : -1;
+            directory.dosTime[i] = b.getShort(cen + 12) & 0xffff;
+            directory.dosDate[i] = b.getShort(cen + 14) & 0xffff;
+            directory.crc[i] = b.getInt(cen + 16) & 0xffffffffL;
+            directory.compressedSize[i] = b.getInt(cen + 20) & 0xffffffffL;
+            directory.size[i] = b.getInt(cen + 24) & 0xffffffffL;
+            directory.offset[i] = (Long) sorted[i][2];
+        }
+        return directory;
+    }
+
+    /** Read the index by enumerating the entries of a {@code ZipFile}. Offsets are not known. */
+    private static ZipDirectory enumerate(File file, long length, long lastModified)
+            throws IOException {
+        List<Object[]> entries = new ArrayList<>();
+        try (ZipFile zip = new ZipFile(file)) {
+            for (Enumeration<? extends ZipEntry> e = zip.entries(); e.hasMoreElements();) {
+                ZipEntry entry = e.nextElement();
+                entries.add(new Object[] {entry.getName().replace('/', File.separatorChar), entry});
+            }
+        }
+        Object[][] sorted = sortUnique(entries);
+        ZipDirectory directory = new ZipDirectory(file, length, lastModified, sorted.length);
+        for (int i = 0; i < sorted.length; i++) {
+            ZipEntry entry = (ZipEntry) sorted[i][1];
+            directory.names[i] = (String) sorted[i][0];
+            directory.method[i] = entry.getMethod();
+            directory.dosTime[i] = epochToDosTime(entry.getTime());
+            directory.dosDate[i] = epochToDosDate(entry.getTime());
+            directory.crc[i] = entry.getCrc();
+            directory.compressedSize[i] = entry.getCompressedSize();
+            directory.size[i] = entry.getSize();
+            directory.offset[i] = -1;
+        }
+        return directory;
+    }
+
+    /**
+     * Sort entries (arrays of which the first element is the name) by name, keeping only the last
+     * of several with the same name, as the dictionary of toc entries would.
+     */
+    private static Object[][] sortUnique(List<Object[]> entries) {
+        Map<String, Object[]> unique = new TreeMap<>();
+        for (Object[] entry : entries) {
+            unique.put((String) entry[0], entry);
+        }
+        return unique.values().toArray(new Object[unique.size()][]);
+    }
+
+    /**
+     * Read a saved index, or return null if there is none, or it does not describe the archive as
+     * it is now.
+     */
+    private static ZipDirectory load(File file, File indexFile, long length, long lastModified) {
+        if (!indexFile.isFile()) {
+            return null;
+        }
+        try (DataInputStream in = new DataInputStream(
+                new BufferedInputStream(new FileInputStream(indexFile), 1 << 16))) {
+            if (in.readInt() != INDEX_MAGIC || in.readLong() != length
+                    || in.readLong() != lastModified) {
+                return null;
+            }
+            int n = in.readInt();
+            ZipDirectory directory = new ZipDirectory(file, length, lastModified, n);
+            for (int i = 0; i < n; i++) {
+                directory.names[i] = in.readUTF();
+                directory.method[i] = in.readInt();
+                directory.dosTime[i] = in.readInt();
+                directory.dosDate[i] = in.readInt();
+                directory.crc[i] = in.readLong();
+                directory.compressedSize[i] = in.readLong();
+                directory.size[i] = in.readLong();
+                directory.offset[i] = in.readLong();
+            }
+            return directory;
+        } catch (IOException ioe) {
+            log.log(Level.FINE, "# zipimport: can''t read {0}: {1}", new Object[] {indexFile, ioe});
+            return null;
+        }
+    }
+
+    /**
+     * Save the index beside the archive, if the directory is writable. The index is written to a
+     * temporary file of a unique name in the same directory and renamed into place, so that
+     * several processes may save the index of one archive at once.
+     */
+    private void save(File indexFile) {
+        Path tmp = null;
+        try {
+            tmp = Files.createTempFile(indexFile.getAbsoluteFile().getParentFile().toPath(),
+                    indexFile.getName(), ".tmp");
+            try (DataOutputStream out = new DataOutputStream(
+                    new BufferedOutputStream(Files.newOutputStream(tmp), 1 << 16))) {
+                out.writeInt(INDEX_MAGIC);
+                out.writeLong(length);
+                out.writeLong(lastModified);
+                out.writeInt(names.length);
+                for (int i = 0; i < names.length; i++) {
+                    out.writeUTF(names[i]);
+                    out.writeInt(method[i]);
+                    out.writeInt(dosTime[i]);
+                    out.writeInt(dosDate[i]);
+                    out.writeLong(crc[i]);
+                    out.writeLong(compressedSize[i]);
+                    out.writeLong(size[i]);
+                    out.writeLong(offset[i]);
+                }
+            }
+            try {
+                Files.move(tmp, indexFile.toPath(), StandardCopyOption.ATOMIC_MOVE);
+            } catch (AtomicMoveNotSupportedException e) {
+                Files.move(tmp, indexFile.toPath(), StandardCopyOption.REPLACE_EXISTING);
+            }
+        } catch (IOException | SecurityException e) {
+            log.log(Level.FINE, "# zipimport: can''t write {0}: {1}", new Object[] {indexFile, e});
+            if (tmp != null) {
+                try {
+                    Files.deleteIfExists(tmp);
+                } catch (IOException | SecurityException ignore) {
+                    // ignore
+                }
+            }
+        }
+    }
+
+    /**
+     * Convert a time in milliseconds since epoch to DOS date format
+     *
+     * @param time in milliseconds, a long value
+     * @return an int, dos style date value
+     */
+    @SuppressWarnings("deprecation")
+    static int epochToDosDate(long time) {
+        // This and the other conversion methods are cut and pasted from
+        // java.util.zip.ZipEntry: hence the use deprecated Date APIs
+        Date d = new Date(time);
+        int year = d.getYear() + 1900;
+        if (year < 1980) {
+            return (1 << 21) | (1 << 16);
+        }
+        return (year - 1980) << 9 | (d.getMonth() + 1) << 5 | d.getDate() << 0;
+    }
+
+    /**
+     * Convert a time in milliseconds since epoch to DOS time format
+     *
+     * @param time in milliseconds, a long value
+     * @return an int, dos style time value
+     */
+    @SuppressWarnings("deprecation")
+    static int epochToDosTime(long time) {
+        Date d = new Date(time);
+        return d.getHours() << 11 | d.getMinutes() << 5 | d.getSeconds() >> 1;
+    }
+}
@@ -5,22 +5,14 @@ import java.io.File;
 import java.io.IOException;
 import java.io.InputStream;
 import java.util.Date;
-import java.util.Enumeration;
 import java.util.logging.Level;
 import java.util.logging.Logger;
-import java.util.zip.ZipEntry;
-import java.util.zip.ZipFile;
 
 import org.python.core.ArgParser;
 import org.python.core.Py;
-import org.python.core.PyDictionary;
-import org.python.core.PyException;
-import org.python.core.PyInteger;
-import org.python.core.PyLong;
 import org.python.core.PyObject;
 import org.python.core.PyString;
 import org.python.core.PySystemState;
-import org.python.core.PyTuple;
 import org.python.core.PyType;
 import org.python.core.PyUnicode;
 import org.python.core.Traverseproc;
@@ -40,7 +32,7 @@ import org.python.expose.ExposedType;
  * @author Philip Jenvey
  */
 @ExposedType(name = "zipimport.zipimporter", base = PyObject.class)
-public class zipimporter extends importer<PyObject> implements Traverseproc {
+public class zipimporter extends importer<Integer> implements Traverseproc {
 
     public static final PyType TYPE = PyType.fromClass(zipimporter.class);
 
@@ -71,6 +63,9 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
     @ExposedGet(name = "_files")
     public PyObject files;
 
+    /** Index of the archive (shared with other importers), in which import looks up names. */
+    private ZipDirectory directory;
+
     /** The PySystemState this zipimporter is associated with */
     private PySystemState sys;
 
@@ -126,9 +121,14 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
         if (archive != null) {
             PyUnicode archivePath = Py.newUnicode(archive);
             files = zipimport._zip_directory_cache.__finditem__(archivePath);
-            if (files == null) {
-                files = readDirectory(archive);
-                zipimport._zip_directory_cache.__setitem__(archivePath, files);
+            if (files instanceof ZipDirectory.Toc) {
+                directory = ((ZipDirectory.Toc) files).directory;
+            } else {
+                directory = readDirectory(archive);
+                if (files == null) {
+                    files = new ZipDirectory.Toc(directory, archive);
+                    zipimport._zip_directory_cache.__setitem__(archivePath, files);
+                }
             }
         } else {
             throw zipimport.ZipImportError("not a Zip file: " + path);
@@ -195,12 +195,12 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
             path = path.substring(len + 1);
         }
 
-        PyObject tocEntry = files.__finditem__(path);
-        if (tocEntry == null) {
+        int entry = directory.find(path);
+        if (entry < 0) {
             throw Py.IOError(path);
         }
 
-        Bundle zipBundle = makeBundle(path, tocEntry);
+        Bundle zipBundle = makeBundle(path, entry);
         byte[] data;
         try {
             data = FileUtil.readBytes(zipBundle.inputStream);
@@ -294,8 +294,7 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
             path += ".py";
         }
 
-        PyObject tocEntry = files.__finditem__(path);
-        return (tocEntry == null) ? null : get_data(path);
+        return directory.find(path) < 0 ? null : get_data(path);
     }
 
     /**
@@ -303,22 +302,14 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
      * file's (uncompressed) data stream in a ZipBundle.
      *
      * @param datapath file's filename inside of the archive
+     * @param entry position of the file in the index of the archive
      * @return a ZipBundle with an InputStream to the file's
      * uncompressed data
      */
     @Override
-    public ZipBundle makeBundle(String datapath, PyObject entry) {
-        datapath = datapath.replace(File.separatorChar, '/');
-        ZipFile zipArchive;
-        try {
-            zipArchive = new ZipFile(new File(sys.getPath(archive)));
-        } catch (IOException ioe) {
-            throw zipimport.ZipImportError("zipimport: can not open file: " + archive);
-        }
-
-        ZipEntry dataEntry = zipArchive.getEntry(datapath);
+    public ZipBundle makeBundle(String datapath, Integer entry) {
         try {
-            return new ZipBundle(zipArchive, zipArchive.getInputStream(dataEntry));
+            return new ZipBundle(directory.open(entry));
         } catch (IOException ioe) {
             log.log(Level.FINE, "zipimporter.getDataStream exception: {0}", ioe.toString());
             throw zipimport.ZipImportError("zipimport: can not open file: " + archive);
@@ -328,106 +319,34 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
     @Override
     protected long getSourceMtime(String path) {
         String sourcePath = path.substring(0, path.length() - 9) + ".py";
-        PyObject sourceTocEntry = files.__finditem__(sourcePath);
-        if (sourceTocEntry == null) {
+        int sourceEntry = directory.find(sourcePath);
+        if (sourceEntry < 0) {
             return -1;
         }
-
-        int time;
-        int date;
-        try {
-            time = sourceTocEntry.__finditem__(5).asInt();
-            date = sourceTocEntry.__finditem__(6).asInt();
-        } catch (PyException pye) {
-            if (!pye.match(Py.TypeError)) {
-                throw pye;
-            }
-            time = -1;
-            date = -1;
-        }
-        return dosTimeToEpoch(time, date);
+        return dosTimeToEpoch(directory.getDosTime(sourceEntry),
+                directory.getDosDate(sourceEntry));
     }
 
     /**
-     * readDirectory(archive) -> files dict (new reference)
+     * readDirectory(archive) -> index of the archive
      *
-     * Given a path to a Zip archive, build a dict, mapping file names
-     * (local to the archive, using SEP as a separator) to toc entries.
+     * Given a path to a Zip archive, return the index that maps file names
+     * (local to the archive, using SEP as a separator) to entries, reading
+     * it if this or another importer has not already done so.
      *
-     * @param archive PyString path to the archive
-     * @return a PyDictionary of tocEntrys
-     * @see #readZipFile(ZipFile, PyObject)
+     * @param archive path to the archive
+     * @return the index of the archive
      */
-    private PyObject readDirectory(String archive) {
+    private ZipDirectory readDirectory(String archive) {
         File file = new File(sys.getPath(archive));
         if (!file.canRead()) {
             throw zipimport.ZipImportError(String.format("can't open Zip file: '%s'", archive));
         }
-
-        ZipFile zipFile;
         try {
-            zipFile = new ZipFile(file);
+            return ZipDirectory.get(file);
         } catch (IOException ioe) {
             throw zipimport.ZipImportError(String.format("can't read Zip file: '%s'", archive));
         }
-
-        PyObject files = new PyDictionary();
-        try {
-            readZipFile(zipFile, files);
-        } finally {
-            try {
-                zipFile.close();
-            } catch (IOException ioe) {
-                throw Py.IOError(ioe);
-            }
-        }
-        return files;
-    }
-
-    /**
-     * Read ZipFile metadata into a dict of toc entries.
-     *
-     * A tocEntry is a tuple:
-     *
-     *     (__file__,     # value to use for __file__, available for all files
-     *     compress,      # compression kind; 0 for uncompressed
-     *     data_size,     # size of compressed data on disk
-     *     file_size,     # size of decompressed data
-     *     file_offset,   # offset of file header from start of archive (or -1 in Jython)
-     *     time,          # mod time of file (in dos format)
-     *     date,          # mod data of file (in dos format)
-     *     crc,           # crc checksum of the data
-     *     )
-     *
-     * Directories can be recognized by the trailing SEP in the name, data_size and
-     * file_offset are 0.
-     *
-     * @param zipFile ZipFile to read
-     * @param files a dict-like PyObject
-     */
-    private void readZipFile(ZipFile zipFile, PyObject files) {
-        for (Enumeration<? extends ZipEntry> zipEntries = zipFile.entries();
-             zipEntries.hasMoreElements();) {
-            ZipEntry zipEntry = zipEntries.nextElement();
-            String name = zipEntry.getName().replace('/', File.separatorChar);
-
-            // File names generally expected in the FS encoding at the Python level
-            PyObject __file__ = Py.fileSystemEncode(archive + File.separator + name);
-            PyObject compress = Py.newInteger(zipEntry.getMethod());
-            PyObject data_size = new PyLong(zipEntry.getCompressedSize());
-            PyObject file_size = new PyLong(zipEntry.getSize());
-            // file_offset is a CPython optimization; it's used to seek directly to the
-            // file when reading it later. Jython doesn't do this nor is the offset
-            // available
-            PyObject file_offset = Py.newInteger(-1);
-            PyObject time = new PyInteger(epochToDosTime(zipEntry.getTime()));
-            PyObject date = new PyInteger(epochToDosDate(zipEntry.getTime()));
-            PyObject crc = new PyLong(zipEntry.getCrc());
-
-            PyTuple entry = new PyTuple(__file__, compress, data_size, file_size, file_offset,
-                                        time, date, crc);
-            files.__setitem__(Py.newStringOrUnicode(name), entry);
-        }
     }
 
     @Override
@@ -451,8 +370,9 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
     }
 
     @Override
-    protected PyObject makeEntry(String fullFilename) {
-        return files.__finditem__(fullFilename);
+    protected Integer makeEntry(String fullFilename) {
+        int entry = directory.find(fullFilename);
+        return entry < 0 ? null : entry;
     }
 
     /**
@@ -470,36 +390,6 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
         return fullname;
     }
 
-    /**
-     * Convert a time in milliseconds since epoch to DOS date format
-     *
-     * @param time in milliseconds, a long value
-     * @return an int, dos style date value
-     */
-    @SuppressWarnings("deprecation")
-    private int epochToDosDate(long time) {
-        // This and the other conversion methods are cut and pasted from
-        // java.util.zip.ZipEntry: hence the use deprecated Date APIs
-        Date d = new Date(time);
-        int year = d.getYear() + 1900;
-        if (year < 1980) {
-            return (1 << 21) | (1 << 16);
-        }
-        return (year - 1980) << 9 | (d.getMonth() + 1) << 5 | d.getDate() << 0;
-    }
-
-    /**
-     * Convert a time in milliseconds since epoch to DOS time format
-     *
-     * @param time in milliseconds, a long value
-     * @return an int, dos style time value
-     */
-    @SuppressWarnings("deprecation")
-    private int epochToDosTime(long time) {
-        Date d = new Date(time);
-        return d.getHours() << 11 | d.getMinutes() << 5 | d.getSeconds() >> 1;
-    }
-
     /**
      * Convert the date/time values found in the Zip archive to a long
      * time (in milliseconds) value.
@@ -536,26 +426,24 @@ public class zipimporter extends importer<PyObject> implements Traverseproc {
     }
 
     /**
-     * ZipBundle is a ZipFile and one of its InputStreams, bundled together so the ZipFile can be
-     * closed when finished with its InputStream.
+     * ZipBundle is the InputStream of an entry in the archive. The ZipFile it may come from is
+     * shared, through the index of the archive, and stays open.
      */
     private class ZipBundle extends Bundle {
-        ZipFile zipFile;
 
-        public ZipBundle(ZipFile zipFile, InputStream inputStream) {
+        public ZipBundle(InputStream inputStream) {
             super(inputStream);
-            this.zipFile = zipFile;
         }
 
         /**
-         * Close the ZipFile; implicitly closes all of its InputStreams.
+         * Close the InputStream.
          *
          * Raises an IOError if a problem occurred.
          */
         @Override
         public void close() {
             try {
-                zipFile.close();
+                inputStream.close();
             } catch (IOException ioe) {
                 throw Py.IOError(ioe);
             }
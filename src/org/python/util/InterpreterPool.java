@@ -0,0 +1,332 @@
+package org.python.util;
+
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.LinkedBlockingDeque;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.logging.Level;
+import java.util.logging.Logger;
+
+import org.python.core.Options;
+import org.python.core.Py;
+import org.python.core.PyModule;
+import org.python.core.PyObject;
+import org.python.core.PySystemState;
+
+/**
+ * A bounded pool of {@link PythonInterpreter}s, each with its own {@link PySystemState}, that
+ * threads check out for the time it takes to run some Python code and then give back. An
+ * interpreter is only ever used by one thread at a time, so any number of threads (up to the size
+ * of the pool) may run Python code at once without their I/O streams, namespace or
+ * {@code sys.argv} getting mixed up, and without setting up a new interpreter for each task.
+ * <p>
+ * The interpreters are made when first needed (or ahead of time by {@link #prestart(int)}) by a
+ * {@link Handler}, which may also warm each up as it is made and reset it whenever it is given
+ * back. A thread that wants an interpreter when all are in use waits for one to be given back.
+ * Typical use is:
+ *
+ * <pre>
+ * PythonInterpreter interp = pool.acquire();
+ * try {
+ *     interp.exec(code);
+ * } finally {
+ *     pool.release(interp);
+ * }
+ * </pre>
+ *
+ * The pool keeps counts of the checkouts, the time spent waiting for an interpreter and the time
+ * interpreters were in use, from which {@link #getUtilization()} tells how busy it has been.
+ */
+public class InterpreterPool implements AutoCloseable {
+
+    private static final Logger logger = Logger.getLogger("org.python.util.InterpreterPool");
+
+    /**
+     * Makes the interpreters of a pool and prepares them for use. The default makes an interpreter
+     * with a new {@link PySystemState}, does nothing to warm it up, and gives it a new, empty
+     * {@code __main__} namespace each time it is given back.
+     */
+    public static class Handler {
+
+        /** Make a new interpreter for the pool. */
+        public PythonInterpreter create() {
+            return new PythonInterpreter(null, new PySystemState());
+        }
+
+        /**
+         * Prepare a newly made interpreter before it is first used, for example by importing the
+         * modules it will need.
+         *
+         * @param interp to warm up
+         */
+        public void warmUp(PythonInterpreter interp) {}
+
+        /**
+         * Restore an interpreter that has been given back to the state the next thread to check it
+         * out should find it in. If this throws, the interpreter is closed and leaves the pool.
+         *
+         * @param interp to reset
+         */
+        public void reset(PythonInterpreter interp) {
+            PyObject locals = Py.newStringMap();
+            interp.getSystemState().modules.__setitem__("__main__",
+                    new PyModule("__main__", locals));
+            interp.setLocals(locals);
+        }
+    }
+
+    private final int maxSize;
+    private final Handler handler;
+
+    /** Permits to hold an interpreter: there are as many as the pool may have interpreters. */
+    private final Semaphore permits;
+
+    /** Interpreters not in use, the most recently given back first. */
+    private final LinkedBlockingDeque<PythonInterpreter> idle = new LinkedBlockingDeque<>();
+
+    /** Interpreters in use, and when each was checked out (from {@link System#nanoTime()}). */
+    private final Map<PythonInterpreter, Long> inUse = new ConcurrentHashMap<>();
+
+    private final AtomicInteger size = new AtomicInteger();
+    private final AtomicLong checkouts = new AtomicLong();
+    private final AtomicLong waitNanos = new AtomicLong();
+    private final AtomicLong maxWaitNanos = new AtomicLong();
+    private final AtomicLong busyNanos = new AtomicLong();
+    private final long startNanos = System.nanoTime();
+
+    private volatile boolean closed;
+
+    /**
+     * Create a pool of at most the given number of interpreters, made and reset by the given
+     * handler.
+     *
+     * @param maxSize the most interpreters the pool may have, or 0 to use
+     *            {@link Options#interpreterPoolSize}
+     * @param handler to make and reset the interpreters
+     */
+    public InterpreterPool(int maxSize, Handler handler) {
+        if (maxSize <= 0) {
+            // So that the registry has set the option before it is read.
+            PySystemState.initialize();
+        }
+        this.maxSize = maxSize > 0 ? maxSize : defaultSize();
+        this.handler = handler;
+        this.permits = new Semaphore(this.maxSize, true);
+    }
+
+    /**
+     * Create a pool of interpreters with the default size and handler.
+     *
+     * @see Options#interpreterPoolSize
+     */
+    public InterpreterPool() {
+        this(0, new Handler());
+    }
+
+    /** The size of a pool when none is given: the option, or else the number of processors. */
+    static int defaultSize() {
+        int n = Options.interpreterPoolSize;
+        return n > 0 ? n : Runtime.getRuntime().availableProcessors();
+    }
+
+    /**
+     * Check out an interpreter, waiting if all are in use. It must be given back by
+     * {@link #release(PythonInterpreter)}.
+     *
+     * @return an interpreter for the exclusive use of the caller
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public PythonInterpreter acquire() throws InterruptedException {
+        long t0 = System.nanoTime();
+        permits.acquire();
+        return checkout(t0);
+    }
+
+    /**
+     * Check out an interpreter, waiting at most the given time if all are in use. If one is
+     * returned, it must be given back by {@link #release(PythonInterpreter)}.
+     *
+     * @param timeout the longest time to wait
+     * @param unit of the timeout
+     * @return an interpreter for the exclusive use of the caller, or null if none became free
+     * @throws InterruptedException if interrupted while waiting
+     */
+    public PythonInterpreter acquire(long timeout, TimeUnit unit) throws InterruptedException {
+        long t0 = System.nanoTime();
+        if (!permits.tryAcquire(timeout, unit)) {
+            return null;
+        }
+        return checkout(t0);
+    }
+
+    /** Take an idle interpreter (or make one), the caller already holding a permit. */
+    private PythonInterpreter checkout(long t0) {
+        PythonInterpreter interp = null;
+        try {
+            if (closed) {
+                throw new IllegalStateException("interpreter pool is closed");
+            }
+            interp = idle.pollFirst();
+            if (interp == null) {
+                interp = make();
+            }
+        } finally {
+            if (interp == null) {
+                permits.release();
+            }
+        }
+        long now = System.nanoTime(), wait = now - t0;
+        waitNanos.addAndGet(wait);
+        long max;
+        while (wait > (max = maxWaitNanos.get()) && !maxWaitNanos.compareAndSet(max, wait)) {}
+        checkouts.incrementAndGet();
+        inUse.put(interp, now);
+        return interp;
+    }
+
+    /** Make and warm up an interpreter. */
+    private PythonInterpreter make() {
+        PythonInterpreter interp = handler.create();
+        try {
+            handler.warmUp(interp);
+        } catch (RuntimeException e) {
+            interp.close();
+            throw e;
+        }
+        size.incrementAndGet();
+        logger.log(Level.FINE, "interpreter pool now has {0} interpreters", size.get());
+        return interp;
+    }
+
+    /**
+     * Give back an interpreter checked out from this pool. It is reset for the next thread to use
+     * it (or, if the pool has been closed, it is closed).
+     *
+     * @param interp checked out by {@link #acquire()}
+     * @throws IllegalArgumentException if the interpreter is not checked out from this pool
+     */
+    public void release(PythonInterpreter interp) {
+        Long t0 = inUse.remove(interp);
+        if (t0 == null) {
+            throw new IllegalArgumentException("interpreter not checked out from this pool");
+        }
+        busyNanos.addAndGet(System.nanoTime() - t0);
+        try {
+            if (!closed) {
+                try {
+                    handler.reset(interp);
+                    idle.addFirst(interp);
+                    // If the pool was closed meanwhile, close() may have missed this interpreter.
+                    if (closed && idle.removeFirstOccurrence(interp)) {
+                        discard(interp);
+                    }
+                    return;
+                } catch (RuntimeException e) {
+                    logger.log(Level.WARNING, "discarding interpreter that could not be reset", e);
+                }
+            }
+            discard(interp);
+        } finally {
+            permits.release();
+        }
+    }
+
+    private void discard(PythonInterpreter interp) {
+        size.decrementAndGet();
+        try {
+            interp.close();
+        } catch (RuntimeException e) {
+            logger.log(Level.FINE, "error closing pooled interpreter", e);
+        }
+    }
+
+    /**
+     * Make interpreters until the pool has at least the given number (or is full), so that the
+     * first threads to want one need not wait while it is made.
+     *
+     * @param count of interpreters the pool should have
+     */
+    public void prestart(int count) {
+        count = Math.min(count, maxSize);
+        while (size.get() < count && permits.tryAcquire()) {
+            try {
+                if (size.get() < count) {
+                    idle.addLast(make());
+                }
+            } finally {
+                permits.release();
+            }
+        }
+    }
+
+    /** The most interpreters the pool may have. */
+    public int getMaxSize() {
+        return maxSize;
+    }
+
+    /** The number of interpreters the pool has now, idle or in use. */
+    public int getSize() {
+        return size.get();
+    }
+
+    /** The number of interpreters checked out now. */
+    public int getActive() {
+        return inUse.size();
+    }
+
+    /** The number of threads waiting for an interpreter now (an estimate). */
+    public int getWaiting() {
+        return permits.getQueueLength();
+    }
+
+    /** The number of times an interpreter has been checked out. */
+    public long getCheckouts() {
+        return checkouts.get();
+    }
+
+    /** The total time threads have spent waiting for an interpreter, in nanoseconds. */
+    public long getWaitNanos() {
+        return waitNanos.get();
+    }
+
+    /** The longest time a thread has waited for an interpreter, in nanoseconds. */
+    public long getMaxWaitNanos() {
+        return maxWaitNanos.get();
+    }
+
+    /**
+     * The fraction of the capacity of the pool used since it was created: the total time
+     * interpreters have been checked out (including those out now), divided by the elapsed time
+     * and the maximum size. A pool near 1.0 is a bottleneck.
+     */
+    public double getUtilization() {
+        long now = System.nanoTime(), busy = busyNanos.get();
+        for (Long t0 : inUse.values()) {
+            busy += now - t0;
+        }
+        long capacity = (now - startNanos) * maxSize;
+        return capacity <= 0 ? 0.0 : Math.min(1.0, (double) busy / capacity);
+    }
+
+    /**
+     * Close the pool: the idle interpreters are closed now, and those in use when they are given
+     * back. No more may be checked out.
+     */
+    @Override
+    public void close() {
+        closed = true;
+        PythonInterpreter interp;
+        while ((interp = idle.pollFirst()) != null) {
+            discard(interp);
+        }
+    }
+
+    @Override
+    public String toString() {
+        return String.format("<InterpreterPool %d/%d active, %d checkouts, %.1f%% utilization>",
+                getActive(), maxSize, getCheckouts(), 100 * getUtilization());
+    }
+}
@@ -1,10 +1,13 @@
 package org.python.util;
 
 import java.io.File;
+import java.util.List;
 import java.util.Properties;
 import java.util.Set;
 
 import org.apache.tools.ant.BuildException;
+import org.apache.tools.ant.Project;
+import org.python.core.Py;
 import org.python.core.PyException;
 import org.python.core.PySystemState;
 import org.python.core.RegistryKey;
@@ -17,6 +20,17 @@ import org.python.modules._py_compile;
  */
 public class JycompileAntTask extends GlobMatchingTask {
 
+    private int parallelism = Runtime.getRuntime().availableProcessors();
+
+    /**
+     * Set the number of threads on which to compile (by default, one for each processor).
+     *
+     * @param parallelism number of threads
+     */
+    public void setParallelism(int parallelism) {
+        this.parallelism = parallelism;
+    }
+
     @Override
     public void process(Set<File> toCompile) throws BuildException {
         if (toCompile.size() == 0) {
@@ -29,23 +43,38 @@ public class JycompileAntTask extends GlobMatchingTask {
         Properties props = new Properties();
         props.setProperty(RegistryKey.PYTHON_CACHEDIR_SKIP, "true");
         PySystemState.initialize(System.getProperties(), props);
-        for (File src : toCompile) {
-            try {
-                String name = _py_compile.getModuleName(src);
-                String compiledFilePath = name.replace('.', '/');
+
+        ParallelCompiler compiler = new ParallelCompiler(parallelism, null, true) {
+
+            @Override
+            protected File compiledFile(File src) {
+                String compiledFilePath = _py_compile.getModuleName(src).replace('.', '/');
                 if (src.getName().endsWith("__init__.py")) {
                     compiledFilePath += "/__init__.py";
                 } else {
                     compiledFilePath += ".py";
                     // so we can apply imp.makeCompiledFilename
                 }
-                File compiled = new File(destDir,
-                        imp.makeCompiledFilename(compiledFilePath));
-                compile(src, compiled, name);
-            } catch (RuntimeException e) {
-                log("Could not compile " + src);
-                throw e;
+                return new File(destDir, imp.makeCompiledFilename(compiledFilePath));
+            }
+
+            @Override
+            protected void compile(File src, File compiled, String moduleName) {
+                JycompileAntTask.this.compile(src, compiled, moduleName);
             }
+        };
+        List<ParallelCompiler.Failure> failures;
+        try {
+            failures = compiler.compileAll(toCompile);
+        } finally {
+            compiler.shutdown();
+        }
+        for (ParallelCompiler.Failure f : failures) {
+            log("Could not compile " + f.source + ": " + f.cause.getMessage(), f.cause,
+                    Project.MSG_ERR);
+        }
+        if (!failures.isEmpty()) {
+            throw failures.get(0).cause;
         }
     }
 
@@ -53,6 +82,8 @@ public class JycompileAntTask extends GlobMatchingTask {
      * Compiles the python file <code>src</code> to bytecode filling in <code>moduleName</code> as
      * its name, and stores it in <code>compiled</code>. This is called by process for every file
      * that's compiled, so subclasses can override this method to affect or track the compilation.
+     * Files are compiled on several threads at once (see {@link #setParallelism(int)}), so such an
+     * override must be thread-safe.
      */
     protected void compile(File src, File compiled, String moduleName) {
         byte[] bytes;
@@ -60,10 +91,12 @@ public class JycompileAntTask extends GlobMatchingTask {
             bytes = imp.compileSource(moduleName, src);
         } catch (PyException pye) {
             pye.printStackTrace();
-            throw new BuildException("Compile failed; see the compiler error output for details.");
+            throw new BuildException("Compile failed: " + Py.formatException(pye.type, pye.value)
+                    .trim(), pye);
         }
         File dir = compiled.getParentFile();
-        if (!dir.exists() && !compiled.getParentFile().mkdirs()) {
+        // Another thread may make the directory between the test and mkdirs.
+        if (!dir.exists() && !compiled.getParentFile().mkdirs() && !dir.isDirectory()) {
             throw new BuildException("Unable to make directory for compiled file: " + compiled);
         }
         imp.cacheCompiledSource(src.getAbsolutePath(), compiled.getAbsolutePath(), bytes);
@@ -0,0 +1,255 @@
+package org.python.util;
+
+import java.io.ByteArrayInputStream;
+import java.io.File;
+import java.io.IOException;
+import java.io.PrintStream;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.Properties;
+import java.util.concurrent.ForkJoinPool;
+import java.util.concurrent.RecursiveAction;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import org.python.core.CodeCache;
+import org.python.core.Py;
+import org.python.core.PyException;
+import org.python.core.PySystemState;
+import org.python.core.RegistryKey;
+import org.python.core.imp;
+import org.python.modules._py_compile;
+
+/**
+ * Compiles Python source files to Java byte code ahead of time, on several threads at once. Each
+ * module is written as a {@code $py.class} file (beside its source by default), or filed in a
+ * {@link CodeCache} that import consults before compiling, or both. Filling a code cache in this
+ * way while building an installation or a container image means that no module need be compiled
+ * when it is first imported, even if the installation is read-only, or the sources have been
+ * copied with new modification times.
+ * <p>
+ * As a command:
+ *
+ * <pre>
+ * java -cp jython.jar org.python.util.ParallelCompiler [-j threads] [--cache dir] [--no-class] [-q] path...
+ * </pre>
+ *
+ * compiles every {@code .py} file in the directories (recursively) and files given. Options
+ * {@code --cache dir} fills a code cache in {@code dir}, {@code --no-class} writes no
+ * {@code $py.class} files, and {@code -j} sets the number of threads (by default, one for each
+ * processor). The exit status is 1 if any file could not be compiled.
+ */
+public class ParallelCompiler {
+
+    /** Files that one task compiles without splitting further. */
+    private static final int CHUNK = 4;
+
+    private final ForkJoinPool pool;
+    private final CodeCache cache;
+    private final boolean writeClass;
+    private final AtomicInteger compiled = new AtomicInteger();
+    private final List<Failure> failures = Collections.synchronizedList(new ArrayList<Failure>());
+
+    /** A file that could not be compiled, and why. */
+    public static class Failure {
+
+        public final File source;
+        public final RuntimeException cause;
+
+        Failure(File source, RuntimeException cause) {
+            this.source = source;
+            this.cause = cause;
+        }
+    }
+
+    /**
+     * Create a compiler.
+     *
+     * @param parallelism number of threads to compile on
+     * @param cache to file compiled modules in, or null
+     * @param writeClass whether to write a {@code $py.class} file for each module
+     */
+    public ParallelCompiler(int parallelism, CodeCache cache, boolean writeClass) {
+        this.pool = new ForkJoinPool(parallelism);
+        this.cache = cache;
+        this.writeClass = writeClass;
+    }
+
+    /**
+     * Compile the source files and wait until all are done. Each is compiled by
+     * {@link #compile(File, File, String)}, possibly on another thread. Failures are collected, not
+     * thrown.
+     *
+     * @param sources to compile
+     * @return the failures (empty if all succeeded)
+     */
+    public List<Failure> compileAll(Collection<File> sources) {
+        pool.invoke(new Batch(new ArrayList<File>(sources), 0, sources.size()));
+        synchronized (failures) {
+            return new ArrayList<Failure>(failures);
+        }
+    }
+
+    /** Release the threads of the compiler. */
+    public void shutdown() {
+        pool.shutdown();
+    }
+
+    /** The number of files compiled successfully so far. */
+    public int getCompiled() {
+        return compiled.get();
+    }
+
+    /** Compiles a slice of the list of files, splitting it between tasks while it is large. */
+    private class Batch extends RecursiveAction {
+
+        private final List<File> sources;
+        private final int start, end;
+
+        Batch(List<File> sources, int start, int end) {
+            this.sources = sources;
+            this.start = start;
+            this.end = end;
+        }
+
+        @Override
+        protected void compute() {
+            if (end - start > CHUNK) {
+                int mid = (start + end) >>> 1;
+                invokeAll(new Batch(sources, start, mid), new Batch(sources, mid, end));
+            } else {
+                for (int i = start; i < end; i++) {
+                    File source = sources.get(i);
+                    try {
+                        compile(source, compiledFile(source), _py_compile.getModuleName(source));
+                        compiled.incrementAndGet();
+                    } catch (RuntimeException e) {
+                        failures.add(new Failure(source, e));
+                    }
+                }
+            }
+        }
+    }
+
+    /**
+     * The file in which to write the compiled form of a source file: by default, the
+     * {@code $py.class} file beside it.
+     *
+     * @param source file
+     * @return compiled file
+     */
+    protected File compiledFile(File source) {
+        return new File(imp.makeCompiledFilename(source.getPath()));
+    }
+
+    /**
+     * Compile the python file {@code source}, filling in {@code moduleName} as its name, and store
+     * it in {@code compiled} and the code cache, as this compiler is configured. This may be called
+     * on several threads at once, so a subclass that overrides it to affect or track the
+     * compilation must be thread-safe.
+     *
+     * @param source file to compile
+     * @param compiled file to write
+     * @param moduleName name of the module
+     */
+    protected void compile(File source, File compiled, String moduleName) {
+        byte[] text;
+        try {
+            text = Files.readAllBytes(source.toPath());
+        } catch (IOException e) {
+            throw Py.IOError(e);
+        }
+        byte[] bytes = imp.compileSource(moduleName, new ByteArrayInputStream(text),
+                source.getPath(), source.lastModified());
+        if (writeClass) {
+            File dir = compiled.getAbsoluteFile().getParentFile();
+            if (!dir.isDirectory() && !dir.mkdirs() && !dir.isDirectory()) {
+                throw new IllegalStateException("Unable to make directory for " + compiled);
+            }
+            if (imp.cacheCompiledSource(source.getPath(), compiled.getPath(), bytes) == null) {
+                throw new IllegalStateException("Unable to write " + compiled);
+            }
+        }
+        if (cache != null) {
+            cache.store(CodeCache.key(moduleName, text), bytes);
+        }
+    }
+
+    /** Add the {@code .py} files in the path (a file or a directory tree) to the list. */
+    private static void findSources(File path, List<File> sources) {
+        if (path.isDirectory()) {
+            File[] files = path.listFiles();
+            if (files != null) {
+                for (File f : files) {
+                    findSources(f, sources);
+                }
+            }
+        } else if (path.getName().endsWith(".py")) {
+            sources.add(path);
+        }
+    }
+
+    private static void usage(PrintStream out) {
+        out.println("usage: ParallelCompiler [-j threads] [--cache dir] [--no-class] [-q] path...");
+    }
+
+    public static void main(String[] args) {
+        int parallelism = Runtime.getRuntime().availableProcessors();
+        CodeCache cache = null;
+        boolean writeClass = true, quiet = false;
+        List<File> sources = new ArrayList<File>();
+
+        try {
+            for (int i = 0; i < args.length; i++) {
+                String arg = args[i];
+                if (arg.equals("-j")) {
+                    parallelism = Integer.parseInt(args[++i]);
+                } else if (arg.equals("--cache")) {
+                    cache = new CodeCache(new File(args[++i]));
+                } else if (arg.equals("--no-class")) {
+                    writeClass = false;
+                } else if (arg.equals("-q")) {
+                    quiet = true;
+                } else if (arg.startsWith("-")) {
+                    throw new IllegalArgumentException(arg);
+                } else {
+                    findSources(new File(arg), sources);
+                }
+            }
+            if (parallelism < 1 || (cache == null && !writeClass)) {
+                throw new IllegalArgumentException();
+            }
+        } catch (RuntimeException e) {
+            usage(System.err);
+            System.exit(2);
+        }
+
+        Properties props = new Properties();
+        props.setProperty(RegistryKey.PYTHON_CACHEDIR_SKIP, "true");
+        PySystemState.initialize(System.getProperties(), props);
+
+        long start = System.nanoTime();
+        ParallelCompiler compiler = new ParallelCompiler(parallelism, cache, writeClass);
+        List<Failure> failures = compiler.compileAll(sources);
+        compiler.shutdown();
+
+        for (Failure f : failures) {
+            System.err.println("Could not compile " + f.source + ": " + describe(f.cause));
+        }
+        if (!quiet) {
+            System.out.printf("Compiled %d of %d files on %d threads in %.1fs%n",
+                    compiler.getCompiled(), sources.size(), parallelism,
+                    (System.nanoTime() - start) * 1e-9);
+        }
+        System.exit(failures.isEmpty() ? 0 : 1);
+    }
+
+    private static String describe(RuntimeException e) {
+        if (e instanceof PyException) {
+            return ((PyException) e).value.toString();
+        }
+        return e.toString();
+    }
+}
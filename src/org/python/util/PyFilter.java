@@ -105,21 +105,28 @@ public class PyFilter implements Filter {
     }
 
     private Filter getFilter() throws ServletException, IOException {
-        if (cached == null || source.lastModified() > loadedMtime) {
+        Filter filter = cached;
+        if (filter == null || source.lastModified() > loadedMtime) {
             return loadFilter();
         }
-        return cached;
+        return filter;
     }
 
-    private Filter loadFilter() throws ServletException, IOException {
-        loadedMtime = source.lastModified();
-        cached = PyServlet.createInstance(interp, source, Filter.class);
+    private synchronized Filter loadFilter() throws ServletException, IOException {
+        long mtime = source.lastModified();
+        if (cached != null && mtime <= loadedMtime) {
+            // Loaded by another thread while this one waited.
+            return cached;
+        }
+        Filter filter = PyServlet.createInstance(interp, source, Filter.class);
         try {
-            cached.init(config);
+            filter.init(config);
         } catch (PyException e) {
             throw new ServletException(e);
         }
-        return cached;
+        loadedMtime = mtime;
+        cached = filter;
+        return filter;
     }
 
     public void destroy() {
@@ -137,7 +144,7 @@ public class PyFilter implements Filter {
 
     private File source;
 
-    private Filter cached;
+    private volatile Filter cached;
 
-    private long loadedMtime;
+    private volatile long loadedMtime;
 }
@@ -3,8 +3,9 @@ package org.python.util;
 import java.io.File;
 import java.io.IOException;
 import java.util.Enumeration;
-import java.util.Map;
 import java.util.Properties;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.logging.Level;
 import java.util.logging.Logger;
 import java.util.regex.Matcher;
@@ -62,6 +63,18 @@ import org.python.core.PySystemState;
  *     </servlet-mapping>
  * </web-app>
  * }</pre>
+ *
+ * Servlets are loaded in an interpreter of the {@code PyServlet}'s own, one at a time; those
+ * already loaded are served without waiting for a load. {@link #reset()} replaces the interpreter,
+ * so that modules the servlets import are loaded again.
+ * <p>
+ * If the init parameter {@value #POOL_NAME} is {@code true}, servlets are instead loaded in
+ * interpreters taken from an {@link InterpreterPool} of the {@code PyServlet}'s own, so that
+ * several may be loaded at once. Each interpreter in the pool has its own {@code sys}, and so its
+ * own {@code sys.modules}: servlets loaded in different interpreters do not share the modules they
+ * import, and a module imported by several is loaded (and initialised) once in each interpreter.
+ * The pool has at most {@link org.python.core.Options#interpreterPoolSize} interpreters.
+ * {@link #reset()} closes it and makes a new one.
  */
 public class PyServlet extends HttpServlet {
 
@@ -71,6 +84,9 @@ public class PyServlet extends HttpServlet {
 
     protected static final String INIT_ATTR = "__jython_initialized__";
 
+    /** The init parameter that, if {@code true}, loads servlets in a pool of interpreters. */
+    public static final String POOL_NAME = "use_interpreter_pool";
+
     @Override
     public void init() {
         logger.log(Level.INFO, "Jython {0} servlet {1}",
@@ -143,6 +159,23 @@ public class PyServlet extends HttpServlet {
         return interp;
     }
 
+    /**
+     * Make a pool of interpreters in which to load servlets, each made by
+     * {@link #createInterpreter(ServletContext)}.
+     *
+     * @param context of the servlets
+     * @return a new pool
+     */
+    protected static InterpreterPool createInterpreterPool(final ServletContext context) {
+        return new InterpreterPool(0, new InterpreterPool.Handler() {
+
+            @Override
+            public PythonInterpreter create() {
+                return createInterpreter(context);
+            }
+        });
+    }
+
     protected static String getRootPath(ServletContext context) {
         String rootPath = context.getRealPath("/");
         if (!rootPath.endsWith(File.separator)) {
@@ -170,45 +203,92 @@ public class PyServlet extends HttpServlet {
     }
 
     @Override
-    public void destroy() {
+    public synchronized void destroy() {
         super.destroy();
         destroyCache();
+        if (pool != null) {
+            pool.close();
+        }
     }
 
     /**
-     * Clears the cache of loaded servlets and makes a new PythonInterpreter to service further
-     * requests.
+     * Clears the cache of loaded servlets and makes a new PythonInterpreter (or, if
+     * {@value #POOL_NAME} is set, a new pool of them) to service further requests.
      */
-    public void reset() {
+    public synchronized void reset() {
         destroyCache();
-        interp = createInterpreter(getServletContext());
+        if (Boolean.parseBoolean(getInitParameter(POOL_NAME))) {
+            if (pool != null) {
+                pool.close();
+            }
+            pool = createInterpreterPool(getServletContext());
+        } else {
+            interp = createInterpreter(getServletContext());
+        }
     }
 
-    private synchronized HttpServlet getServlet(String path)
-        throws ServletException, IOException
-    {
+    private HttpServlet getServlet(String path) throws ServletException, IOException {
         CacheEntry entry = cache.get(path);
-        if (entry == null || new File(path).lastModified() > entry.date) {
-            return loadServlet(path);
+        if (entry != null && new File(path).lastModified() <= entry.date) {
+            return entry.servlet;
+        }
+        // Load it once, however many requests for it arrive meanwhile. Loads share the one
+        // interpreter, and so are serialized, unless there is a pool.
+        Object lock = this;
+        if (pool != null) {
+            lock = new Object();
+            Object existing = loading.putIfAbsent(path, lock);
+            if (existing != null) {
+                lock = existing;
+            }
+        }
+        synchronized (lock) {
+            entry = cache.get(path);
+            if (entry == null || new File(path).lastModified() > entry.date) {
+                return loadServlet(path);
+            }
+            return entry.servlet;
         }
-        return entry.servlet;
     }
 
     private HttpServlet loadServlet(String path)
         throws ServletException, IOException
     {
         File file = new File(path);
+        long date = file.lastModified();
 
-        HttpServlet servlet = createInstance(interp, file, HttpServlet.class);
+        InterpreterPool pool = this.pool;
+        HttpServlet servlet = pool != null ? createInstance(pool, file, HttpServlet.class)
+                : createInstance(interp, file, HttpServlet.class);
         try {
             servlet.init(getServletConfig());
         } catch (PyException e) {
             throw new ServletException(e);
         }
-        cache.put(path, new CacheEntry(servlet, file.lastModified()));
+        cache.put(path, new CacheEntry(servlet, date));
         return servlet;
     }
 
+    /**
+     * Create an instance of the class (or call the function) named as the file, defined by running
+     * the file in an interpreter checked out from the pool.
+     */
+    protected static <T> T createInstance(InterpreterPool pool, File file, Class<T> type)
+            throws ServletException {
+        PythonInterpreter interp;
+        try {
+            interp = pool.acquire();
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            throw new ServletException("interrupted waiting for an interpreter", e);
+        }
+        try {
+            return createInstance(interp, file, type);
+        } finally {
+            pool.release(interp);
+        }
+    }
+
     protected static <T> T createInstance(PythonInterpreter interp, File file, Class<T> type)
             throws ServletException {
         Matcher m = FIND_NAME.matcher(file.getName());
@@ -258,6 +338,10 @@ public class PyServlet extends HttpServlet {
 
     private static final Pattern FIND_NAME = Pattern.compile("([^/]+)\\.py$");
 
-    private PythonInterpreter interp;
-    private Map<String, CacheEntry> cache = Generic.map();
+    private volatile PythonInterpreter interp;
+    /** The interpreters in which servlets are loaded if {@value #POOL_NAME} is set, or null. */
+    private volatile InterpreterPool pool;
+    private final ConcurrentMap<String, CacheEntry> cache = new ConcurrentHashMap<>();
+    /** A lock for each path, held while its servlet is loaded. */
+    private final ConcurrentMap<String, Object> loading = new ConcurrentHashMap<>();
 }
\ No newline at end of file
@@ -351,6 +351,13 @@ setting JYTHON_HOME.""".format(self.jython_home))
             args.append(u"-Xbootclasspath/a:%s" % self.convert_path(self.make_classpath(jython_jars)))
         else:
             classpath = self.make_classpath(jython_jars) + self.classpath_delimiter + classpath
+            # Class data sharing: write the archive at exit if absent, else start from it
+            cds = get_env("JYTHON_CDS", "")
+            if cds and os.path.exists(cds):
+                args.append(u"-XX:SharedArchiveFile=%s" % self.convert_path(cds))
+            elif cds:
+                args.extend([u"-XX:ArchiveClassesAtExit=%s" % self.convert_path(cds),
+                             u"-Xlog:cds*=off"])
         args.extend([u"-classpath", self.convert_path(classpath)])
 
         if "python.home" not in self.args.properties:
@@ -412,6 +419,7 @@ JAVA_OPTS  : options to pass directly to Java
 JAVA_HOME  : Java installation directory
 JYTHON_HOME: Jython installation directory
 JYTHON_OPTS: default command line arguments
+JYTHON_CDS : class data sharing archive (Java 13 on), written at exit if absent
 """
 
 def support_java_opts(args):
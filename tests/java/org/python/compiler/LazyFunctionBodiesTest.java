@@ -0,0 +1,154 @@
+package org.python.compiler;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.python.core.BytecodeNotification;
+import org.python.core.Options;
+import org.python.core.PyException;
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests that code compiled with {@link Options#lazyFunctionBodies} behaves as without it, and
+ * defines the class holding the body of a function only when the function is first called.
+ */
+public class LazyFunctionBodiesTest extends TestCase {
+
+    private PythonInterpreter interp;
+    private boolean savedOption;
+    private final List<String> defined = Collections.synchronizedList(new ArrayList<String>());
+    private final BytecodeNotification.Callback callback = new BytecodeNotification.Callback() {
+
+        @Override
+        public void notify(String name, byte[] bytes, Class c) {
+            defined.add(name);
+        }
+    };
+
+    @Override
+    protected void setUp() throws Exception {
+        savedOption = Options.lazyFunctionBodies;
+        Options.lazyFunctionBodies = true;
+        interp = new PythonInterpreter();
+        BytecodeNotification.register(callback);
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        BytecodeNotification.unregister(callback);
+        Options.lazyFunctionBodies = savedOption;
+        interp.close();
+    }
+
+    private void assertResult(String expected, String actual) {
+        assertEquals(interp.eval(expected), interp.eval(actual));
+    }
+
+    private int countBodies(String function) {
+        int n = 0;
+        synchronized (defined) {
+            for (String name : defined) {
+                if (name.contains("$" + function + "$")) {
+                    n++;
+                }
+            }
+        }
+        return n;
+    }
+
+    public void testDefinedOnFirstCall() {
+        interp.exec("def used(x):\n" + //
+                "    return x + 1\n" + //
+                "def unused(x):\n" + //
+                "    return x - 1\n");
+        assertEquals(0, countBodies("used"));
+        assertResult("3", "used(2)");
+        assertResult("4", "used(3)");
+        assertEquals(1, countBodies("used"));
+        assertEquals(0, countBodies("unused"));
+    }
+
+    public void testClosuresAndGenerators() {
+        interp.exec("def adder(n):\n" + //
+                "    def add(x):\n" + //
+                "        return x + n\n" + //
+                "    return add\n" + //
+                "def gen(n):\n" + //
+                "    for i in range(n):\n" + //
+                "        yield i * i\n" + //
+                "squares = lambda n: [x * x for x in range(n)]\n");
+        assertResult("7", "adder(3)(4)");
+        assertResult("[0, 1, 4, 9]", "list(gen(4))");
+        assertResult("[0, 1, 4]", "squares(3)");
+        assertResult("30", "sum(x for x in gen(5))");
+    }
+
+    public void testMethodsAndRecursion() {
+        interp.exec("class C(object):\n" + //
+                "    K = 10\n" + //
+                "    def __init__(self, v):\n" + //
+                "        self.v = v\n" + //
+                "    def fact(self, n=None):\n" + //
+                "        n = self.v if n is None else n\n" + //
+                "        return 1 if n <= 1 else n * self.fact(n - 1)\n");
+        assertResult("120", "C(5).fact()");
+        assertResult("10", "C.K");
+        assertEquals(1, countBodies("fact"));
+    }
+
+    /** The body of a class defined in a function belongs in the module class. */
+    public void testClassInFunction() {
+        interp.exec("def make():\n" + //
+                "    class K(object):\n" + //
+                "        v = 42\n" + //
+                "    return K.v\n");
+        assertResult("42", "make()");
+    }
+
+    /** A method of a class defined in a function has a body of its own, and sees the closure. */
+    public void testMethodOfClassInFunction() {
+        interp.exec("def make(n):\n" + //
+                "    class K(object):\n" + //
+                "        def m(self, x):\n" + //
+                "            return x * n\n" + //
+                "    return K\n");
+        assertResult("21", "make(3)().m(7)");
+        assertResult("10", "make(5)().m(2)");
+        assertEquals(1, countBodies("m"));
+    }
+
+    /** A large literal is built by setter methods, which belong in the class of the body. */
+    public void testLargeLiteral() {
+        StringBuilder src = new StringBuilder("def big():\n    return [");
+        for (int i = 0; i < 300; i++) {
+            src.append(i).append(", ");
+        }
+        src.append("]\n");
+        interp.exec(src.toString());
+        assertResult("sum(range(300))", "sum(big())");
+    }
+
+    public void testTraceback() {
+        interp.exec("def fail():\n" + //
+                "    x = 1\n" + //
+                "    raise ValueError('lazy')\n");
+        interp.exec("import sys\n" + //
+                "try:\n" + //
+                "    fail()\n" + //
+                "except ValueError:\n" + //
+                "    tb = sys.exc_info()[2]\n" + //
+                "    while tb.tb_next:\n" + //
+                "        tb = tb.tb_next\n" + //
+                "    line = tb.tb_lineno, tb.tb_frame.f_code.co_name\n");
+        assertResult("(3, 'fail')", "line");
+        try {
+            interp.exec("fail()");
+            fail();
+        } catch (PyException e) {
+            assertTrue(e.toString().contains("lazy"));
+        }
+    }
+}
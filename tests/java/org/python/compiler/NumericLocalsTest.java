@@ -0,0 +1,109 @@
+package org.python.compiler;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests that the primitive arithmetic the compiler emits for expressions described by
+ * {@link NumericLocals} gives the same results as the generic operations, including where it must
+ * fall back to them.
+ */
+public class NumericLocalsTest extends TestCase {
+
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        interp = new PythonInterpreter();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        interp.close();
+    }
+
+    private void assertResult(String expected, String actual) {
+        assertEquals(interp.eval(expected), interp.eval(actual));
+    }
+
+    public void testIntLoop() {
+        interp.exec("def f(n):\n" + //
+                "    total = 0\n" + //
+                "    i = 0\n" + //
+                "    while i < n:\n" + //
+                "        total += i * i - 3\n" + //
+                "        i += 1\n" + //
+                "    return total\n");
+        assertResult("255", "f(10)");
+        assertResult("333328333050000L", "f(100000)");
+    }
+
+    /** Results and intermediates that do not fit an int give a long, as without the fast path. */
+    public void testIntOverflow() {
+        interp.exec("def f(x):\n" + //
+                "    y = x + 1\n" + //
+                "    z = x * x - x\n" + //
+                "    return y, z, type(y).__name__\n");
+        assertResult("(2147483648L, 4611686011984936962L, 'long')", "f(2147483647)");
+        assertResult("(3, 2, 'int')", "f(2)");
+    }
+
+    public void testFloat() {
+        interp.exec("def f(n):\n" + //
+                "    x = 0.5\n" + //
+                "    acc = 0.0\n" + //
+                "    for i in range(n):\n" + //
+                "        acc = acc * 0.5 + x\n" + //
+                "        x += 1.0\n" + //
+                "    return acc\n");
+        assertResult("7.09375", "f(5)");
+    }
+
+    /** Comparisons with NaN are false, except for !=. */
+    public void testNaN() {
+        interp.exec("def f():\n" + //
+                "    n = float('nan')\n" + //
+                "    one = 1.0\n" + //
+                "    return (n < one, n <= one, n > one, n >= one, n == n, n != n, one < n)\n");
+        assertResult("(False, False, False, False, False, True, False)", "f()");
+    }
+
+    /** Operands of other types (including subclasses of int) take the generic path. */
+    public void testOtherTypes() {
+        interp.exec("class I(int):\n" + //
+                "    def __add__(self, other): return 'I+'\n" + //
+                "def f(a):\n" + //
+                "    b = a + 1\n" + //
+                "    a += 1\n" + //
+                "    return b, a\n");
+        assertResult("(3, 3)", "f(2)");
+        assertResult("(2.5, 2.5)", "f(1.5)");
+        assertResult("(2, 2)", "f(True)");
+        assertResult("('I+', 'I+')", "f(I(1))");
+        assertResult("(2L, 2L)", "f(1L)");
+    }
+
+    /** Augmented assignment still works in place on mutable objects. */
+    public void testInPlace() {
+        interp.exec("def f(a):\n" + //
+                "    b = 0\n" + //
+                "    a += [b + 1]\n" + //
+                "    return a\n" + //
+                "l = [0]\n" + //
+                "r = f(l) is l\n");
+        assertResult("True", "r");
+        assertResult("[0, 1]", "l");
+    }
+
+    public void testUnboundLocal() {
+        interp.exec("def f():\n" + //
+                "    if False:\n" + //
+                "        q = 1\n" + //
+                "    try:\n" + //
+                "        return q + 1\n" + //
+                "    except UnboundLocalError:\n" + //
+                "        return 'unbound'\n");
+        assertResult("'unbound'", "f()");
+    }
+}
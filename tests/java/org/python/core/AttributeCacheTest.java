@@ -0,0 +1,156 @@
+package org.python.core;
+
+import java.lang.ref.WeakReference;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests that attribute look-ups through an {@link AttributeCache} (which compiled code uses for
+ * {@code obj.name} when {@link Options#attributeCaches} is set) give the same results as the
+ * generic look-up, as the type or the instance changes.
+ */
+public class AttributeCacheTest extends TestCase {
+
+    private boolean savedOption;
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        // Create the interpreter first, as initialisation sets the options from the registry.
+        interp = new PythonInterpreter();
+        savedOption = Options.attributeCaches;
+        Options.attributeCaches = true;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.attributeCaches = savedOption;
+        interp.close();
+    }
+
+    private void assertResult(String expected, String actual) {
+        assertEquals(interp.eval(expected), interp.eval(actual));
+    }
+
+    /** Instance attributes, methods and changes to the class are all seen through one site. */
+    public void testSite() {
+        interp.exec("class C(object):\n" + //
+                "    def m(self): return 'm'\n" + //
+                "def f(o): return o.m()\n" + //
+                "c = C()\n" + //
+                "r = [f(c), f(c)]\n" + //
+                "C.m = lambda self: 'n'\n" + //
+                "r.append(f(c))\n" + //
+                "c.m = lambda: 'i'\n" + //
+                "r.append(f(c))\n" + //
+                "del c.m\n" + //
+                "del C.m\n" + //
+                "try:\n" + //
+                "    f(c)\n" + //
+                "except AttributeError:\n" + //
+                "    r.append('AttributeError')\n");
+        assertResult("['m', 'm', 'n', 'i', 'AttributeError']", "r");
+    }
+
+    /** Data descriptors take precedence over the instance dictionary; others do not. */
+    public void testDescriptors() {
+        interp.exec("class C(object):\n" + //
+                "    p = property(lambda self: 'p')\n" + //
+                "    v = 'class'\n" + //
+                "def f(o): return o.p, o.v\n" + //
+                "c = C()\n" + //
+                "c.__dict__['p'] = 'instance'\n" + //
+                "c.v = 'instance'\n" + //
+                "r = [f(c), f(C())]\n");
+        assertResult("[('p', 'instance'), ('p', 'class')]", "r");
+    }
+
+    /** A site seeing objects of several types gives the right answer for each. */
+    public void testPolymorphic() {
+        interp.exec("class A(object): x = 'A'\n" + //
+                "class B(object): x = 'B'\n" + //
+                "class D(dict): x = 'D'\n" + //
+                "def f(o): return o.x\n" + //
+                "r = [f(o) for o in [A(), B(), D(), A(), D()] * 30]\n");
+        assertResult("['A', 'B', 'D', 'A', 'D'] * 30", "r");
+    }
+
+    /** __getattr__ is called when the attribute is not found, or its descriptor raises. */
+    public void testGetattr() {
+        interp.exec("class C(object):\n" + //
+                "    calls = 0\n" + //
+                "    @property\n" + //
+                "    def broken(self): raise AttributeError('broken')\n" + //
+                "    def __getattr__(self, name):\n" + //
+                "        C.calls += 1\n" + //
+                "        return 'getattr ' + name\n" + //
+                "def f(o): return o.missing, o.broken\n" + //
+                "c = C()\n" + //
+                "r = (f(c), f(c), C.calls)\n");
+        assertResult("(('getattr missing', 'getattr broken'), ('getattr missing',"
+                + " 'getattr broken'), 4)", "r");
+    }
+
+    /** Objects with their own ideas about attributes are not cached. */
+    public void testSpecialObjects() {
+        interp.exec("import sys\n" + //
+                "class G(object):\n" + //
+                "    def __getattribute__(self, name): return 'G.' + name\n" + //
+                "def f(o): return o.__name__, G().a\n" + //
+                "r = [f(sys), f(sys)]\n");
+        assertResult("[('sys', 'G.a'), ('sys', 'G.a')]", "r");
+    }
+
+    public void testCounts() {
+        interp.exec("class C(object):\n" + //
+                "    def __init__(self): self.a = 1\n" + //
+                "def f(o, n):\n" + //
+                "    t = 0\n" + //
+                "    for i in range(n): t += o.a\n" + //
+                "    return t\n" + //
+                "c = C()\n" + //
+                "f(c, 2)\n");
+        // The first look-up on a new class goes the long way, so f has been called twice.
+        long hits = AttributeCache.totalHits();
+        long misses = AttributeCache.totalMisses();
+        assertResult("100", "f(c, 100)");
+        assertTrue(AttributeCache.totalHits() - hits >= 100);
+        assertTrue(AttributeCache.totalMisses() - misses < 5);
+    }
+
+    /** With shared-key instance dictionaries, a cached name is found by its position. */
+    public void testSharedKeys() {
+        boolean saved = Options.sharedKeyDicts;
+        Options.sharedKeyDicts = true;
+        try {
+            interp.exec("class P(object):\n" + //
+                    "    def __init__(self, x, y): self.x, self.y = x, y\n" + //
+                    "def f(o): return o.y\n" + //
+                    "a, b = P(1, 2), P(3, 4)\n" + //
+                    "b.__dict__[0] = 'divergent'\n" + //
+                    "r = [f(a), f(b), f(a)]\n" + //
+                    "del a.y\n" + //
+                    "P.y = 'class'\n" + //
+                    "r.append(f(a))\n");
+            assertResult("[2, 4, 2, 'class']", "r");
+        } finally {
+            Options.sharedKeyDicts = saved;
+        }
+    }
+
+    /** A cache does not keep alive the type it last saw, nor what it found there. */
+    public void testTypeHeldWeakly() throws InterruptedException {
+        AttributeCache cache = new AttributeCache("m");
+        PyObject obj = interp.eval("type('T', (object,), {'m': 42})()");
+        // The first look-up on a new class goes the long way.
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Py.newInteger(42), cache.getattr(obj));
+        }
+        assertTrue(cache.getHits() > 0);
+        WeakReference<PyType> ref = new WeakReference<>(obj.getType());
+        obj = null;
+        assertTrue("type kept alive by the cache", GlobalCacheTest.collected(ref));
+    }
+}
@@ -0,0 +1,113 @@
+package org.python.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.python.util.ParallelCompiler;
+import org.python.util.PythonInterpreter;
+
+public class CodeCacheTest extends TestCase {
+
+    private File tmp;
+    private String savedOption;
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+        tmp = Files.createTempDirectory("codecache").toFile();
+        savedOption = Options.codeCacheDirectory;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.codeCacheDirectory = savedOption;
+        delete(tmp);
+    }
+
+    private static void delete(File f) {
+        File[] files = f.listFiles();
+        if (files != null) {
+            for (File c : files) {
+                delete(c);
+            }
+        }
+        f.delete();
+    }
+
+    private static File write(File dir, String name, String text) throws IOException {
+        dir.mkdirs();
+        File f = new File(dir, name);
+        Files.write(f.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        return f;
+    }
+
+    public void testKey() {
+        byte[] a = "x = 1\n".getBytes(StandardCharsets.UTF_8);
+        byte[] b = "x = 2\n".getBytes(StandardCharsets.UTF_8);
+        assertEquals(CodeCache.key("m", a), CodeCache.key("m", a.clone()));
+        assertFalse(CodeCache.key("m", a).equals(CodeCache.key("m", b)));
+        assertFalse(CodeCache.key("m", a).equals(CodeCache.key("p.m", a)));
+        // Code compiled with different options is filed apart.
+        String key = CodeCache.key("m", a);
+        boolean saved = Options.lazyFunctionBodies;
+        Options.lazyFunctionBodies = !saved;
+        try {
+            assertFalse(key.equals(CodeCache.key("m", a)));
+        } finally {
+            Options.lazyFunctionBodies = saved;
+        }
+    }
+
+    public void testStoreAndLoad() {
+        CodeCache cache = new CodeCache(new File(tmp, "cache"));
+        String key = CodeCache.key("m", new byte[] {1, 2, 3});
+        assertNull(cache.load(key));
+        cache.store(key, new byte[] {4, 5});
+        assertTrue(Arrays.equals(new byte[] {4, 5}, cache.load(key)));
+    }
+
+    /** Import fills the cache, and takes from it what the ahead-of-time compiler filed. */
+    public void testImport() throws Exception {
+        File src = new File(tmp, "src");
+        File cacheDir = new File(tmp, "cache");
+        write(src, "cached_a.py", "X = 6 * 7\n");
+        File pkg = new File(src, "cached_pkg");
+        write(pkg, "__init__.py", "");
+        write(pkg, "b.py", "def f(): return __name__\n");
+
+        ParallelCompiler compiler = new ParallelCompiler(2, new CodeCache(cacheDir), false);
+        List<ParallelCompiler.Failure> failures = compiler.compileAll(
+                Arrays.asList(new File(src, "cached_a.py"), new File(pkg, "b.py")));
+        compiler.shutdown();
+        assertTrue(failures.isEmpty());
+        assertFalse(new File(src, "cached_a$py.class").exists());
+
+        Options.codeCacheDirectory = cacheDir.getPath();
+        PythonInterpreter interp = new PythonInterpreter();
+        try {
+            interp.exec("import sys\n" + //
+                    "sys.path.insert(0, " + Py.newString(src.getPath()).__repr__() + ")\n" + //
+                    "import cached_a, cached_pkg.b\n" + //
+                    "r = cached_a.X, cached_pkg.b.f()\n");
+            assertEquals(interp.eval("(42, 'cached_pkg.b')"), interp.get("r"));
+        } finally {
+            interp.exec("for m in ('cached_a', 'cached_pkg', 'cached_pkg.b'):\n" + //
+                    "    sys.modules.pop(m, None)\n");
+            interp.close();
+        }
+
+        // The modules came from the cache, so nothing was written beside them ...
+        assertFalse(new File(src, "cached_a$py.class").exists());
+        assertFalse(new File(pkg, "b$py.class").exists());
+        // ... but the package __init__ was compiled on import, and added to the cache.
+        assertTrue(new File(pkg, "__init__$py.class").exists());
+        byte[] init = new byte[0];
+        assertNotNull(new CodeCache(cacheDir).load(CodeCache.key("cached_pkg", init)));
+    }
+}
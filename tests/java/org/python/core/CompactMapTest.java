@@ -0,0 +1,195 @@
+package org.python.core;
+
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests of {@link CompactMap}, and of {@link PyDictionary} created with {@link Options#compactDict}
+ * set, so that it is backed by one.
+ */
+public class CompactMapTest extends TestCase {
+
+    private boolean savedOption;
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        // Create the interpreter first, as initialisation sets the options from the registry.
+        interp = new PythonInterpreter();
+        savedOption = Options.compactDict;
+        Options.compactDict = true;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.compactDict = savedOption;
+        interp.close();
+    }
+
+    private static List<PyObject> keys(Map<PyObject, PyObject> map) {
+        return new ArrayList<PyObject>(map.keySet());
+    }
+
+    public void testStorage() {
+        assertTrue(new PyDictionary().getMap() instanceof CompactMap);
+        assertTrue(((PyDictionary) interp.eval("{1: 2}")).getMap() instanceof CompactMap);
+        Options.compactDict = false;
+        assertFalse(new PyDictionary().getMap() instanceof CompactMap);
+    }
+
+    /** Entries iterate in the order of insertion, through removal and growth. */
+    public void testOrder() {
+        CompactMap map = new CompactMap();
+        List<PyObject> expected = new ArrayList<PyObject>();
+        for (int i = 0; i < 100; i++) {
+            PyObject key = Py.newInteger(i * 37 % 101);
+            map.put(key, Py.newInteger(i));
+            expected.add(key);
+        }
+        assertEquals(expected, keys(map));
+        for (int i = 0; i < 100; i += 3) {
+            assertEquals(Py.newInteger(i), map.remove(expected.get(i)));
+        }
+        for (Iterator<PyObject> it = expected.iterator(); it.hasNext();) {
+            if (!map.containsKey(it.next())) {
+                it.remove();
+            }
+        }
+        assertEquals(expected, keys(map));
+        // Replacing a value keeps the position; re-inserting a key moves it to the end.
+        map.put(expected.get(0), Py.None);
+        PyObject moved = expected.remove(1);
+        map.remove(moved);
+        map.put(moved, Py.None);
+        expected.add(moved);
+        assertEquals(expected, keys(map));
+        assertEquals(expected.size(), map.size());
+    }
+
+    /** Keys that compare equal across types find the same entry. */
+    public void testEqualKeys() {
+        CompactMap map = new CompactMap();
+        map.put(Py.newInteger(1), Py.newString("int"));
+        map.put(Py.newLong(1), Py.newString("long"));
+        map.put(Py.newFloat(1.0), Py.newString("float"));
+        assertEquals(1, map.size());
+        assertEquals(Py.newString("float"), map.get(Py.newInteger(1)));
+        assertNull(map.get(Py.newInteger(2)));
+    }
+
+    public void testConcurrentMapOperations() {
+        CompactMap map = new CompactMap();
+        PyObject k = Py.newString("k");
+        assertNull(map.putIfAbsent(k, Py.One));
+        assertEquals(Py.One, map.putIfAbsent(k, Py.Zero));
+        assertFalse(map.replace(k, Py.Zero, Py.None));
+        assertTrue(map.replace(k, Py.One, Py.Zero));
+        assertEquals(Py.Zero, map.replace(k, Py.One));
+        assertNull(map.replace(Py.newString("absent"), Py.One));
+        assertFalse(map.remove(k, Py.Zero));
+        assertTrue(map.remove(k, Py.One));
+        assertTrue(map.isEmpty());
+    }
+
+    /** The dictionary behaves as a Python dict whichever storage it has. */
+    public void testPythonOperations() {
+        interp.exec("d = {}\n" + //
+                "for i in range(50):\n" + //
+                "    d['k%d' % i] = i\n" + //
+                "for i in range(0, 50, 2):\n" + //
+                "    del d['k%d' % i]\n" + //
+                "d.update(a=1, b=2)\n" + //
+                "d.setdefault('c', 3)\n" + //
+                "e = d.copy()\n" + //
+                "r = (len(d), d['k1'], 'k2' in d, d.get('k2', -1), d.pop('a'), d.keys()[:3],\n" + //
+                "     d.items()[-2:], e == d, sorted(d.values())[-1])\n");
+        assertEquals(interp.eval("(28, 1, False, -1, 1, ['k1', 'k3', 'k5'], [('b', 2), ('c', 3)],"
+                + " False, 49)"), interp.get("r"));
+        interp.exec("try:\n" + //
+                "    d['missing']\n" + //
+                "except KeyError:\n" + //
+                "    r = 'KeyError'\n");
+        assertEquals(Py.newString("KeyError"), interp.get("r"));
+    }
+
+    /** An __eq__ that changes the dictionary makes the look-up start again, not fail. */
+    public void testReentrantChange() {
+        interp.exec("class K(object):\n" + //
+                "    def __hash__(self): return 1\n" + //
+                "    def __eq__(self, other):\n" + //
+                "        if len(d) < 20: d[len(d) + 100] = 0\n" + //
+                "        return self is other\n" + //
+                "a, b = K(), K()\n" + //
+                "d = {a: 'a'}\n" + //
+                "r = (d.get(b), d[a])\n");
+        assertEquals(interp.eval("(None, 'a')"), interp.get("r"));
+    }
+
+    /**
+     * Threads reading a map find the entries that are never removed, while another thread adds
+     * and removes others, growing the table.
+     */
+    public void testConcurrentReaders() throws InterruptedException {
+        final CompactMap map = new CompactMap();
+        final int n = 20000;
+        final PyObject[] stable = new PyObject[10];
+        for (int i = 0; i < stable.length; i++) {
+            stable[i] = Py.newString("stable" + i);
+            map.put(stable[i], Py.newInteger(i));
+        }
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        List<Thread> readers = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            readers.add(new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < n; i++) {
+                            int k = i % stable.length;
+                            if (!Py.newInteger(k).equals(map.get(stable[k]))) {
+                                throw new AssertionError("lost " + stable[k]);
+                            }
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+        }
+        Thread writer = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < n; i++) {
+                        PyObject key = Py.newInteger(i);
+                        map.put(key, key);
+                        if (i % 3 != 0) {
+                            map.remove(key);
+                        }
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+        for (Thread t : readers) {
+            t.start();
+        }
+        writer.start();
+        writer.join();
+        for (Thread t : readers) {
+            t.join();
+        }
+        assertNull(failure.get());
+        assertEquals(stable.length + (n + 2) / 3, map.size());
+    }
+}
@@ -0,0 +1,115 @@
+package org.python.core;
+
+import java.io.File;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+public class DirectoryCacheTest extends TestCase {
+
+    private File tmp;
+    private boolean savedOption;
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+        tmp = Files.createTempDirectory("dircache").toFile();
+        savedOption = Options.importDirectoryCache;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.importDirectoryCache = savedOption;
+        delete(tmp);
+    }
+
+    private static void delete(File f) {
+        File[] files = f.listFiles();
+        if (files != null) {
+            for (File c : files) {
+                delete(c);
+            }
+        }
+        f.delete();
+    }
+
+    private static File write(File dir, String name, String text) throws IOException {
+        dir.mkdirs();
+        File f = new File(dir, name);
+        Files.write(f.toPath(), text.getBytes(StandardCharsets.UTF_8));
+        return f;
+    }
+
+    public void testListing() throws IOException {
+        DirectoryCache cache = new DirectoryCache(false);
+        write(tmp, "a.py", "");
+        new File(tmp, "pkg").mkdir();
+
+        assertTrue(cache.isFile(tmp, "a.py"));
+        assertFalse(cache.isDirectory(tmp, "a.py"));
+        assertTrue(cache.isDirectory(tmp, "pkg"));
+        assertFalse(cache.contains(tmp, "A.py"));
+        assertFalse(cache.contains(tmp, "b.py"));
+        assertFalse(cache.contains(new File(tmp, "missing"), "a.py"));
+
+        // Unwatched, the listing stands until invalidated.
+        write(tmp, "b.py", "");
+        assertFalse(cache.contains(tmp, "b.py"));
+        cache.invalidate(tmp);
+        assertTrue(cache.isFile(tmp, "b.py"));
+
+        new File(tmp, "a.py").delete();
+        assertTrue(cache.contains(tmp, "a.py"));
+        assertFalse(cache.isFile(tmp, "a.py"));
+        cache.invalidate();
+        assertFalse(cache.contains(tmp, "a.py"));
+    }
+
+    public void testWatched() throws Exception {
+        DirectoryCache cache = new DirectoryCache(true);
+        assertFalse(cache.contains(tmp, "c.py"));
+        write(tmp, "c.py", "");
+        // The watch service reports the change asynchronously (and on some platforms by polling).
+        long deadline = System.currentTimeMillis() + 30000;
+        while (!cache.contains(tmp, "c.py") && System.currentTimeMillis() < deadline) {
+            Thread.sleep(50);
+        }
+        assertTrue(cache.isFile(tmp, "c.py"));
+    }
+
+    public void testImport() throws Exception {
+        Options.importDirectoryCache = true;
+        File pkg = new File(tmp, "dircache_pkg");
+        write(pkg, "__init__.py", "");
+        write(pkg, "m.py", "X = 1\n");
+        PythonInterpreter interp = new PythonInterpreter();
+        try {
+            interp.exec("import sys, imp\n" + //
+                    "sys.path.insert(0, " + Py.newString(tmp.getPath()).__repr__() + ")\n" + //
+                    "from dircache_pkg import m\n");
+            assertEquals(Py.newInteger(1), interp.eval("m.X"));
+            // Compiling m wrote m$py.class, which the listing now includes.
+            assertTrue(DirectoryCache.getDefault().isFile(pkg, "m$py.class"));
+
+            write(pkg, "n.py", "Y = 2\n");
+            interp.exec("imp.invalidate_caches()\n" + //
+                    "from dircache_pkg import n\n");
+            assertEquals(Py.newInteger(2), interp.eval("n.Y"));
+
+            interp.exec("try:\n" + //
+                    "    import dircache_pkg.absent\n" + //
+                    "    found = True\n" + //
+                    "except ImportError:\n" + //
+                    "    found = False\n");
+            assertEquals(Py.False, interp.get("found"));
+        } finally {
+            interp.exec("for name in ('dircache_pkg', 'dircache_pkg.m', 'dircache_pkg.n'):\n" + //
+                    "    sys.modules.pop(name, None)\n");
+            interp.close();
+        }
+    }
+}
@@ -0,0 +1,133 @@
+package org.python.core;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests of the recycling of frames of calls to functions without free or cell variables, which
+ * must not be visible to Python code.
+ */
+public class FrameReuseTest extends TestCase {
+
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        interp = new PythonInterpreter();
+        interp.exec("import sys\n" + //
+                "def leaf(a, b):\n" + //
+                "    return a + b\n" + //
+                "def churn():\n" + //
+                "    for i in range(100): leaf(i, i)\n");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        interp.close();
+    }
+
+    private PyBaseCode code(String name) {
+        return (PyBaseCode) ((PyFunction) interp.get(name)).__code__;
+    }
+
+    public void testFlags() {
+        interp.exec("def outer():\n" + //
+                "    x = 1\n" + //
+                "    def inner(): return x\n" + //
+                "    return inner\n" + //
+                "def gen(): yield 1\n" + //
+                "inner = outer()\n");
+        assertTrue(code("leaf").co_flags.isFlagSet(CodeFlag.CO_NOFREE));
+        assertTrue(code("leaf").recycleFrames);
+        assertFalse(code("outer").co_flags.isFlagSet(CodeFlag.CO_NOFREE));
+        assertFalse(code("inner").recycleFrames);
+        assertFalse(code("gen").recycleFrames);
+    }
+
+    /** A frame obtained from {@code sys._getframe} keeps its code and callers. */
+    public void testGetframe() {
+        interp.exec("def getf(): return sys._getframe()\n" + //
+                "def caller(): return getf()\n" + //
+                "f = caller()\n" + //
+                "churn()\n" + //
+                "r = f.f_code.co_name, f.f_back.f_code.co_name, f.f_back.f_back.f_code.co_name\n");
+        assertEquals(interp.eval("('getf', 'caller', '<module>')"), interp.get("r"));
+    }
+
+    /** The frames in a traceback keep their code and locals. */
+    public void testTraceback() {
+        interp.exec("def boom(x): raise ValueError(x)\n" + //
+                "def catch():\n" + //
+                "    try:\n" + //
+                "        boom(42)\n" + //
+                "    except ValueError:\n" + //
+                "        return sys.exc_info()[2]\n" + //
+                "tb = catch()\n" + //
+                "churn()\n" + //
+                "r = (tb.tb_frame.f_code.co_name, tb.tb_next.tb_frame.f_code.co_name,\n" + //
+                "     tb.tb_next.tb_frame.f_locals['x'])\n");
+        assertEquals(interp.eval("('catch', 'boom', 42)"), interp.get("r"));
+    }
+
+    /** A suspended generator does not refer to the frame that last resumed it. */
+    public void testGenerator() {
+        interp.exec("def gen():\n" + //
+                "    yield sys._getframe(1).f_code.co_name\n" + //
+                "def resume():\n" + //
+                "    g = gen()\n" + //
+                "    return g, next(g)\n" + //
+                "g, name = resume()\n" + //
+                "churn()\n" + //
+                "r = name, g.gi_frame.f_back\n");
+        assertEquals(interp.eval("('resume', None)"), interp.get("r"));
+    }
+
+    /** Frames passed to a trace function are kept. */
+    public void testTrace() {
+        interp.exec("frames = []\n" + //
+                "def tracer(frame, event, arg):\n" + //
+                "    frames.append(frame)\n" + //
+                "def outer(): return leaf(1, 2)\n" + //
+                "sys.settrace(tracer)\n" + //
+                "outer()\n" + //
+                "sys.settrace(None)\n" + //
+                "churn()\n" + //
+                "r = [(f.f_code.co_name, f.f_back.f_code.co_name) for f in frames]\n");
+        assertEquals(interp.eval("[('outer', '<module>'), ('leaf', 'outer')]").toString(),
+                interp.get("r").toString());
+    }
+
+    public void testRecursionAndLocals() {
+        interp.exec("def rec(n): return 0 if n == 0 else 1 + rec(n - 1)\n" + //
+                "def loc(a):\n" + //
+                "    b = a * 2\n" + //
+                "    return locals()\n" + //
+                "d = loc(3)\n" + //
+                "churn()\n" + //
+                "r = rec(200), sorted(d.items())\n");
+        assertEquals(interp.eval("(200, [('a', 3), ('b', 6)])"), interp.get("r"));
+    }
+
+    /** A thread keeps a bounded number of spare frames. */
+    public void testSpareFrames() {
+        ThreadState ts = Py.getThreadState();
+        PyBaseCode leaf = code("leaf");
+        // Taking more than the limit also empties the spare frames left by other tests.
+        PyFrame[] frames = new PyFrame[ThreadState.MAX_SPARE_FRAMES + 4];
+        for (int i = 0; i < frames.length; i++) {
+            frames[i] = ts.takeFrame(leaf, interp.getLocals());
+        }
+        for (PyFrame f : frames) {
+            ts.releaseFrame(f);
+        }
+        PyFrame f = ts.takeFrame(leaf, interp.getLocals());
+        assertSame(frames[ThreadState.MAX_SPARE_FRAMES - 1], f);
+        assertNull(f.f_back);
+        assertEquals(2, f.f_fastlocals.length);
+        assertNull(f.f_fastlocals[0]);
+        f.retain();
+        ts.releaseFrame(f);
+        assertNotSame(f, ts.takeFrame(leaf, interp.getLocals()));
+    }
+}
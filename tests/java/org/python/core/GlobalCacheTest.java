@@ -0,0 +1,155 @@
+package org.python.core;
+
+import java.lang.ref.WeakReference;
+import java.util.Iterator;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests of the cached look-up of global and builtin names in compiled code, and of the
+ * {@link PyStringMap#getVersion()} on which it depends.
+ */
+public class GlobalCacheTest extends TestCase {
+
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        interp = new PythonInterpreter();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        interp.close();
+    }
+
+    public void testVersionAdvancesOnChange() {
+        PyStringMap map = new PyStringMap();
+        long v = map.getVersion();
+        map.__setitem__("a", Py.One);
+        assertTrue(v != (v = map.getVersion()));
+        map.__setitem__(Py.newString("a"), Py.Zero);
+        assertTrue(v != (v = map.getVersion()));
+        map.setdefault(Py.newString("a"), Py.One);
+        assertEquals("setdefault of existing key", v, map.getVersion());
+        map.pop(Py.newString("a"));
+        assertTrue(v != (v = map.getVersion()));
+        map.__setitem__("b", Py.One);
+        v = map.getVersion();
+        map.clear();
+        assertTrue(v != map.getVersion());
+    }
+
+    /** Removing entries through the Java views of the map also advances the version. */
+    public void testVersionAdvancesOnViewRemove() {
+        PyStringMap map = new PyStringMap();
+        map.__setitem__("a", Py.One);
+        map.__setitem__("b", Py.One);
+        map.__setitem__("c", Py.One);
+        long v = map.getVersion();
+        Iterator<PyObject> keys = map.pyKeySet().iterator();
+        keys.next();
+        keys.remove();
+        assertTrue(v != (v = map.getVersion()));
+        Iterator<?> entries = map.entrySet().iterator();
+        entries.next();
+        entries.remove();
+        assertTrue(v != (v = map.getVersion()));
+        map.entrySet().clear();
+        assertTrue(v != map.getVersion());
+        assertEquals(0, map.__len__());
+    }
+
+    /** A global deleted through a view of the module's map is not found by compiled code. */
+    public void testGlobalRemovedThroughView() {
+        interp.exec("x = 1\n" + //
+                "def f():\n" + //
+                "    try: return x\n" + //
+                "    except NameError: return 'gone'\n" + //
+                "r = [f()]\n");
+        PyStringMap globals = (PyStringMap) interp.getLocals();
+        Iterator<PyObject> keys = globals.pyKeySet().iterator();
+        while (keys.hasNext()) {
+            if (keys.next().toString().equals("x")) {
+                keys.remove();
+            }
+        }
+        interp.exec("r.append(f())");
+        assertEquals(interp.eval("[1, 'gone']"), interp.get("r"));
+    }
+
+    /** Rebinding a global or shadowing a builtin is seen by code that has already looked it up. */
+    public void testRebinding() {
+        interp.exec("def f(): return len('abc')\n" + //
+                "r = [f()]\n" + //
+                "len = lambda s: 'shadow'\n" + //
+                "r.append(f())\n" + //
+                "del len\n" + //
+                "r.append(f())\n");
+        assertEquals(interp.eval("[3, 'shadow', 3]"), interp.get("r"));
+    }
+
+    /** A change to the builtins is seen by code that has already looked up the name there. */
+    public void testBuiltinsChange() {
+        PyObject builtins = Py.getSystemState().getBuiltins();
+        PyObject saved = builtins.__finditem__("abs");
+        try {
+            interp.exec("def f(): return abs(-1)\n" + "r = [f()]\n");
+            builtins.__setitem__("abs", interp.eval("lambda x: 'changed'"));
+            interp.exec("r.append(f())\n");
+        } finally {
+            builtins.__setitem__("abs", saved);
+        }
+        assertEquals(interp.eval("[1, 'changed']"), interp.get("r"));
+    }
+
+    /** The same code run with different globals finds the name in each. */
+    public void testDifferentGlobals() {
+        interp.exec("def f(): return x\n" + //
+                "import types\n" + //
+                "g1 = {'x': 1}\n" + //
+                "g2 = {'x': 2}\n" + //
+                "x = 0\n" + //
+                "r = [types.FunctionType(f.__code__, g)() for g in (g1, g2, globals())]\n");
+        assertEquals(interp.eval("[1, 2, 0]"), interp.get("r"));
+    }
+
+    /** Wait for the referent to be collected, or until it seems it will not be. */
+    static boolean collected(WeakReference<?> ref) throws InterruptedException {
+        for (int i = 0; ref.get() != null && i < 50; i++) {
+            System.gc();
+            Thread.sleep(10);
+        }
+        return ref.get() == null;
+    }
+
+    /**
+     * Code shared by interpreters keeps a cache entry for the globals of each, and does not keep
+     * those globals alive.
+     */
+    public void testSeveralGlobalsHeldWeakly() throws InterruptedException {
+        interp.exec("def f(): return x\n");
+        PyBaseCode code = (PyBaseCode) ((PyFunction) interp.get("f")).__code__;
+        PyObject builtins = Py.getSystemState().getBuiltins();
+        GlobalCache cache = new GlobalCache("x");
+        PyStringMap g1 = new PyStringMap(), g2 = new PyStringMap();
+        g1.__setitem__("x", Py.One);
+        g2.__setitem__("x", Py.Zero);
+        PyFrame f1 = new PyFrame(code, null, g1, builtins);
+        PyFrame f2 = new PyFrame(code, null, g2, builtins);
+        for (int i = 0; i < 3; i++) {
+            assertEquals(Py.One, cache.lookup(f1));
+            assertEquals(Py.Zero, cache.lookup(f2));
+        }
+        g1.__setitem__("x", Py.True);
+        assertEquals(Py.True, cache.lookup(f1));
+
+        WeakReference<PyStringMap> ref = new WeakReference<>(g1);
+        g1 = null;
+        f1 = null;
+        assertTrue("globals kept alive by the cache", collected(ref));
+        assertEquals(Py.Zero, cache.lookup(f2));
+    }
+}
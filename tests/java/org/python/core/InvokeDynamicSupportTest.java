@@ -0,0 +1,106 @@
+package org.python.core;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests of code compiled with {@link Options#invokedynamic} set, where attribute loads, binary
+ * operations and calls go through the inline caches of {@link InvokeDynamicSupport}.
+ */
+public class InvokeDynamicSupportTest extends TestCase {
+
+    private boolean savedOption;
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        // Create the interpreter first, as initialisation sets the options from the registry.
+        interp = new PythonInterpreter();
+        savedOption = Options.invokedynamic;
+        Options.invokedynamic = true;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.invokedynamic = savedOption;
+        interp.close();
+    }
+
+    private Object eval(String expr) {
+        return interp.eval(expr).__tojava__(Object.class);
+    }
+
+    /** A cached attribute stays correct when the class is modified after the site is linked. */
+    public void testGetattrInvalidatedByTypeChange() {
+        interp.exec("class C(object):\n" + //
+                "    def f(self): return 1\n" + //
+                "def get(o): return o.f()\n" + //
+                "c = C()\n" + //
+                "r1 = get(c)\n" + //
+                "C.f = lambda self: 2\n" + //
+                "r2 = get(c)\n" + //
+                "c.f = lambda: 3\n" + //
+                "r3 = get(c)\n");
+        assertEquals(1, eval("r1"));
+        assertEquals(2, eval("r2"));
+        assertEquals(3, eval("r3"));
+    }
+
+    /** A cached site must still honour __getattr__ and data descriptors. */
+    public void testGetattrHookAndProperty() {
+        interp.exec("class D(object):\n" + //
+                "    x = property(lambda self: 'prop')\n" + //
+                "    def __getattr__(self, name): return 'hook'\n" + //
+                "def get(o): return (o.x, o.y)\n" + //
+                "d = D()\n" + //
+                "d.__dict__['x'] = 'shadow'\n" + //
+                "r = get(d) + get(d)\n");
+        assertEquals(new PyTuple(Py.newString("prop"), Py.newString("hook"),
+                Py.newString("prop"), Py.newString("hook")), interp.get("r"));
+    }
+
+    /** Missing attributes raise AttributeError through a cached site as through the generic one. */
+    public void testGetattrMissing() {
+        interp.exec("class E(object): pass\n" + //
+                "def get(o):\n" + //
+                "    try:\n" + //
+                "        return o.missing\n" + //
+                "    except AttributeError:\n" + //
+                "        return 'missing'\n" + //
+                "r = [get(E()) for i in (1, 2, 3)]\n");
+        assertEquals(3, eval("r.count('missing')"));
+    }
+
+    /** A site that sees more receiver types than it will cache still gives correct results. */
+    public void testMegamorphicSites() {
+        interp.exec("def add(a, b): return a + b\n" + //
+                "def name(o): return o.__class__.__name__\n" + //
+                "vals = [1, 2.5, 'a', [1], (1,), 3, 1.5]\n" + //
+                "sums = [add(v, v) for v in vals]\n" + //
+                "names = [name(v) for v in vals]\n");
+        assertEquals(interp.eval("[2, 5.0, 'aa', [1, 1], (1, 1), 6, 3.0]"), interp.get("sums"));
+        assertEquals(7, eval("len(names)"));
+    }
+
+    /** Binary operations between built-in types that do not support them raise TypeError. */
+    public void testBinopUnsupported() {
+        interp.exec("def add(a, b):\n" + //
+                "    try:\n" + //
+                "        return a + b\n" + //
+                "    except TypeError:\n" + //
+                "        return 'TypeError'\n" + //
+                "r = [add(1, 'a'), add(1, 2), add(1, 'a')]\n");
+        assertEquals(interp.eval("['TypeError', 3, 'TypeError']"), interp.get("r"));
+    }
+
+    /** Binary operations on instances of Python classes use their special methods. */
+    public void testBinopDerived() {
+        interp.exec("class V(int):\n" + //
+                "    def __add__(self, other): return 'V+'\n" + //
+                "    def __radd__(self, other): return '+V'\n" + //
+                "def add(a, b): return a + b\n" + //
+                "r = [add(V(1), 1), add(1, V(1)), add(1, 1)]\n");
+        assertEquals(interp.eval("['V+', '+V', 2]"), interp.get("r"));
+    }
+}
@@ -0,0 +1,73 @@
+package org.python.core;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * A microbenchmark of Python code using a Java {@code ArrayList<Integer>} compared with the same
+ * code using a Python list of the same numbers: iterating, converting to a list, slicing and
+ * testing membership (of an {@code int} and of a {@code str} in a list of strings). Run it with
+ * {@code ant collection-benchmark}, or with the Jython jar and its dependencies on the class path:
+ *
+ * <pre>
+ * java -cp dist/jython-dev.jar:dist/javalib/*:build/classes org.python.core.JavaCollectionBenchmark [size]
+ * </pre>
+ */
+public class JavaCollectionBenchmark {
+
+    private static final int ROUNDS = 5;
+
+    private static final String[][] CASES = {
+            {"iterate", "t = 0\nfor x in seq: t += x"},
+            {"list()", "list(seq)"},
+            {"slice", "seq[1:-1]"},
+            {"int in", "(-1) in seq"},
+            {"str in", "'absent' in strs"}};
+
+    /** Time one case, in nanoseconds per element. */
+    private static double time(PythonInterpreter interp, PyCode code, int size) {
+        long start = System.nanoTime();
+        interp.exec(code);
+        return (double) (System.nanoTime() - start) / size;
+    }
+
+    public static void main(String[] args) {
+        int size = args.length > 0 ? Integer.parseInt(args[0]) : 1000000;
+        PySystemState.initialize();
+        PythonInterpreter interp = new PythonInterpreter();
+
+        List<Integer> ints = new ArrayList<>(size);
+        List<String> strs = new ArrayList<>(size);
+        PyObject[] pyInts = new PyObject[size];
+        PyObject[] pyStrs = new PyObject[size];
+        for (int i = 0; i < size; i++) {
+            ints.add(i);
+            strs.add("s" + i);
+            pyInts[i] = Py.newInteger(i);
+            pyStrs[i] = Py.newString("s" + i);
+        }
+
+        PyCode[] codes = new PyCode[CASES.length];
+        for (int i = 0; i < CASES.length; i++) {
+            codes[i] = interp.compile(CASES[i][1]);
+        }
+
+        System.out.printf("%d elements, ns per element%n", size);
+        System.out.printf("%-10s %12s %12s%n", "", "ArrayList", "list");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int i = 0; i < CASES.length; i++) {
+                interp.set("seq", ints);
+                interp.set("strs", strs);
+                double java = time(interp, codes[i], size);
+                interp.set("seq", new PyList(pyInts));
+                interp.set("strs", new PyList(pyStrs));
+                double python = time(interp, codes[i], size);
+                System.out.printf("%-10s %12.2f %12.2f%n", CASES[i][0], java, python);
+            }
+            System.out.println();
+        }
+        interp.close();
+    }
+}
@@ -0,0 +1,69 @@
+package org.python.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+public class JavaProxyListTest extends TestCase {
+
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+        interp = new PythonInterpreter();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        interp.close();
+    }
+
+    private boolean test(String expr) {
+        return interp.eval(expr).__nonzero__();
+    }
+
+    public void testContains() {
+        List<Object> items = new ArrayList<Object>(Arrays.asList(1, 2L, "a", "\u00e9", 'c', null));
+        interp.set("items", items);
+        assertTrue(test("1 in items"));
+        assertTrue(test("2 in items"));
+        assertFalse(test("3 in items"));
+        assertTrue(test("'a' in items"));
+        assertTrue(test("u'a' in items"));
+        assertTrue(test("u'\\xe9' in items"));
+        // A str that is not ASCII is not equal to unicode.
+        assertFalse(test("'\\xe9' in items"));
+        assertTrue(test("'c' in items"));
+        assertTrue(test("None in items"));
+        assertFalse(test("'b' in items"));
+    }
+
+    public void testBulk() {
+        List<Integer> ints = new ArrayList<>(Arrays.asList(1, 2, 3, 4, 5));
+        interp.set("ints", ints);
+        assertEquals(new PyList(new PyObject[] {Py.newInteger(1), Py.newInteger(2),
+                Py.newInteger(3), Py.newInteger(4), Py.newInteger(5)}), interp.eval("list(ints)"));
+        interp.exec("l = [0]\n"
+                + "l.extend(ints)\n");
+        assertEquals("[0, 1, 2, 3, 4, 5]", interp.eval("l").toString());
+        assertEquals("[2, 3, 4]", interp.eval("ints[1:4]").toString());
+        assertEquals(ArrayList.class, interp.eval("ints[1:4]").__tojava__(Object.class).getClass());
+        assertEquals("[1, 3, 5]", interp.eval("ints[::2]").toString());
+
+        // A subclass that iterates differently is iterated, not copied.
+        interp.exec("from java.util import ArrayList\n"
+                + "class Twice(ArrayList):\n"
+                + "    def __iter__(self):\n"
+                + "        for x in ArrayList.__iter__(self):\n"
+                + "            yield x\n"
+                + "            yield x\n"
+                + "t = Twice()\n"
+                + "t.add(1)\n");
+        assertEquals("[1, 1]", interp.eval("list(t)").toString());
+    }
+}
@@ -0,0 +1,130 @@
+package org.python.core;
+
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * A microbenchmark of reading a list from several threads at once, with the default storage (every
+ * read synchronises on the list) and with {@link Options#listOptimisticReads} set. Each reader
+ * repeatedly takes {@code len()} of a shared list, indexes it and tests membership (of an item near
+ * the front, so that the test is one read or two), for a fixed time. Each thread count is run
+ * twice: with readers only, and with one more thread appending to the list and popping from it all
+ * the while. The result is the number of these rounds of reads per microsecond, over all the
+ * readers. JMH is not available in this build, so this is a plain timed loop: run it
+ * with {@code ant list-benchmark}, or with the Jython jar and its dependencies on the class path:
+ *
+ * <pre>
+ * java -cp dist/jython-dev.jar:dist/javalib/*:build/classes org.python.core.ListReadBenchmark [millis [threads...]]
+ * </pre>
+ */
+public class ListReadBenchmark {
+
+    private static final int ROUNDS = 3;
+    private static final int SIZE = 1000;
+
+    /** Take {@code len()}, index and test membership until the deadline; return the rounds. */
+    private static long read(PyList list, PyObject item, long deadline) {
+        long n = 0;
+        int i = 0;
+        do {
+            for (int k = 0; k < 100; k++) {
+                int len = list.__len__();
+                list.__getitem__(Py.newInteger(i++ % len));
+                list.__contains__(item);
+            }
+            n += 100;
+        } while (System.nanoTime() < deadline);
+        return n;
+    }
+
+    /** Time the given number of readers (and a writer if asked) on a new list, in rounds/us. */
+    private static double time(boolean optimistic, int threads, boolean writer, long millis)
+            throws InterruptedException {
+        Options.listOptimisticReads = optimistic;
+        PyObject[] items = new PyObject[SIZE];
+        for (int i = 0; i < SIZE; i++) {
+            items[i] = Py.newInteger(i);
+        }
+        final PyList list = new PyList(items);
+        final PyObject item = items[1];
+        final AtomicLong reads = new AtomicLong();
+        final CountDownLatch start = new CountDownLatch(1);
+        final long[] deadline = new long[1];
+        Thread[] readers = new Thread[threads];
+        for (int t = 0; t < threads; t++) {
+            readers[t] = new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    reads.addAndGet(read(list, item, deadline[0]));
+                }
+            };
+            readers[t].start();
+        }
+        Thread writing = null;
+        if (writer) {
+            writing = new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        start.await();
+                    } catch (InterruptedException e) {
+                        return;
+                    }
+                    PyObject extra = Py.newInteger(-1);
+                    while (System.nanoTime() < deadline[0]) {
+                        list.append(extra);
+                        list.pop();
+                    }
+                }
+            };
+            writing.start();
+        }
+        long t0 = System.nanoTime();
+        deadline[0] = t0 + millis * 1000000L;
+        start.countDown();
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        long elapsed = System.nanoTime() - t0;
+        if (writing != null) {
+            writing.join();
+        }
+        return reads.get() * 1000.0 / elapsed;
+    }
+
+    public static void main(String[] args) throws InterruptedException {
+        long millis = args.length > 0 ? Long.parseLong(args[0]) : 500;
+        int[] threadCounts = {1, 4, 16};
+        if (args.length > 1) {
+            threadCounts = new int[args.length - 1];
+            for (int i = 1; i < args.length; i++) {
+                threadCounts[i - 1] = Integer.parseInt(args[i]);
+            }
+        }
+        PySystemState.initialize();
+        boolean saved = Options.listOptimisticReads;
+
+        System.out.printf("%d processors, %d ms per run, rounds of reads per microsecond"
+                + " over all readers%n", Runtime.getRuntime().availableProcessors(), millis);
+        System.out.printf("%-8s %-7s %12s %12s%n", "readers", "writer", "default", "optimistic");
+        for (int round = 0; round < ROUNDS; round++) {
+            for (int threads : threadCounts) {
+                for (boolean writer : new boolean[] {false, true}) {
+                    double plain = time(false, threads, writer, millis);
+                    double optimistic = time(true, threads, writer, millis);
+                    System.out.printf("%-8d %-7s %12.2f %12.2f%n", threads, writer ? "yes" : "no",
+                            plain, optimistic);
+                }
+            }
+            System.out.println();
+        }
+        Options.listOptimisticReads = saved;
+    }
+}
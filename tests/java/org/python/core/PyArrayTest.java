@@ -75,4 +75,69 @@ public class PyArrayTest extends TestCase {
                 new Integer[] { 0, 2, 4, 6, 8},
                 (Object[])pyobj.__tojava__(Object[].class));
     }
+
+    public void testSharedStorage() {
+        // Once compacted, Java is given the storage itself, so it sees later changes.
+        PythonInterpreter interp = new PythonInterpreter();
+        interp.set("arr", new double[3]);
+        interp.exec("arr.append(3.0)");
+        double[] a = interp.get("arr", double[].class);
+        assertSame(a, interp.get("arr", double[].class));
+        interp.exec("arr[0] = 1.5\n"
+                + "arr.reverse()");
+        Assert.assertArrayEquals(new double[] {3.0, 0.0, 0.0, 1.5}, a, 0.0);
+        a[1] = 2.0;
+        assertEquals(new PyFloat(2.0), interp.eval("arr[1]"));
+    }
+
+    public void testReleasedBufferAfterToJava() {
+        // Compacting the storage for Java must not revive a released buffer of the old storage.
+        PythonInterpreter interp = new PythonInterpreter();
+        interp.exec("from array import array\narr = array('b')\nfor i in range(17): arr.append(i)");
+        PyArray arr = (PyArray) interp.get("arr");
+        PyBuffer buf = arr.getBuffer(PyBUF.SIMPLE);
+        buf.release();
+        byte[] a = (byte[]) arr.__tojava__(byte[].class);
+        assertEquals(17, a.length);
+        arr.__setitem__(0, Py.newInteger(99));
+        assertEquals(99, a[0]);
+        PyBuffer again = arr.getBuffer(PyBUF.SIMPLE);
+        try {
+            assertNotSame(buf, again);
+            assertEquals(99, again.byteAt(0));
+        } finally {
+            again.release();
+        }
+    }
+
+    public void testTypecodes() {
+        PythonInterpreter interp = new PythonInterpreter();
+        interp.exec("from array import array\n"
+                + "results = []\n"
+                + "for code, values in [('b', [-1, 2, 127]), ('B', [255, 0, 7]),\n"
+                + "        ('h', [-300, 7, 32767]), ('H', [65535, 1, 300]),\n"
+                + "        ('i', [-70000, 3, 2**31 - 1]), ('I', [2**32 - 1, 0, 5]),\n"
+                + "        ('l', [-2**40, 5, 2**62]), ('f', [0.5, -1.25, 3.0]),\n"
+                + "        ('d', [1e100, 2.5, -7.5]), ('c', ['x', 'y', 'z']),\n"
+                + "        ('u', [u'\\u20ac', u'z', u'a'])]:\n"
+                + "    a = array(code, values[:1] * 2)\n"
+                + "    a.append(values[2])\n"
+                + "    a[1] = values[1]\n"
+                + "    a.reverse()\n"
+                + "    even = array(code, values + values[:1])\n"
+                + "    even.reverse()\n"
+                + "    b = array(code)\n"
+                + "    b.fromstring(a.tostring())\n"
+                + "    results.append((code, a.tolist() == values[::-1],\n"
+                + "            even.tolist() == values[:1] + values[::-1], b == a))\n");
+        for (PyObject r : interp.eval("results").asIterable()) {
+            assertEquals(new PyTuple(r.__getitem__(0), Py.True, Py.True, Py.True), r);
+        }
+        // Written big-endian, as by DataOutputStream
+        assertEquals("\u0000\u0001\u0000\u0002",
+                interp.eval("array('h', [1, 2]).tostring()").toString());
+        assertEquals("?\u00f0\u0000\u0000\u0000\u0000\u0000\u0000\u00ff",
+                interp.eval("array('d', [1.0]).tostring() + array('B', [255]).tostring()")
+                        .toString());
+    }
 }
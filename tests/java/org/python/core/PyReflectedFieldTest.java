@@ -0,0 +1,108 @@
+package org.python.core;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+public class PyReflectedFieldTest extends TestCase {
+
+    public static class Fields {
+
+        public static int count = 3;
+        public final int fixed = 7;
+        public int i = -1;
+        public short s = 2;
+        public long l = 1L << 40;
+        public double d = 0.5;
+        public float f = 1.5f;
+        public boolean b = true;
+        public char c = 'x';
+        public String str = "text";
+        public String none;
+        public int[] array = {1, 2};
+
+        private String name = "bean";
+
+        public String getName() {
+            return name;
+        }
+
+        public void setName(String name) {
+            this.name = name;
+        }
+
+        public int getSize() {
+            throw new IllegalStateException("no size");
+        }
+    }
+
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+        interp = new PythonInterpreter();
+        interp.set("Fields", Fields.class);
+        interp.exec("o = Fields()");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        interp.close();
+    }
+
+    private String eval(String expr) {
+        return interp.eval("repr(" + expr + ")").toString();
+    }
+
+    public void testGet() {
+        assertEquals("-1", eval("o.i"));
+        assertEquals("2", eval("o.s"));
+        assertEquals("1099511627776L", eval("o.l"));
+        assertEquals("0.5", eval("o.d"));
+        assertEquals("1.5", eval("o.f"));
+        assertEquals("True", eval("o.b"));
+        assertEquals("'x'", eval("o.c"));
+        assertEquals("u'text'", eval("o.str"));
+        assertEquals("None", eval("o.none"));
+        assertEquals("array('i', [1, 2])", eval("o.array"));
+        assertEquals("3", eval("Fields.count"));
+        assertEquals("7", eval("o.fixed"));
+    }
+
+    public void testSet() {
+        interp.exec("o.i = 42\n"
+                + "o.d = 2\n"
+                + "o.str = 'new'\n"
+                + "o.none = None\n"
+                + "Fields.count = 4\n");
+        Fields o = interp.get("o", Fields.class);
+        assertEquals(42, o.i);
+        assertEquals(2.0, o.d);
+        assertEquals("new", o.str);
+        assertNull(o.none);
+        assertEquals(4, Fields.count);
+        Fields.count = 3;
+        interp.exec("from java.lang import IllegalAccessException\n"
+                + "try:\n"
+                + "    o.fixed = 8\n"
+                + "    rejected = False\n"
+                + "except IllegalAccessException:\n"
+                + "    rejected = True\n");
+        assertEquals(Py.True, interp.eval("rejected"));
+        assertEquals(7, o.fixed);
+    }
+
+    public void testBeanProperty() {
+        assertEquals("u'bean'", eval("o.name"));
+        interp.exec("o.name = 'changed'");
+        assertEquals("changed", interp.get("o", Fields.class).getName());
+        interp.exec("from java.lang import IllegalStateException\n"
+                + "try:\n"
+                + "    o.size\n"
+                + "    caught = False\n"
+                + "except IllegalStateException:\n"
+                + "    caught = True\n");
+        assertEquals(Py.True, interp.eval("caught"));
+    }
+}
@@ -0,0 +1,68 @@
+package org.python.core;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+public class PyReflectedFunctionTest extends TestCase {
+
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+        interp = new PythonInterpreter();
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        interp.close();
+    }
+
+    /** Calls with arguments of the same types as before use the same overload. */
+    public void testOverloads() {
+        interp.exec("from java.lang import StringBuilder, Integer\n"
+                + "sb = StringBuilder()\n"
+                + "for i in range(3):\n"
+                + "    sb.append(i).append(u'-').append(1.5).append(True).append(None)\n"
+                + "    sb.append(Integer(7)).append(sb.length() > 0)\n");
+        assertEquals("0-1.51null711-1.51null712-1.51null71",
+                interp.eval("sb.toString()").toString());
+    }
+
+    /** Whether a string matches a char depends on its length, not only its type. */
+    public void testCharOverloads() {
+        interp.exec("from java.lang import StringBuilder\n"
+                + "sb = StringBuilder()\n"
+                + "for s in ['a', 'bc', 'd', 'ef']:\n"
+                + "    sb.insert(0, s)\n");
+        assertEquals("efdbca", interp.eval("sb.toString()").toString());
+        interp.exec("from java.lang import Character\n"
+                + "digits = [Character.isDigit(c) for c in '1a2']\n"
+                + "try:\n"
+                + "    Character.isDigit('12')\n"
+                + "    rejected = False\n"
+                + "except TypeError:\n"
+                + "    rejected = True\n");
+        assertEquals("[True, False, True]", interp.eval("digits").toString());
+        assertEquals(Py.True, interp.eval("rejected"));
+    }
+
+    /** A long may or may not fit an int, so the overload is chosen each time. */
+    public void testStaticAndLong() {
+        interp.exec("from java.lang import Math\n"
+                + "r = [Math.max(1, 2), Math.max(2**40, 1), Math.max(1, 2), Math.max(1.0, 3)]\n");
+        assertEquals("[2L, 1099511627776L, 2L, 3.0]", interp.eval("r").toString());
+    }
+
+    public void testExceptions() {
+        interp.exec("from java.lang import Integer, NumberFormatException\n"
+                + "caught = 0\n"
+                + "for s in ['x', u'y']:\n"
+                + "    try:\n"
+                + "        Integer.parseInt(s)\n"
+                + "    except NumberFormatException:\n"
+                + "        caught += 1\n");
+        assertEquals(new PyInteger(2), interp.eval("caught"));
+    }
+}
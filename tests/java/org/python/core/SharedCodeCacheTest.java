@@ -0,0 +1,94 @@
+package org.python.core;
+
+import java.io.File;
+import java.io.FileWriter;
+import java.io.IOException;
+import java.nio.file.Files;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+public class SharedCodeCacheTest extends TestCase {
+
+    private File tmp;
+    private boolean saved;
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+        tmp = Files.createTempDirectory("sharedcode").toFile();
+        saved = Options.sharedCodeCache;
+        Options.sharedCodeCache = true;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.sharedCodeCache = saved;
+        delete(tmp);
+    }
+
+    private static void delete(File f) {
+        File[] files = f.listFiles();
+        if (files != null) {
+            for (File c : files) {
+                delete(c);
+            }
+        }
+        f.delete();
+    }
+
+    /** An interpreter with a new system state, whose path starts with the temporary directory. */
+    private PythonInterpreter newInterpreter() {
+        PythonInterpreter interp = new PythonInterpreter(null, new PySystemState());
+        interp.getSystemState().path.insert(0, Py.newString(tmp.getPath()));
+        return interp;
+    }
+
+    public void testModuleCode() throws IOException {
+        try (FileWriter out = new FileWriter(new File(tmp, "sc_mod.py"))) {
+            out.write("def f(x):\n    return x + 1\n");
+        }
+        PythonInterpreter a = newInterpreter(), b = newInterpreter();
+        try {
+            a.exec("import sc_mod\nsc_mod.y = 1");
+            b.exec("import sc_mod");
+            assertNotSame(a.get("sc_mod"), b.get("sc_mod"));
+            assertSame(a.eval("sc_mod.f.__code__"), b.eval("sc_mod.f.__code__"));
+            assertEquals(Py.newInteger(3), b.eval("sc_mod.f(2)"));
+            // The namespaces are still separate.
+            assertEquals(Py.False, b.eval("hasattr(sc_mod, 'y')"));
+        } finally {
+            a.close();
+            b.close();
+        }
+    }
+
+    public void testProxy() {
+        String runnable = "import java\n" + //
+                "class R(java.lang.Runnable):\n" + //
+                "    def run(self):\n" + //
+                "        pass\n";
+        PythonInterpreter a = newInterpreter(), b = newInterpreter();
+        try {
+            a.exec(runnable);
+            b.exec(runnable);
+            PyType ra = (PyType) a.get("R"), rb = (PyType) b.get("R");
+            assertNotSame(ra, rb);
+            assertSame(ra.getProxyType(), rb.getProxyType());
+
+            // A class that defines other methods needs another proxy.
+            b.exec("class R(java.lang.Runnable):\n" + //
+                    "    def run(self):\n" + //
+                    "        pass\n" + //
+                    "    def toString(self):\n" + //
+                    "        return 'R'\n");
+            PyType rc = (PyType) b.get("R");
+            assertNotSame(ra.getProxyType(), rc.getProxyType());
+            assertEquals("R", b.eval("str(R())").toString());
+        } finally {
+            a.close();
+            b.close();
+        }
+    }
+}
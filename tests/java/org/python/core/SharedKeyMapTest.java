@@ -0,0 +1,112 @@
+package org.python.core;
+
+import java.util.HashMap;
+import java.util.Map;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests of instance dictionaries created with {@link Options#sharedKeyDicts} set, so that they are
+ * backed by a {@link SharedKeyMap}.
+ */
+public class SharedKeyMapTest extends TestCase {
+
+    private boolean savedOption;
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        // Create the interpreter first, as initialisation sets the options from the registry.
+        interp = new PythonInterpreter();
+        savedOption = Options.sharedKeyDicts;
+        Options.sharedKeyDicts = true;
+        interp.exec("class P(object):\n" + //
+                "    def __init__(self, x, y):\n" + //
+                "        self.x = x\n" + //
+                "        self.y = y\n");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.sharedKeyDicts = savedOption;
+        interp.close();
+    }
+
+    private SharedKeyMap mapOf(String expr) {
+        PyObject dict = interp.eval(expr).fastGetDict();
+        Map<Object, PyObject> map = ((PyStringMap) dict).getMap();
+        assertTrue(map instanceof SharedKeyMap);
+        return (SharedKeyMap) map;
+    }
+
+    public void testStorage() {
+        interp.exec("a, b = P(1, 2), P(3, 4)");
+        assertFalse(mapOf("a").isDivergent());
+        Options.sharedKeyDicts = false;
+        interp.exec("c = P(5, 6)");
+        assertFalse(((PyStringMap) interp.eval("c").fastGetDict()).getMap() instanceof SharedKeyMap);
+    }
+
+    /** Instances behave as with a private dictionary, whatever attributes each has. */
+    public void testAttributes() {
+        interp.exec("a, b = P(1, 2), P(3, 4)\n" + //
+                "b.z = 5\n" + //
+                "del a.x\n" + //
+                "a.y += 10\n" + //
+                "r = (hasattr(a, 'x'), a.y, b.x, b.y, b.z, hasattr(a, 'z'),\n" + //
+                "     sorted(a.__dict__.items()), sorted(vars(b)), len(b.__dict__),\n" + //
+                "     getattr(a, 'z', None), 'y' in a.__dict__)\n");
+        assertEquals(interp.eval("(False, 12, 3, 4, 5, False, [('y', 12)], ['x', 'y', 'z'], 3,"
+                + " None, True)"), interp.get("r"));
+        assertFalse(mapOf("b").isDivergent());
+    }
+
+    /** A key that is not a str makes the dictionary divergent, keeping its entries. */
+    public void testDivergentKey() {
+        interp.exec("a = P(1, 2)\n" + //
+                "a.__dict__[1] = 'one'\n" + //
+                "a.w = 3\n" + //
+                "r = (a.x, a.y, a.w, a.__dict__[1], len(a.__dict__))\n");
+        assertEquals(interp.eval("(1, 2, 3, 'one', 4)"), interp.get("r"));
+        assertTrue(mapOf("a").isDivergent());
+        assertFalse(mapOf("P(0, 0)").isDivergent());
+    }
+
+    /** Names beyond the limit of the shared keys make a dictionary divergent. */
+    public void testManyNames() {
+        interp.exec("a = P(1, 2)\n" + //
+                "for i in range(100):\n" + //
+                "    setattr(a, 'n%d' % i, i)\n" + //
+                "b = P(3, 4)\n" + //
+                "r = (a.n0, a.n99, len(vars(a)), b.x, len(vars(b)))\n");
+        assertEquals(interp.eval("(0, 99, 102, 3, 2)"), interp.get("r"));
+        assertTrue(mapOf("a").isDivergent());
+        assertFalse(mapOf("b").isDivergent());
+    }
+
+    public void testMapOperations() {
+        SharedKeyMap.Keys keys = new SharedKeyMap.Keys();
+        SharedKeyMap map = new SharedKeyMap(keys);
+        assertNull(map.putIfAbsent("a", Py.One));
+        assertEquals(Py.One, map.putIfAbsent("a", Py.Zero));
+        assertTrue(map.replace("a", Py.One, Py.Zero));
+        map.put("b", Py.None);
+        Map<Object, PyObject> expected = new HashMap<Object, PyObject>();
+        expected.put("a", Py.Zero);
+        expected.put("b", Py.None);
+        assertEquals(expected, new HashMap<Object, PyObject>(map));
+        assertFalse(map.remove("a", Py.One));
+        assertTrue(map.remove("a", Py.Zero));
+        assertEquals(1, map.size());
+        // A second map sees the positions the first gave, but not its values.
+        SharedKeyMap other = new SharedKeyMap(keys);
+        assertNull(other.get("b"));
+        other.put("c", Py.One);
+        assertEquals(3, keys.size());
+        map.clear();
+        assertTrue(map.isEmpty());
+        assertEquals(Py.One, other.get("c"));
+    }
+}
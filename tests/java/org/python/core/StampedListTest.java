@@ -0,0 +1,155 @@
+package org.python.core;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+import org.python.util.PythonInterpreter;
+
+/**
+ * Tests of {@link PyList} created with {@link Options#listOptimisticReads} set, so that it is
+ * backed by a {@link StampedList}.
+ */
+public class StampedListTest extends TestCase {
+
+    private boolean savedOption;
+    private PythonInterpreter interp;
+
+    @Override
+    protected void setUp() throws Exception {
+        // Create the interpreter first, as initialisation sets the options from the registry.
+        interp = new PythonInterpreter();
+        savedOption = Options.listOptimisticReads;
+        Options.listOptimisticReads = true;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.listOptimisticReads = savedOption;
+        interp.close();
+    }
+
+    public void testStorage() {
+        assertTrue(new PyList().hasOptimisticReads());
+        assertTrue(((PyList) interp.eval("[1, 2, 3][1:]")).hasOptimisticReads());
+        Options.listOptimisticReads = false;
+        assertFalse(new PyList().hasOptimisticReads());
+    }
+
+    /** The list behaves as a Python list whichever storage it has. */
+    public void testPythonOperations() {
+        interp.exec("a = [3, 1, 2]\n" + //
+                "a.append(4)\n" + //
+                "a.extend(a)\n" + //
+                "a.remove(4)\n" + //
+                "a.sort(key=lambda x: -x)\n" + //
+                "r = (a, a[0], a[-1], len(a), 2 in a, 5 in a, a.count(1), a.index(2), a[1:3],\n" + //
+                "     [x for x in a], a.pop(), a == [4, 3, 3, 2, 2, 1])\n");
+        assertEquals(interp.eval("([4, 3, 3, 2, 2, 1], 4, 1, 7, True, False, 2, 3, [3, 3],"
+                + " [4, 3, 3, 2, 2, 1, 1], 1, True)"), interp.get("r"));
+        interp.exec("try:\n" + //
+                "    a[10]\n" + //
+                "except IndexError as e:\n" + //
+                "    r = str(e)\n");
+        assertEquals(Py.newString("index out of range: 10"), interp.get("r"));
+    }
+
+    /** A negative index counts from the end of the list as it is when the element is read. */
+    public void testNegativeIndex() {
+        StampedList list = new StampedList();
+        list.add(Py.One);
+        list.add(Py.Zero);
+        assertEquals(Py.Zero, list.getItemOrNull(-1));
+        assertEquals(Py.One, list.getItemOrNull(-2));
+        assertNull(list.getItemOrNull(-3));
+        assertNull(list.getOrNull(-1));
+        list.remove(1);
+        assertEquals(Py.One, list.getItemOrNull(-1));
+        assertNull(list.getItemOrNull(-2));
+    }
+
+    /** A comparison that changes the list runs without the lock, so does not deadlock. */
+    public void testReentrantChange() {
+        interp.exec("a = [1, 2, 3]\n" + //
+                "class E(object):\n" + //
+                "    def __eq__(self, other):\n" + //
+                "        if len(a) < 6: a.append(len(a))\n" + //
+                "        return False\n" + //
+                "r = a.count(E())\n" + //
+                "a.sort(cmp=lambda x, y: (len(a), cmp(x, y))[1])\n");
+        assertEquals(Py.Zero, interp.get("r"));
+        assertEquals(interp.eval("[1, 2, 3, 3, 4, 5]"), interp.get("a"));
+    }
+
+    public void testJavaListOperations() {
+        PyList p = new PyList();
+        p.addAll(Arrays.asList("a", "b", "c", "b"));
+        p.removeAll(Arrays.asList("b"));
+        assertEquals(Arrays.asList("a", "c"), new ArrayList<Object>(p));
+        p.retainAll(Arrays.asList("c"));
+        assertEquals(1, p.size());
+        assertEquals("c", p.get(0));
+        p.clear();
+        assertTrue(p.isEmpty());
+    }
+
+    /**
+     * Threads reading a list see only elements that were in it, while another thread appends and
+     * pops, and no append or pop is lost.
+     */
+    public void testConcurrentReaders() throws InterruptedException {
+        final PyList list = new PyList();
+        final int n = 20000;
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        final PyObject item = Py.newString("x");
+        List<Thread> readers = new ArrayList<Thread>();
+        for (int t = 0; t < 4; t++) {
+            readers.add(new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        for (int i = 0; i < n; i++) {
+                            int size = list.__len__();
+                            PyObject x = list.pygetOrNull(size - 1);
+                            if (x != null && x != item) {
+                                throw new AssertionError("read " + x);
+                            }
+                            list.list___contains__(item);
+                        }
+                    } catch (Throwable e) {
+                        failure.compareAndSet(null, e);
+                    }
+                }
+            });
+        }
+        Thread writer = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    for (int i = 0; i < n; i++) {
+                        list.append(item);
+                        list.append(item);
+                        list.pop();
+                    }
+                } catch (Throwable e) {
+                    failure.compareAndSet(null, e);
+                }
+            }
+        };
+        for (Thread t : readers) {
+            t.start();
+        }
+        writer.start();
+        writer.join();
+        for (Thread t : readers) {
+            t.join();
+        }
+        assertNull(failure.get());
+        assertEquals(n, list.size());
+    }
+}
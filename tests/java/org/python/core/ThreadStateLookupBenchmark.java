@@ -0,0 +1,76 @@
+package org.python.core;
+
+/**
+ * A microbenchmark of {@link Py#getThreadState()}: on an ordinary thread outside and inside a
+ * Python call, on a {@link FunctionThread}, and on many short-lived threads (as a servlet
+ * container might run). Run it with the Jython jar and its dependencies on the class path:
+ *
+ * <pre>
+ * java -cp dist/jython-dev.jar:dist/javalib/*:build/classes org.python.core.ThreadStateLookupBenchmark
+ * </pre>
+ */
+public class ThreadStateLookupBenchmark {
+
+    private static final int LOOKUPS = 20000000;
+    private static final int THREADS = 20000;
+    private static final int LOOKUPS_PER_THREAD = 100;
+
+    private static volatile Object sink;
+
+    /** Time some look-ups on the current thread, in nanoseconds per look-up. */
+    private static double lookups(int n) {
+        long start = System.nanoTime();
+        for (int i = 0; i < n; i++) {
+            sink = Py.getThreadState();
+        }
+        return (double) (System.nanoTime() - start) / n;
+    }
+
+    private static void report(String what, double ns) {
+        System.out.printf("%-40s %8.2f ns%n", what, ns);
+    }
+
+    public static void main(String[] args) throws Exception {
+        PySystemState.initialize();
+        for (int round = 0; round < 3; round++) {
+            report("thread, outside a call", lookups(LOOKUPS));
+
+            ThreadState ts = Py.getThreadState();
+            ThreadStateMapping.enterCall(ts);
+            try {
+                report("thread, inside a call", lookups(LOOKUPS));
+            } finally {
+                ThreadStateMapping.exitCall(ts);
+            }
+
+            final double[] result = new double[1];
+            PyObject func = new PyObject() {
+
+                @Override
+                public PyObject __call__(PyObject[] a, String[] kw) {
+                    result[0] = lookups(LOOKUPS);
+                    return Py.None;
+                }
+            };
+            Thread ft = new FunctionThread(func, Py.EmptyObjects, 0, null);
+            ft.start();
+            ft.join();
+            report("FunctionThread", result[0]);
+
+            long start = System.nanoTime();
+            for (int i = 0; i < THREADS; i++) {
+                Thread t = new Thread() {
+
+                    @Override
+                    public void run() {
+                        lookups(LOOKUPS_PER_THREAD);
+                    }
+                };
+                t.start();
+                t.join();
+            }
+            report("new thread each " + LOOKUPS_PER_THREAD + " look-ups",
+                    (double) (System.nanoTime() - start) / THREADS / LOOKUPS_PER_THREAD);
+        }
+    }
+}
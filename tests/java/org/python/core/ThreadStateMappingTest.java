@@ -0,0 +1,84 @@
+package org.python.core;
+
+import java.util.concurrent.atomic.AtomicReference;
+
+import junit.framework.TestCase;
+
+public class ThreadStateMappingTest extends TestCase {
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+    }
+
+    /**
+     * Run the body in a {@link FunctionThread} (as {@code thread.start_new_thread} would) and
+     * rethrow anything it throws.
+     */
+    private static void runInFunctionThread(final Runnable body) throws Throwable {
+        final AtomicReference<Throwable> failure = new AtomicReference<Throwable>();
+        PyObject func = new PyObject() {
+
+            @Override
+            public PyObject __call__(PyObject[] args, String[] keywords) {
+                try {
+                    body.run();
+                } catch (Throwable t) {
+                    failure.set(t);
+                }
+                return Py.None;
+            }
+        };
+        FunctionThread thread = new FunctionThread(func, Py.EmptyObjects, 0, null);
+        thread.start();
+        thread.join();
+        if (failure.get() != null) {
+            throw failure.get();
+        }
+    }
+
+    public void testFunctionThreadHoldsThreadState() throws Throwable {
+        runInFunctionThread(new Runnable() {
+
+            @Override
+            public void run() {
+                ThreadState ts = Py.getThreadState();
+                assertSame(ts, ((FunctionThread) Thread.currentThread()).threadState);
+                assertSame(ts, Py.getThreadState());
+            }
+        });
+    }
+
+    public void testForget() throws Throwable {
+        runInFunctionThread(new Runnable() {
+
+            @Override
+            public void run() {
+                ThreadState ts = Py.getThreadState();
+                ThreadStateMapping.forget(ts);
+                assertNull(((FunctionThread) Thread.currentThread()).threadState);
+                assertNotSame(ts, Py.getThreadState());
+            }
+        });
+    }
+
+    /** The mapping is removed, in the background, once the system state reference is cleared. */
+    public void testCleaner() throws Throwable {
+        runInFunctionThread(new Runnable() {
+
+            @Override
+            public void run() {
+                ThreadState ts = Py.getThreadState();
+                new PySystemStateRef(ts.getSystemState(), ts).enqueue();
+                try {
+                    for (int i = 0; i < 100 && Py.getThreadState() == ts; i++) {
+                        Thread.sleep(50);
+                    }
+                } catch (InterruptedException e) {
+                    throw new RuntimeException(e);
+                }
+                assertNotSame(ts, Py.getThreadState());
+            }
+        });
+    }
+}
@@ -0,0 +1,71 @@
+package org.python.core.adapter;
+
+import java.util.ArrayList;
+
+import junit.framework.TestCase;
+
+import org.python.core.Py;
+import org.python.core.PyArray;
+import org.python.core.PyInteger;
+import org.python.core.PyObject;
+import org.python.core.PySystemState;
+import org.python.core.PyUnicode;
+
+public class ClassicPyObjectAdapterTest extends TestCase {
+
+    private ClassicPyObjectAdapter adapter;
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+        adapter = new ClassicPyObjectAdapter();
+    }
+
+    public void testBuiltinTypes() {
+        assertSame(Py.None, adapter.adapt(null));
+        assertSame(Py.True, adapter.adapt(Boolean.TRUE));
+        assertSame(Py.None, adapter.adapt(Py.None));
+        assertEquals(new PyInteger(3), adapter.adapt((short) 3));
+        assertEquals(Py.newLong(5), adapter.adapt(5L));
+        assertTrue(adapter.adapt(new int[] {1, 2}) instanceof PyArray);
+        PyObject list = adapter.adapt(new ArrayList<Object>());
+        assertTrue(list.__tojava__(ArrayList.class) instanceof ArrayList);
+    }
+
+    public void testNoAllocation() {
+        assertSame(adapter.adapt(7), adapter.adapt(Integer.valueOf(7)));
+        assertEquals(new PyInteger(1 << 20), adapter.adapt(1 << 20));
+        String s = "interned";
+        PyObject u = adapter.adapt(s);
+        assertEquals(new PyUnicode(s), u);
+        assertSame(u, adapter.adapt(s));
+        // An equal string that is another object makes an equal unicode.
+        String t = new String(s);
+        assertEquals(u, adapter.adapt(t));
+    }
+
+    public void testAddedAdapters() {
+        // Found by class: the cache is reset when it is added.
+        adapter.add(new ClassAdapter(StringBuilder.class) {
+
+            public PyObject adapt(Object o) {
+                return Py.newUnicode("builder");
+            }
+        });
+        assertEquals(Py.newUnicode("builder"), adapter.adapt(new StringBuilder()));
+
+        // Decides by value: asked for each object.
+        adapter.addPreClass(new PyObjectAdapter() {
+
+            public boolean canAdapt(Object o) {
+                return o instanceof Integer && (Integer) o < 0;
+            }
+
+            public PyObject adapt(Object o) {
+                return Py.Zero;
+            }
+        });
+        assertSame(Py.Zero, adapter.adapt(-4));
+        assertEquals(new PyInteger(4), adapter.adapt(4));
+    }
+}
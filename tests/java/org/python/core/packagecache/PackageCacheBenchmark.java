@@ -0,0 +1,158 @@
+package org.python.core.packagecache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipOutputStream;
+
+import org.objectweb.asm.ClassWriter;
+import org.objectweb.asm.Opcodes;
+import org.python.core.PyJavaPackage;
+import org.python.core.PyList;
+
+/**
+ * A benchmark of the package cache, on a synthetic class path of many JARs. It times indexing the
+ * JARs with no cache (every JAR is read, in parallel), with a valid cache (the index is mapped and
+ * nothing is read), and after a few JARs have changed (only those are read again). Each phase
+ * starts from a new package manager, as a new JVM would. Run it through the build with
+ * {@code ant package-cache-benchmark}, or with the Jython jar and its dependencies on the class
+ * path:
+ *
+ * <pre>
+ * java -cp dist/jython-dev.jar:dist/javalib/*:build/classes org.python.core.packagecache.PackageCacheBenchmark [jars [classes]]
+ * </pre>
+ */
+public class PackageCacheBenchmark {
+
+    /** A package manager that indexes only the JARs it is given. */
+    static class JarsPackageManager extends CachedJarsPackageManager {
+
+        /** Messages from {@link #comment(String, Object...)} (the JARs processed, for example). */
+        final List<String> comments = new ArrayList<>();
+        boolean failed;
+
+        JarsPackageManager(File cachedir) {
+            if (useCacheDir(cachedir)) {
+                initCache();
+            }
+        }
+
+        @Override
+        protected void comment(String msg, Object... params) {
+            comments.add(java.text.MessageFormat.format(msg, params));
+        }
+
+        @Override
+        protected void warning(String msg, Object... params) {
+            failed = true;
+        }
+
+        @Override
+        public void addDirectory(File dir) {}
+
+        @Override
+        public void addJar(String jarfile, boolean cache) {}
+
+        @Override
+        public void addJarDir(String dir, boolean cache) {}
+
+        @Override
+        public PyList doDir(PyJavaPackage jpkg, boolean instantiate, boolean exclpkgs) {
+            return null;
+        }
+
+        @Override
+        public Class<?> findClass(String pkg, String name, String reason) {
+            return null;
+        }
+
+        @Override
+        public boolean packageExists(String pkg, String name) {
+            return false;
+        }
+    }
+
+    /**
+     * Write a JAR of (empty) classes {@code C0}, {@code C1}, ... spread over five packages
+     * {@code pkg.p0} to {@code pkg.p4}. Every tenth class is not public.
+     *
+     * @param jar to write
+     * @param pkg prefix of the package names
+     * @param classes how many classes
+     * @return {@code jar}
+     */
+    static File writeJar(File jar, String pkg, int classes) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(jar))) {
+            for (int i = 0; i < classes; i++) {
+                String name = pkg.replace('.', '/') + "/p" + (i % 5) + "/C" + i;
+                ClassWriter cw = new ClassWriter(0);
+                int access = (i % 10 == 9 ? 0 : Opcodes.ACC_PUBLIC) | Opcodes.ACC_SUPER;
+                cw.visit(Opcodes.V1_7, access, name, null, "java/lang/Object", null);
+                cw.visitEnd();
+                out.putNextEntry(new ZipEntry(name + ".class"));
+                out.write(cw.toByteArray());
+                out.closeEntry();
+            }
+        }
+        return jar;
+    }
+
+    /** Index the JARs with a new package manager and return the time taken in milliseconds. */
+    private static long index(File cachedir, List<File> jars) {
+        long t0 = System.nanoTime();
+        JarsPackageManager manager = new JarsPackageManager(cachedir);
+        manager.addJarsToPackages(jars, true);
+        manager.saveCache();
+        long t = (System.nanoTime() - t0) / 1000000;
+        if (manager.failed) {
+            throw new IllegalStateException("indexing failed");
+        }
+        return t;
+    }
+
+    private static void delete(File f) {
+        File[] files = f.listFiles();
+        if (files != null) {
+            for (File c : files) {
+                delete(c);
+            }
+        }
+        f.delete();
+    }
+
+    public static void main(String[] args) throws Exception {
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 300;
+        int classes = args.length > 1 ? Integer.parseInt(args[1]) : 200;
+        File tmp = Files.createTempDirectory("pkgcache").toFile();
+        try {
+            File cachedir = new File(tmp, "cache");
+            List<File> jars = new ArrayList<>();
+            for (int i = 0; i < n; i++) {
+                jars.add(writeJar(new File(tmp, "lib" + i + ".jar"), "org.example.lib" + i,
+                        classes));
+            }
+            System.out.printf("%d jars of %d classes%n", n, classes);
+            System.out.printf("%-24s%8d ms%n", "no cache", index(cachedir, jars));
+
+            int runs = 7;
+            long[] times = new long[runs];
+            for (int i = 0; i < runs; i++) {
+                times[i] = index(cachedir, jars);
+            }
+            Arrays.sort(times);
+            System.out.printf("%-24s%8d ms%n", "valid cache (median)", times[runs / 2]);
+
+            for (int i = 0; i < n; i += Math.max(1, n / 5)) {
+                writeJar(jars.get(i), "org.example.changed" + i, classes + 1);
+            }
+            System.out.printf("%-24s%8d ms%n", "5 jars changed", index(cachedir, jars));
+        } finally {
+            delete(tmp);
+        }
+    }
+}
@@ -0,0 +1,120 @@
+package org.python.core.packagecache;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.List;
+
+import junit.framework.TestCase;
+
+import org.python.core.Options;
+import org.python.core.PyJavaPackage;
+import org.python.core.packagecache.PackageCacheBenchmark.JarsPackageManager;
+
+public class PackageIndexTest extends TestCase {
+
+    private File tmp;
+    private File cachedir;
+
+    @Override
+    protected void setUp() throws Exception {
+        tmp = Files.createTempDirectory("pkgindex").toFile();
+        cachedir = new File(tmp, "cache");
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        delete(tmp);
+    }
+
+    private static void delete(File f) {
+        File[] files = f.listFiles();
+        if (files != null) {
+            for (File c : files) {
+                delete(c);
+            }
+        }
+        f.delete();
+    }
+
+    private static PyJavaPackage lookup(JarsPackageManager manager, String name) {
+        return (PyJavaPackage) manager.lookupName(name);
+    }
+
+    private static int processed(JarsPackageManager manager) {
+        int n = 0;
+        for (String c : manager.comments) {
+            if (c.startsWith("processing jar")) {
+                n++;
+            }
+        }
+        return n;
+    }
+
+    public void testIncremental() throws IOException {
+        List<File> jars = Arrays.asList(
+                PackageCacheBenchmark.writeJar(new File(tmp, "a.jar"), "org.a", 20),
+                PackageCacheBenchmark.writeJar(new File(tmp, "b.jar"), "org.b", 20),
+                PackageCacheBenchmark.writeJar(new File(tmp, "c.jar"), "org.c", 20));
+
+        JarsPackageManager manager = new JarsPackageManager(cachedir);
+        manager.addJarsToPackages(jars, true);
+        manager.saveCache();
+        assertFalse(manager.failed);
+        assertEquals(3, processed(manager));
+        assertTrue(new File(cachedir, PackageIndex.FILE_NAME).isFile());
+        PyJavaPackage p = lookup(manager, "org.b.p1");
+        assertNotNull(p.clsSet.__finditem__("C1"));
+        assertEquals(jars.get(1).getCanonicalPath(), p.__file__);
+
+        // A new manager finds all three in the index.
+        manager = new JarsPackageManager(cachedir);
+        manager.addJarsToPackages(jars, true);
+        manager.saveCache();
+        assertEquals(0, processed(manager));
+        p = lookup(manager, "org.c.p4");
+        assertNotNull(p.clsSet.__finditem__("C14"));
+        if (Options.respectJavaAccessibility) {
+            // C19 is not public.
+            assertNull(p.clsSet.__finditem__("C19"));
+        }
+
+        // Change one: only that is read again, and the others survive the rewrite.
+        PackageCacheBenchmark.writeJar(jars.get(0), "org.changed", 7);
+        manager = new JarsPackageManager(cachedir);
+        manager.addJarsToPackages(jars, true);
+        manager.saveCache();
+        assertEquals(1, processed(manager));
+        assertNotNull(lookup(manager, "org.changed.p2").clsSet.__finditem__("C2"));
+        // The index was written to a temporary file, then moved into place.
+        assertEquals(Arrays.asList(PackageIndex.FILE_NAME), Arrays.asList(cachedir.list()));
+
+        manager = new JarsPackageManager(cachedir);
+        manager.addJarsToPackages(jars, true);
+        assertEquals(0, processed(manager));
+        assertNotNull(lookup(manager, "org.changed.p2"));
+        assertNotNull(lookup(manager, "org.b.p0").clsSet.__finditem__("C0"));
+    }
+
+    public void testDamagedIndex() throws IOException {
+        File jar = PackageCacheBenchmark.writeJar(new File(tmp, "d.jar"), "org.d", 5);
+        cachedir.mkdirs();
+        try (FileOutputStream out =
+                new FileOutputStream(new File(cachedir, PackageIndex.FILE_NAME))) {
+            out.write(new byte[] {0x4a, 0x70, 0x6b, 0x69, 0, 0, 0, 9, 1, 2});
+        }
+        JarsPackageManager manager = new JarsPackageManager(cachedir);
+        manager.failed = false;
+        manager.addJarToPackages(jar, true);
+        manager.saveCache();
+        assertFalse(manager.failed);
+        assertEquals(1, processed(manager));
+
+        manager = new JarsPackageManager(cachedir);
+        manager.addJarToPackages(jar, true);
+        assertFalse(manager.failed);
+        assertEquals(0, processed(manager));
+    }
+}
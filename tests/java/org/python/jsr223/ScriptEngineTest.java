@@ -2,9 +2,13 @@ package org.python.jsr223;
 
 import java.io.IOException;
 import java.io.StringReader;
+import java.io.StringWriter;
+import java.lang.management.ManagementFactory;
 import java.math.BigInteger;
 import java.util.Arrays;
 
+import javax.management.JMX;
+import javax.management.ObjectName;
 import javax.script.Bindings;
 import javax.script.Compilable;
 import javax.script.CompiledScript;
@@ -17,8 +21,10 @@ import javax.script.SimpleScriptContext;
 
 import org.junit.Assert;
 import org.python.core.Options;
+import org.python.core.Py;
 import org.python.core.PyList;
 import org.python.core.PyString;
+import org.python.util.InterpreterPool;
 
 import junit.framework.TestCase;
 
@@ -236,6 +242,212 @@ public class ScriptEngineTest extends TestCase {
         assertEquals("__main__", pythonEngine.eval("__name__"));
     }
 
+    /**
+     * Test that threads evaluating scripts at once, each with its own context, each see only its
+     * own bindings and output, and that the engine draws on its pool of interpreters to do so.
+     */
+    public void testConcurrentEval() throws InterruptedException {
+        ScriptEngineManager manager = new ScriptEngineManager();
+        final ScriptEngine pythonEngine;
+        Options.scriptEngineInterpreterPool = true;
+        try {
+            pythonEngine = manager.getEngineByName("python");
+        } finally {
+            Options.scriptEngineInterpreterPool = false;
+        }
+        final int n = 8;
+        final String[] outputs = new String[n];
+        final Throwable[] exceptions = new Throwable[n];
+        Thread[] threads = new Thread[n];
+        for (int i = 0; i < n; i++) {
+            final int k = i;
+            threads[i] = new Thread() {
+
+                @Override
+                public void run() {
+                    try {
+                        ScriptContext context = new SimpleScriptContext();
+                        StringWriter out = new StringWriter();
+                        context.setWriter(out);
+                        context.setAttribute("k", k, ScriptContext.ENGINE_SCOPE);
+                        for (int j = 0; j < 20; j++) {
+                            pythonEngine.eval("total = k if 'total' not in dir() else total + k",
+                                    context);
+                        }
+                        pythonEngine.eval("print total,", context);
+                        outputs[k] = out.toString();
+                    } catch (Throwable e) {
+                        exceptions[k] = e;
+                    }
+                }
+            };
+            threads[i].start();
+        }
+        for (Thread t : threads) {
+            t.join();
+        }
+        for (int i = 0; i < n; i++) {
+            assertNull(exceptions[i]);
+            assertEquals(Integer.toString(20 * i), outputs[i].trim());
+        }
+        InterpreterPool pool = ((PyScriptEngine) pythonEngine).getInterpreterPool();
+        assertEquals(n * 21, pool.getCheckouts());
+        assertEquals(0, pool.getActive());
+        assertTrue(pool.getSize() <= pool.getMaxSize());
+    }
+
+    /** Run a script in the engine on another thread, failing if it does not finish soon. */
+    private static Object evalWithin(final ScriptEngine pythonEngine, final String script)
+            throws Exception {
+        final Object[] result = new Object[1];
+        final Exception[] exception = new Exception[1];
+        Thread thread = new Thread() {
+
+            @Override
+            public void run() {
+                try {
+                    result[0] = pythonEngine.eval(script);
+                } catch (Exception e) {
+                    exception[0] = e;
+                }
+            }
+        };
+        thread.setDaemon(true);
+        thread.start();
+        thread.join(10000);
+        assertFalse("the script did not finish", thread.isAlive());
+        if (exception[0] != null) {
+            throw exception[0];
+        }
+        return result[0];
+    }
+
+    /** Check that scripts may call back into the engine that is running them. */
+    private static void checkNestedCalls(ScriptEngine pythonEngine) throws Exception {
+        pythonEngine.put("engine", pythonEngine);
+        assertEquals(2, evalWithin(pythonEngine, "engine.eval('1+1')"));
+        assertNull(evalWithin(pythonEngine, "from java.lang import Readable\n"
+                + "def read(cb): return 3\n" + "r = engine.getInterface(Readable).read(None)"));
+        assertEquals(3, pythonEngine.get("r"));
+        // The outer script carries on in its own context after an inner one with another.
+        StringWriter out = new StringWriter();
+        ScriptContext context = new SimpleScriptContext();
+        context.setWriter(out);
+        pythonEngine.put("inner", context);
+        assertNull(evalWithin(pythonEngine, "y = engine.eval('y = 5; print 1,', inner)\n"
+                + "print 2,\n" + "y = 7"));
+        assertEquals("1", out.toString().trim());
+        assertEquals(7, pythonEngine.get("y"));
+        assertEquals(5, context.getAttribute("y"));
+    }
+
+    public void testNestedCalls() throws Exception {
+        ScriptEngineManager manager = new ScriptEngineManager();
+        checkNestedCalls(manager.getEngineByName("python"));
+    }
+
+    /** Nested calls use the interpreter already checked out, even if it is the only one. */
+    public void testNestedCallsPooled() throws Exception {
+        ScriptEngineManager manager = new ScriptEngineManager();
+        ScriptEngine pythonEngine;
+        int savedSize = Options.interpreterPoolSize;
+        Options.scriptEngineInterpreterPool = true;
+        Options.interpreterPoolSize = 1;
+        try {
+            pythonEngine = manager.getEngineByName("python");
+        } finally {
+            Options.scriptEngineInterpreterPool = false;
+            Options.interpreterPoolSize = savedSize;
+        }
+        InterpreterPool pool = ((PyScriptEngine) pythonEngine).getInterpreterPool();
+        assertEquals(1, pool.getMaxSize());
+        checkNestedCalls(pythonEngine);
+        assertEquals(0, pool.getActive());
+        assertEquals(1, pool.getSize());
+    }
+
+    /** By default, scripts share one sys (and so its modules), whichever thread runs them. */
+    public void testSharedSystemState() throws Exception {
+        ScriptEngineManager manager = new ScriptEngineManager();
+        ScriptEngine pythonEngine = manager.getEngineByName("python");
+        assertNull(((PyScriptEngine) pythonEngine).getInterpreterPool());
+        pythonEngine.eval("import sys\n" + "sys.engine_test_mark = 1");
+        assertEquals(1, evalWithin(pythonEngine, "__import__('sys').engine_test_mark"));
+    }
+
+    public void testScriptCache() throws Exception {
+        ScriptEngineManager manager = new ScriptEngineManager();
+        PyScriptEngine pythonEngine = (PyScriptEngine) manager.getEngineByName("python");
+        ScriptCacheMXBean counters = JMX.newMXBeanProxy(
+                ManagementFactory.getPlatformMBeanServer(),
+                new ObjectName(ScriptCache.OBJECT_NAME), ScriptCacheMXBean.class);
+        String rule = "x * 2 + 1";
+        long hits = counters.getHitCount();
+        for (int i = 0; i < 10; i++) {
+            pythonEngine.put("x", i);
+            assertEquals(2 * i + 1, pythonEngine.eval(rule));
+        }
+        assertEquals(9, counters.getHitCount() - hits);
+        assertEquals(1, pythonEngine.getScriptCache().size());
+
+        // The file name is part of the key.
+        pythonEngine.put(ScriptEngine.FILENAME, "rule.py");
+        assertEquals(19, pythonEngine.eval(rule));
+        assertEquals(2, pythonEngine.getScriptCache().size());
+
+        // Scripts longer in total than the capacity are evicted.
+        pythonEngine.put(PyScriptEngine.SCRIPT_CACHE_SIZE, 20);
+        long evictions = counters.getEvictionCount();
+        assertEquals(19, pythonEngine.eval(rule));
+        assertEquals(19, pythonEngine.eval(rule + " + 0"));
+        assertEquals(1, pythonEngine.getScriptCache().size());
+        assertEquals(1, counters.getEvictionCount() - evictions);
+
+        // A capacity of 0 turns the cache off.
+        pythonEngine.put(PyScriptEngine.SCRIPT_CACHE_SIZE, "0");
+        assertEquals(19, pythonEngine.eval(rule));
+        assertNull(pythonEngine.getScriptCache());
+    }
+
+    public void testPyBindings() throws ScriptException {
+        ScriptEngineManager manager = new ScriptEngineManager();
+        ScriptEngine pythonEngine = manager.getEngineByName("python");
+        PyBindings bindings = new PyBindings();
+        pythonEngine.setBindings(bindings, ScriptContext.ENGINE_SCOPE);
+
+        pythonEngine.put("x", 5);
+        assertEquals(Py.newInteger(5), bindings.getPyObject("x"));
+        assertNull(pythonEngine.eval("s = 'hi' * x\nl = [x]"));
+        // Python objects are held as they are: a str stays a str.
+        assertEquals("str", pythonEngine.eval("type(s).__name__"));
+        assertEquals(Py.True, bindings.getPyObject("l").__getitem__(0)._eq(Py.newInteger(5)));
+        assertEquals("hihihihihi", pythonEngine.get("s"));
+        assertEquals(Boolean.TRUE, pythonEngine.eval("l is locals()['l']"));
+
+        pythonEngine.put("n", null);
+        assertEquals(Py.None, bindings.getPyObject("n"));
+        assertNull(pythonEngine.get("n"));
+        assertTrue(bindings.containsKey("n"));
+        assertNull(pythonEngine.eval("del n"));
+        assertFalse(bindings.containsKey("n"));
+        assertTrue(bindings.keySet().containsAll(Arrays.asList("x", "s", "l")));
+        assertEquals(bindings.size(), bindings.entrySet().size());
+    }
+
+    public void testScopeConversionCache() throws ScriptException {
+        ScriptEngineManager manager = new ScriptEngineManager();
+        ScriptEngine pythonEngine = manager.getEngineByName("python");
+        pythonEngine.put("d", new java.util.Date(1000));
+        // An unchanged Java value is converted once.
+        Object id = pythonEngine.eval("id(d)");
+        assertEquals(id, pythonEngine.eval("id(d)"));
+        // A changed value is seen.
+        pythonEngine.put("d", new java.util.Date(2000));
+        assertEquals(2000L, ((Number) pythonEngine.eval("d.getTime()")).longValue());
+        assertNull(pythonEngine.eval("d = 'x'"));
+        assertEquals("unicode", pythonEngine.eval("type(d).__name__"));
+    }
+
     public void testInvoke() throws ScriptException, NoSuchMethodException {
         ScriptEngineManager manager = new ScriptEngineManager();
         ScriptEngine pythonEngine = manager.getEngineByName("python");
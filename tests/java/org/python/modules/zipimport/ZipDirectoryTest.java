@@ -0,0 +1,231 @@
+package org.python.modules.zipimport;
+
+import java.io.File;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.util.Arrays;
+import java.util.zip.CRC32;
+import java.util.zip.ZipEntry;
+import java.util.zip.ZipException;
+import java.util.zip.ZipOutputStream;
+
+import junit.framework.TestCase;
+
+import org.python.core.Options;
+import org.python.core.Py;
+import org.python.core.PyDictionary;
+import org.python.core.PyObject;
+import org.python.core.PyString;
+import org.python.core.PySystemState;
+import org.python.core.PyTuple;
+import org.python.core.Visitproc;
+import org.python.core.util.FileUtil;
+import org.python.util.PythonInterpreter;
+
+public class ZipDirectoryTest extends TestCase {
+
+    private File tmp;
+    private boolean savedMapped;
+    private boolean savedIndexFiles;
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+        tmp = Files.createTempDirectory("zipdir").toFile();
+        savedMapped = Options.zipimportMapped;
+        savedIndexFiles = Options.zipimportIndexFiles;
+    }
+
+    @Override
+    protected void tearDown() throws Exception {
+        Options.zipimportMapped = savedMapped;
+        Options.zipimportIndexFiles = savedIndexFiles;
+        for (File f : tmp.listFiles()) {
+            f.delete();
+        }
+        tmp.delete();
+    }
+
+    /** Write an archive of alternately stored and deflated entries, named and filled as given. */
+    private static File writeZip(File zip, String... namesAndText) throws IOException {
+        try (ZipOutputStream out = new ZipOutputStream(new FileOutputStream(zip))) {
+            for (int i = 0; i < namesAndText.length; i += 2) {
+                byte[] data = namesAndText[i + 1].getBytes(StandardCharsets.UTF_8);
+                ZipEntry entry = new ZipEntry(namesAndText[i]);
+                if (i % 4 == 0) {
+                    CRC32 crc = new CRC32();
+                    crc.update(data);
+                    entry.setMethod(ZipEntry.STORED);
+                    entry.setSize(data.length);
+                    entry.setCrc(crc.getValue());
+                }
+                out.putNextEntry(entry);
+                out.write(data);
+                out.closeEntry();
+            }
+        }
+        return zip;
+    }
+
+    private static String read(ZipDirectory directory, String name) throws IOException {
+        int i = directory.find(name.replace('/', File.separatorChar));
+        assertTrue(name, i >= 0);
+        try (InputStream in = directory.open(i)) {
+            return new String(FileUtil.readBytes(in), StandardCharsets.UTF_8);
+        }
+    }
+
+    private void checkRead(boolean mapped) throws IOException {
+        Options.zipimportMapped = mapped;
+        StringBuilder big = new StringBuilder();
+        for (int i = 0; i < 1000; i++) {
+            big.append("x = ").append(i).append('\n');
+        }
+        File zip = writeZip(new File(tmp, "a.zip"), "b.py", "B = 1\n", "pkg/__init__.py", "",
+                "pkg/big.py", big.toString(), "a.py", "A = 2\n");
+        ZipDirectory directory = ZipDirectory.read(zip);
+        assertEquals(4, directory.size());
+        assertEquals("A = 2\n", read(directory, "a.py"));
+        assertEquals("B = 1\n", read(directory, "b.py"));
+        assertEquals("", read(directory, "pkg/__init__.py"));
+        assertEquals(big.toString(), read(directory, "pkg/big.py"));
+        assertEquals(-1, directory.find("c.py"));
+        assertEquals(-1, directory.find("pkg"));
+    }
+
+    public void testReadMapped() throws IOException {
+        checkRead(true);
+    }
+
+    public void testReadUnmapped() throws IOException {
+        checkRead(false);
+    }
+
+    public void testShared() throws IOException {
+        File zip = writeZip(new File(tmp, "s.zip"), "m.py", "M = 1\n");
+        ZipDirectory directory = ZipDirectory.get(zip);
+        assertSame(directory, ZipDirectory.get(zip));
+        writeZip(zip, "m.py", "M = 1\n", "n.py", "N = 2\n");
+        assertTrue(directory.isStale());
+        ZipDirectory changed = ZipDirectory.get(zip);
+        assertNotSame(directory, changed);
+        assertEquals("N = 2\n", read(changed, "n.py"));
+        // The old index still reads what it can from the archive as it is now.
+        assertEquals("M = 1\n", read(directory, "m.py"));
+    }
+
+    /** The toc fills itself whichever way it is first read, not only through getMap(). */
+    public void testTocFilledOnAnyAccess() throws IOException {
+        File zip = writeZip(new File(tmp, "t.zip"), "a.py", "A = 1\n", "b.py", "B = 2\n");
+        ZipDirectory directory = ZipDirectory.read(zip);
+        String archive = zip.getPath();
+        PyString a = Py.newString("a.py");
+
+        assertEquals(2, new ZipDirectory.Toc(directory, archive).pyKeySet().size());
+
+        PyDictionary copy = new PyDictionary();
+        copy.merge(new ZipDirectory.Toc(directory, archive), false);
+        assertEquals(2, copy.__len__());
+
+        ZipDirectory.Toc toc = new ZipDirectory.Toc(directory, archive);
+        PyDictionary other = new PyDictionary();
+        other.__setitem__(a, Py.None);
+        toc.merge(other, false);
+        assertTrue(toc.__getitem__(a) instanceof PyTuple);
+
+        final int[] visited = new int[1];
+        new ZipDirectory.Toc(directory, archive).traverse(new Visitproc() {
+
+            @Override
+            public int visit(PyObject object, Object arg) {
+                visited[0]++;
+                return 0;
+            }
+        }, null);
+        assertEquals(4, visited[0]);
+
+        assertTrue(new ZipDirectory.Toc(directory, archive).refersDirectlyTo(a));
+    }
+
+    public void testIndexFile() throws IOException {
+        if (File.separatorChar != '/') {
+            return;
+        }
+        Options.zipimportIndexFiles = true;
+        File zip = writeZip(new File(tmp, "i.zip"), "m.py", "M = 1\n", "p/q.py", "Q = 2\n");
+        File index = new File(zip.getPath() + ZipDirectory.INDEX_SUFFIX);
+        ZipDirectory.read(zip);
+        assertTrue(index.isFile());
+        long saved = index.lastModified();
+        ZipDirectory loaded = ZipDirectory.read(zip);
+        assertEquals(saved, index.lastModified());
+        assertEquals("Q = 2\n", read(loaded, "p/q.py"));
+        assertEquals("M = 1\n", read(loaded, "m.py"));
+    }
+
+    /** Several JVMs may save the index of one archive: each writes a file of its own first. */
+    public void testIndexFileWritten() throws IOException {
+        if (File.separatorChar != '/') {
+            return;
+        }
+        Options.zipimportIndexFiles = true;
+        File zip = writeZip(new File(tmp, "w.zip"), "m.py", "M = 1\n");
+        ZipDirectory.read(zip);
+        ZipDirectory.read(new File(zip.getPath()));
+        String[] names = tmp.list();
+        Arrays.sort(names);
+        assertEquals(Arrays.asList("w.zip", "w.zip" + ZipDirectory.INDEX_SUFFIX),
+                Arrays.asList(names));
+    }
+
+    /** A corrupt length in the central directory is reported as a ZipException. */
+    public void testCorruptNameLength() throws IOException {
+        File zip = writeZip(new File(tmp, "c.zip"), "m.py", "M = 1\n");
+        byte[] data = Files.readAllBytes(zip.toPath());
+        for (int pos = data.length - 4; pos >= 0; pos--) {
+            // The signature of the central directory header: 0x02014b50, little-endian.
+            if (data[pos] == 0x50 && data[pos + 1] == 0x4b && data[pos + 2] == 0x01
+                    && data[pos + 3] == 0x02) {
+                data[pos + 28] = (byte) 0xff;
+                data[pos + 29] = (byte) 0xff;
+                break;
+            }
+        }
+        Files.write(zip.toPath(), data);
+        try {
+            ZipDirectory.read(zip);
+            fail("read a corrupt central directory");
+        } catch (ZipException e) {
+            // expected
+        }
+    }
+
+    public void testImport() throws IOException {
+        File zip = writeZip(new File(tmp, "mods.zip"), "zd_mod.py", "X = 42\n", "zd_pkg/__init__.py",
+                "", "zd_pkg/sub.py", "Y = 'sub'\n");
+        PythonInterpreter interp = new PythonInterpreter();
+        try {
+            interp.exec("import sys, zipimport\n" + //
+                    "archive = " + Py.newString(zip.getPath()).__repr__() + "\n" + //
+                    "sys.path.insert(0, archive)\n" + //
+                    "import zd_mod, zd_pkg.sub\n" + //
+                    "files = zipimport._zip_directory_cache[archive]\n" + //
+                    "importer = zipimport.zipimporter(archive)\n");
+            assertEquals(Py.newInteger(42), interp.eval("zd_mod.X"));
+            assertEquals(Py.newString("sub"), interp.eval("zd_pkg.sub.Y"));
+            assertEquals(Py.True, interp.eval("type(files) is dict and len(files) == 3"));
+            assertEquals(Py.True, interp.eval("importer._files is files"));
+            assertEquals(Py.newInteger(0), interp.eval("files['zd_mod.py'][1]"));
+            assertEquals(Py.True, interp.eval("importer.get_source('zd_mod') == 'X = 42\\n'"));
+            assertEquals(Py.True, interp.eval("importer.is_package('zd_pkg')"));
+        } finally {
+            interp.exec("for name in ('zd_mod', 'zd_pkg', 'zd_pkg.sub'):\n" + //
+                    "    sys.modules.pop(name, None)\n" + //
+                    "sys.path.remove(archive)\n");
+            interp.close();
+        }
+    }
+}
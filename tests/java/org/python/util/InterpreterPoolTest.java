@@ -0,0 +1,124 @@
+package org.python.util;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import junit.framework.TestCase;
+
+import org.python.core.Py;
+import org.python.core.PySystemState;
+
+public class InterpreterPoolTest extends TestCase {
+
+    /** A handler that counts the interpreters it warms up. */
+    static class CountingHandler extends InterpreterPool.Handler {
+
+        final AtomicInteger warmed = new AtomicInteger();
+
+        @Override
+        public void warmUp(PythonInterpreter interp) {
+            interp.exec("import os");
+            warmed.incrementAndGet();
+        }
+    }
+
+    @Override
+    protected void setUp() throws Exception {
+        PySystemState.initialize();
+    }
+
+    public void testCheckout() throws InterruptedException {
+        CountingHandler handler = new CountingHandler();
+        try (InterpreterPool pool = new InterpreterPool(2, handler)) {
+            assertEquals(0, pool.getSize());
+            PythonInterpreter a = pool.acquire();
+            PythonInterpreter b = pool.acquire();
+            assertNotSame(a, b);
+            assertNotSame(a.getSystemState(), b.getSystemState());
+            assertEquals(2, pool.getActive());
+            // The pool is full: a third must wait.
+            assertNull(pool.acquire(10, TimeUnit.MILLISECONDS));
+
+            a.exec("x = 1");
+            pool.release(a);
+            PythonInterpreter c = pool.acquire(1, TimeUnit.SECONDS);
+            assertSame(a, c);
+            // Reset: a new namespace, but the modules imported while warming up remain.
+            assertNull(c.get("x"));
+            assertEquals(Py.True, c.eval("__name__ == '__main__'"));
+            assertNotNull(c.getSystemState().modules.__finditem__("os"));
+            pool.release(c);
+            pool.release(b);
+
+            assertEquals(2, handler.warmed.get());
+            assertEquals(2, pool.getSize());
+            assertEquals(0, pool.getActive());
+            assertEquals(3, pool.getCheckouts());
+            assertTrue(pool.getUtilization() > 0.0);
+        }
+    }
+
+    public void testRelease() throws InterruptedException {
+        InterpreterPool pool = new InterpreterPool(1, new InterpreterPool.Handler() {
+
+            @Override
+            public void reset(PythonInterpreter interp) {
+                if (interp.get("broken") != null) {
+                    throw new IllegalStateException();
+                }
+                super.reset(interp);
+            }
+        });
+        PythonInterpreter a = pool.acquire();
+        try {
+            pool.release(new PythonInterpreter());
+            fail("released an interpreter not from the pool");
+        } catch (IllegalArgumentException e) {
+            // expected
+        }
+        // One that cannot be reset leaves the pool.
+        a.exec("broken = True");
+        pool.release(a);
+        assertEquals(0, pool.getSize());
+        PythonInterpreter b = pool.acquire();
+        assertNotSame(a, b);
+
+        pool.close();
+        pool.release(b);
+        assertEquals(0, pool.getSize());
+        try {
+            pool.acquire();
+            fail("acquired from a closed pool");
+        } catch (IllegalStateException e) {
+            // expected
+        }
+    }
+
+    public void testCloseWhileReleasing() throws InterruptedException {
+        final InterpreterPool[] holder = new InterpreterPool[1];
+        InterpreterPool pool = new InterpreterPool(1, new InterpreterPool.Handler() {
+
+            @Override
+            public void reset(PythonInterpreter interp) {
+                super.reset(interp);
+                // As if another thread closed the pool just before the interpreter is idle.
+                holder[0].close();
+            }
+        });
+        holder[0] = pool;
+        PythonInterpreter a = pool.acquire();
+        pool.release(a);
+        // The interpreter given back is closed, not left idle in the closed pool.
+        assertEquals(0, pool.getSize());
+    }
+
+    public void testPrestart() {
+        CountingHandler handler = new CountingHandler();
+        try (InterpreterPool pool = new InterpreterPool(3, handler)) {
+            pool.prestart(5);
+            assertEquals(3, pool.getSize());
+            assertEquals(3, handler.warmed.get());
+            assertEquals(0, pool.getCheckouts());
+        }
+    }
+}
@@ -0,0 +1,127 @@
+package org.python.util;
+
+import java.io.BufferedReader;
+import java.io.File;
+import java.io.InputStreamReader;
+import java.lang.management.ManagementFactory;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+
+import org.python.core.PySystemState;
+
+/**
+ * A benchmark of the time from launching a JVM to the first evaluation of Python code in it, the
+ * cost every embedding application pays before its first request. It launches a number of fresh
+ * JVMs one after another, each of which times the phases of its own start-up, and reports the
+ * median of each phase. The first launch also fills the package cache, so is reported apart and
+ * left out of the median. Run it through the build with {@code ant startup-benchmark}, or with
+ * the Jython jar and its dependencies on the class path:
+ *
+ * <pre>
+ * java -Dpython.home=dist -cp dist/jython-dev.jar:dist/javalib/*:build/classes org.python.util.StartupBenchmark [launches]
+ * </pre>
+ *
+ * Options for the launched JVMs (for example {@code -XX:SharedArchiveFile=...}) may be given in the
+ * system property {@code startup.jvmargs}, separated by spaces.
+ */
+public class StartupBenchmark {
+
+    private static final String[] PHASES =
+            {"jvm", "initialize", "interpreter", "import site", "first eval", "total"};
+
+    /** Time the phases of start-up in this JVM and print them, in milliseconds, on one line. */
+    private static void launched() {
+        long jvm = ManagementFactory.getRuntimeMXBean().getUptime();
+        long t0 = System.nanoTime();
+        PySystemState.initialize();
+        long t1 = System.nanoTime();
+        PythonInterpreter interp = new PythonInterpreter();
+        long t2 = System.nanoTime();
+        interp.exec("import site");
+        long t3 = System.nanoTime();
+        interp.eval("sum(x * x for x in range(10))");
+        long t4 = System.nanoTime();
+        long total = ManagementFactory.getRuntimeMXBean().getUptime();
+        System.out.println(jvm + " " + (t1 - t0) / 1000000 + " " + (t2 - t1) / 1000000 + " "
+                + (t3 - t2) / 1000000 + " " + (t4 - t3) / 1000000 + " " + total);
+        interp.close();
+    }
+
+    /** Launch a JVM that runs {@link #launched()} and return the times it reports. */
+    private static long[] launch() throws Exception {
+        List<String> command = new ArrayList<String>();
+        command.add(System.getProperty("java.home") + File.separator + "bin" + File.separator
+                + "java");
+        String jvmargs = System.getProperty("startup.jvmargs", "").trim();
+        if (jvmargs.length() > 0) {
+            command.addAll(Arrays.asList(jvmargs.split("\\s+")));
+        }
+        for (String name : new String[] {"python.home", "python.cachedir",
+                "python.cachedir.skip"}) {
+            String value = System.getProperty(name);
+            if (value != null) {
+                command.add("-D" + name + "=" + value);
+            }
+        }
+        command.add("-cp");
+        command.add(System.getProperty("java.class.path"));
+        command.add(StartupBenchmark.class.getName());
+        command.add("--launched");
+
+        Process process = new ProcessBuilder(command).redirectErrorStream(true).start();
+        BufferedReader out =
+                new BufferedReader(new InputStreamReader(process.getInputStream(), "UTF-8"));
+        String line, last = null;
+        while ((line = out.readLine()) != null) {
+            last = line;
+        }
+        if (process.waitFor() != 0 || last == null) {
+            throw new IllegalStateException("launched JVM failed: " + last);
+        }
+        String[] fields = last.trim().split(" ");
+        long[] times = new long[PHASES.length];
+        for (int i = 0; i < times.length; i++) {
+            times[i] = Long.parseLong(fields[i]);
+        }
+        return times;
+    }
+
+    private static void report(String what, long[] times) {
+        StringBuilder sb = new StringBuilder(String.format("%-12s", what));
+        for (long t : times) {
+            sb.append(String.format("%13d", t));
+        }
+        System.out.println(sb);
+    }
+
+    public static void main(String[] args) throws Exception {
+        if (args.length > 0 && args[0].equals("--launched")) {
+            launched();
+            return;
+        }
+        int n = args.length > 0 ? Integer.parseInt(args[0]) : 5;
+
+        StringBuilder heading = new StringBuilder(String.format("%-12s", "(ms)"));
+        for (String phase : PHASES) {
+            heading.append(String.format("%13s", phase));
+        }
+        System.out.println(heading);
+
+        report("first", launch());
+        long[][] runs = new long[n][];
+        for (int i = 0; i < n; i++) {
+            runs[i] = launch();
+        }
+        long[] median = new long[PHASES.length];
+        long[] column = new long[n];
+        for (int p = 0; p < PHASES.length; p++) {
+            for (int i = 0; i < n; i++) {
+                column[i] = runs[i][p];
+            }
+            Arrays.sort(column);
+            median[p] = column[n / 2];
+        }
+        report("median of " + n, median);
+    }
+}